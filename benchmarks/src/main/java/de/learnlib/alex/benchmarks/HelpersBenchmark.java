@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.benchmarks;
+
+import de.learnlib.alex.actions.RESTSymbolActions.CheckAttributeTypeAction.JsonType;
+import de.learnlib.alex.core.entities.Counter;
+import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.alex.core.learner.connectors.CounterStore;
+import de.learnlib.alex.core.learner.connectors.CounterStoreConnector;
+import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
+import de.learnlib.alex.utils.JSONHelpers;
+import de.learnlib.alex.utils.SearchHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the helpers that are called by the actions for every step of a query, i.e. the insertion of variable
+ * values into the fields of an action and the evaluation of JSON responses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+public class HelpersBenchmark {
+
+    /** A text with variables and a counter, as it is used e.g. as url of a call action. */
+    private static final String TEXT = "/users/{{$user}}/sessions/{{$session}}/items?offset={{$offset}}&limit=20"
+            + "&request={{#requests}}";
+
+    /** A JSON response of a REST API. */
+    private static final String BODY = "{\"session\":42,\"user\":{\"id\":1,\"name\":\"alex\",\"loggedIn\":true,"
+            + "\"roles\":[\"admin\",\"user\"]},\"items\":[{\"id\":1,\"title\":\"foo\"},{\"id\":2,\"title\":\"bar\"}]}";
+
+    /** The connectors with the values of the variables and counters. */
+    private ConnectorManager connectorManager;
+
+    /**
+     * Create the connectors and set the variables and counters.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        VariableStoreConnector variableStore = new VariableStoreConnector();
+        variableStore.set("user", "1");
+        variableStore.set("session", "42");
+        variableStore.set("offset", "100");
+
+        Counter counter = new Counter();
+        counter.setName("requests");
+        counter.setValue(1);
+        CounterStore counterStore = new CounterStore(null, null, null, Collections.singletonList(counter), 0);
+
+        connectorManager = new ConnectorManager();
+        connectorManager.addConnector(variableStore);
+        connectorManager.addConnector(new CounterStoreConnector(counterStore));
+    }
+
+    /**
+     * Replace the variables and counters in a text.
+     *
+     * @return The text with the values of the variables and counters.
+     */
+    @Benchmark
+    public String insertVariableValues() {
+        return SearchHelper.insertVariableValues(connectorManager, 1L, 1L, TEXT);
+    }
+
+    /**
+     * Get the value of a nested attribute.
+     *
+     * @return The value of the attribute.
+     */
+    @Benchmark
+    public String getAttributeValue() {
+        return JSONHelpers.getAttributeValue(BODY, "user.loggedIn");
+    }
+
+    /**
+     * Get the type of a nested attribute.
+     *
+     * @return The type of the attribute.
+     */
+    @Benchmark
+    public JsonType getAttributeType() {
+        return JSONHelpers.getAttributeType(BODY, "user.roles");
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.benchmarks;
+
+import de.learnlib.alex.core.entities.learnlibproxies.CompactMealyMachineCodec;
+import de.learnlib.alex.core.entities.learnlibproxies.CompactMealyMachineProxy;
+import de.learnlib.alex.core.entities.learnlibproxies.CompactMealyTransitionProxy;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.util.automata.random.RandomAutomata;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.Alphabets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of hypotheses, which is done for every step of a learn process:
+ * from the learned machine to the {@link CompactMealyMachineProxy}, to and from the binary format that is stored in
+ * the database (completely or as delta to the previous hypothesis) and back to a machine, e.g. for the equivalence
+ * oracles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+public class HypothesisBenchmark {
+
+    /** The amount of states of the hypothesis. */
+    @Param({"10", "100", "1000"})
+    private int states;
+
+    /** The amount of input symbols of the hypothesis. */
+    @Param({"10"})
+    private int inputs;
+
+    /** The alphabet of the hypothesis. */
+    private Alphabet<String> sigma;
+
+    /** The hypothesis. */
+    private CompactMealy<String, String> machine;
+
+    /** The proxy of the hypothesis. */
+    private CompactMealyMachineProxy proxy;
+
+    /** The hypothesis of the next step, which differs in one transition. */
+    private CompactMealyMachineProxy nextProxy;
+
+    /** The hypothesis as stored in the database. */
+    private byte[] data;
+
+    /** The hypothesis of the next step as stored in the database. */
+    private byte[] delta;
+
+    /**
+     * Create a random hypothesis.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] symbols = new String[inputs];
+        for (int i = 0; i < inputs; i++) {
+            symbols[i] = "symbol" + i;
+        }
+
+        sigma = Alphabets.fromArray(symbols);
+        machine = RandomAutomata.randomMealy(new Random(42), states, sigma, Arrays.asList("OK", "FAILED"));
+        proxy = CompactMealyMachineProxy.createFrom(machine, sigma);
+        data = CompactMealyMachineCodec.encode(proxy);
+
+        List<CompactMealyTransitionProxy> nextEdges = new ArrayList<>(proxy.getEdges());
+        CompactMealyTransitionProxy edge = nextEdges.get(0);
+        nextEdges.set(0, new CompactMealyTransitionProxy(edge.getFrom(), edge.getInput(), edge.getTo(), "CHANGED"));
+        nextProxy = new CompactMealyMachineProxy(proxy);
+        nextProxy.setEdges(nextEdges);
+        delta = CompactMealyMachineCodec.encode(nextProxy, proxy);
+    }
+
+    /**
+     * Create the proxy of the hypothesis.
+     *
+     * @return The proxy.
+     */
+    @Benchmark
+    public CompactMealyMachineProxy createProxy() {
+        return CompactMealyMachineProxy.createFrom(machine, sigma);
+    }
+
+    /**
+     * Create the hypothesis from the proxy.
+     *
+     * @return The hypothesis.
+     */
+    @Benchmark
+    public CompactMealy<String, String> createMealyMachine() {
+        return proxy.createMealyMachine(sigma);
+    }
+
+    /**
+     * Encode the proxy completely for the database.
+     *
+     * @return The binary representation.
+     */
+    @Benchmark
+    public byte[] encode() {
+        return CompactMealyMachineCodec.encode(proxy);
+    }
+
+    /**
+     * Decode the completely encoded proxy from the database.
+     *
+     * @return The proxy.
+     */
+    @Benchmark
+    public CompactMealyMachineProxy decode() {
+        return CompactMealyMachineCodec.decode(data, null);
+    }
+
+    /**
+     * Encode the hypothesis of the next step as delta to the proxy.
+     *
+     * @return The binary representation of the delta.
+     */
+    @Benchmark
+    public byte[] encodeDelta() {
+        return CompactMealyMachineCodec.encode(nextProxy, proxy);
+    }
+
+    /**
+     * Decode the hypothesis of the next step from its delta to the proxy.
+     *
+     * @return The hypothesis of the next step.
+     */
+    @Benchmark
+    public CompactMealyMachineProxy decodeDelta() {
+        return CompactMealyMachineCodec.decode(delta, proxy);
+    }
+}
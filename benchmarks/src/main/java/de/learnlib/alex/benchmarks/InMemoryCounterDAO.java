@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.benchmarks;
+
+import de.learnlib.alex.core.dao.CounterDAO;
+import de.learnlib.alex.core.entities.Counter;
+import de.learnlib.alex.exceptions.NotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CounterDAO that keeps the counters of the {@link SimulatedProject} in memory instead of the database.
+ * The user and project ids are ignored, because the benchmarks only use one project.
+ */
+public class InMemoryCounterDAO implements CounterDAO {
+
+    /** The counters by their name. */
+    private final Map<String, Counter> counters;
+
+    /**
+     * Constructor.
+     */
+    public InMemoryCounterDAO() {
+        this.counters = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void create(Counter counter) {
+        counters.put(counter.getName(), counter.clone());
+    }
+
+    @Override
+    public List<Counter> getAll(Long userId, Long projectId) {
+        List<Counter> result = new ArrayList<>();
+        counters.values().forEach(counter -> result.add(counter.clone()));
+        return result;
+    }
+
+    @Override
+    public Counter get(Long userId, Long projectId, String name) throws NotFoundException {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            throw new NotFoundException("Could not find the counter '" + name + "'.");
+        }
+        return counter.clone();
+    }
+
+    @Override
+    public void update(Counter counter) throws NotFoundException {
+        if (counters.replace(counter.getName(), counter.clone()) == null) {
+            throw new NotFoundException("Could not find the counter '" + counter.getName() + "'.");
+        }
+    }
+
+    @Override
+    public void update(List<Counter> counterList) {
+        counterList.forEach(counter -> counters.put(counter.getName(), counter.clone()));
+    }
+
+    @Override
+    public void delete(Long userId, Long projectId, String... names) {
+        for (String name : names) {
+            counters.remove(name);
+        }
+    }
+}
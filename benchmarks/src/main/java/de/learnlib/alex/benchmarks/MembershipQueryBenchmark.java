@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.benchmarks;
+
+import de.learnlib.alex.core.entities.ExecuteResult;
+import de.learnlib.alex.core.entities.Symbol;
+import de.learnlib.alex.core.learner.AlexSUL;
+import de.learnlib.alex.core.learner.MultiSULOracle;
+import de.learnlib.alex.core.learner.QueryExecutor;
+import de.learnlib.alex.core.learner.SymbolMapper;
+import de.learnlib.alex.core.learner.connectors.ConnectorContextHandler;
+import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.api.SUL;
+import de.learnlib.mapper.ContextExecutableInputSUL;
+import de.learnlib.mapper.Mappers;
+import de.learnlib.mapper.api.ContextExecutableInput;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the membership queries per second of the learner stack, i.e. a {@link MultiSULOracle} that poses the
+ * queries through the {@link SymbolMapper} and the {@link ContextExecutableInputSUL} to the {@link SimulatedTarget}.
+ * This is the same chain of oracles and SULs that is used by the learner, without the caches.
+ *
+ * Every operation is one membership query, so '-prof gc' reports the allocations per query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+public class MembershipQueryBenchmark {
+
+    /** The amount of queries that are posed in one batch. */
+    private static final int BATCH_SIZE = 64;
+
+    /** The latency of every request to the target in milliseconds. */
+    @Param({"0", "1"})
+    private long latency;
+
+    /** If the symbols use the REST API or the web site of the target. */
+    @Param({"REST", "WEB"})
+    private SimulatedProject.SymbolType symbolType;
+
+    /** The amount of queries that are executed in parallel. */
+    @Param({"1", "4"})
+    private int parallelism;
+
+    /** The length of every query. */
+    @Param({"5"})
+    private int queryLength;
+
+    /** The simulated SUL. */
+    private SimulatedTarget target;
+
+    /** The symbols of the simulated SUL and their connectors. */
+    private SimulatedProject project;
+
+    /** The connectors of the parallel queries. */
+    private ConnectorContextHandler context;
+
+    /** The executor of the queries. */
+    private QueryExecutor executor;
+
+    /** The oracle to benchmark. */
+    private MultiSULOracle<String, String> oracle;
+
+    /** The input words of the queries of one batch. */
+    private List<Word<String>> words;
+
+    /**
+     * Start the target and create the learner stack.
+     *
+     * @throws IOException
+     *         If the target could not be started.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        target = new SimulatedTarget(latency);
+        target.start();
+
+        project = new SimulatedProject(target, symbolType);
+        List<Symbol> symbols = project.createSymbols();
+        context = project.createContextHandler(parallelism);
+
+        SymbolMapper symbolMapper = new SymbolMapper(symbols.toArray(new Symbol[symbols.size()]));
+        ContextExecutableInputSUL<ContextExecutableInput<ExecuteResult, ConnectorManager>, ExecuteResult,
+                ConnectorManager> ceiSUL = new ContextExecutableInputSUL<>(context);
+        SUL<String, String> sul = new AlexSUL<>(Mappers.apply(symbolMapper, ceiSUL));
+
+        executor = new QueryExecutor(parallelism);
+        oracle = new MultiSULOracle<>(sul, executor);
+        words = createWords(symbolMapper.getAlphabet());
+    }
+
+    /**
+     * Stop the executor and the target.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+        context.shutdown();
+        project.close();
+        target.stop();
+    }
+
+    /**
+     * Pose one batch of membership queries.
+     *
+     * @param blackhole
+     *         The blackhole to consume the outputs.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void processQueries(Blackhole blackhole) {
+        List<DefaultQuery<String, Word<String>>> queries = new ArrayList<>(BATCH_SIZE);
+        for (Word<String> word : words) {
+            queries.add(new DefaultQuery<>(word));
+        }
+
+        oracle.processQueries(queries);
+
+        for (DefaultQuery<String, Word<String>> query : queries) {
+            blackhole.consume(query.getOutput());
+        }
+    }
+
+    private List<Word<String>> createWords(Alphabet<String> sigma) {
+        Random random = new Random(42);
+        List<Word<String>> result = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            WordBuilder<String> word = new WordBuilder<>(queryLength);
+            for (int j = 0; j < queryLength; j++) {
+                word.add(sigma.getSymbol(random.nextInt(sigma.size())));
+            }
+            result.add(word.toWord());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.benchmarks;
+
+import de.learnlib.alex.actions.RESTSymbolActions.CallAction;
+import de.learnlib.alex.actions.RESTSymbolActions.CheckAttributeValueAction;
+import de.learnlib.alex.actions.RESTSymbolActions.CheckStatusAction;
+import de.learnlib.alex.actions.StoreSymbolActions.IncrementCounterAction;
+import de.learnlib.alex.actions.StoreSymbolActions.SetVariableByJSONAttributeAction;
+import de.learnlib.alex.actions.WebSymbolActions.CheckTextWebAction;
+import de.learnlib.alex.actions.WebSymbolActions.GotoAction;
+import de.learnlib.alex.core.entities.BrowserConfig;
+import de.learnlib.alex.core.entities.Project;
+import de.learnlib.alex.core.entities.Symbol;
+import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.core.learner.connectors.ConnectorContextHandler;
+import de.learnlib.alex.core.learner.connectors.ConnectorContextHandlerFactory;
+import de.learnlib.alex.core.services.HttpClientService;
+import de.learnlib.alex.core.services.SulInstanceService;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A project with symbols for the {@link SimulatedTarget}, as a user would model it in ALEX.
+ *
+ * The reset symbol creates a new session and counts the sessions in the counter 'sessions'. The REST symbols
+ * store the id of the session in the variable 'session', which is used by all other symbols, the web symbols keep
+ * it in a cookie of the browser.
+ * The contexts are created by the {@link ConnectorContextHandlerFactory}, so that the benchmarks use the same
+ * connectors as a learn process, but the counters are kept in memory.
+ */
+public class SimulatedProject {
+
+    /** The kinds of symbols a project can consist of. */
+    public enum SymbolType {
+
+        /** Symbols that call the REST API of the target with the web service connector. */
+        REST,
+
+        /** Symbols that open the web site of the target with the web site connector, i.e. with the HtmlUnit driver. */
+        WEB
+    }
+
+    /** The id of the user and the project. */
+    private static final long ID = 1L;
+
+    /** The user the symbols belong to. */
+    private final User user;
+
+    /** The project the symbols belong to. */
+    private final Project project;
+
+    /** The kind of symbols of the project. */
+    private final SymbolType symbolType;
+
+    /** The browser of the web symbols. */
+    private final BrowserConfig browser;
+
+    /** The pooled HTTP clients of the connectors. */
+    private final HttpClientService httpClientService;
+
+    /** The factory that creates the contexts. */
+    private final ConnectorContextHandlerFactory contextHandlerFactory;
+
+    /**
+     * Constructor.
+     *
+     * @param target
+     *         The target the symbols are executed on.
+     * @param symbolType
+     *         The kind of symbols of the project.
+     */
+    public SimulatedProject(SimulatedTarget target, SymbolType symbolType) {
+        this.symbolType = symbolType;
+        this.user = new User(ID);
+        this.project = new Project(ID);
+        this.project.setUser(user);
+        this.project.setBaseUrl(target.getBaseUrl());
+        this.browser = new BrowserConfig(); // HtmlUnit
+        this.httpClientService = new HttpClientService();
+        this.contextHandlerFactory = new ConnectorContextHandlerFactory(new InMemoryCounterDAO(), httpClientService,
+                                                                        new SulInstanceService());
+    }
+
+    /**
+     * Create the symbol that resets the target by opening a new session.
+     *
+     * @return The reset symbol.
+     */
+    public Symbol createResetSymbol() {
+        IncrementCounterAction countSession = new IncrementCounterAction();
+        countSession.setName("sessions");
+        countSession.setIncrementBy(1);
+
+        if (symbolType == SymbolType.WEB) {
+            return createSymbol(0L, "reset", goTo("/app/new"), checkText("Logged out"), countSession);
+        }
+
+        SetVariableByJSONAttributeAction setSession = new SetVariableByJSONAttributeAction();
+        setSession.setName("session");
+        setSession.setValue("session");
+
+        return createSymbol(0L, "reset",
+                            call(CallAction.Method.POST, "/sessions"),
+                            status(201),
+                            setSession,
+                            countSession);
+    }
+
+    /**
+     * Create the symbols of the alphabet.
+     *
+     * @return The symbols 'login', 'logout' and 'status'.
+     */
+    public List<Symbol> createSymbols() {
+        if (symbolType == SymbolType.WEB) {
+            return Arrays.asList(
+                    createSymbol(1L, "login", goTo("/app/login"), checkText("Welcome")),
+                    createSymbol(2L, "logout", goTo("/app/logout"), checkText("Goodbye")),
+                    createSymbol(3L, "status", goTo("/app/"), checkText("Logged in"))
+            );
+        }
+
+        CheckAttributeValueAction checkLoggedIn = new CheckAttributeValueAction();
+        checkLoggedIn.setAttribute("user.loggedIn");
+        checkLoggedIn.setValue("true");
+
+        return Arrays.asList(
+                createSymbol(1L, "login", call(CallAction.Method.POST, "/sessions/{{$session}}/login"), status(200)),
+                createSymbol(2L, "logout", call(CallAction.Method.POST, "/sessions/{{$session}}/logout"), status(200)),
+                createSymbol(3L, "status", call(CallAction.Method.GET, "/sessions/{{$session}}"), checkLoggedIn)
+        );
+    }
+
+    /**
+     * Create a context handler with one context for every query that should be executed in parallel,
+     * like it is created for a learn process with the given amount of slots for the base URL.
+     *
+     * @param parallelism
+     *         The amount of queries that can be executed in parallel.
+     * @return The context handler, which uses the reset symbol of the project.
+     */
+    public ConnectorContextHandler createContextHandler(int parallelism) {
+        project.setSlotsPerUrl(parallelism);
+        return contextHandlerFactory.createContext(user, project, browser, createResetSymbol(), createSymbols());
+    }
+
+    /**
+     * Close the HTTP clients and their connections to the target.
+     */
+    public void close() {
+        httpClientService.destroy();
+    }
+
+    /** @return {@link #user}. */
+    public User getUser() {
+        return user;
+    }
+
+    /** @return {@link #project}. */
+    public Project getProject() {
+        return project;
+    }
+
+    private Symbol createSymbol(Long id, String name, SymbolAction... actions) {
+        Symbol symbol = new Symbol();
+        symbol.setId(id);
+        symbol.setUser(user);
+        symbol.setProject(project);
+        symbol.setName(name);
+        symbol.setAbbreviation(name);
+
+        for (SymbolAction action : actions) {
+            action.setUser(user);
+            action.setProject(project);
+            symbol.addAction(action);
+        }
+
+        return symbol;
+    }
+
+    private CallAction call(CallAction.Method method, String url) {
+        CallAction action = new CallAction();
+        action.setMethod(method);
+        action.setUrl(url);
+        return action;
+    }
+
+    private CheckStatusAction status(int status) {
+        CheckStatusAction action = new CheckStatusAction();
+        action.setStatus(status);
+        return action;
+    }
+
+    private GotoAction goTo(String url) {
+        GotoAction action = new GotoAction();
+        action.setUrl(url);
+        return action;
+    }
+
+    private CheckTextWebAction checkText(String value) {
+        CheckTextWebAction action = new CheckTextWebAction();
+        action.setValue(value);
+        return action;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A simulated REST API and web site that runs inside the benchmark JVM and serves as the SUL.
+ *
+ * The API models a simple authentication system:
+ * <ul>
+ *     <li>{@code POST /sessions} creates a new session and returns its id as {@code {"session": <id>}}.</li>
+ *     <li>{@code POST /sessions/<id>/login} logs the session in, which fails with 400 if it is already logged in.</li>
+ *     <li>{@code POST /sessions/<id>/logout} logs the session out, which fails with 400 if it is not logged in.</li>
+ *     <li>{@code GET /sessions/<id>} returns the state of the session.</li>
+ * </ul>
+ * The web site offers the same system as HTML pages, the session is kept in a cookie:
+ * <ul>
+ *     <li>{@code GET /app/new} creates a new session.</li>
+ *     <li>{@code GET /app/login} logs the session in, the page shows 'Welcome' or 'Error'.</li>
+ *     <li>{@code GET /app/logout} logs the session out, the page shows 'Goodbye' or 'Error'.</li>
+ *     <li>{@code GET /app/} shows the state of the session.</li>
+ * </ul>
+ * Every session is independent, so parallel queries that use their own session do not influence each other.
+ * Every request is delayed by a fixed latency in order to simulate the network and the processing time of a
+ * real system.
+ */
+public class SimulatedTarget {
+
+    /** The amount of sessions that are kept, older sessions are discarded. */
+    private static final int MAX_SESSIONS = 10000;
+
+    /** The name of the cookie with the session id of the web site. */
+    private static final String SESSION_COOKIE = "session";
+
+    /** The server that handles the requests. */
+    private final HttpServer server;
+
+    /** The threads of the server. */
+    private final ExecutorService executor;
+
+    /** The latency of every request in milliseconds. */
+    private final long latency;
+
+    /** The id of the latest session. */
+    private final AtomicLong sessionCounter;
+
+    /** The login state of the sessions by their id. */
+    private final Map<Long, Boolean> sessions;
+
+    /**
+     * Constructor.
+     * The target listens on a free port of the loopback interface.
+     *
+     * @param latency
+     *         The latency of every request in milliseconds.
+     * @throws IOException
+     *         If the server could not be created.
+     */
+    public SimulatedTarget(long latency) throws IOException {
+        this.latency = latency;
+        this.sessionCounter = new AtomicLong();
+        this.sessions = new ConcurrentHashMap<>();
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/sessions", this::handle);
+        this.server.createContext("/app", this::handlePage);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * Start the server.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stop the server.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /** @return The url the target can be reached at. */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (latency > 0) {
+                TimeUnit.MILLISECONDS.sleep(latency);
+            }
+
+            String[] path = exchange.getRequestURI().getPath().split("/"); // ["", "sessions", <id>, <action>]
+            String method = exchange.getRequestMethod();
+
+            if (path.length == 2 && method.equals("POST")) {
+                createSession(exchange);
+            } else if (path.length == 3 && method.equals("GET")) {
+                getSession(exchange, path[2]);
+            } else if (path.length == 4 && method.equals("POST")) {
+                changeSession(exchange, path[2], path[3].equals("login"));
+            } else {
+                respond(exchange, 404, "{}");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, "{}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handlePage(HttpExchange exchange) throws IOException {
+        try {
+            if (latency > 0) {
+                TimeUnit.MILLISECONDS.sleep(latency);
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            long id = getSessionCookie(exchange);
+            if (path.equals("/app/new")) {
+                id = newSession();
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + id + "; Path=/");
+                respondPage(exchange, "Logged out");
+            } else if (path.equals("/app/login")) {
+                respondPage(exchange, sessions.replace(id, false, true) ? "Welcome" : "Error");
+            } else if (path.equals("/app/logout")) {
+                respondPage(exchange, sessions.replace(id, true, false) ? "Goodbye" : "Error");
+            } else if (path.equals("/app/") && sessions.containsKey(id)) {
+                respondPage(exchange, Boolean.TRUE.equals(sessions.get(id)) ? "Logged in" : "Logged out");
+            } else {
+                respondPage(exchange, "Error");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respondPage(exchange, "Error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void createSession(HttpExchange exchange) throws IOException {
+        respond(exchange, 201, "{\"session\":" + newSession() + "}");
+    }
+
+    private long newSession() {
+        long id = sessionCounter.incrementAndGet();
+        sessions.put(id, false);
+        sessions.remove(id - MAX_SESSIONS);
+        return id;
+    }
+
+    private long getSessionCookie(HttpExchange exchange) {
+        String cookies = exchange.getRequestHeaders().getFirst("Cookie");
+        if (cookies != null) {
+            for (String cookie : cookies.split(";")) {
+                String[] parts = cookie.trim().split("=", 2);
+                if (parts.length == 2 && parts[0].equals(SESSION_COOKIE)) {
+                    return parseId(parts[1]);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void getSession(HttpExchange exchange, String id) throws IOException {
+        Boolean loggedIn = sessions.get(parseId(id));
+        if (loggedIn == null) {
+            respond(exchange, 404, "{}");
+        } else {
+            respond(exchange, 200, "{\"session\":" + id + ",\"user\":{\"loggedIn\":" + loggedIn + "}}");
+        }
+    }
+
+    private void changeSession(HttpExchange exchange, String id, boolean login) throws IOException {
+        long sessionId = parseId(id);
+        boolean changed = sessions.replace(sessionId, !login, login);
+        respond(exchange, changed ? 200 : 400, "{\"session\":" + id + "}");
+    }
+
+    private long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void respondPage(HttpExchange exchange, String message) throws IOException {
+        respond(exchange, 200, "text/html", "<!DOCTYPE html><html><head><title>Simulated target</title></head><body>"
+                + "<p id=\"message\">" + message + "</p><a id=\"login\" href=\"/app/login\">Login</a> "
+                + "<a id=\"logout\" href=\"/app/logout\">Logout</a></body></html>");
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        respond(exchange, status, "application/json", body);
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
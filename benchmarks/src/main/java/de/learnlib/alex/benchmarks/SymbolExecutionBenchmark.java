@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.benchmarks;
+
+import de.learnlib.alex.core.entities.ExecuteResult;
+import de.learnlib.alex.core.entities.Symbol;
+import de.learnlib.alex.core.learner.SymbolMapper;
+import de.learnlib.alex.core.learner.connectors.ConnectorContextHandler;
+import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.api.SUL;
+import de.learnlib.mapper.ContextExecutableInputSUL;
+import de.learnlib.mapper.Mappers;
+import de.learnlib.mapper.api.ContextExecutableInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the execution of single symbols and of single queries without any parallelism:
+ * <ul>
+ *     <li>{@link Symbol#execute(ConnectorManager)}, i.e. the actions of a symbol, on a session of the target.</li>
+ *     <li>One query through the {@link SymbolMapper} and the {@link ContextExecutableInputSUL}, including the
+ *     reset of the target.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmarks.xml")
+public class SymbolExecutionBenchmark {
+
+    /** The latency of every request to the target in milliseconds. */
+    @Param({"0", "1"})
+    private long latency;
+
+    /** If the symbols use the REST API or the web site of the target. */
+    @Param({"REST", "WEB"})
+    private SimulatedProject.SymbolType symbolType;
+
+    /** The simulated SUL. */
+    private SimulatedTarget target;
+
+    /** The symbols of the simulated SUL and their connectors. */
+    private SimulatedProject project;
+
+    /** The context of the direct symbol execution. */
+    private ConnectorContextHandler directContext;
+
+    /** The connectors for the direct symbol execution. */
+    private ConnectorManager connectorManager;
+
+    /** The symbol that is executed directly. */
+    private Symbol statusSymbol;
+
+    /** The connectors of the mapped SUL. */
+    private ConnectorContextHandler context;
+
+    /** The SUL that maps the abstract inputs to the symbols. */
+    private SUL<String, String> mappedSUL;
+
+    /** The abstract inputs of the query. */
+    private List<String> query;
+
+    /**
+     * Start the target and create the symbols and SULs.
+     *
+     * @throws IOException
+     *         If the target could not be started.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        target = new SimulatedTarget(latency);
+        target.start();
+
+        project = new SimulatedProject(target, symbolType);
+        List<Symbol> symbols = project.createSymbols();
+
+        directContext = project.createContextHandler(1);
+        connectorManager = directContext.createContext(); // executes the reset symbol, i.e. opens the session
+        statusSymbol = symbols.get(symbols.size() - 1);
+
+        context = project.createContextHandler(1);
+        SymbolMapper symbolMapper = new SymbolMapper(symbols.toArray(new Symbol[symbols.size()]));
+        ContextExecutableInputSUL<ContextExecutableInput<ExecuteResult, ConnectorManager>, ExecuteResult,
+                ConnectorManager> ceiSUL = new ContextExecutableInputSUL<>(context);
+        mappedSUL = Mappers.apply(symbolMapper, ceiSUL);
+        query = new ArrayList<>(symbolMapper.getAlphabet());
+    }
+
+    /**
+     * Stop the target.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        directContext.disposeContext(connectorManager);
+        directContext.shutdown();
+        context.shutdown();
+        project.close();
+        target.stop();
+    }
+
+    /**
+     * Execute one symbol.
+     *
+     * @return The result of the symbol.
+     */
+    @Benchmark
+    public ExecuteResult executeSymbol() {
+        return statusSymbol.execute(connectorManager);
+    }
+
+    /**
+     * Execute one query with every symbol of the alphabet.
+     *
+     * @param blackhole
+     *         The blackhole to consume the outputs.
+     */
+    @Benchmark
+    public void executeQuery(Blackhole blackhole) {
+        mappedSUL.pre();
+        try {
+            for (String input : query) {
+                blackhole.consume(mappedSUL.step(input));
+            }
+        } finally {
+            mappedSUL.post();
+        }
+    }
+}
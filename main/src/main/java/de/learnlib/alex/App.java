@@ -15,30 +15,43 @@
  */
 package de.learnlib.alex;
 
+import de.learnlib.alex.core.learner.workers.QueryWorker;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.web.support.SpringBootServletInitializer;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 /**
  * The entry point to ALEX.
  */
 @SpringBootApplication
 public class App extends SpringBootServletInitializer {
 
+    /** The first argument to start a query worker instead of ALEX. */
+    private static final String WORKER_COMMAND = "worker";
+
     @Override
     protected SpringApplicationBuilder configure(SpringApplicationBuilder application) {
         return application.sources(App.class);
     }
 
     /**
-     * Starts the standalone version of ALEX.
+     * Starts the standalone version of ALEX, or a query worker if the first argument is 'worker'.
      *
      * @param args
      *         Additional commandline parameters.
+     * @throws IOException
+     *         If the query worker can not be started.
      */
-    public static void main(String[] args) {
-        SpringApplication.run(App.class, args);
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && WORKER_COMMAND.equals(args[0])) {
+            QueryWorker.main(Arrays.copyOfRange(args, 1, args.length));
+        } else {
+            SpringApplication.run(App.class, args);
+        }
     }
 
 }
@@ -33,7 +33,7 @@ import javax.persistence.Embedded;
 import javax.persistence.Entity;
 import javax.persistence.Lob;
 import javax.validation.constraints.NotNull;
-import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Cookie;
@@ -345,15 +345,16 @@ public class CallAction extends RESTSymbolAction {
     /**
      * Execute an HTTP request without counters and variables.
      *
+     * @param client The client to send the request with.
      * @param baseUrl The base url of the project.
      * @return The response of the request.
      */
-    public TestResult testRequest(String baseUrl) {
+    public TestResult testRequest(Client client, String baseUrl) {
         if (credentials != null && credentials.areValid()) {
             headers.put("Authorization", "Basic " + credentials.toBase64());
         }
 
-        final WebTarget target = ClientBuilder.newClient().target(baseUrl + url);
+        final WebTarget target = client.target(baseUrl + url);
         final Invocation.Builder builder = target.request();
         headers.forEach(builder::header);
         cookies.forEach(builder::cookie);
@@ -394,7 +395,7 @@ public class CallAction extends RESTSymbolAction {
     }
 
     /**
-     * The result object for the {@link #testRequest(String)} method.
+     * The result object for the {@link #testRequest(Client, String)} method.
      */
     public static class TestResult {
 
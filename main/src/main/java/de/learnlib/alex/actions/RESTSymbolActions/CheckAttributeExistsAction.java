@@ -80,13 +80,11 @@ public class CheckAttributeExistsAction extends RESTSymbolAction {
 
     @Override
     public ExecuteResult execute(WebServiceConnector target) {
-        String body = target.getBody();
+        boolean result = JSONHelpers.getAttributeValue(target.getJsonBody(), getAttributeWithVariableValues()) != null;
 
-        boolean result = JSONHelpers.getAttributeValue(body, getAttributeWithVariableValues()) != null;
-
-        LOGGER.info(LEARNER_MARKER, "Check if the attribute '{}' exists in '{}' => {} "
+        LOGGER.info(LEARNER_MARKER, "Check if the attribute '{}' exists in the body => {} "
                                         + "(ignoreFailure: {}, negated: {}).",
-                    attribute, body, result, ignoreFailure, negated);
+                    attribute, result, ignoreFailure, negated);
         if (result) {
             return getSuccessOutput();
         } else {
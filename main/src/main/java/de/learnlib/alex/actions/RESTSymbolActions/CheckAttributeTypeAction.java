@@ -153,14 +153,13 @@ public class CheckAttributeTypeAction extends  RESTSymbolAction {
 
     @Override
     public ExecuteResult execute(WebServiceConnector target) {
-        String body = target.getBody();
-        JsonType typeInBody = JSONHelpers.getAttributeType(body, getAttributeWithVariableValues());
+        JsonType typeInBody = JSONHelpers.getAttributeType(target.getJsonBody(), getAttributeWithVariableValues());
 
         boolean result = typeInBody != null && typeInBody.equals(jsonType);
 
-        LOGGER.info(LEARNER_MARKER, "Check if the attribute '{}' has the type '{}' in '{}' => {} "
+        LOGGER.info(LEARNER_MARKER, "Check if the attribute '{}' has the type '{}' in the body => {} "
                             + "(ignoreFailure: {}, negated: {}).",
-                    attribute, jsonType, body, result, ignoreFailure, negated);
+                    attribute, jsonType, result, ignoreFailure, negated);
         if (result) {
             return getSuccessOutput();
         } else {
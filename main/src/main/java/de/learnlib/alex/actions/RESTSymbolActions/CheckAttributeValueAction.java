@@ -137,15 +137,14 @@ public class CheckAttributeValueAction extends RESTSymbolAction {
 
     @Override
     public ExecuteResult execute(WebServiceConnector target) {
-        String body = target.getBody();
-        String valueInTheBody = JSONHelpers.getAttributeValue(body, getAttributeWithVariableValues());
+        String valueInTheBody = JSONHelpers.getAttributeValue(target.getJsonBody(), getAttributeWithVariableValues());
 
         boolean result = valueInTheBody != null
                             && SearchHelper.search(getValueWithVariableValues(), valueInTheBody, regexp);
 
-        LOGGER.info(LEARNER_MARKER, "Check if the attribute '{}' has the value '{}' in '{}' => {} "
+        LOGGER.info(LEARNER_MARKER, "Check if the attribute '{}' has the value '{}' in the body => {} "
                                         + "(regexp: {}, ignoreFailure: {}, negated: {}).",
-                    attribute, value, body, result, regexp, ignoreFailure, negated);
+                    attribute, value, result, regexp, ignoreFailure, negated);
         if (result) {
             return getSuccessOutput();
         } else {
@@ -19,6 +19,8 @@ package de.learnlib.alex.actions.RESTSymbolActions;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
+import de.learnlib.alex.core.entities.TextCheckAction;
+import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.WebServiceConnector;
 import de.learnlib.alex.utils.SearchHelper;
 import org.apache.logging.log4j.LogManager;
@@ -36,7 +38,7 @@ import javax.persistence.Entity;
 @Entity
 @DiscriminatorValue("rest_checkForText")
 @JsonTypeName("rest_checkForText")
-public class CheckTextRestAction extends RESTSymbolAction {
+public class CheckTextRestAction extends RESTSymbolAction implements TextCheckAction {
 
     private static final long serialVersionUID = -681951086735590790L;
 
@@ -86,6 +88,7 @@ public class CheckTextRestAction extends RESTSymbolAction {
      *
      * @return true, if value should be a regular expression: false otherwise.
      */
+    @Override
     public boolean isRegexp() {
         return regexp;
     }
@@ -103,11 +106,24 @@ public class CheckTextRestAction extends RESTSymbolAction {
     @Override
     public ExecuteResult execute(WebServiceConnector target) {
         String body = target.getBody();
-        boolean result = SearchHelper.search(getValueWithVariableValues(), body, regexp);
+        return check(SearchHelper.search(getValueWithVariableValues(), body, regexp));
+    }
+
+    @Override
+    public String getSearchedText(ConnectorManager connector) {
+        return connector.getConnector(WebServiceConnector.class).getBody();
+    }
 
-        LOGGER.info(LEARNER_MARKER, "Check if the value '{}' is in '{}' => {} "
+    @Override
+    public String getSearchedValue(ConnectorManager connector) {
+        return insertVariableValues(connector, value);
+    }
+
+    @Override
+    public ExecuteResult check(boolean result) {
+        LOGGER.info(LEARNER_MARKER, "Check if the value '{}' is in the body => {} "
                                         + "(regexp: {}, ignoreFailure: {}, negated: {}).",
-                    value, value, body, result, regexp, ignoreFailure, negated);
+                    value, result, regexp, ignoreFailure, negated);
         if (result) {
             return getSuccessOutput();
         } else {
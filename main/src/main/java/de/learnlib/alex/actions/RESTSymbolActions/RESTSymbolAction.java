@@ -19,11 +19,14 @@ package de.learnlib.alex.actions.RESTSymbolActions;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.WebServiceConnector;
 
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Base class for all the REST specific actions.
@@ -35,6 +38,11 @@ public abstract class RESTSymbolAction extends SymbolAction {
 
     private static final long serialVersionUID = -897337751104947135L;
 
+    @Override
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        return Collections.singleton(WebServiceConnector.class);
+    }
+
     @Override
     public ExecuteResult execute(ConnectorManager connector) {
         return execute(connector.getConnector(WebServiceConnector.class));
@@ -19,6 +19,7 @@ package de.learnlib.alex.actions.StoreSymbolActions;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.CounterStoreConnector;
 import org.apache.logging.log4j.LogManager;
@@ -30,6 +31,8 @@ import org.hibernate.validator.constraints.NotBlank;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
 import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Increment a counter by 1.
@@ -51,6 +54,11 @@ public class IncrementCounterAction extends SymbolAction {
     @NotNull
     private int incrementBy;
 
+    @Override
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        return Collections.singleton(CounterStoreConnector.class);
+    }
+
     @Override
     public ExecuteResult execute(ConnectorManager connector) {
         CounterStoreConnector counterConnector = connector.getConnector(CounterStoreConnector.class);
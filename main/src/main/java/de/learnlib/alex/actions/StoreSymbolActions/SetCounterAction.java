@@ -19,6 +19,7 @@ package de.learnlib.alex.actions.StoreSymbolActions;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.CounterStoreConnector;
 import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
@@ -31,6 +32,8 @@ import org.hibernate.validator.constraints.NotBlank;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
 import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Action to set a counter to a specific value.
@@ -80,6 +83,11 @@ public class SetCounterAction extends SymbolAction {
     @NotNull
     private ValueType valueType;
 
+    @Override
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        return Collections.singleton(CounterStoreConnector.class);
+    }
+
     @Override
     public ExecuteResult execute(ConnectorManager connector) {
         CounterStoreConnector counterStoreConnector = connector.getConnector(CounterStoreConnector.class);
@@ -19,6 +19,7 @@ package de.learnlib.alex.actions.StoreSymbolActions;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
 import de.learnlib.alex.core.learner.connectors.WebServiceConnector;
@@ -34,7 +35,9 @@ import org.openqa.selenium.WebDriver;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
 import javax.ws.rs.core.NewCookie;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Action to set the value of a variable based on a response cookie.
@@ -103,24 +106,32 @@ public class SetVariableByCookieAction extends SetVariableAction {
         cookieType = type;
     }
 
+    @Override
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        if (cookieType == CookieType.WEB) {
+            return Collections.singleton(WebSiteConnector.class);
+        } else if (cookieType == CookieType.REST) {
+            return Collections.singleton(WebServiceConnector.class);
+        }
+        return Collections.emptySet();
+    }
+
     @Override
     public ExecuteResult execute(ConnectorManager connector) {
         VariableStoreConnector storeConnector = connector.getConnector(VariableStoreConnector.class);
-        WebServiceConnector webServiceConnector = connector.getConnector(WebServiceConnector.class);
-        WebSiteConnector webSiteConnector = connector.getConnector(WebSiteConnector.class);
 
         try {
             String cookieValue = null;
 
             if (cookieType == CookieType.WEB) {
-                WebDriver driver = webSiteConnector.getDriver();
+                WebDriver driver = connector.getConnector(WebSiteConnector.class).getDriver();
                 WebDriver.Options manage = driver.manage();
                 Cookie cookie = manage.getCookieNamed(value);
                 if (cookie != null) {
                     cookieValue = cookie.getValue();
                 }
             } else if (cookieType == CookieType.REST) {
-                Map<String, NewCookie> cookies = webServiceConnector.getCookies();
+                Map<String, NewCookie> cookies = connector.getConnector(WebServiceConnector.class).getCookies();
                 javax.ws.rs.core.Cookie cookie = cookies.get(value);
                 if (cookie != null) {
                     cookieValue = cookie.getValue();
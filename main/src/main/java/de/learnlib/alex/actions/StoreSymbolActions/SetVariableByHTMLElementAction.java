@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.SymbolAction;
 import de.learnlib.alex.core.entities.WebElementLocator;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
 import de.learnlib.alex.core.learner.connectors.WebSiteConnector;
@@ -34,6 +35,8 @@ import javax.persistence.DiscriminatorValue;
 import javax.persistence.Embedded;
 import javax.persistence.Entity;
 import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Action to set a variable to a value received from an element of the DOM tree.
@@ -58,6 +61,11 @@ public class SetVariableByHTMLElementAction extends SymbolAction {
     @Embedded
     private WebElementLocator node;
 
+    @Override
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        return Collections.singleton(WebSiteConnector.class);
+    }
+
     @Override
     public ExecuteResult execute(ConnectorManager connector) {
         VariableStoreConnector storeConnector = connector.getConnector(VariableStoreConnector.class);
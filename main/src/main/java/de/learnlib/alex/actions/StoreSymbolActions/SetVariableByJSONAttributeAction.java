@@ -18,6 +18,7 @@ package de.learnlib.alex.actions.StoreSymbolActions;
 
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
 import de.learnlib.alex.core.learner.connectors.WebServiceConnector;
@@ -29,6 +30,8 @@ import org.apache.logging.log4j.MarkerManager;
 
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Action to set a variable to a value received from an element of the current (JSON) body.
@@ -42,17 +45,21 @@ public class SetVariableByJSONAttributeAction extends SetVariableAction {
 
     private static final Marker LEARNER_MARKER = MarkerManager.getMarker("LEARNER");
 
+    @Override
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        return Collections.singleton(WebServiceConnector.class);
+    }
+
     @Override
     public ExecuteResult execute(ConnectorManager connector) {
         VariableStoreConnector storeConnector = connector.getConnector(VariableStoreConnector.class);
         WebServiceConnector webServiceConnector = connector.getConnector(WebServiceConnector.class);
 
-        String body = webServiceConnector.getBody();
-        String valueInTheBody = JSONHelpers.getAttributeValue(body, value);
+        String valueInTheBody = JSONHelpers.getAttributeValue(webServiceConnector.getJsonBody(), value);
 
         if (valueInTheBody == null) {
-            LOGGER.info(LEARNER_MARKER, "Could not set the variable '{}' to the value of the  JSON attribute '{}' "
-                            + "in the body '{}' (ignoreFailure: {}, negated: {}).",
+            LOGGER.info(LEARNER_MARKER, "Could not set the variable '{}' to the value of the JSON attribute '{}' "
+                            + "in the body (ignoreFailure: {}, negated: {}).",
                         name, value, ignoreFailure, negated);
             return getFailedOutput();
         }
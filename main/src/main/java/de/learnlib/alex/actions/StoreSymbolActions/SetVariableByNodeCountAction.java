@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.SymbolAction;
 import de.learnlib.alex.core.entities.WebElementLocator;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
 import de.learnlib.alex.core.learner.connectors.WebSiteConnector;
@@ -34,6 +35,8 @@ import javax.persistence.DiscriminatorValue;
 import javax.persistence.Embedded;
 import javax.persistence.Entity;
 import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Counts elements that match a given selector and stores the result into a variable.
@@ -58,14 +61,19 @@ public class SetVariableByNodeCountAction extends SymbolAction {
     @Embedded
     private WebElementLocator node;
 
+    @Override
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        return Collections.singleton(WebSiteConnector.class);
+    }
+
     @Override
     protected ExecuteResult execute(ConnectorManager connector) {
         int nodeCount = 0;
-        node.setSelector(insertVariableValues(node.getSelector()));
+        WebElementLocator nodeWithVariables = node.withSelector(insertVariableValues(node.getSelector()));
 
         try {
             nodeCount = connector.getConnector(WebSiteConnector.class)
-                    .getElements(node)
+                    .getElements(nodeWithVariables)
                     .size();
         } catch (NoSuchElementException e) {
             LOGGER.info(LEARNER_MARKER, "Could not find elements with the selector '{}' "
@@ -19,9 +19,11 @@ package de.learnlib.alex.actions.StoreSymbolActions;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
 import de.learnlib.alex.core.learner.connectors.WebSiteConnector;
+import de.learnlib.alex.utils.PatternCache;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
@@ -31,8 +33,9 @@ import org.hibernate.validator.constraints.NotBlank;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
 import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.Set;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Action that, given a regular expression, searches in the page source for matches.
@@ -65,6 +68,11 @@ public class SetVariableByRegexGroup extends SymbolAction {
     @NotNull
     private int mthGroup;
 
+    @Override
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        return Collections.singleton(WebSiteConnector.class);
+    }
+
     @Override
     protected ExecuteResult execute(ConnectorManager connector) {
         if (nthMatch < 1) {
@@ -78,7 +86,7 @@ public class SetVariableByRegexGroup extends SymbolAction {
                 .getDriver()
                 .getPageSource();
 
-        Matcher matcher = Pattern.compile(regex)
+        Matcher matcher = PatternCache.compile(regex)
                 .matcher(pageSource);
 
         try {
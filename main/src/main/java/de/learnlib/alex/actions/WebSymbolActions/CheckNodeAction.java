@@ -63,11 +63,11 @@ public class CheckNodeAction extends WebSymbolAction {
     @Override
     public ExecuteResult execute(WebSiteConnector connector) {
         try {
-            node.setSelector(insertVariableValues(node.getSelector()));
-            connector.getElement(node);
+            WebElementLocator nodeWithVariables = node.withSelector(insertVariableValues(node.getSelector()));
+            connector.getElement(nodeWithVariables);
 
             LOGGER.info(LEARNER_MARKER, "Found the node '{}' (ignoreFailure: {}, negated: {}).",
-                        node, ignoreFailure, negated);
+                        nodeWithVariables, ignoreFailure, negated);
             return getSuccessOutput();
         } catch (NoSuchElementException e) {
             LOGGER.info(LEARNER_MARKER, "Could not find the node '{}' (ignoreFailure: {}, negated: {}).",
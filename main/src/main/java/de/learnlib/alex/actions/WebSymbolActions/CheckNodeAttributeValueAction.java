@@ -114,12 +114,12 @@ public class CheckNodeAttributeValueAction extends WebSymbolAction {
     @Override
     protected ExecuteResult execute(WebSiteConnector connector) {
         try {
-            node.setSelector(insertVariableValues(node.getSelector()));
-            WebElement element = connector.getElement(node);
+            WebElementLocator nodeWithVariables = node.withSelector(insertVariableValues(node.getSelector()));
+            WebElement element = connector.getElement(nodeWithVariables);
             String attributeValue = element.getAttribute(attribute);
             if (attributeValue == null) {
                 LOGGER.info(LEARNER_MARKER, "Attribute '{}' not found on element '{}'",
-                        attribute, node);
+                        attribute, nodeWithVariables);
                 return getFailedOutput();
             }
 
@@ -141,12 +141,12 @@ public class CheckNodeAttributeValueAction extends WebSymbolAction {
             if (isValid) {
                 LOGGER.info(LEARNER_MARKER, "The value of the attribute '{}' of the node '{}'"
                                 + " '{}' the searched value '{}' (ignoreFailure: {}, negated: {}).",
-                        attribute, node, checkMethod, value, ignoreFailure, negated);
+                        attribute, nodeWithVariables, checkMethod, value, ignoreFailure, negated);
                 return getSuccessOutput();
             } else {
                 LOGGER.info(LEARNER_MARKER, "The value of the attribute '{}' of the node '{}'"
                                 + " does not '{}' the searched value '{}' (ignoreFailure: {}, negated: {}).",
-                        attribute, node, checkMethod, value, ignoreFailure, negated);
+                        attribute, nodeWithVariables, checkMethod, value, ignoreFailure, negated);
                 return getFailedOutput();
             }
         } catch (NoSuchElementException e) {
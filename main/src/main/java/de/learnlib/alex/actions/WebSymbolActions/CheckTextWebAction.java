@@ -19,6 +19,8 @@ package de.learnlib.alex.actions.WebSymbolActions;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
+import de.learnlib.alex.core.entities.TextCheckAction;
+import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.WebSiteConnector;
 import de.learnlib.alex.utils.SearchHelper;
 import org.apache.logging.log4j.LogManager;
@@ -36,7 +38,7 @@ import javax.persistence.Entity;
 @Entity
 @DiscriminatorValue("web_checkForText")
 @JsonTypeName("web_checkForText")
-public class CheckTextWebAction extends WebSymbolAction {
+public class CheckTextWebAction extends WebSymbolAction implements TextCheckAction {
 
     private static final long serialVersionUID = -1212555673698070996L;
 
@@ -89,6 +91,7 @@ public class CheckTextWebAction extends WebSymbolAction {
      *
      * @return true, if value should be a regular expression: false otherwise.
      */
+    @Override
     public boolean isRegexp() {
         return regexp;
     }
@@ -106,8 +109,21 @@ public class CheckTextWebAction extends WebSymbolAction {
     @Override
     public ExecuteResult execute(WebSiteConnector connector) {
         String pageSource = connector.getPageSource();
-        boolean result = SearchHelper.search(getValueWithVariableValues(), pageSource, regexp);
+        return check(SearchHelper.search(getValueWithVariableValues(), pageSource, regexp));
+    }
+
+    @Override
+    public String getSearchedText(ConnectorManager connector) {
+        return connector.getConnector(WebSiteConnector.class).getPageSource();
+    }
 
+    @Override
+    public String getSearchedValue(ConnectorManager connector) {
+        return insertVariableValues(connector, value);
+    }
+
+    @Override
+    public ExecuteResult check(boolean result) {
         LOGGER.info(LEARNER_MARKER, "Check if the current pages contains '{}' => {} "
                                         + "(regExp: {}, ignoreFailure: {}, negated: {}).",
                     value, result, regexp, ignoreFailure, negated);
@@ -72,11 +72,11 @@ public class ClearAction extends WebSymbolAction {
     @Override
     public ExecuteResult execute(WebSiteConnector connector) {
         try {
-            node.setSelector(insertVariableValues(node.getSelector()));
-            connector.getElement(node).clear();
+            WebElementLocator nodeWithVariables = node.withSelector(insertVariableValues(node.getSelector()));
+            connector.getElement(nodeWithVariables).clear();
 
             LOGGER.info(LEARNER_MARKER, "Cleared the element '{}' (ignoreFailure: {}, negated: {}).",
-                        node, ignoreFailure, negated);
+                        nodeWithVariables, ignoreFailure, negated);
             return getSuccessOutput();
         } catch (NoSuchElementException e) {
             LOGGER.info(LEARNER_MARKER, "Could not clear the element '{}' (ignoreFailure: {}, negated: {}).",
@@ -99,8 +99,8 @@ public class ClickAction extends WebSymbolAction {
     @Override
     public ExecuteResult execute(WebSiteConnector connector) {
         try {
-            node.setSelector(insertVariableValues(node.getSelector()));
-            WebElement element = connector.getElement(node);
+            WebElementLocator nodeWithVariables = node.withSelector(insertVariableValues(node.getSelector()));
+            WebElement element = connector.getElement(nodeWithVariables);
 
             if (doubleClick) {
                 new Actions(connector.getDriver()).doubleClick(element).build().perform();
@@ -110,7 +110,7 @@ public class ClickAction extends WebSymbolAction {
 
             LOGGER.info(LEARNER_MARKER, "Clicked on the element '{}' "
                                             + "(doubleClick: {}, ignoreFailure: {}, negated: {}).",
-                        node, doubleClick, ignoreFailure, negated);
+                        nodeWithVariables, doubleClick, ignoreFailure, negated);
             return getSuccessOutput();
         } catch (NoSuchElementException e) {
             LOGGER.info(LEARNER_MARKER, "Could not click on the element '{}' "
@@ -19,6 +19,7 @@ package de.learnlib.alex.actions.WebSymbolActions;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
 import de.learnlib.alex.core.learner.connectors.WebSiteConnector;
@@ -33,7 +34,9 @@ import org.openqa.selenium.WebElement;
 import javax.persistence.Column;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Action to execute JavaScript on the opened browser.
@@ -81,6 +84,11 @@ public class ExecuteScriptAction extends SymbolAction {
         this.name = name;
     }
 
+    @Override
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        return Collections.singleton(WebSiteConnector.class);
+    }
+
     @Override
     public ExecuteResult execute(ConnectorManager connector) {
         WebSiteConnector webSiteConnector = connector.getConnector(WebSiteConnector.class);
@@ -100,15 +100,15 @@ public class FillAction extends WebSymbolAction {
 
     @Override
     public ExecuteResult execute(WebSiteConnector connector) {
-        node.setSelector(insertVariableValues(node.getSelector()));
+        WebElementLocator nodeWithVariables = node.withSelector(insertVariableValues(node.getSelector()));
         String valueWithVariables = insertVariableValues(value);
         try {
-            WebElement element = connector.getElement(node);
+            WebElement element = connector.getElement(nodeWithVariables);
             element.clear();
             element.sendKeys(valueWithVariables);
 
             LOGGER.info("Filled the element '{}' with {}'(ignoreFailure: {}, negated: {}).",
-                        node, value, ignoreFailure, negated);
+                        nodeWithVariables, value, ignoreFailure, negated);
             return getSuccessOutput();
         } catch (NoSuchElementException e) {
             LOGGER.info(LEARNER_MARKER, "Could not find the element '{}' to fill it with '{}' "
@@ -135,12 +135,12 @@ public class MoveMouseAction extends WebSymbolAction {
                                                 + "(ignoreFailure: {}, negated: {}).",
                             offsetX, offsetY, ignoreFailure, negated);
             } else {
-                node.setSelector(insertVariableValues(node.getSelector()));
-                WebElement element = connector.getElement(node);
+                WebElementLocator nodeWithVariables = node.withSelector(insertVariableValues(node.getSelector()));
+                WebElement element = connector.getElement(nodeWithVariables);
                 actions.moveToElement(element, offsetX, offsetY).build().perform();
                 LOGGER.info(LEARNER_MARKER, "Moved the mouse to the element '{}' "
                                                 + "(ignoreFailure: {}, negated: {}).",
-                            node, ignoreFailure, negated);
+                            nodeWithVariables, ignoreFailure, negated);
             }
 
             return getSuccessOutput();
@@ -68,11 +68,11 @@ public class PressKeyAction extends WebSymbolAction {
         Keys keyToPress = Keys.getKeyFromUnicode(unescapedKey.toCharArray()[0]);
 
         try {
-            node.setSelector(insertVariableValues(node.getSelector()));
-            WebElement element = connector.getElement(node);
+            WebElementLocator nodeWithVariables = node.withSelector(insertVariableValues(node.getSelector()));
+            WebElement element = connector.getElement(nodeWithVariables);
             element.sendKeys(keyToPress);
             LOGGER.info(LEARNER_MARKER, "Pressed the key '{}' on the element '{}' (ignoreFailure: {}, negated: {}).",
-                    keyToPress.toString(), node, ignoreFailure, negated);
+                    keyToPress.toString(), nodeWithVariables, ignoreFailure, negated);
             return getSuccessOutput();
         } catch (NoSuchElementException e) {
             LOGGER.info(LEARNER_MARKER, "Could not press key '{}' on element '{}' (ignoreFailure: {}, negated: {}).",
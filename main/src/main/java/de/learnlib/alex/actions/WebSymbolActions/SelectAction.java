@@ -19,6 +19,7 @@ package de.learnlib.alex.actions.WebSymbolActions;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
+import de.learnlib.alex.core.entities.WebElementLocator;
 import de.learnlib.alex.core.learner.connectors.WebSiteConnector;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -103,9 +104,9 @@ public class SelectAction extends FillAction {
     public ExecuteResult execute(WebSiteConnector connector) {
         try {
             String valueWithVariables = insertVariableValues(value);
-            node.setSelector(insertVariableValues(node.getSelector()));
+            WebElementLocator nodeWithVariables = node.withSelector(insertVariableValues(node.getSelector()));
 
-            WebElement selectElement = connector.getElement(node);
+            WebElement selectElement = connector.getElement(nodeWithVariables);
             Select select = new Select(selectElement);
             switch (selectBy) {
                 case VALUE:
@@ -123,7 +124,7 @@ public class SelectAction extends FillAction {
             }
 
             LOGGER.info(LEARNER_MARKER, "Selected '{}' of '{}' by '{}' (ignoreFailure: {}, negated: {}).",
-                        value, node, selectBy, ignoreFailure, negated);
+                        value, nodeWithVariables, selectBy, ignoreFailure, negated);
             return getSuccessOutput();
         } catch (NoSuchElementException | NumberFormatException | UnexpectedTagNameException e) {
             LOGGER.info(LEARNER_MARKER, "Could not select '{}' of '{}' by '{}' (ignoreFailure: {}, negated: {}).",
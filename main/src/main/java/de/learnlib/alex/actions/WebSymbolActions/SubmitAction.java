@@ -72,11 +72,11 @@ public class SubmitAction extends WebSymbolAction {
     @Override
     public ExecuteResult execute(WebSiteConnector connector) {
         try {
-            node.setSelector(insertVariableValues(node.getSelector()));
-            connector.getElement(node).submit();
+            WebElementLocator nodeWithVariables = node.withSelector(insertVariableValues(node.getSelector()));
+            connector.getElement(nodeWithVariables).submit();
 
             LOGGER.info(LEARNER_MARKER, "Submitted '{}' (ignoreFailure: {}, negated: {}).",
-                        node, ignoreFailure, negated);
+                        nodeWithVariables, ignoreFailure, negated);
             return getSuccessOutput();
         } catch (NoSuchElementException e) {
             LOGGER.info(LEARNER_MARKER, "Could not submit '{}' (ignoreFailure: {}, negated: {}).",
@@ -163,24 +163,24 @@ public class WaitForNodeAction extends WebSymbolAction {
         }
 
         WebDriverWait wait = new WebDriverWait(connector.getDriver(), maxWaitTime);
-        node.setSelector(insertVariableValues(node.getSelector()));
+        WebElementLocator nodeWithVariables = node.withSelector(insertVariableValues(node.getSelector()));
 
         try {
             switch (waitCriterion) {
                 case VISIBLE:
-                    wait.until(ExpectedConditions.visibilityOf(connector.getElement(node)));
+                    wait.until(ExpectedConditions.visibilityOf(connector.getElement(nodeWithVariables)));
                     break;
                 case INVISIBLE:
-                    wait.until(ExpectedConditions.invisibilityOfElementLocated(node.getBy()));
+                    wait.until(ExpectedConditions.invisibilityOfElementLocated(nodeWithVariables.getBy()));
                     break;
                 case ADDED:
-                    wait.until(ExpectedConditions.presenceOfElementLocated(node.getBy()));
+                    wait.until(ExpectedConditions.presenceOfElementLocated(nodeWithVariables.getBy()));
                     break;
                 case REMOVED:
-                    wait.until(ExpectedConditions.stalenessOf(connector.getElement(node)));
+                    wait.until(ExpectedConditions.stalenessOf(connector.getElement(nodeWithVariables)));
                     break;
                 case CLICKABLE:
-                    wait.until(ExpectedConditions.elementToBeClickable(node.getBy()));
+                    wait.until(ExpectedConditions.elementToBeClickable(nodeWithVariables.getBy()));
                     break;
                 default:
                     return getFailedOutput();
@@ -19,11 +19,14 @@ package de.learnlib.alex.actions.WebSymbolActions;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.WebSiteConnector;
 
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Base for the different action a test could do.
@@ -36,6 +39,11 @@ public abstract class WebSymbolAction extends SymbolAction {
 
     private static final long serialVersionUID = -1990239222213631726L;
 
+    @Override
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        return Collections.singleton(WebSiteConnector.class);
+    }
+
     @Override
     public ExecuteResult execute(ConnectorManager connector) {
         return execute(connector.getConnector(WebSiteConnector.class));
@@ -130,6 +130,7 @@ public class CounterDAOImpl implements CounterDAO {
     }
 
     @Override
+    @Transactional
     public void update(List<Counter> counters) {
         counterRepository.save(counters);
     }
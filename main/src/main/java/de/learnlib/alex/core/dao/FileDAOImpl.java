@@ -50,6 +50,22 @@ public class FileDAOImpl implements FileDAO {
     @Value("${alex.filesRootDir}")
     private String filesRootDir;
 
+    /**
+     * Default constructor, used by Spring.
+     */
+    public FileDAOImpl() {
+    }
+
+    /**
+     * Constructor for the usage without Spring, e.g. in a query worker.
+     *
+     * @param filesRootDir
+     *         The path of the files root directory.
+     */
+    public FileDAOImpl(String filesRootDir) {
+        this.filesRootDir = filesRootDir;
+    }
+
     /**
      * Create the uploads directory, if necessary.
      * Called by Spring after the DAO object is created and all injections are present.
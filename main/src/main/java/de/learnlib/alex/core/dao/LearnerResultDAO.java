@@ -57,6 +57,34 @@ public interface LearnerResultDAO {
      */
     List<LearnerResult> getAll(Long userId, Long projectId, boolean includeSteps) throws NotFoundException;
 
+    /**
+     * Get one page of the LearnerResults of a Project, ordered by their test no. The steps are never included.
+     *
+     * @param userId
+     *         The user of the LearnerResult
+     * @param projectId
+     *         The project id of the test run.
+     * @param page
+     *         The zero-based number of the page.
+     * @param size
+     *         The maximal amount of LearnerResults per page.
+     * @return A list of LearnerResults, which is empty if the page is behind the last result.
+     * @throws NotFoundException
+     *         If the project has no LearnerResults.
+     */
+    List<LearnerResult> getAll(Long userId, Long projectId, int page, int size) throws NotFoundException;
+
+    /**
+     * Count the LearnerResults of a Project.
+     *
+     * @param userId
+     *         The user of the LearnerResult
+     * @param projectId
+     *         The project id of the test runs.
+     * @return The amount of LearnerResults.
+     */
+    long count(Long userId, Long projectId);
+
     /**
      * Get a list of LearnResults with given testNos for a given Project.
      *
@@ -92,6 +120,34 @@ public interface LearnerResultDAO {
      */
     LearnerResult get(Long userId, Long projectId, Long testNos, boolean includeSteps) throws NotFoundException;
 
+    /**
+     * Get one page of the steps of a LearnResult, ordered by their step no.
+     * The hypotheses and the algorithm information are large and are only loaded if they are requested.
+     *
+     * @param result
+     *         The result to get the steps from.
+     * @param page
+     *         The zero-based number of the page.
+     * @param size
+     *         The maximal amount of steps per page.
+     * @param includeHypothesis
+     *         Should the hypotheses be included?
+     * @param includeAlgorithmInformation
+     *         Should the algorithm information be included?
+     * @return A list of steps, which is empty if the page is behind the last step.
+     */
+    List<LearnerResultStep> getSteps(LearnerResult result, int page, int size,
+                                     boolean includeHypothesis, boolean includeAlgorithmInformation);
+
+    /**
+     * Count the steps of a LearnResult.
+     *
+     * @param result
+     *         The result to count the steps of.
+     * @return The amount of steps.
+     */
+    long countSteps(LearnerResult result);
+
     /**
      * Create a new step for a LearnResult based on the latest step within the result.
      *
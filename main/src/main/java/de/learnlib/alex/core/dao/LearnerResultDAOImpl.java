@@ -22,6 +22,7 @@ import de.learnlib.alex.core.entities.LearnerResumeConfiguration;
 import de.learnlib.alex.core.entities.LearnerStatus;
 import de.learnlib.alex.core.entities.Statistics;
 import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.core.entities.learnlibproxies.CompactMealyMachineProxy;
 import de.learnlib.alex.core.learner.Learner;
 import de.learnlib.alex.core.repositories.LearnerResultRepository;
 import de.learnlib.alex.core.repositories.LearnerResultStepRepository;
@@ -30,11 +31,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hibernate.Hibernate;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.inject.Inject;
 import javax.validation.ValidationException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -46,6 +50,12 @@ public class LearnerResultDAOImpl implements LearnerResultDAO {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
+    /**
+     * Every n-th hypothesis of a result is stored completely, all other hypotheses are stored as delta to the
+     * hypothesis of the previous step. This limits the amount of steps that have to be loaded to decode one step.
+     */
+    static final int HYPOTHESIS_KEYFRAME_INTERVAL = 10;
+
     /** The LearnerResultRepository to use. Will be injected. */
     private LearnerResultRepository learnerResultRepository;
 
@@ -116,6 +126,27 @@ public class LearnerResultDAOImpl implements LearnerResultDAO {
         return results;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<LearnerResult> getAll(Long userId, Long projectId, int page, int size) throws NotFoundException {
+        List<LearnerResult> results = learnerResultRepository.findByUser_IdAndProject_IdOrderByTestNoAsc(
+                userId, projectId, new PageRequest(page, size));
+        if (results.isEmpty() && learnerResultRepository.countByUser_IdAndProject_Id(userId, projectId) == 0) {
+            throw new NotFoundException("The project with the id " + projectId + " was not found.");
+        }
+
+        initializeLazyRelations(results, false);
+
+        // done
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count(Long userId, Long projectId) {
+        return learnerResultRepository.countByUser_IdAndProject_Id(userId, projectId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<LearnerResult> getAll(Long userId, Long projectId, Long[] testNos, boolean includeSteps)
@@ -154,6 +185,32 @@ public class LearnerResultDAOImpl implements LearnerResultDAO {
         return results.get(0);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<LearnerResultStep> getSteps(LearnerResult result, int page, int size,
+                                            boolean includeHypothesis, boolean includeAlgorithmInformation) {
+        Pageable pageable = new PageRequest(page, size);
+        if (includeAlgorithmInformation) {
+            List<LearnerResultStep> steps = learnerResultStepRepository.findByResult_IdOrderByStepNoAsc(result.getId(),
+                                                                                                        pageable);
+            resolveHypotheses(result, steps);
+            return steps;
+        } else if (includeHypothesis) {
+            List<LearnerResultStep> steps =
+                    learnerResultStepRepository.findSummariesWithHypothesisByResultId(result.getId(), pageable);
+            resolveHypotheses(result, steps);
+            return steps;
+        } else {
+            return learnerResultStepRepository.findSummariesByResultId(result.getId(), pageable);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countSteps(LearnerResult result) {
+        return learnerResultStepRepository.countByResult_Id(result.getId());
+    }
+
     @Override
     @Transactional
     public LearnerResultStep createStep(LearnerResult result)
@@ -205,6 +262,7 @@ public class LearnerResultDAOImpl implements LearnerResultDAO {
     @Override
     @Transactional
     public void saveStep(LearnerResult result, LearnerResultStep step) throws ValidationException {
+        linkToPreviousHypothesis(result, step);
         learnerResultStepRepository.save(step);
 
         updateSummary(result, step);
@@ -226,23 +284,35 @@ public class LearnerResultDAOImpl implements LearnerResultDAO {
     }
 
     private void updateSummary(LearnerResult result, LearnerResultStep step) {
-        result.setHypothesis(step.getHypothesis());
+        if (step.getHypothesis() == null) {
+            result.setHypothesis(null);
+        } else {
+            // the result stores the hypothesis completely, so it must not share the delta base of the step
+            result.setHypothesis(new CompactMealyMachineProxy(step.getHypothesis()));
+        }
         result.setErrorText(step.getErrorText());
 
         Statistics summaryStatistics = result.getStatistics();
         Statistics newStatistics = step.getStatistics();
 
         summaryStatistics.setEqsUsed(summaryStatistics.getEqsUsed() + newStatistics.getEqsUsed());
+        summaryStatistics.setCounterexampleMqsUsed(summaryStatistics.getCounterexampleMqsUsed()
+                                                           + newStatistics.getCounterexampleMqsUsed());
         summaryStatistics.getDuration().increment(newStatistics.getDuration());
         summaryStatistics.getMqsUsed().increment(newStatistics.getMqsUsed());
         summaryStatistics.getSymbolsUsed().increment(newStatistics.getSymbolsUsed());
+        summaryStatistics.getMqsSaved().increment(newStatistics.getMqsSaved());
+        summaryStatistics.getSymbolsSaved().increment(newStatistics.getSymbolsSaved());
     }
 
     private void initializeLazyRelations(List<LearnerResult> results, boolean includeSteps) {
         results.forEach(r -> Hibernate.initialize(r.getResetSymbol()));
         results.forEach(r -> Hibernate.initialize(r.getSymbols()));
         if (includeSteps) {
-            results.forEach(r -> Hibernate.initialize(r.getSteps()));
+            results.forEach(r -> {
+                Hibernate.initialize(r.getSteps());
+                resolveHypotheses(r.getSteps());
+            });
         } else {
             results.forEach(r -> {
 //                session.evict(r);
@@ -251,10 +321,90 @@ public class LearnerResultDAOImpl implements LearnerResultDAO {
         }
     }
 
+    /**
+     * Store the hypothesis of a step as delta to the hypothesis of the previous step, unless the step is a keyframe.
+     *
+     * @param result
+     *         The result of the step, including the previous steps.
+     * @param step
+     *         The step to save.
+     */
+    private void linkToPreviousHypothesis(LearnerResult result, LearnerResultStep step) {
+        CompactMealyMachineProxy hypothesis = step.getHypothesis();
+        if (hypothesis == null || hypothesis.isUnresolved()) {
+            return;
+        }
+
+        hypothesis.setDeltaBase(null);
+        if ((step.getStepNo() - 1) % HYPOTHESIS_KEYFRAME_INTERVAL == 0) {
+            return;
+        }
+
+        result.getSteps().stream()
+                .filter(s -> s.getStepNo() == step.getStepNo() - 1)
+                .map(LearnerResultStep::getHypothesis)
+                .filter(h -> h != null && !h.isUnresolved())
+                .findFirst()
+                .ifPresent(hypothesis::setDeltaBase);
+    }
+
+    /**
+     * Decode the hypotheses of a page of steps. If the page does not start with a keyframe, the hypotheses of the
+     * previous steps back to the last keyframe are loaded, too.
+     *
+     * @param result
+     *         The result of the steps.
+     * @param steps
+     *         The steps, ordered by their step no.
+     */
+    private void resolveHypotheses(LearnerResult result, List<LearnerResultStep> steps) {
+        boolean unresolved = steps.stream()
+                                  .anyMatch(s -> s.getHypothesis() != null && s.getHypothesis().isUnresolved());
+        if (!unresolved) {
+            return;
+        }
+
+        long firstStepNo = steps.get(0).getStepNo();
+        long keyframe = firstStepNo - (firstStepNo - 1) % HYPOTHESIS_KEYFRAME_INTERVAL;
+        List<LearnerResultStep> stepsToResolve = new ArrayList<>();
+        if (keyframe < firstStepNo) {
+            stepsToResolve.addAll(learnerResultStepRepository.findSummariesWithHypothesisByResultIdAndStepNos(
+                    result.getId(), keyframe, firstStepNo - 1));
+        }
+        stepsToResolve.addAll(steps);
+
+        resolveHypotheses(stepsToResolve);
+    }
+
+    /**
+     * Decode the hypotheses of consecutive steps, which are stored as delta to the hypothesis of the previous step.
+     *
+     * @param steps
+     *         The steps, ordered by their step no.
+     */
+    private void resolveHypotheses(List<LearnerResultStep> steps) {
+        LearnerResultStep previousStep = null;
+        for (LearnerResultStep step : steps) {
+            CompactMealyMachineProxy hypothesis = step.getHypothesis();
+            if (hypothesis != null && hypothesis.isUnresolved()) {
+                if (previousStep == null
+                        || previousStep.getHypothesis() == null
+                        || previousStep.getHypothesis().isUnresolved()
+                        || previousStep.getStepNo() != step.getStepNo() - 1) {
+                    LOGGER.warn("The hypothesis of step " + step.getStepNo() + " could not be decoded, because the "
+                                + "hypothesis of the previous step is missing.");
+                } else {
+                    hypothesis.resolve(previousStep.getHypothesis());
+                }
+            }
+            previousStep = step;
+        }
+    }
+
     private void checkIfResultsCanBeDeleted(Learner learner, User user, Long projectId, Long... testNo)
             throws ValidationException {
         // don't delete the learnResult of the active learning process
-        LearnerStatus status = learner.getStatus(user);
+        LearnerStatus status = learner.getStatus(user, projectId);
 
         // user has no active thread -> no conflict possible
         if (!status.isActive()) {
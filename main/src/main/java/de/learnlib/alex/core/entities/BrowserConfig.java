@@ -26,6 +26,24 @@ import javax.persistence.Embeddable;
 @JsonPropertyOrder(alphabetic = true)
 public class BrowserConfig {
 
+    /** The default amount of membership queries a pooled web driver is used for before it is restarted. */
+    public static final int DEFAULT_MAX_DRIVER_USES = 100;
+
+    /**
+     * The lifecycles of the web drivers.
+     */
+    public enum DriverMode {
+
+        /** Start a new browser for every membership query. Slow, but every query starts in a fresh browser. */
+        NEW_PER_QUERY,
+
+        /**
+         * Keep the browser alive between the membership queries and only clear cookies, local and session storage.
+         * The browser is restarted after {@link #maxDriverUses} queries or if it failed.
+         */
+        POOLED
+    }
+
     /** The driver that is used. */
     private WebBrowser driver;
 
@@ -38,9 +56,17 @@ public class BrowserConfig {
     /** The port for the virtual xvfb display. Only works with linux. */
     private Integer xvfbDisplayPort;
 
+    /** The lifecycle of the web drivers. */
+    private DriverMode driverMode;
+
+    /** How many membership queries a pooled web driver is used for before it is restarted. */
+    private Integer maxDriverUses;
+
     /** Constructor. */
     public BrowserConfig() {
         this.driver = WebBrowser.HTMLUNITDRIVER;
+        this.driverMode = DriverMode.NEW_PER_QUERY;
+        this.maxDriverUses = DEFAULT_MAX_DRIVER_USES;
     }
 
     /** @return {@link BrowserConfig#driver}. */
@@ -91,4 +117,24 @@ public class BrowserConfig {
     public void setXvfbDisplayPort(Integer xvfbDisplayPort) {
         this.xvfbDisplayPort = xvfbDisplayPort;
     }
+
+    /** @return {@link #driverMode}, {@link DriverMode#NEW_PER_QUERY} if none is set. */
+    public DriverMode getDriverMode() {
+        return driverMode == null ? DriverMode.NEW_PER_QUERY : driverMode;
+    }
+
+    /** @param driverMode {@link #driverMode} */
+    public void setDriverMode(DriverMode driverMode) {
+        this.driverMode = driverMode;
+    }
+
+    /** @return {@link #maxDriverUses}, {@link #DEFAULT_MAX_DRIVER_USES} if none is set. */
+    public Integer getMaxDriverUses() {
+        return maxDriverUses == null ? DEFAULT_MAX_DRIVER_USES : maxDriverUses;
+    }
+
+    /** @param maxDriverUses {@link #maxDriverUses} */
+    public void setMaxDriverUses(Integer maxDriverUses) {
+        this.maxDriverUses = maxDriverUses == null || maxDriverUses < 1 ? DEFAULT_MAX_DRIVER_USES : maxDriverUses;
+    }
 }
@@ -16,49 +16,103 @@
 
 package de.learnlib.alex.core.entities;
 
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
- * An Enumeration to determine if the Symbol was executed correctly or not.
+ * The output of a Symbol, which determines if the Symbol was executed correctly or not.
+ *
+ * Instances are immutable and interned, i.e. there is exactly one instance for OK, for FAILED and for every number
+ * of a failed action. Thus outputs can be shared between threads and compared by identity, and their String
+ * representation is only created once.
  */
-public enum ExecuteResult {
+public final class ExecuteResult {
+
+    /** The amount of failed action numbers to create instances for in advance. */
+    private static final int PRE_INTERNED_FAILURES = 64;
 
     /** The Symbol was executed correctly. */
-    OK,
+    public static final ExecuteResult OK = new ExecuteResult(true, null);
 
     /** While executing the Symbol something went wrong. */
-    FAILED;
+    public static final ExecuteResult FAILED = new ExecuteResult(false, null);
+
+    /** The instances for the first failed action numbers. */
+    private static final ExecuteResult[] FAILURES = new ExecuteResult[PRE_INTERNED_FAILURES];
+
+    /** The instances for all other failed action numbers. */
+    private static final ConcurrentMap<Integer, ExecuteResult> MORE_FAILURES = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < PRE_INTERNED_FAILURES; i++) {
+            FAILURES[i] = new ExecuteResult(false, i);
+        }
+    }
+
+    /** If the Symbol was executed correctly. */
+    private final boolean success;
 
     /**
      * Number to indicate the action of a Symbol that failed.
      * OK -> null value.
      * If an Action returns the ExecuteResult -> null.
      */
-    private Integer failedActionNumber;
+    private final Integer failedActionNumber;
+
+    /** The String representation, e.g. 'OK' or 'FAILED(2)'. */
+    private final String output;
+
+    private ExecuteResult(boolean success, Integer failedActionNumber) {
+        this.success = success;
+        this.failedActionNumber = failedActionNumber;
+
+        if (success) {
+            this.output = "OK";
+        } else if (failedActionNumber == null) {
+            this.output = "FAILED";
+        } else {
+            this.output = ("FAILED(" + (failedActionNumber + 1) + ")").intern();
+        }
+    }
 
     /**
-     * Get the number to indicate which action of a symbol failed.
+     * Get the output of a Symbol whose action failed.
      *
-     * @return The number that indicates teh failed action. null if OK.
+     * @param failedActionNumber
+     *         The index of the failed action within the Symbol.
+     * @return The interned output.
      */
-    public Integer getFailedActionNumber() {
-        return failedActionNumber;
+    public static ExecuteResult failed(int failedActionNumber) {
+        if (failedActionNumber < 0) {
+            throw new IllegalArgumentException("The number of the failed action must not be negative.");
+        } else if (failedActionNumber < PRE_INTERNED_FAILURES) {
+            return FAILURES[failedActionNumber];
+        } else {
+            return MORE_FAILURES.computeIfAbsent(failedActionNumber, n -> new ExecuteResult(false, n));
+        }
+    }
+
+    /**
+     * @return {@link #success}.
+     */
+    public boolean isSuccess() {
+        return success;
     }
 
     /**
-     * Set the number of the failed action of a Symbol.
+     * Get the number to indicate which action of a symbol failed.
      *
-     * @param failedActionNumber
-     *         Number to indicate the failed action . Must be null when OK.
+     * @return The number that indicates teh failed action. null if OK.
      */
-    void setFailedActionNumber(Integer failedActionNumber) {
-        this.failedActionNumber = failedActionNumber;
+    public Integer getFailedActionNumber() {
+        return failedActionNumber;
     }
 
     @Override
+    @JsonValue
     public String toString() {
-        if (failedActionNumber == null) {
-            return this.name(); // most likely OK
-        } else {
-            return this.name() + "(" + (failedActionNumber + 1) + ")";
-        }
+        return output;
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.entities;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The configuration of the pooled HTTP client that is used for the REST symbols of a project.
+ * All projects with an equal configuration share one client and therefore its open connections.
+ */
+@Embeddable
+@JsonPropertyOrder(alphabetic = true)
+public class HttpClientConfig implements Serializable {
+
+    private static final long serialVersionUID = 4893472318934617254L;
+
+    /** The default amount of connections that are kept open to all hosts together. */
+    public static final int DEFAULT_MAX_CONNECTIONS = 100;
+
+    /** The default amount of connections that are kept open to a single host. */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 20;
+
+    /** The default time in ms to wait for a connection to be established. */
+    public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+
+    /** The default time in ms to wait for data of a response. */
+    public static final int DEFAULT_READ_TIMEOUT = 30000;
+
+    /** The amount of connections that are kept open to all hosts together. */
+    private Integer maxConnections;
+
+    /** The amount of connections that are kept open to a single host. */
+    private Integer maxConnectionsPerHost;
+
+    /** The time in ms to wait for a connection to be established, 0 to wait forever. */
+    private Integer connectTimeout;
+
+    /** The time in ms to wait for data of a response, 0 to wait forever. */
+    private Integer readTimeout;
+
+    /** Constructor. */
+    public HttpClientConfig() {
+        this.maxConnections = DEFAULT_MAX_CONNECTIONS;
+        this.maxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+        this.connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        this.readTimeout = DEFAULT_READ_TIMEOUT;
+    }
+
+    /** @return {@link #maxConnections}, {@link #DEFAULT_MAX_CONNECTIONS} if none is set. */
+    public Integer getMaxConnections() {
+        return maxConnections == null ? DEFAULT_MAX_CONNECTIONS : maxConnections;
+    }
+
+    /** @param maxConnections {@link #maxConnections} */
+    public void setMaxConnections(Integer maxConnections) {
+        this.maxConnections = maxConnections == null || maxConnections < 1 ? DEFAULT_MAX_CONNECTIONS : maxConnections;
+    }
+
+    /** @return {@link #maxConnectionsPerHost}, {@link #DEFAULT_MAX_CONNECTIONS_PER_HOST} if none is set. */
+    public Integer getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost == null ? DEFAULT_MAX_CONNECTIONS_PER_HOST : maxConnectionsPerHost;
+    }
+
+    /** @param maxConnectionsPerHost {@link #maxConnectionsPerHost} */
+    public void setMaxConnectionsPerHost(Integer maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost == null || maxConnectionsPerHost < 1
+                ? DEFAULT_MAX_CONNECTIONS_PER_HOST : maxConnectionsPerHost;
+    }
+
+    /** @return {@link #connectTimeout}, {@link #DEFAULT_CONNECT_TIMEOUT} if none is set. */
+    public Integer getConnectTimeout() {
+        return connectTimeout == null ? DEFAULT_CONNECT_TIMEOUT : connectTimeout;
+    }
+
+    /** @param connectTimeout {@link #connectTimeout} */
+    public void setConnectTimeout(Integer connectTimeout) {
+        this.connectTimeout = connectTimeout == null || connectTimeout < 0 ? DEFAULT_CONNECT_TIMEOUT : connectTimeout;
+    }
+
+    /** @return {@link #readTimeout}, {@link #DEFAULT_READ_TIMEOUT} if none is set. */
+    public Integer getReadTimeout() {
+        return readTimeout == null ? DEFAULT_READ_TIMEOUT : readTimeout;
+    }
+
+    /** @param readTimeout {@link #readTimeout} */
+    public void setReadTimeout(Integer readTimeout) {
+        this.readTimeout = readTimeout == null || readTimeout < 0 ? DEFAULT_READ_TIMEOUT : readTimeout;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:needbraces") // Auto generated by IntelliJ
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HttpClientConfig that = (HttpClientConfig) o;
+        return Objects.equals(getMaxConnections(), that.getMaxConnections())
+                && Objects.equals(getMaxConnectionsPerHost(), that.getMaxConnectionsPerHost())
+                && Objects.equals(getConnectTimeout(), that.getConnectTimeout())
+                && Objects.equals(getReadTimeout(), that.getReadTimeout());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getMaxConnections(), getMaxConnectionsPerHost(), getConnectTimeout(), getReadTimeout());
+    }
+
+    @Override
+    public String toString() {
+        return "HttpClientConfig{maxConnections=" + getMaxConnections()
+                + ", maxConnectionsPerHost=" + getMaxConnectionsPerHost()
+                + ", connectTimeout=" + getConnectTimeout()
+                + ", readTimeout=" + getReadTimeout() + "}";
+    }
+}
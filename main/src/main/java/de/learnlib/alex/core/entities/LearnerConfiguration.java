@@ -20,6 +20,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import de.learnlib.alex.core.learner.CounterexampleProcessor;
+import de.learnlib.alex.core.learner.connectors.ConnectorContextHandler;
 import de.learnlib.alex.utils.AlgorithmDeserializer;
 import de.learnlib.alex.utils.AlgorithmSerializer;
 
@@ -67,6 +69,15 @@ public class LearnerConfiguration extends LearnerResumeConfiguration implements
     /** If membership queries should be cached. */
     private boolean useMQCache;
 
+    /** If membership queries should be cached on the disk, so that they can be reused by later learn processes. */
+    private boolean usePersistentMQCache;
+
+    /** How the counterexamples should be shortened before they are used to refine the hypothesis. */
+    private CounterexampleProcessor.Strategy counterexampleShortening;
+
+    /** How the SUL should be reset before a membership query. */
+    private ConnectorContextHandler.ResetStrategy resetStrategy;
+
     /**
      * Default constructor.
      */
@@ -76,6 +87,9 @@ public class LearnerConfiguration extends LearnerResumeConfiguration implements
         this.comment = "";
         this.browser = new BrowserConfig();
         this.useMQCache = true;
+        this.usePersistentMQCache = false;
+        this.counterexampleShortening = CounterexampleProcessor.Strategy.NONE;
+        this.resetStrategy = ConnectorContextHandler.ResetStrategy.SYMBOL;
     }
 
     /**
@@ -188,4 +202,34 @@ public class LearnerConfiguration extends LearnerResumeConfiguration implements
     public void setUseMQCache(boolean useMQCache) {
         this.useMQCache = useMQCache;
     }
+
+    /** @return {@link LearnerConfiguration#usePersistentMQCache}. */
+    public boolean isUsePersistentMQCache() {
+        return usePersistentMQCache;
+    }
+
+    /** @param usePersistentMQCache {@link LearnerConfiguration#usePersistentMQCache}. */
+    public void setUsePersistentMQCache(boolean usePersistentMQCache) {
+        this.usePersistentMQCache = usePersistentMQCache;
+    }
+
+    /** @return {@link LearnerConfiguration#counterexampleShortening}. */
+    public CounterexampleProcessor.Strategy getCounterexampleShortening() {
+        return counterexampleShortening;
+    }
+
+    /** @param counterexampleShortening {@link LearnerConfiguration#counterexampleShortening}. */
+    public void setCounterexampleShortening(CounterexampleProcessor.Strategy counterexampleShortening) {
+        this.counterexampleShortening = counterexampleShortening;
+    }
+
+    /** @return {@link LearnerConfiguration#resetStrategy}. */
+    public ConnectorContextHandler.ResetStrategy getResetStrategy() {
+        return resetStrategy;
+    }
+
+    /** @param resetStrategy {@link LearnerConfiguration#resetStrategy}. */
+    public void setResetStrategy(ConnectorContextHandler.ResetStrategy resetStrategy) {
+        this.resetStrategy = resetStrategy;
+    }
 }
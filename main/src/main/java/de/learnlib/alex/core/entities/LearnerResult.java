@@ -25,6 +25,8 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import de.learnlib.alex.algorithms.LearnAlgorithmFactory;
 import de.learnlib.alex.core.entities.learnlibproxies.AlphabetProxy;
 import de.learnlib.alex.core.entities.learnlibproxies.CompactMealyMachineProxy;
+import de.learnlib.alex.core.learner.CounterexampleProcessor;
+import de.learnlib.alex.core.learner.connectors.ConnectorContextHandler;
 import de.learnlib.alex.utils.AlgorithmDeserializer;
 import de.learnlib.alex.utils.AlgorithmSerializer;
 import net.automatalib.automata.transout.MealyMachine;
@@ -33,6 +35,8 @@ import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Embedded;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.ManyToMany;
@@ -118,6 +122,15 @@ public class LearnerResult implements Serializable {
     /** If membership queries should be cached. */
     private boolean useMQCache;
 
+    /** If membership queries should be cached on the disk, so that they can be reused by later learn processes. */
+    private boolean usePersistentMQCache;
+
+    /** How the counterexamples are shortened before they are used to refine the hypothesis. */
+    private CounterexampleProcessor.Strategy counterexampleShortening;
+
+    /** How the SUL is reset before a membership query. */
+    private ConnectorContextHandler.ResetStrategy resetStrategy;
+
     /**
      * Default constructor.
      */
@@ -128,6 +141,9 @@ public class LearnerResult implements Serializable {
         this.comment = "";
         this.statistics = new Statistics();
         this.useMQCache = true;
+        this.usePersistentMQCache = false;
+        this.counterexampleShortening = CounterexampleProcessor.Strategy.NONE;
+        this.resetStrategy = ConnectorContextHandler.ResetStrategy.SYMBOL;
     }
 
     /**
@@ -503,6 +519,39 @@ public class LearnerResult implements Serializable {
         this.useMQCache = useMQCache;
     }
 
+    /** @return {@link LearnerResult#usePersistentMQCache}. */
+    @Column(columnDefinition = "BOOLEAN DEFAULT FALSE") // results that have been stored before did not use it
+    public boolean isUsePersistentMQCache() {
+        return usePersistentMQCache;
+    }
+
+    /** @param usePersistentMQCache {@link LearnerResult#usePersistentMQCache}. */
+    public void setUsePersistentMQCache(boolean usePersistentMQCache) {
+        this.usePersistentMQCache = usePersistentMQCache;
+    }
+
+    /** @return {@link LearnerResult#counterexampleShortening}, NONE if none is set. */
+    @Enumerated(EnumType.STRING)
+    public CounterexampleProcessor.Strategy getCounterexampleShortening() {
+        return counterexampleShortening == null ? CounterexampleProcessor.Strategy.NONE : counterexampleShortening;
+    }
+
+    /** @param counterexampleShortening {@link LearnerResult#counterexampleShortening}. */
+    public void setCounterexampleShortening(CounterexampleProcessor.Strategy counterexampleShortening) {
+        this.counterexampleShortening = counterexampleShortening;
+    }
+
+    /** @return {@link LearnerResult#resetStrategy}, SYMBOL if none is set. */
+    @Enumerated(EnumType.STRING)
+    public ConnectorContextHandler.ResetStrategy getResetStrategy() {
+        return resetStrategy == null ? ConnectorContextHandler.ResetStrategy.SYMBOL : resetStrategy;
+    }
+
+    /** @param resetStrategy {@link LearnerResult#resetStrategy}. */
+    public void setResetStrategy(ConnectorContextHandler.ResetStrategy resetStrategy) {
+        this.resetStrategy = resetStrategy;
+    }
+
     @SuppressWarnings("checkstyle:needbraces") // Auto generated by IntelliJ
     @Override
     public boolean equals(Object o) {
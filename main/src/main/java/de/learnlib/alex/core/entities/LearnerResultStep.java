@@ -103,6 +103,49 @@ public class LearnerResultStep implements Serializable {
         this.statistics = new Statistics();
     }
 
+    /**
+     * Constructor for the projection of a step without its hypothesis and algorithm information.
+     * Steps created by this constructor are not managed by the persistence context and should only be read.
+     *
+     * @param id             {@link #id}.
+     * @param stepNo         {@link #stepNo}.
+     * @param eqOracle       {@link #eqOracle}.
+     * @param stepsToLearn   {@link #stepsToLearn}.
+     * @param statistics     {@link #statistics}.
+     * @param counterExample {@link #counterExample}.
+     * @param errorText      {@link #errorText}.
+     */
+    public LearnerResultStep(Long id, Long stepNo, AbstractEquivalenceOracleProxy eqOracle, int stepsToLearn,
+                             Statistics statistics, DefaultQueryProxy counterExample, String errorText) {
+        this(id, stepNo, eqOracle, stepsToLearn, statistics, counterExample, errorText, null);
+    }
+
+    /**
+     * Constructor for the projection of a step with its hypothesis, but without the algorithm information.
+     * Steps created by this constructor are not managed by the persistence context and should only be read.
+     *
+     * @param id             {@link #id}.
+     * @param stepNo         {@link #stepNo}.
+     * @param eqOracle       {@link #eqOracle}.
+     * @param stepsToLearn   {@link #stepsToLearn}.
+     * @param statistics     {@link #statistics}.
+     * @param counterExample {@link #counterExample}.
+     * @param errorText      {@link #errorText}.
+     * @param hypothesis     {@link #hypothesis}.
+     */
+    public LearnerResultStep(Long id, Long stepNo, AbstractEquivalenceOracleProxy eqOracle, int stepsToLearn,
+                             Statistics statistics, DefaultQueryProxy counterExample, String errorText,
+                             CompactMealyMachineProxy hypothesis) {
+        this.id = id;
+        this.stepNo = stepNo;
+        this.eqOracle = eqOracle;
+        this.stepsToLearn = stepsToLearn;
+        this.statistics = statistics;
+        this.counterExample = counterExample;
+        this.errorText = errorText;
+        this.hypothesis = hypothesis;
+    }
+
     /**
      * Get the ID of the result used in the DB.
      *
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import de.learnlib.alex.core.entities.learnlibproxies.DefaultQueryProxy;
 import de.learnlib.alex.core.learner.Learner;
+import de.learnlib.alex.core.learner.QueryExecutor;
 
 import java.util.List;
 
@@ -31,6 +32,76 @@ import java.util.List;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class LearnerStatus {
 
+    /**
+     * Snapshot of the parallel query execution of an active learn process.
+     */
+    @JsonPropertyOrder(alphabetic = true)
+    public static class QueryExecutionStatus {
+
+        /** The amount of queries that can be executed in parallel. */
+        private final int parallelism;
+
+        /** The amount of queries that are waiting for a free worker. */
+        private final int queueDepth;
+
+        /** The amount of queries that are executed at the moment. */
+        private final int runningQueries;
+
+        /** The amount of finished queries. */
+        private final long finishedQueries;
+
+        /** The average execution time of a query in ns. */
+        private final long averageLatency;
+
+        /** The longest execution time of a query in ns. */
+        private final long maxLatency;
+
+        /**
+         * Constructor.
+         *
+         * @param executor
+         *         The executor to take the snapshot of.
+         */
+        public QueryExecutionStatus(QueryExecutor executor) {
+            this.parallelism = executor.getParallelism();
+            this.queueDepth = executor.getQueueDepth();
+            this.runningQueries = executor.getRunningQueries();
+            this.finishedQueries = executor.getFinishedQueries();
+            this.averageLatency = executor.getAverageLatency();
+            this.maxLatency = executor.getMaxLatency();
+        }
+
+        /** @return {@link #parallelism}. */
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        /** @return {@link #queueDepth}. */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        /** @return {@link #runningQueries}. */
+        public int getRunningQueries() {
+            return runningQueries;
+        }
+
+        /** @return {@link #finishedQueries}. */
+        public long getFinishedQueries() {
+            return finishedQueries;
+        }
+
+        /** @return {@link #averageLatency}. */
+        public long getAverageLatency() {
+            return averageLatency;
+        }
+
+        /** @return {@link #maxLatency}. */
+        public long getMaxLatency() {
+            return maxLatency;
+        }
+    }
+
     /** Is the Learner active? */
     private final boolean active;
 
@@ -52,6 +123,12 @@ public class LearnerStatus {
     /** The list of queries that are processed atm. */
     private final List<DefaultQueryProxy> currentQueries;
 
+    /** The status of the parallel query execution. */
+    private final QueryExecutionStatus queryExecution;
+
+    /** The position of the learn process in the queue of waiting learn processes, null if it is not queued. */
+    private final Integer queuePosition;
+
     /**
      * Constructor for a status of an inactive thread.
      */
@@ -63,6 +140,8 @@ public class LearnerStatus {
         this.statistics = null;
         this.learnerPhase = null;
         this.currentQueries = null;
+        this.queryExecution = null;
+        this.queuePosition = null;
     }
 
     /**
@@ -73,6 +152,35 @@ public class LearnerStatus {
      */
     public LearnerStatus(LearnerResult learnerResult, Learner.LearnerPhase learnerPhase,
                          List<DefaultQueryProxy> currentQueries) {
+        this(learnerResult, learnerPhase, currentQueries, null);
+    }
+
+    /**
+     * Constructor for a status of an active thread, including the status of the query execution.
+     *
+     * @param learnerResult
+     *         The result that contain the interesting statistics and information for the status..
+     * @param queryExecution
+     *         The status of the parallel query execution.
+     */
+    public LearnerStatus(LearnerResult learnerResult, Learner.LearnerPhase learnerPhase,
+                         List<DefaultQueryProxy> currentQueries, QueryExecutionStatus queryExecution) {
+        this(learnerResult, learnerPhase, currentQueries, queryExecution, null);
+    }
+
+    /**
+     * Constructor for a status of an active thread, that might still wait in the queue of learn processes.
+     *
+     * @param learnerResult
+     *         The result that contain the interesting statistics and information for the status..
+     * @param queryExecution
+     *         The status of the parallel query execution.
+     * @param queuePosition
+     *         The position in the queue of waiting learn processes, starting with 1, or null if not queued.
+     */
+    public LearnerStatus(LearnerResult learnerResult, Learner.LearnerPhase learnerPhase,
+                         List<DefaultQueryProxy> currentQueries, QueryExecutionStatus queryExecution,
+                         Integer queuePosition) {
         this.active = true;
         this.projectId = learnerResult.getProjectId();
         this.testNo = learnerResult.getTestNo();
@@ -80,6 +188,8 @@ public class LearnerStatus {
         this.statistics = learnerResult.getStatistics();
         this.learnerPhase = learnerPhase;
         this.currentQueries = currentQueries;
+        this.queryExecution = queryExecution;
+        this.queuePosition = queuePosition;
     }
 
     /**
@@ -137,6 +247,16 @@ public class LearnerStatus {
         return currentQueries;
     }
 
+    /** @return {@link #queryExecution}. */
+    public QueryExecutionStatus getQueryExecution() {
+        return queryExecution;
+    }
+
+    /** @return {@link #queuePosition}. */
+    public Integer getQueuePosition() {
+        return queuePosition;
+    }
+
     @Override
     public String toString() {
         return "LearnerStatus for Project " + projectId + " and Test No. " + testNo + ": " + active;
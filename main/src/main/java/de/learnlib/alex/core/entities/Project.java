@@ -23,6 +23,7 @@ import org.hibernate.validator.constraints.NotBlank;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
+import javax.persistence.Embedded;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
@@ -33,6 +34,8 @@ import javax.persistence.OneToOne;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -54,6 +57,9 @@ public class Project implements Serializable {
 
     private static final long serialVersionUID = -6760395646972200067L;
 
+    /** The maximum number of slots per URL, as every slot has its own connectors, e.g. a browser. */
+    public static final int MAX_SLOTS_PER_URL = 32;
+
     /**
      * The project ID.
      */
@@ -159,6 +165,21 @@ public class Project implements Serializable {
     @Column(columnDefinition = "CLOB")
     private String mirrorUrls;
 
+    /**
+     * The configuration of the HTTP client that is used for the REST symbols.
+     */
+    @Embedded
+    private HttpClientConfig httpClient;
+
+    /**
+     * The number of independent slots per URL, i.e. how many queries are executed in parallel on one deployment of
+     * the application. Each slot has its own browser and variables, so more than one slot should only be used if
+     * the application isolates the sessions, e.g. by cookies or by users.
+     */
+    @Min(1)
+    @Max(MAX_SLOTS_PER_URL)
+    private Integer slotsPerUrl;
+
     /**
      * Default constructor.
      */
@@ -180,6 +201,8 @@ public class Project implements Serializable {
 
         this.userId = 0L;
         this.mirrorUrls = "";
+        this.httpClient = new HttpClientConfig();
+        this.slotsPerUrl = 1;
     }
 
     /**
@@ -472,6 +495,34 @@ public class Project implements Serializable {
         this.mirrorUrls = String.join(",", mirrorUrls);
     }
 
+    /**
+     * @return The configuration of the HTTP client, the default configuration if none is set.
+     */
+    public HttpClientConfig getHttpClient() {
+        return httpClient == null ? new HttpClientConfig() : httpClient;
+    }
+
+    /**
+     * @param httpClient The configuration of the HTTP client.
+     */
+    public void setHttpClient(HttpClientConfig httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * @return The number of slots per URL, 1 if none is set.
+     */
+    public int getSlotsPerUrl() {
+        return slotsPerUrl == null ? 1 : slotsPerUrl;
+    }
+
+    /**
+     * @param slotsPerUrl The number of slots per URL.
+     */
+    public void setSlotsPerUrl(Integer slotsPerUrl) {
+        this.slotsPerUrl = slotsPerUrl;
+    }
+
     @Override
     @SuppressWarnings("checkstyle:needbraces") // Auto generated by IntelliJ
     public boolean equals(Object o) {
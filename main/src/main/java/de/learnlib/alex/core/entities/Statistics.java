@@ -158,6 +158,15 @@ public class Statistics implements Serializable {
     /** The amount of actual symbols called during the learning process. */
     private DetailedStatistics symbolsUsed;
 
+    /** The amount of membership queries that were answered by sharing the execution of another query. */
+    private DetailedStatistics mqsSaved;
+
+    /** The amount of symbols that did not have to be executed because of shared query executions. */
+    private DetailedStatistics symbolsSaved;
+
+    /** The amount of membership queries/ SUL resets used to shorten the counterexample, part of mqsUsed.learner. */
+    private long counterexampleMqsUsed;
+
     /**
      * Default constructor.
      */
@@ -168,6 +177,9 @@ public class Statistics implements Serializable {
         this.duration    = new DetailedStatistics();
         this.mqsUsed     = new DetailedStatistics();
         this.symbolsUsed = new DetailedStatistics();
+        this.mqsSaved = new DetailedStatistics();
+        this.symbolsSaved = new DetailedStatistics();
+        this.counterexampleMqsUsed = 0L;
     }
 
     /**
@@ -246,6 +258,27 @@ public class Statistics implements Serializable {
         this.eqsUsed = eqsUsed;
     }
 
+    /**
+     * Get the amount of membership queries that were used to shorten the counterexample.
+     * They are also included in the membership queries of the learner.
+     *
+     * @return The amount of membership queries.
+     */
+    @Column(columnDefinition = "BIGINT DEFAULT 0") // steps that have been stored before did not count them
+    public long getCounterexampleMqsUsed() {
+        return counterexampleMqsUsed;
+    }
+
+    /**
+     * Set the amount of membership queries that were used to shorten the counterexample.
+     *
+     * @param counterexampleMqsUsed
+     *         The new amount of membership queries.
+     */
+    public void setCounterexampleMqsUsed(long counterexampleMqsUsed) {
+        this.counterexampleMqsUsed = counterexampleMqsUsed;
+    }
+
     /**
      * @return The duration.
      */
@@ -305,4 +338,45 @@ public class Statistics implements Serializable {
     public void setSymbolsUsed(DetailedStatistics symbolsUsed) {
         this.symbolsUsed = symbolsUsed;
     }
+
+    /**
+     * @return The amount of saved MQs.
+     */
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "learner",  column = @Column(name = "mqsSaved_learner")),
+            @AttributeOverride(name = "eqOracle", column = @Column(name = "mqsSaved_eqOracle"))
+    })
+    public DetailedStatistics getMqsSaved() {
+        return mqsSaved;
+    }
+
+    /**
+     * @param mqsSaved
+     *         The new amount of saved MQs. Results that were learned without this statistic are loaded with null.
+     */
+    public void setMqsSaved(DetailedStatistics mqsSaved) {
+        this.mqsSaved = mqsSaved == null ? new DetailedStatistics() : mqsSaved;
+    }
+
+    /**
+     * @return The amount of saved symbols.
+     */
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "learner",  column = @Column(name = "symbolsSaved_learner")),
+            @AttributeOverride(name = "eqOracle", column = @Column(name = "symbolsSaved_eqOracle"))
+    })
+    public DetailedStatistics getSymbolsSaved() {
+        return symbolsSaved;
+    }
+
+    /**
+     * @param symbolsSaved
+     *         The new amount of symbols saved during the learning. Results that were learned without this statistic
+     *         are loaded with null.
+     */
+    public void setSymbolsSaved(DetailedStatistics symbolsSaved) {
+        this.symbolsSaved = symbolsSaved == null ? new DetailedStatistics() : symbolsSaved;
+    }
 }
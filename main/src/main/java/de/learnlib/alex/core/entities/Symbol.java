@@ -19,7 +19,9 @@ package de.learnlib.alex.core.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.alex.core.learner.metrics.LearnerMetrics;
 import de.learnlib.alex.utils.LoggerUtil;
 import de.learnlib.api.SULException;
 import de.learnlib.mapper.api.ContextExecutableInput;
@@ -45,9 +47,11 @@ import javax.persistence.Transient;
 import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Representation of a symbol for the learning process.
@@ -420,6 +424,23 @@ public class Symbol implements ContextExecutableInput<ExecuteResult, ConnectorMa
         action.setSymbol(this);
     }
 
+    /**
+     * Get the connectors to the SUL the enabled actions of the symbol use.
+     *
+     * @return The types of the connectors, see {@link SymbolAction#getRequiredConnectors()}.
+     */
+    @Transient
+    @JsonIgnore
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        Set<Class<? extends Connector>> connectors = new HashSet<>();
+        for (SymbolAction action : actions) {
+            if (!action.isDisabled()) {
+                connectors.addAll(action.getRequiredConnectors());
+            }
+        }
+        return connectors;
+    }
+
     @Override
     public ExecuteResult execute(ConnectorManager connector) throws SULException {
         LOGGER.info(LEARNER_MARKER, "Executing Symbol {} ({})...", String.valueOf(id), name);
@@ -427,19 +448,28 @@ public class Symbol implements ContextExecutableInput<ExecuteResult, ConnectorMa
             LoggerUtil.increaseIndent();
         }
 
+        long start = System.nanoTime();
         ExecuteResult result = ExecuteResult.OK;
+        TextCheckBatch textChecks = null;
         for (int i = 0; i < actions.size() && result == ExecuteResult.OK; i++) {
             SymbolAction action = actions.get(i);
             if (!action.isDisabled()) {
-                ExecuteResult actionResult = executeAction(action, connector);
+                if (textChecks == null || !textChecks.contains(i)) {
+                    textChecks = TextCheckBatch.prepare(actions, i, connector);
+                }
+                ExecuteResult actionResult = executeAction(action, i, connector, textChecks);
 
                 if (!action.isIgnoreFailure() && actionResult != ExecuteResult.OK) {
-                    result = actionResult;
-                    result.setFailedActionNumber(i);
+                    result = ExecuteResult.failed(i);
                 }
             }
         }
 
+        LearnerMetrics metrics = connector.getMetrics();
+        if (metrics != null) {
+            metrics.recordSymbol(name, System.nanoTime() - start);
+        }
+
         if (LOGGER.isEnabled(Level.INFO, LEARNER_MARKER)) {
             LoggerUtil.decreaseIndent();
         }
@@ -447,12 +477,22 @@ public class Symbol implements ContextExecutableInput<ExecuteResult, ConnectorMa
         return result;
     }
 
-    private ExecuteResult executeAction(SymbolAction action, ConnectorManager connector) {
+    private ExecuteResult executeAction(SymbolAction action, int index, ConnectorManager connector,
+                                        TextCheckBatch textChecks) {
+        long start = System.nanoTime();
         try {
+            if (textChecks != null && textChecks.contains(index)) {
+                return ((TextCheckAction) action).check(textChecks.isFound(index));
+            }
             return action.executeAction(connector);
         } catch (Exception e) {
             LOGGER.info(LEARNER_MARKER, "Error while executing the action '{}' in the symbol '{}':", action, this, e);
             return ExecuteResult.FAILED;
+        } finally {
+            LearnerMetrics metrics = connector.getMetrics();
+            if (metrics != null) {
+                metrics.recordAction(action.getClass().getSimpleName(), System.nanoTime() - start);
+            }
         }
     }
 
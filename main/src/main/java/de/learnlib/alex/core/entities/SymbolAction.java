@@ -46,7 +46,10 @@ import de.learnlib.alex.actions.WebSymbolActions.SubmitAction;
 import de.learnlib.alex.actions.WebSymbolActions.WaitForNodeAction;
 import de.learnlib.alex.actions.WebSymbolActions.WaitForTitleAction;
 import de.learnlib.alex.actions.WebSymbolActions.WebSymbolAction;
+import de.learnlib.alex.core.learner.connectors.Connector;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.alex.core.learner.connectors.WebServiceConnector;
+import de.learnlib.alex.core.learner.connectors.WebSiteConnector;
 import de.learnlib.alex.utils.SearchHelper;
 import org.hibernate.annotations.GenericGenerator;
 
@@ -63,8 +66,9 @@ import javax.persistence.InheritanceType;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
-import javax.persistence.Transient;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Abstract super type of how a Action for Symbols should look & work like.
@@ -163,10 +167,12 @@ public abstract class SymbolAction implements Serializable {
     /** Ignore if the execution of the action failed? */
     protected boolean ignoreFailure;
 
-    /** The connections that the action can use. */
-    @Transient
-    @JsonIgnore
-    private ConnectorManager connectorManager;
+    /**
+     * The connectors the actions on the current thread are executed with.
+     * The actions of a learn process are shared by all queries that are executed in parallel, so the connectors
+     * of a query must not be stored in the action itself.
+     */
+    private static final ThreadLocal<ConnectorManager> CONNECTORS = new ThreadLocal<>();
 
     /**
      * Get the ID of the Action used in the DB.
@@ -320,6 +326,19 @@ public abstract class SymbolAction implements Serializable {
         this.disabled = disabled;
     }
 
+    /**
+     * Get the connectors to the SUL the action uses, i.e. the {@link WebSiteConnector} or the
+     * {@link WebServiceConnector}, so that other connectors are not created for a learn process.
+     * The stores for counters, variables and files are always available, because they can be used by the fields of
+     * every action.
+     *
+     * @return The types of the connectors the action uses besides the stores.
+     */
+    @JsonIgnore
+    public Set<Class<? extends Connector>> getRequiredConnectors() {
+        return Collections.emptySet();
+    }
+
     /**
      * Execute the action.
      *
@@ -328,8 +347,13 @@ public abstract class SymbolAction implements Serializable {
      * @return OK or FAILED.
      */
     public ExecuteResult executeAction(ConnectorManager connectors) {
-        this.connectorManager = connectors;
-        return execute(connectors);
+        ConnectorManager previousConnectors = CONNECTORS.get();
+        CONNECTORS.set(connectors);
+        try {
+            return execute(connectors);
+        } finally {
+            CONNECTORS.set(previousConnectors);
+        }
     }
 
     /**
@@ -351,7 +375,21 @@ public abstract class SymbolAction implements Serializable {
      * @return The input string with all variables inserted.
      */
     protected final String insertVariableValues(String text) {
-        return SearchHelper.insertVariableValues(connectorManager, user.getId(), project.getId(), text);
+        return insertVariableValues(CONNECTORS.get(), text);
+    }
+
+    /**
+     * Checks the given text for any occurrences of a variable and replaces this part with the actual value,
+     * independent of the connectors the action is currently executed with.
+     *
+     * @param connectors
+     *         The connectors with the values of the variables.
+     * @param text
+     *         The text to check for variables, which than will be replaced by the real value.
+     * @return The input string with all variables inserted.
+     */
+    protected final String insertVariableValues(ConnectorManager connectors, String text) {
+        return SearchHelper.insertVariableValues(connectors, user.getId(), project.getId(), text);
     }
 
     /**
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.entities;
+
+import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+
+/**
+ * An action that checks if a value is contained in a text of the SUL, e.g. in the page source or in the body of
+ * the last response.
+ *
+ * Consecutive literal checks of the same type search the same text, so a {@link Symbol} can search the values of
+ * all of them with one pass over the text and only let the actions evaluate the result.
+ */
+public interface TextCheckAction {
+
+    /** @return True, if the value is a regular expression; false if it is searched literally. */
+    boolean isRegexp();
+
+    /**
+     * Get the text the value is searched in.
+     *
+     * @param connector
+     *         The connectors to get the text from.
+     * @return The text to search in.
+     */
+    String getSearchedText(ConnectorManager connector);
+
+    /**
+     * Get the value to search with all variables and counters replaced by their values.
+     *
+     * @param connector
+     *         The connectors with the values of the variables and counters.
+     * @return The value to search.
+     */
+    String getSearchedValue(ConnectorManager connector);
+
+    /**
+     * Evaluate the result of the search, e.g. considering if the action is negated.
+     *
+     * @param found
+     *         If the value has been found in the text.
+     * @return The output of the action.
+     */
+    ExecuteResult check(boolean found);
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.entities;
+
+import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.alex.utils.MultiPatternMatcher;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The results of consecutive literal {@link TextCheckAction}s of the same type in a symbol,
+ * which have been searched with one pass over the text.
+ */
+final class TextCheckBatch {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The minimal amount of checks for which one pass over the text is worth it. */
+    private static final int MIN_CHECKS = 2;
+
+    /** The index of the first action of the batch. */
+    private final int first;
+
+    /** If the value of an action has been found, by the index of the action relative to {@link #first}. */
+    private final boolean[] found;
+
+    private TextCheckBatch(int first, boolean[] found) {
+        this.first = first;
+        this.found = found;
+    }
+
+    /**
+     * Search the values of the literal text checks of the same type that start at an action.
+     * Disabled actions between the checks are skipped.
+     *
+     * @param actions
+     *         The actions of the symbol.
+     * @param first
+     *         The index of the first action.
+     * @param connector
+     *         The connectors to get the text and the values of the variables from.
+     * @return The results of the checks, or null if the action is no literal text check, there are not enough
+     *         checks or the text or a value could not be determined. In this case the actions have to be executed
+     *         on their own.
+     */
+    static TextCheckBatch prepare(List<SymbolAction> actions, int first, ConnectorManager connector) {
+        SymbolAction firstAction = actions.get(first);
+        if (!isLiteralTextCheck(firstAction)) {
+            return null;
+        }
+
+        List<Integer> indices = new ArrayList<>();
+        for (int i = first; i < actions.size(); i++) {
+            SymbolAction action = actions.get(i);
+            if (!action.isDisabled()) {
+                if (!isLiteralTextCheck(action) || action.getClass() != firstAction.getClass()) {
+                    break;
+                }
+                indices.add(i);
+            }
+        }
+        if (indices.size() < MIN_CHECKS) {
+            return null;
+        }
+
+        try {
+            String text = ((TextCheckAction) firstAction).getSearchedText(connector);
+            List<String> values = new ArrayList<>(indices.size());
+            for (int i : indices) {
+                values.add(((TextCheckAction) actions.get(i)).getSearchedValue(connector));
+            }
+
+            boolean[] matches = MultiPatternMatcher.of(values).search(text);
+            boolean[] found = new boolean[indices.get(indices.size() - 1) - first + 1];
+            for (int i = 0; i < indices.size(); i++) {
+                found[indices.get(i) - first] = matches[i];
+            }
+            return new TextCheckBatch(first, found);
+        } catch (Exception e) {
+            LOGGER.debug("Could not search the text checks starting at action {} at once.", first, e);
+            return null;
+        }
+    }
+
+    private static boolean isLiteralTextCheck(SymbolAction action) {
+        return action instanceof TextCheckAction && !((TextCheckAction) action).isRegexp();
+    }
+
+    /**
+     * @param index
+     *         The index of an action in the symbol.
+     * @return True, if the action is a part of the batch.
+     */
+    boolean contains(int index) {
+        return index >= first && index < first + found.length;
+    }
+
+    /**
+     * @param index
+     *         The index of an action of the batch.
+     * @return True, if the value of the action has been found.
+     */
+    boolean isFound(int index) {
+        return found[index - first];
+    }
+}
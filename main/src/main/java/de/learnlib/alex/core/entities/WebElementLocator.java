@@ -89,6 +89,21 @@ public class WebElementLocator implements Serializable {
         this.type = type;
     }
 
+    /**
+     * Create a copy of the locator with another selector, e.g. with the values of the variables inserted.
+     * Actions use the copy, so that their locator is not changed by the execution.
+     *
+     * @param newSelector
+     *         The selector of the copy.
+     * @return A new locator with the selector and the type of this locator.
+     */
+    public WebElementLocator withSelector(String newSelector) {
+        WebElementLocator locator = new WebElementLocator();
+        locator.setSelector(newSelector);
+        locator.setType(type);
+        return locator;
+    }
+
     @Override
     public String toString() {
         return selector + "(" + type.toString() + ")";
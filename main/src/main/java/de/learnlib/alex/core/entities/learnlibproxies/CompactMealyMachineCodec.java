@@ -0,0 +1,411 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.entities.learnlibproxies;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compact binary encoding of a {@link CompactMealyMachineProxy}.
+ *
+ * All inputs and outputs are interned into tables, so that every transition is stored as four variable-length
+ * integers (from, input, to, output) instead of a JSON object. A machine can also be encoded as delta to a base
+ * machine, i.e. only the transitions that were added, changed or removed are stored. This is used for consecutive
+ * hypotheses of a learn process, which usually share most of their transitions.
+ *
+ * The encoding is lossless, i.e. decoding an encoded machine results in the same nodes, initial node and edges
+ * (in the same order) as the original machine.
+ */
+public final class CompactMealyMachineCodec {
+
+    /** Marker of a machine that is encoded completely. */
+    private static final byte FORMAT_FULL = 1;
+
+    /** Marker of a machine that is encoded as delta to a base machine. */
+    private static final byte FORMAT_DELTA = 2;
+
+    /** Marker for nodes that are numbered 0, 1, ..., n - 1 and are thus only stored by their amount. */
+    private static final byte NODES_SEQUENTIAL = 0;
+
+    /** Marker for nodes that are stored one by one. */
+    private static final byte NODES_EXPLICIT = 1;
+
+    /**
+     * Deactivated the default constructor because this is only a utility class.
+     */
+    private CompactMealyMachineCodec() {
+    }
+
+    /**
+     * Encode a machine completely.
+     *
+     * @param machine
+     *         The machine to encode.
+     * @return The binary representation of the machine.
+     */
+    public static byte[] encode(CompactMealyMachineProxy machine) {
+        return encode(machine, null);
+    }
+
+    /**
+     * Encode a machine as delta to a base machine.
+     * If there is no base machine or if the edges of the machine are not in canonical order, i.e. ordered by their
+     * source state and the first appearance of their input, the machine is encoded completely.
+     *
+     * @param machine
+     *         The machine to encode.
+     * @param base
+     *         The machine to calculate the delta to. Can be null.
+     * @return The binary representation of the machine.
+     */
+    public static byte[] encode(CompactMealyMachineProxy machine, CompactMealyMachineProxy base) {
+        List<CompactMealyTransitionProxy> edges = nullToEmpty(machine.getEdges());
+        StringTable inputs = StringTable.of(edges, true);
+        StringTable outputs = StringTable.of(edges, false);
+
+        boolean delta = base != null && base.getEdges() != null && isCanonical(edges, inputs);
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeByte(delta ? FORMAT_DELTA : FORMAT_FULL);
+            writeNodes(out, machine.getNodes());
+            writeVarInt(out, machine.getInitNode() == null ? 0 : machine.getInitNode() + 1);
+            inputs.write(out);
+            outputs.write(out);
+
+            if (delta) {
+                writeDelta(out, edges, base.getEdges(), inputs, outputs);
+            } else {
+                writeVarInt(out, edges.size());
+                for (CompactMealyTransitionProxy edge : edges) {
+                    writeEdge(out, edge, inputs, outputs);
+                }
+            }
+
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode the machine.", e); // can not happen in memory
+        }
+    }
+
+    /**
+     * Check if the binary representation of a machine is a delta to a base machine.
+     *
+     * @param data
+     *         The binary representation of the machine.
+     * @return true if the machine can only be decoded with its base machine; false otherwise.
+     */
+    public static boolean isDelta(byte[] data) {
+        return data.length > 0 && data[0] == FORMAT_DELTA;
+    }
+
+    /**
+     * Decode a machine.
+     *
+     * @param data
+     *         The binary representation of the machine.
+     * @param base
+     *         The base machine the delta was calculated to. Only required if the data is a delta.
+     * @return The decoded machine.
+     * @throws IllegalArgumentException
+     *         If the data is no valid machine or the base machine is required, but missing.
+     */
+    public static CompactMealyMachineProxy decode(byte[] data, CompactMealyMachineProxy base)
+            throws IllegalArgumentException {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+
+            byte format = in.readByte();
+            if (format != FORMAT_FULL && format != FORMAT_DELTA) {
+                throw new IllegalArgumentException("Unknown format " + format + " of the encoded machine.");
+            }
+            if (format == FORMAT_DELTA && (base == null || base.getEdges() == null)) {
+                throw new IllegalArgumentException("The machine is encoded as delta, but the base is missing.");
+            }
+
+            CompactMealyMachineProxy machine = new CompactMealyMachineProxy();
+            machine.setNodes(readNodes(in));
+            int initNode = readVarInt(in);
+            machine.setInitNode(initNode == 0 ? null : initNode - 1);
+            String[] inputs = StringTable.read(in);
+            String[] outputs = StringTable.read(in);
+
+            if (format == FORMAT_DELTA) {
+                machine.setEdges(readDelta(in, base.getEdges(), inputs, outputs));
+            } else {
+                int amount = readVarInt(in);
+                List<CompactMealyTransitionProxy> edges = new ArrayList<>(amount);
+                for (int i = 0; i < amount; i++) {
+                    edges.add(readEdge(in, inputs, outputs));
+                }
+                machine.setEdges(edges);
+            }
+
+            return machine;
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("The encoded machine is corrupt.", e);
+        }
+    }
+
+    private static void writeDelta(DataOutputStream out, List<CompactMealyTransitionProxy> edges,
+                                   List<CompactMealyTransitionProxy> baseEdges,
+                                   StringTable inputs, StringTable outputs) throws IOException {
+        StringTable baseInputs = StringTable.of(baseEdges, true);
+        Map<Long, CompactMealyTransitionProxy> remaining = index(baseEdges, baseInputs);
+
+        List<CompactMealyTransitionProxy> changed = new ArrayList<>();
+        for (CompactMealyTransitionProxy edge : edges) {
+            CompactMealyTransitionProxy baseEdge = null;
+            Integer baseInput = baseInputs.indexOf(edge.getInput());
+            if (baseInput != null) {
+                baseEdge = remaining.remove(key(edge.getFrom(), baseInput));
+            }
+
+            if (baseEdge == null
+                    || baseEdge.getTo() != edge.getTo()
+                    || !Objects.equals(baseEdge.getOutput(), edge.getOutput())) {
+                changed.add(edge);
+            }
+        }
+
+        writeVarInt(out, changed.size());
+        for (CompactMealyTransitionProxy edge : changed) {
+            writeEdge(out, edge, inputs, outputs);
+        }
+
+        // the transitions of the base that do not exist any more
+        writeVarInt(out, remaining.size());
+        for (CompactMealyTransitionProxy edge : remaining.values()) {
+            writeVarInt(out, edge.getFrom());
+            writeVarInt(out, baseInputs.indexOf(edge.getInput()));
+        }
+    }
+
+    private static List<CompactMealyTransitionProxy> readDelta(DataInputStream in,
+                                                               List<CompactMealyTransitionProxy> baseEdges,
+                                                               String[] inputs, String[] outputs)
+            throws IOException {
+        StringTable baseInputs = StringTable.of(baseEdges, true);
+        Map<Long, CompactMealyTransitionProxy> edges = index(baseEdges, baseInputs);
+
+        int amountOfChanges = readVarInt(in);
+        List<CompactMealyTransitionProxy> changed = new ArrayList<>(amountOfChanges);
+        for (int i = 0; i < amountOfChanges; i++) {
+            changed.add(readEdge(in, inputs, outputs));
+        }
+
+        int amountOfRemovals = readVarInt(in);
+        for (int i = 0; i < amountOfRemovals; i++) {
+            int from = readVarInt(in);
+            int input = readVarInt(in);
+            edges.remove(key(from, input));
+        }
+
+        // the remaining transitions of the base are the same in the new machine, so re-key them by the new inputs
+        StringTable newInputs = new StringTable(inputs);
+        Map<Long, CompactMealyTransitionProxy> result = new HashMap<>();
+        for (CompactMealyTransitionProxy edge : edges.values()) {
+            result.put(key(edge.getFrom(), newInputs.indexOf(edge.getInput())), copy(edge));
+        }
+        for (CompactMealyTransitionProxy edge : changed) {
+            result.put(key(edge.getFrom(), newInputs.indexOf(edge.getInput())), edge);
+        }
+
+        Long[] keys = result.keySet().toArray(new Long[result.size()]);
+        Arrays.sort(keys);
+        List<CompactMealyTransitionProxy> orderedEdges = new ArrayList<>(keys.length);
+        for (Long key : keys) {
+            orderedEdges.add(result.get(key));
+        }
+        return orderedEdges;
+    }
+
+    private static boolean isCanonical(List<CompactMealyTransitionProxy> edges, StringTable inputs) {
+        long previousKey = -1;
+        for (CompactMealyTransitionProxy edge : edges) {
+            if (edge.getFrom() < 0) {
+                return false;
+            }
+            long key = key(edge.getFrom(), inputs.indexOf(edge.getInput()));
+            if (key <= previousKey) {
+                return false;
+            }
+            previousKey = key;
+        }
+        return true;
+    }
+
+    private static Map<Long, CompactMealyTransitionProxy> index(List<CompactMealyTransitionProxy> edges,
+                                                                StringTable inputs) {
+        Map<Long, CompactMealyTransitionProxy> index = new HashMap<>(edges.size() * 2);
+        for (CompactMealyTransitionProxy edge : edges) {
+            index.put(key(edge.getFrom(), inputs.indexOf(edge.getInput())), edge);
+        }
+        return index;
+    }
+
+    private static long key(int from, int input) {
+        return ((long) from << Integer.SIZE) | (input & 0xFFFFFFFFL);
+    }
+
+    private static CompactMealyTransitionProxy copy(CompactMealyTransitionProxy edge) {
+        return new CompactMealyTransitionProxy(edge.getFrom(), edge.getInput(), edge.getTo(), edge.getOutput());
+    }
+
+    private static void writeEdge(DataOutputStream out, CompactMealyTransitionProxy edge,
+                                  StringTable inputs, StringTable outputs) throws IOException {
+        writeVarInt(out, edge.getFrom());
+        writeVarInt(out, inputs.indexOf(edge.getInput()));
+        writeVarInt(out, edge.getTo());
+        writeVarInt(out, outputs.indexOf(edge.getOutput()));
+    }
+
+    private static CompactMealyTransitionProxy readEdge(DataInputStream in, String[] inputs, String[] outputs)
+            throws IOException {
+        int from = readVarInt(in);
+        String input = inputs[readVarInt(in)];
+        int to = readVarInt(in);
+        String output = outputs[readVarInt(in)];
+        return new CompactMealyTransitionProxy(from, input, to, output);
+    }
+
+    private static void writeNodes(DataOutputStream out, List<Integer> nodes) throws IOException {
+        if (nodes == null) {
+            out.writeByte(NODES_EXPLICIT);
+            writeVarInt(out, 0);
+            return;
+        }
+
+        boolean sequential = true;
+        for (int i = 0; i < nodes.size() && sequential; i++) {
+            sequential = nodes.get(i) != null && nodes.get(i) == i;
+        }
+
+        out.writeByte(sequential ? NODES_SEQUENTIAL : NODES_EXPLICIT);
+        writeVarInt(out, nodes.size());
+        if (!sequential) {
+            for (Integer node : nodes) {
+                out.writeInt(node);
+            }
+        }
+    }
+
+    private static List<Integer> readNodes(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        int amount = readVarInt(in);
+        List<Integer> nodes = new ArrayList<>(amount);
+        for (int i = 0; i < amount; i++) {
+            nodes.add(type == NODES_SEQUENTIAL ? i : in.readInt());
+        }
+        return nodes;
+    }
+
+    // write a non negative integer with 7 bits per byte, so that small numbers only need one byte
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static List<CompactMealyTransitionProxy> nullToEmpty(List<CompactMealyTransitionProxy> edges) {
+        return edges == null ? new ArrayList<>() : edges;
+    }
+
+    /**
+     * Table of the distinct inputs or outputs of a machine in the order of their first appearance.
+     * Index 0 is reserved for null.
+     */
+    private static final class StringTable {
+
+        /** The strings by their index. */
+        private final String[] strings;
+
+        /** The index of every string. */
+        private final Map<String, Integer> indices;
+
+        private StringTable(String[] strings) {
+            this.strings = strings;
+            this.indices = new HashMap<>(strings.length * 2);
+            for (int i = 1; i < strings.length; i++) {
+                indices.put(strings[i], i);
+            }
+        }
+
+        private static StringTable of(List<CompactMealyTransitionProxy> edges, boolean inputs) {
+            Map<String, Integer> indices = new HashMap<>();
+            List<String> strings = new ArrayList<>();
+            strings.add(null);
+            for (CompactMealyTransitionProxy edge : edges) {
+                String value = inputs ? edge.getInput() : edge.getOutput();
+                if (value != null && !indices.containsKey(value)) {
+                    indices.put(value, strings.size());
+                    strings.add(value);
+                }
+            }
+            return new StringTable(strings.toArray(new String[strings.size()]));
+        }
+
+        private Integer indexOf(String value) {
+            return value == null ? Integer.valueOf(0) : indices.get(value);
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            writeVarInt(out, strings.length - 1);
+            for (int i = 1; i < strings.length; i++) {
+                out.writeUTF(strings[i]);
+            }
+        }
+
+        private static String[] read(DataInputStream in) throws IOException {
+            int amount = readVarInt(in);
+            String[] strings = new String[amount + 1];
+            for (int i = 1; i <= amount; i++) {
+                strings[i] = in.readUTF().intern(); // identical to the outputs of the ExecuteResults
+            }
+            return strings;
+        }
+    }
+
+}
@@ -17,7 +17,6 @@
 package de.learnlib.alex.core.entities.learnlibproxies;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.CollectionType;
 import net.automatalib.automata.transout.MealyMachine;
@@ -41,6 +40,8 @@ import java.util.stream.Collectors;
 /**
  * Proxy around a {@link MealyMachine} from the LearnLib.
  * The Proxy is needed to make it easier to (de-)serialize the MealyMachine into/ from JSON.
+ * In the DB the machine is stored in the compact binary format of the {@link CompactMealyMachineCodec}, optionally
+ * as delta to the machine of the previous learn step.
  *
  * @see net.automatalib.automata.transout.impl.compact.CompactMealy
  */
@@ -61,6 +62,31 @@ public class CompactMealyMachineProxy implements Serializable {
     /** The transitions between the states. */
     private List<CompactMealyTransitionProxy> edges;
 
+    /** The machine to store this machine as delta to or null to store it completely. */
+    private transient CompactMealyMachineProxy deltaBase;
+
+    /** The encoded delta as loaded from the DB, as long as the machine is not resolved with its base. */
+    private byte[] unresolvedDelta;
+
+    /**
+     * Default constructor.
+     */
+    public CompactMealyMachineProxy() {
+    }
+
+    /**
+     * Copy constructor. The copy shares the nodes and edges with the original, but not the delta base.
+     *
+     * @param proxy
+     *         The proxy to copy.
+     */
+    public CompactMealyMachineProxy(CompactMealyMachineProxy proxy) {
+        this.nodes = proxy.nodes;
+        this.initNode = proxy.initNode;
+        this.edges = proxy.edges;
+        this.unresolvedDelta = proxy.unresolvedDelta;
+    }
+
     /**
      * Create a proxy around a specific MealyMachine.
      *
@@ -137,29 +163,29 @@ public class CompactMealyMachineProxy implements Serializable {
     }
 
     /**
-     * Getter method to interact with the DB, because the Java standard serialization doesn't work.
+     * Getter method for the nodes as JSON string, as they were stored in the DB before the binary format was used.
+     * New machines are only stored in the binary format, so this always returns null.
      *
-     * @return The Nodes of the machine as JSON string.
+     * @return null.
      */
     @Column(name = "nodes")
     @JsonIgnore
     public String getNodesDB() {
-        try {
-            return OBJECT_MAPPER.writeValueAsString(nodes);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-            return "";
-        }
+        return null;
     }
 
     /**
-     * Setter method to interact with the DB, because the Java standard deserialization doesn't work.
+     * Setter method to read the nodes of machines that were stored in the DB before the binary format was used.
      *
      * @param nodesAsString
      *         The Nodes of the machine as JSON string.
      */
     @JsonIgnore
     public void setNodesDB(String nodesAsString) {
+        if (nodesAsString == null) {
+            return;
+        }
+
         try {
             CollectionType valueType = OBJECT_MAPPER.getTypeFactory()
                                                     .constructCollectionType(List.class, Integer.class);
@@ -209,29 +235,29 @@ public class CompactMealyMachineProxy implements Serializable {
     }
 
     /**
-     * Getter method to interact with the DB, because the Java standard serialization doesn't work.
+     * Getter method for the edges as JSON string, as they were stored in the DB before the binary format was used.
+     * New machines are only stored in the binary format, so this always returns null.
      *
-     * @return The Edges of the machine as JSON string.
+     * @return null.
      */
     @Column(name = "edges", columnDefinition = "CLOB")
     @JsonIgnore
     public String getEdgesDB() {
-        try {
-            return OBJECT_MAPPER.writeValueAsString(edges);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-            return "";
-        }
+        return null;
     }
 
     /**
-     * Setter method to interact with the DB, because the Java standard deserialization doesn't work.
+     * Setter method to read the edges of machines that were stored in the DB before the binary format was used.
      *
      * @param edgesAsString
      *         The Edges of the machine as JSON string.
      */
     @JsonIgnore
     public void setEdgesDB(String edgesAsString) {
+        if (edgesAsString == null) {
+            return;
+        }
+
         try {
             CollectionType valueType = OBJECT_MAPPER.getTypeFactory()
                                                    .constructCollectionType(List.class,
@@ -242,6 +268,94 @@ public class CompactMealyMachineProxy implements Serializable {
         }
     }
 
+    /**
+     * Getter method to interact with the DB.
+     *
+     * @return The machine in the binary format of the {@link CompactMealyMachineCodec}, as delta if a
+     *         {@link #deltaBase} is set.
+     */
+    @Column(name = "hypothesisData", columnDefinition = "BLOB")
+    @JsonIgnore
+    public byte[] getDataDB() {
+        if (unresolvedDelta != null) {
+            return unresolvedDelta;
+        } else if (edges == null) {
+            return null;
+        } else {
+            return CompactMealyMachineCodec.encode(this, deltaBase);
+        }
+    }
+
+    /**
+     * Setter method to interact with the DB.
+     * If the data is a delta, the machine must be resolved with {@link #resolve(CompactMealyMachineProxy)} before
+     * it can be used.
+     *
+     * @param data
+     *         The machine in the binary format of the {@link CompactMealyMachineCodec}.
+     */
+    @JsonIgnore
+    public void setDataDB(byte[] data) {
+        if (data == null) {
+            return;
+        }
+
+        if (CompactMealyMachineCodec.isDelta(data)) {
+            this.unresolvedDelta = data;
+        } else {
+            CompactMealyMachineProxy machine = CompactMealyMachineCodec.decode(data, null);
+            this.nodes = machine.nodes;
+            this.initNode = machine.initNode;
+            this.edges = machine.edges;
+        }
+    }
+
+    /**
+     * @return {@link #deltaBase}.
+     */
+    @Transient
+    @JsonIgnore
+    public CompactMealyMachineProxy getDeltaBase() {
+        return deltaBase;
+    }
+
+    /**
+     * @param deltaBase {@link #deltaBase}.
+     */
+    @JsonIgnore
+    public void setDeltaBase(CompactMealyMachineProxy deltaBase) {
+        this.deltaBase = deltaBase;
+    }
+
+    /**
+     * @return true if the machine was loaded as delta from the DB and is not resolved yet; false otherwise.
+     */
+    @Transient
+    @JsonIgnore
+    public boolean isUnresolved() {
+        return unresolvedDelta != null;
+    }
+
+    /**
+     * Resolve a machine that was loaded as delta from the DB.
+     * Afterwards the machine is stored as delta to the same base again.
+     *
+     * @param base
+     *         The machine the delta was calculated to, i.e. the machine of the previous step.
+     */
+    public void resolve(CompactMealyMachineProxy base) {
+        if (unresolvedDelta == null) {
+            return;
+        }
+
+        CompactMealyMachineProxy machine = CompactMealyMachineCodec.decode(unresolvedDelta, base);
+        this.nodes = machine.nodes;
+        this.initNode = machine.initNode;
+        this.edges = machine.edges;
+        this.deltaBase = base;
+        this.unresolvedDelta = null;
+    }
+
     /**
      * Create an Alphabet based on the proxy.
      *
@@ -19,6 +19,7 @@ package de.learnlib.alex.core.entities.learnlibproxies.eqproxies;
 
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import de.learnlib.alex.core.learner.QueryExecutor;
 import de.learnlib.api.EquivalenceOracle;
 import de.learnlib.api.MembershipOracle;
 import net.automatalib.automata.transout.MealyMachine;
@@ -66,4 +67,20 @@ public abstract class AbstractEquivalenceOracleProxy implements Serializable {
     public abstract EquivalenceOracle<MealyMachine<?, String, ?, String>, String, Word<String>> createEqOracle(
             MembershipOracle<String, Word<String>> membershipOracle, int batchSize);
 
+    /**
+     * Create a EQ oracle connected with a MQ oracle based on this proxy, which may pose its queries directly on the
+     * query executor of the learn process. By default, the batches of the oracle are as large as the executor has
+     * workers.
+     *
+     * @param membershipOracle
+     *         The MQ oracle to test against a hypothesis.
+     * @param executor
+     *         The executor that processes the membership queries of the learn process.
+     * @return An EquivalenceOracle from the LearnLib based on the proxy.
+     */
+    public EquivalenceOracle<MealyMachine<?, String, ?, String>, String, Word<String>> createEqOracle(
+            MembershipOracle<String, Word<String>> membershipOracle, QueryExecutor executor) {
+        return createEqOracle(membershipOracle, executor.getParallelism());
+    }
+
 }
@@ -17,6 +17,7 @@
 package de.learnlib.alex.core.entities.learnlibproxies.eqproxies;
 
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import de.learnlib.alex.core.learner.QueryExecutor;
 import de.learnlib.alex.core.learner.eqOracles.WMethodEQOracle;
 import de.learnlib.api.EquivalenceOracle;
 import de.learnlib.api.MembershipOracle;
@@ -39,6 +40,9 @@ public class WMethodEQOracleProxy extends AbstractEquivalenceOracleProxy impleme
     /** The maximal depth to explore, i.e. minimal length of words to test. */
     private int maxDepth;
 
+    /** If the Wp-method should be used, which only appends the characterizing set of the reached state. */
+    private boolean partialSuffixes;
+
     /**
      * Default constructor.
      */
@@ -65,6 +69,15 @@ public class WMethodEQOracleProxy extends AbstractEquivalenceOracleProxy impleme
         this.maxDepth = maxDepth;
     }
 
+    /** @return {@link #partialSuffixes}. */
+    public boolean isPartialSuffixes() {
+        return partialSuffixes;
+    }
+
+    /** @param partialSuffixes {@link #partialSuffixes}. */
+    public void setPartialSuffixes(boolean partialSuffixes) {
+        this.partialSuffixes = partialSuffixes;
+    }
 
     @Override
     public void checkParameters() throws IllegalArgumentException {
@@ -76,6 +89,13 @@ public class WMethodEQOracleProxy extends AbstractEquivalenceOracleProxy impleme
     @Override
     public EquivalenceOracle<MealyMachine<?, String, ?, String>, String, Word<String>> createEqOracle(
             MembershipOracle<String, Word<String>> membershipOracle, int batchSize) {
-        return new WMethodEQOracle.MealyWMethodEQOracle<>(this.maxDepth, membershipOracle, batchSize);
+        return new WMethodEQOracle.MealyWMethodEQOracle<>(this.maxDepth, membershipOracle, null, partialSuffixes);
+    }
+
+    @Override
+    public EquivalenceOracle<MealyMachine<?, String, ?, String>, String, Word<String>> createEqOracle(
+            MembershipOracle<String, Word<String>> membershipOracle, QueryExecutor executor) {
+        return new WMethodEQOracle.MealyWMethodEQOracle<>(this.maxDepth, membershipOracle, executor,
+                                                          partialSuffixes);
     }
 }
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner;
+
+import de.learnlib.api.MembershipOracle;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.automata.transout.MealyMachine;
+import net.automatalib.util.automata.Automata;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Shortens the counterexamples of all equivalence oracles before they are used to refine the hypothesis.
+ *
+ * First, the counterexample is cut after the first output that differs from the hypothesis. This only needs the
+ * hypothesis and no SUL queries. Afterwards the word can optionally be shortened against the SUL by a
+ * Rivest-Schapire decomposition: for a position i the prefix up to i is replaced by the access sequence of the
+ * hypothesis state it leads to. The position is searched with the configured {@link Strategy}, every probed
+ * position costs one membership query.
+ *
+ * @param <I>
+ *         The input symbol type.
+ * @param <O>
+ *         The output symbol type.
+ */
+public class CounterexampleProcessor<I, O> {
+
+    /** The strategies to search the position at which the counterexample is decomposed. */
+    public enum Strategy {
+
+        /** Only cut the counterexample after the first wrong output, do not pose queries to the SUL. */
+        NONE,
+
+        /** Probe every position from the end of the counterexample, at most n queries. */
+        LINEAR,
+
+        /** Search a breakpoint with a binary search, at most log(n) queries. */
+        BINARY_SEARCH,
+
+        /** Probe positions with growing distance from the end and search the last gap binary, log(n) queries. */
+        EXPONENTIAL
+    }
+
+    /** The strategy to use. */
+    private final Strategy strategy;
+
+    /** The oracle to pose the queries of the decomposition to. */
+    private final MembershipOracle<I, Word<O>> oracle;
+
+    /** The input alphabet, used to calculate the access sequences of the hypothesis. */
+    private final Collection<? extends I> inputs;
+
+    /**
+     * Constructor.
+     *
+     * @param strategy
+     *         The strategy to use, null for {@link Strategy#NONE}.
+     * @param oracle
+     *         The oracle to pose the queries of the decomposition to.
+     * @param inputs
+     *         The input alphabet.
+     */
+    public CounterexampleProcessor(Strategy strategy, MembershipOracle<I, Word<O>> oracle,
+                                   Collection<? extends I> inputs) {
+        this.strategy = strategy == null ? Strategy.NONE : strategy;
+        this.oracle = oracle;
+        this.inputs = inputs;
+    }
+
+    /**
+     * Shorten a counterexample.
+     *
+     * @param hypothesis
+     *         The hypothesis the counterexample was found for.
+     * @param counterexample
+     *         The counterexample.
+     * @return A counterexample that is at most as long as the given one.
+     */
+    public DefaultQuery<I, Word<O>> process(MealyMachine<?, I, ?, O> hypothesis,
+                                            DefaultQuery<I, Word<O>> counterexample) {
+        DefaultQuery<I, Word<O>> result = shortestPrefix(hypothesis, counterexample);
+        if (strategy != Strategy.NONE && result.getInput().length() > 1) {
+            result = shortestPrefix(hypothesis, new Decomposition<>(hypothesis, result).search());
+        }
+        return result;
+    }
+
+    /**
+     * Cut a counterexample after the first output that differs from the hypothesis.
+     * The hypothesis is only traversed once.
+     *
+     * @param hypothesis
+     *         The hypothesis.
+     * @param counterexample
+     *         The counterexample.
+     * @param <I>
+     *         The input symbol type.
+     * @param <O>
+     *         The output symbol type.
+     * @return The shortest prefix of the counterexample that is a counterexample, too.
+     */
+    static <I, O> DefaultQuery<I, Word<O>> shortestPrefix(MealyMachine<?, I, ?, O> hypothesis,
+                                                          DefaultQuery<I, Word<O>> counterexample) {
+        Word<I> suffix = counterexample.getSuffix();
+        Word<O> output = counterexample.getOutput();
+        Word<O> hypOutput = hypothesis.computeSuffixOutput(counterexample.getPrefix(), suffix);
+
+        int length = Math.min(output.length(), hypOutput.length());
+        for (int i = 0; i < length; i++) {
+            if (!Objects.equals(output.getSymbol(i), hypOutput.getSymbol(i))) {
+                return new DefaultQuery<>(counterexample.getPrefix(), suffix.subWord(0, i + 1),
+                                          output.subWord(0, i + 1));
+            }
+        }
+
+        return counterexample;
+    }
+
+    /**
+     * The decomposition of one counterexample into the access sequence of a state and the rest of the word.
+     *
+     * @param <S>
+     *         The state type of the hypothesis.
+     */
+    private final class Decomposition<S> {
+
+        private final MealyMachine<S, I, ?, O> hypothesis;
+        private final DefaultQuery<I, Word<O>> counterexample;
+        private final Word<I> input;
+
+        /** The states of the hypothesis after every prefix of the input. */
+        private final List<S> states;
+
+        /** The shortest access sequence of every state of the hypothesis. */
+        private final Map<S, Word<I>> accessSequences;
+
+        private Decomposition(MealyMachine<S, I, ?, O> hypothesis, DefaultQuery<I, Word<O>> counterexample) {
+            this.hypothesis = hypothesis;
+            this.counterexample = counterexample;
+            this.input = counterexample.getInput();
+
+            this.states = new ArrayList<>(input.length() + 1);
+            S state = hypothesis.getInitialState();
+            states.add(state);
+            for (I symbol : input) {
+                state = hypothesis.getSuccessor(state, symbol);
+                states.add(state);
+            }
+
+            this.accessSequences = new HashMap<>();
+            for (Word<I> accessSequence : Automata.stateCover(hypothesis, inputs)) {
+                accessSequences.put(hypothesis.getState(accessSequence), accessSequence);
+            }
+        }
+
+        /**
+         * Position 0 is the counterexample itself, position n is an access sequence, which the hypothesis
+         * is consistent with.
+         *
+         * @return The counterexample of the highest position that has been found.
+         */
+        private DefaultQuery<I, Word<O>> search() {
+            int n = input.length();
+            switch (strategy) {
+                case LINEAR:
+                    for (int i = n - 1; i > 0; i--) {
+                        DefaultQuery<I, Word<O>> query = probe(i);
+                        if (query != null) {
+                            return query;
+                        }
+                    }
+                    return counterexample;
+                case EXPONENTIAL:
+                    int step = 1;
+                    int upper = n;
+                    while (n - step > 0) {
+                        DefaultQuery<I, Word<O>> query = probe(n - step);
+                        if (query != null) {
+                            return binarySearch(n - step, upper, query);
+                        }
+                        upper = n - step;
+                        step *= 2;
+                    }
+                    return binarySearch(0, upper, counterexample);
+                case BINARY_SEARCH:
+                default:
+                    return binarySearch(0, n, counterexample);
+            }
+        }
+
+        /**
+         * Search a breakpoint between a position that leads to a counterexample and one that does not.
+         */
+        private DefaultQuery<I, Word<O>> binarySearch(int low, int high, DefaultQuery<I, Word<O>> lowQuery) {
+            DefaultQuery<I, Word<O>> result = lowQuery;
+            while (high - low > 1) {
+                int mid = (low + high) >>> 1;
+                DefaultQuery<I, Word<O>> query = probe(mid);
+                if (query != null) {
+                    low = mid;
+                    result = query;
+                } else {
+                    high = mid;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Pose the word access(state after i) + input[i..n] to the SUL.
+         *
+         * @return The answered query if it is a counterexample, null otherwise.
+         */
+        private DefaultQuery<I, Word<O>> probe(int i) {
+            Word<I> word = new WordBuilder<I>().append(accessSequences.get(states.get(i)))
+                                               .append(input.subWord(i))
+                                               .toWord();
+
+            DefaultQuery<I, Word<O>> query = new DefaultQuery<>(word);
+            oracle.processQueries(Collections.singletonList(query));
+
+            return Objects.equals(query.getOutput(), hypothesis.computeOutput(word)) ? null : query;
+        }
+    }
+}
@@ -28,12 +28,17 @@ import de.learnlib.alex.core.entities.ReadOutputConfig;
 import de.learnlib.alex.core.entities.Symbol;
 import de.learnlib.alex.core.entities.User;
 import de.learnlib.alex.core.entities.learnlibproxies.CompactMealyMachineProxy;
-import de.learnlib.alex.core.entities.learnlibproxies.DefaultQueryProxy;
 import de.learnlib.alex.core.entities.learnlibproxies.eqproxies.SampleEQOracleProxy;
+import de.learnlib.alex.core.learner.cache.PersistentQueryCache;
+import de.learnlib.alex.core.learner.checkpoint.CheckpointStore;
 import de.learnlib.alex.core.learner.connectors.ConnectorContextHandler;
 import de.learnlib.alex.core.learner.connectors.ConnectorContextHandlerFactory;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.alex.core.learner.metrics.LearnerMetrics;
+import de.learnlib.alex.core.learner.metrics.PrometheusWriter;
+import de.learnlib.alex.core.services.CheckpointService;
 import de.learnlib.alex.core.services.LearnAlgorithmService;
+import de.learnlib.alex.core.services.QueryCacheService;
 import de.learnlib.alex.exceptions.LearnerException;
 import de.learnlib.alex.exceptions.NotFoundException;
 import net.automatalib.automata.transout.impl.compact.CompactMealy;
@@ -45,21 +50,21 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 import org.apache.logging.log4j.ThreadContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -70,8 +75,11 @@ import java.util.stream.Collectors;
 @Scope("singleton")
 public class Learner {
 
-    /** How many concurrent threads the system can handle. */
-    private static final int MAX_CONCURRENT_THREADS = 2;
+    /** How many learn processes can be executed at the same time, if nothing else is configured. */
+    private static final int DEFAULT_MAX_CONCURRENT_LEARNS = 2;
+
+    /** How many learn processes of a single user can be executed at the same time, if nothing else is configured. */
+    private static final int DEFAULT_MAX_CONCURRENT_LEARNS_PER_USER = 1;
 
     private static final Logger LOGGER = LogManager.getLogger();
 
@@ -101,22 +109,37 @@ public class Learner {
     @Inject
     private ConnectorContextHandlerFactory contextHandlerFactory;
 
-    /** The current ContextHandler. */
-    private ConnectorContextHandler contextHandler;
+    /** The {@link QueryCacheService} to get the persistent query caches from. */
+    @Inject
+    private QueryCacheService queryCacheService;
 
-    /** The last thread of an user, if one exists. */
-    private final Map<User, LearnerThread> userThreads;
+    /** The {@link CheckpointService} to get the checkpoints of the learn processes from. */
+    @Inject
+    private CheckpointService checkpointService;
 
-    /** The executer service will take care of creating and scheduling the actual OS threads. */
-    private ExecutorService executorService;
+    /**
+     * How many learn processes can be executed at the same time.
+     * This will be injected by Spring and is configured in the applications.properties file.
+     */
+    @Value("${alex.learner.maxConcurrentLearns:" + DEFAULT_MAX_CONCURRENT_LEARNS + "}")
+    private int maxConcurrentLearns;
+
+    /**
+     * How many learn processes of a single user can be executed at the same time.
+     * This will be injected by Spring and is configured in the applications.properties file.
+     */
+    @Value("${alex.learner.maxConcurrentLearnsPerUser:" + DEFAULT_MAX_CONCURRENT_LEARNS_PER_USER + "}")
+    private int maxConcurrentLearnsPerUser;
+
+    /** The scheduler that takes care of queueing and executing the learn processes. */
+    private final LearnerJobScheduler scheduler;
 
     /**
      * This constructor creates a new Learner
      * The SymbolDAO and LearnerResultDAO must be externally injected.
      */
     public Learner() {
-        this.userThreads      = new HashMap<>();
-        this.executorService = Executors.newFixedThreadPool(MAX_CONCURRENT_THREADS);
+        this.scheduler = new LearnerJobScheduler(DEFAULT_MAX_CONCURRENT_LEARNS, DEFAULT_MAX_CONCURRENT_LEARNS_PER_USER);
     }
 
     /**
@@ -141,22 +164,20 @@ public class Learner {
     }
 
     /**
-     * Used only for testing.
-     *
-     * @param contextHandler
-     *         The new context handler to use.
+     * Apply the configured limits of concurrent learn processes.
      */
-    void setContextHandler(ConnectorContextHandler contextHandler) {
-        this.contextHandler = contextHandler;
+    @PostConstruct
+    public void init() {
+        scheduler.setLimits(maxConcurrentLearns, maxConcurrentLearnsPerUser);
     }
 
     /**
      * Method should be called before the Learner is 'destroyed'.
-     * It will shutdown the executor service gracefully.
+     * It will shutdown the scheduler of the learn processes.
      */
     @PreDestroy
     public void destroy() {
-        executorService.shutdown();
+        scheduler.shutdown();
     }
 
     /**
@@ -177,14 +198,17 @@ public class Learner {
      */
     public void start(User user, Project project, LearnerConfiguration configuration)
             throws IllegalArgumentException, IllegalStateException, NotFoundException {
-        preStartCheck(user);
+        preStartCheck(user, project.getId());
 
         LearnerResult learnerResult = createLearnerResult(user, project, configuration);
 
-        contextHandler = contextHandlerFactory.createContext(user, project, configuration.getBrowser());
-        contextHandler.setResetSymbol(learnerResult.getResetSymbol());
-        LearnerThread learnThread = new LearnerThread(learnerResultDAO, learnerResult, contextHandler);
-        startThread(user, learnThread);
+        ConnectorContextHandler contextHandler =
+                contextHandlerFactory.createContext(user, project, configuration.getBrowser(),
+                                                    learnerResult.getResetSymbol(), learnerResult.getSymbols());
+        contextHandler.setResetStrategy(learnerResult.getResetStrategy());
+        LearnerThread learnThread = new LearnerThread(learnerResultDAO, learnerResult, contextHandler,
+                                                      openQueryCache(learnerResult), openCheckpoint(learnerResult));
+        startThread(user, project, learnThread);
     }
 
     private LearnerResult createLearnerResult(User user, Project project, LearnerConfiguration configuration)
@@ -220,6 +244,9 @@ public class Learner {
         learnerResult.setAlgorithmFactory(algorithmService.getLearnAlgorithm(configuration.getAlgorithm()));
         learnerResult.setComment(configuration.getComment());
         learnerResult.setUseMQCache(configuration.isUseMQCache());
+        learnerResult.setUsePersistentMQCache(configuration.isUsePersistentMQCache());
+        learnerResult.setCounterexampleShortening(configuration.getCounterexampleShortening());
+        learnerResult.setResetStrategy(configuration.getResetStrategy());
         learnerResultDAO.create(learnerResult);
         learnerResultDAO.createStep(learnerResult, configuration);
 
@@ -246,13 +273,9 @@ public class Learner {
      */
     public void resume(User user, Project project, LearnerResult result, LearnerResumeConfiguration config)
             throws IllegalArgumentException, IllegalStateException, NotFoundException {
-        preStartCheck(user);
+        preStartCheck(user, project.getId());
         config.checkConfiguration();
 
-        if (config.getEqOracle() instanceof SampleEQOracleProxy) {
-            validateCounterexample(user, config);
-        }
-
         result.setAlgorithmFactory(algorithmService.getLearnAlgorithm(result.getAlgorithm()));
         Symbol resetSymbol = symbolDAO.get(user, project.getId(), result.getResetSymbolAsId());
         result.setResetSymbol(resetSymbol);
@@ -262,44 +285,105 @@ public class Learner {
         Set<Symbol> symbols = new HashSet<>(symbolsAsList);
         result.setSymbols(symbols);
 
+        if (config.getEqOracle() instanceof SampleEQOracleProxy) {
+            validateCounterexample(user, project, result, config);
+        }
+
         // create the new step
         learnerResultDAO.createStep(result, config);
 
-        contextHandler = contextHandlerFactory.createContext(user, project, result.getBrowser());
-        contextHandler.setResetSymbol(result.getResetSymbol());
+        ConnectorContextHandler contextHandler =
+                contextHandlerFactory.createContext(user, project, result.getBrowser(),
+                                                    result.getResetSymbol(), result.getSymbols());
+        contextHandler.setResetStrategy(result.getResetStrategy());
+
+        LearnerThread learnThread = new LearnerThread(learnerResultDAO, result, contextHandler,
+                                                      openQueryCache(result), openCheckpoint(result),
+                                                      config.getStepNo());
+        startThread(user, project, learnThread);
+    }
+
+    /**
+     * Open the persistent query cache for a learn process, if the process should use one.
+     *
+     * @param result
+     *         The result of the learn process.
+     * @return The persistent query cache or null, if the cache should not be used.
+     */
+    private PersistentQueryCache openQueryCache(LearnerResult result) {
+        if (result.isUsePersistentMQCache() && queryCacheService != null) {
+            return queryCacheService.open(result);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Get the checkpoint of a learn process.
+     *
+     * @param result
+     *         The result of the learn process.
+     * @return The checkpoint or null, if no checkpoints are available.
+     */
+    private CheckpointStore openCheckpoint(LearnerResult result) {
+        return checkpointService == null ? null : checkpointService.open(result);
+    }
 
-        LearnerThread learnThread = new LearnerThread(learnerResultDAO, result, contextHandler, config.getStepNo());
-        startThread(user, learnThread);
+    /**
+     * Delete the checkpoints of learn processes, because their results have been deleted.
+     *
+     * @param user
+     *         The user the results belong to.
+     * @param projectId
+     *         The id of the project the results belong to.
+     * @param testNos
+     *         The test numbers of the results.
+     */
+    public void deleteCheckpoints(User user, Long projectId, Long... testNos) {
+        if (checkpointService != null) {
+            checkpointService.delete(user.getId(), projectId, testNos);
+        }
     }
 
     /**
      * Check if a thread for the user can possibly started.
-     * This means that the user has no other active learning thread
-     * and the overall learning thread capacity is not reached.
+     * This means that the user has no other active learning thread in the project.
+     * If the overall learning thread capacity is reached, the new thread will be queued.
      *
      * @param user
      *         The user to check for.
+     * @param projectId
+     *         The id of the project to check for.
      * @throws IllegalStateException
      *         If a new thread could not start.
      */
-    private void preStartCheck(User user) {
-        if (isActive(user)) {
-            throw new IllegalStateException("Only one active learning is allowed per user, "
+    private void preStartCheck(User user, Long projectId) {
+        if (isActive(user, projectId)) {
+            throw new IllegalStateException("Only one active learning is allowed per user and project, "
                                             + "even for user" + user + "!");
         }
     }
 
     /**
-     * Starts the thread and updates the thread maps.
+     * Submits the thread to the scheduler, which starts it as soon as there is a free slot.
+     * If the scheduler rejects the thread, the resources of the thread are released.
      *
      * @param user
      *         The user that starts the thread.
+     * @param project
+     *         The project that is learned.
      * @param learnThread
      *         The thread to start.
+     * @throws IllegalStateException
+     *         If the user has already an active learn process in the project.
      */
-    private void startThread(User user, LearnerThread learnThread) {
-        executorService.submit(learnThread);
-        userThreads.put(user, learnThread);
+    private void startThread(User user, Project project, LearnerThread learnThread) throws IllegalStateException {
+        try {
+            scheduler.submit(new LearnerJob(user, project.getId(), learnThread));
+        } catch (IllegalStateException e) {
+            learnThread.dispose();
+            throw e;
+        }
     }
 
     /**
@@ -307,16 +391,20 @@ public class Learner {
      *
      * @param user
      *         The user to validate the counterexample for.
+     * @param project
+     *         The project the counterexample belongs to.
+     * @param lastResult
+     *         The result that is resumed, with its symbols and its reset symbol.
      * @param configuration
      *         The new configuration.
      * @throws IllegalArgumentException
      *         If the new configuration is based on manual counterexamples and at least one of them is wrong.
      */
-    private void validateCounterexample(User user, LearnerResumeConfiguration configuration)
+    private void validateCounterexample(User user, Project project, LearnerResult lastResult,
+                                        LearnerResumeConfiguration configuration)
             throws IllegalArgumentException {
 
         SampleEQOracleProxy oracle = (SampleEQOracleProxy) configuration.getEqOracle();
-        LearnerResult lastResult = getResult(user);
 
         for (List<SampleEQOracleProxy.InputOutputPair> counterexample : oracle.getCounterExamples()) {
             List<Symbol> symbolsFromCounterexample = new ArrayList<>();
@@ -339,8 +427,8 @@ public class Learner {
             }
 
             // finally check if the given sample matches the behavior of the SUL
-            List<String> results = readOutputs(lastResult.getUser(),
-                                               lastResult.getProject(),
+            List<String> results = readOutputs(user,
+                                               project,
                                                lastResult.getResetSymbol(),
                                                symbolsFromCounterexample,
                                                lastResult.getBrowser());
@@ -353,57 +441,117 @@ public class Learner {
     }
 
     /**
-     * Ends the learning process after the current step.
+     * Ends the latest learning process of a user after the current step.
+     * If the process is still queued, it will not be started at all.
      *
      * @param user
      *         The user that wants to stop his active thread.
      */
     public void stop(User user) {
-        LearnerThread learnerThread = userThreads.get(user);
+        LearnerJob job = scheduler.getLatestJob(user.getId());
+
+        if (job != null) {
+            scheduler.stop(job);
+        }
+    }
+
+    /**
+     * Ends the learning process of a user in a project after the current step.
+     * If the process is still queued, it will not be started at all.
+     *
+     * @param user
+     *         The user that wants to stop his active thread.
+     * @param projectId
+     *         The id of the project that is learned.
+     */
+    public void stop(User user, Long projectId) {
+        LearnerJob job = scheduler.getJob(user.getId(), projectId);
 
-        if (learnerThread != null) {
-            learnerThread.interrupt();
+        if (job != null) {
+            scheduler.stop(job);
         }
     }
 
     /**
-     * Method to check if a learning process is still active or if it has finished.
+     * Method to check if the latest learning process of a user is still active or if it has finished.
      *
      * @param user
      *         The user to check for active threads.
-     * @return true if the learning process is active, false otherwise.
+     * @return true if the learning process is queued or active, false otherwise.
      */
     public boolean isActive(User user) {
-        LearnerThread learnerThread = userThreads.get(user);
-        return learnerThread != null && !learnerThread.isFinished();
+        LearnerJob job = scheduler.getLatestJob(user.getId());
+        return job != null && job.isActive();
     }
 
     /**
-     * Get the status of the Learner as immutable object.
+     * Method to check if the learning process of a user in a project is still active or if it has finished.
+     *
+     * @param user
+     *         The user to check for active threads.
+     * @param projectId
+     *         The id of the project to check for active threads.
+     * @return true if the learning process is queued or active, false otherwise.
+     */
+    public boolean isActive(User user, Long projectId) {
+        LearnerJob job = scheduler.getJob(user.getId(), projectId);
+        return job != null && job.isActive();
+    }
+
+    /**
+     * Get the status of the latest learn process of a user as immutable object.
      *
      * @param user
      *         The user that wants a LearnerStatus object for his (active) thread.
      * @return A snapshot of the Learner status.
      */
     public LearnerStatus getStatus(User user) {
-        LearnerStatus status;
+        return createStatus(scheduler.getLatestJob(user.getId()));
+    }
 
-        boolean active = isActive(user);
-        if (!active) {
-            status = new LearnerStatus(); // not active
-        } else {
-            LearnerThread thread = userThreads.get(user);
-            LearnerPhase phase = thread != null ? thread.getPhase() : null;
-            List<DefaultQueryProxy> queries = thread != null ? thread.getCurrentQueries() : null;
+    /**
+     * Get the status of the learn process of a user in a project as immutable object.
+     *
+     * @param user
+     *         The user that wants a LearnerStatus object for his (active) thread.
+     * @param projectId
+     *         The id of the project.
+     * @return A snapshot of the Learner status.
+     */
+    public LearnerStatus getStatus(User user, Long projectId) {
+        return createStatus(scheduler.getJob(user.getId(), projectId));
+    }
+
+    /**
+     * Get the status of all active learn processes of a user.
+     *
+     * @param user
+     *         The user that wants the LearnerStatus objects for his (active) threads.
+     * @return Snapshots of the status of all queued or running learn processes.
+     */
+    public List<LearnerStatus> getStatuses(User user) {
+        return scheduler.getJobs(user.getId()).stream()
+                        .filter(LearnerJob::isActive)
+                        .map(this::createStatus)
+                        .collect(Collectors.toList());
+    }
 
-            status = new LearnerStatus(getResult(user), phase, queries); // active
+    private LearnerStatus createStatus(LearnerJob job) {
+        LearnerThread thread = job == null ? null : job.getThread();
+        if (thread == null) {
+            return new LearnerStatus(); // not active
         }
 
-        return status;
+        LearnerStatus.QueryExecutionStatus queryExecution =
+                new LearnerStatus.QueryExecutionStatus(thread.getQueryExecutor());
+        int queuePosition = scheduler.getQueuePosition(job);
+
+        return new LearnerStatus(thread.getResult(), thread.getPhase(), thread.getCurrentQueries(), queryExecution,
+                                 queuePosition > 0 ? queuePosition : null); // active
     }
 
     /**
-     * Get the current result of the learning process.
+     * Get the current result of the latest learning process of a user.
      * This must not be a valid step of a test run!
      *
      * @param user
@@ -411,13 +559,58 @@ public class Learner {
      * @return The current result of the LearnerThread.
      */
     public LearnerResult getResult(User user) {
-        LearnerThread learnerThread = userThreads.get(user);
+        LearnerJob job = scheduler.getLatestJob(user.getId());
+        return job == null ? null : job.getResult();
+    }
 
-        if (learnerThread != null) {
-            return learnerThread.getResult();
-        } else {
-            return null;
+    /**
+     * Get the current result of the learning process of a user in a project.
+     * This must not be a valid step of a test run!
+     *
+     * @param user
+     *         The user that wants to see his result.
+     * @param projectId
+     *         The id of the project.
+     * @return The current result of the LearnerThread.
+     */
+    public LearnerResult getResult(User user, Long projectId) {
+        LearnerJob job = scheduler.getJob(user.getId(), projectId);
+        return job == null ? null : job.getResult();
+    }
+
+    /**
+     * Get the live metrics of the latest learning process of a user in a project.
+     *
+     * @param user
+     *         The user that wants to see the metrics.
+     * @param projectId
+     *         The id of the project.
+     * @return The metrics of the LearnerThread, or null if no process has been started in the project.
+     */
+    public LearnerMetrics getMetrics(User user, Long projectId) {
+        LearnerJob job = scheduler.getJob(user.getId(), projectId);
+        return job == null ? null : job.getMetrics();
+    }
+
+    /**
+     * Get the live metrics of the latest learning processes of a user in all projects in the Prometheus text format.
+     * The metrics of a process are labeled with the project id and the test no.
+     *
+     * @param user
+     *         The user that wants to see the metrics.
+     * @return The metrics of the LearnerThreads in the Prometheus text format.
+     */
+    public String getPrometheusMetrics(User user) {
+        PrometheusWriter writer = new PrometheusWriter();
+
+        for (LearnerJob job : scheduler.getJobs(user.getId())) {
+            Map<String, String> labels = new LinkedHashMap<>();
+            labels.put("project", String.valueOf(job.getProjectId()));
+            labels.put("test_no", String.valueOf(job.getResult().getTestNo()));
+            writer.add(labels, job.getMetrics());
         }
+
+        return writer.write();
     }
 
     /**
@@ -444,12 +637,11 @@ public class Learner {
         LOGGER.traceEntry();
         LOGGER.info(LEARNER_MARKER, "Learner.readOutputs({}, {}, {}, {})", user, project, resetSymbol, symbols);
 
-        ConnectorContextHandler ctxHandler = contextHandlerFactory.createContext(
-                user, project, browserConfig);
-        ctxHandler.setResetSymbol(resetSymbol);
+        ConnectorContextHandler ctxHandler = contextHandlerFactory.createSingleContext(
+                user, project, browserConfig, resetSymbol, symbols);
         ConnectorManager connectors = ctxHandler.createContext();
 
-        return readOutputs(symbols, connectors);
+        return readOutputs(symbols, ctxHandler, connectors);
     }
 
     /**
@@ -478,29 +670,29 @@ public class Learner {
         LOGGER.traceEntry();
         LOGGER.info(LEARNER_MARKER, "Learner.readOutputs({}, {}, {}, {})", user, project, resetSymbol, symbols);
 
-        ConnectorContextHandler ctxHandler = contextHandlerFactory.createContext(
-                user, project, readOutputConfig.getBrowser());
-        ctxHandler.setResetSymbol(resetSymbol);
+        ConnectorContextHandler ctxHandler = contextHandlerFactory.createSingleContext(
+                user, project, readOutputConfig.getBrowser(), resetSymbol, symbols);
         ConnectorManager connectors = ctxHandler.createContext();
 
-        return readOutputs(symbols, connectors);
+        return readOutputs(symbols, ctxHandler, connectors);
     }
 
-    private List<String> readOutputs(List<Symbol> symbols, ConnectorManager connectors) {
+    private List<String> readOutputs(List<Symbol> symbols, ConnectorContextHandler ctxHandler,
+                                     ConnectorManager connectors) {
         LOGGER.traceEntry();
         try {
             List<String> output = symbols.stream()
                     .map(s -> s.execute(connectors).toString())
                     .collect(Collectors.toList());
-            connectors.dispose();
 
             LOGGER.traceExit(output);
             return output;
         } catch (Exception e) {
-            connectors.dispose();
-
             LOGGER.traceExit(e);
             throw new LearnerException("Could not read the outputs", e);
+        } finally {
+            ctxHandler.disposeContext(connectors);
+            ctxHandler.shutdown();
         }
     }
 
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner;
+
+import de.learnlib.alex.core.entities.LearnerResult;
+import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.core.learner.metrics.LearnerMetrics;
+
+/**
+ * A learn process of a user in a project, which is either waiting for a free slot, running or finished.
+ * The result and the metrics of a finished job stay available, but the thread is released, so that the learner,
+ * the caches and the connectors of the process can be garbage collected.
+ */
+public class LearnerJob {
+
+    /** The states of a job. */
+    public enum State {
+
+        /** The job waits for a free slot. */
+        QUEUED,
+
+        /** The job is executed at the moment. */
+        RUNNING,
+
+        /** The job has finished or was cancelled. */
+        FINISHED
+    }
+
+    /** The user that started the job. */
+    private final User user;
+
+    /** The id of the project that is learned. */
+    private final Long projectId;
+
+    /** The thread that contains the learning loop, or null if the job has finished. */
+    private volatile LearnerThread thread;
+
+    /** The result of the learn process. */
+    private final LearnerResult result;
+
+    /** The live metrics of the learn process. */
+    private final LearnerMetrics metrics;
+
+    /** The current state of the job. */
+    private volatile State state;
+
+    /**
+     * Constructor.
+     *
+     * @param user
+     *         The user that started the job.
+     * @param projectId
+     *         The id of the project that is learned.
+     * @param thread
+     *         The thread that contains the learning loop.
+     */
+    public LearnerJob(User user, Long projectId, LearnerThread thread) {
+        this.user = user;
+        this.projectId = projectId;
+        this.thread = thread;
+        this.result = thread.getResult();
+        this.metrics = thread.getMetrics();
+        this.state = State.QUEUED;
+    }
+
+    /** @return {@link #user}. */
+    public User getUser() {
+        return user;
+    }
+
+    /** @return {@link #projectId}. */
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    /** @return {@link #thread}. */
+    public LearnerThread getThread() {
+        return thread;
+    }
+
+    /** @return {@link #result}. */
+    public LearnerResult getResult() {
+        return result;
+    }
+
+    /** @return {@link #metrics}. */
+    public LearnerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** @return {@link #state}. */
+    public State getState() {
+        return state;
+    }
+
+    /** @param state {@link #state}. */
+    void setState(State state) {
+        this.state = state;
+    }
+
+    /**
+     * Mark the job as finished and release its thread.
+     */
+    void finish() {
+        this.state = State.FINISHED;
+        this.thread = null;
+    }
+
+    /** @return true, if the job is queued or running; false otherwise. */
+    public boolean isActive() {
+        return state != State.FINISHED;
+    }
+
+    @Override
+    public String toString() {
+        return "LearnerJob of user " + user.getId() + " in project " + projectId + ": " + state;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Scheduler for the learn processes of all users.
+ *
+ * At most {@link #maxConcurrentLearns} jobs are executed at the same time and at most
+ * {@link #maxConcurrentLearnsPerUser} of them may belong to the same user. All other jobs wait in a FIFO queue,
+ * in which the jobs of users that have reached their quota are skipped, so that a single user can not block the
+ * learn processes of the others. A user can run one job per project.
+ */
+public class LearnerJobScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final Marker LEARNER_MARKER = MarkerManager.getMarker("LEARNER");
+
+    /** The executor that runs the jobs. It is only limited by the scheduler itself. */
+    private final ExecutorService executorService;
+
+    /** The latest job of every user in every project, by user id and project id. */
+    private final Map<Long, Map<Long, LearnerJob>> jobs;
+
+    /** The latest job that every user has submitted, by user id. */
+    private final Map<Long, LearnerJob> latestJobs;
+
+    /** The jobs that wait for a free slot, in the order of their submission. Guarded by this. */
+    private final LinkedList<LearnerJob> queue;
+
+    /** The amount of running jobs by user id. Guarded by this. */
+    private final Map<Long, Integer> runningJobsPerUser;
+
+    /** The amount of running jobs. Guarded by this. */
+    private int runningJobs;
+
+    /** How many jobs can be executed at the same time. */
+    private int maxConcurrentLearns;
+
+    /** How many jobs of a single user can be executed at the same time. */
+    private int maxConcurrentLearnsPerUser;
+
+    /**
+     * Constructor.
+     *
+     * @param maxConcurrentLearns
+     *         How many jobs can be executed at the same time.
+     * @param maxConcurrentLearnsPerUser
+     *         How many jobs of a single user can be executed at the same time.
+     */
+    public LearnerJobScheduler(int maxConcurrentLearns, int maxConcurrentLearnsPerUser) {
+        this.executorService = Executors.newCachedThreadPool();
+        this.jobs = new ConcurrentHashMap<>();
+        this.latestJobs = new ConcurrentHashMap<>();
+        this.queue = new LinkedList<>();
+        this.runningJobsPerUser = new HashMap<>();
+        setLimits(maxConcurrentLearns, maxConcurrentLearnsPerUser);
+    }
+
+    /**
+     * Change the limits of the scheduler. Jobs that are already running are not affected.
+     *
+     * @param newMaxConcurrentLearns
+     *         How many jobs can be executed at the same time.
+     * @param newMaxConcurrentLearnsPerUser
+     *         How many jobs of a single user can be executed at the same time.
+     */
+    public synchronized void setLimits(int newMaxConcurrentLearns, int newMaxConcurrentLearnsPerUser) {
+        if (newMaxConcurrentLearns < 1 || newMaxConcurrentLearnsPerUser < 1) {
+            throw new IllegalArgumentException("At least one learn process must be allowed.");
+        }
+        this.maxConcurrentLearns = newMaxConcurrentLearns;
+        this.maxConcurrentLearnsPerUser = newMaxConcurrentLearnsPerUser;
+        dispatch();
+    }
+
+    /**
+     * Submit a job. It is started at once if there is a free slot, otherwise it is queued.
+     *
+     * @param job
+     *         The job to submit.
+     * @throws IllegalStateException
+     *         If the user has already an active job in the project.
+     */
+    public synchronized void submit(LearnerJob job) throws IllegalStateException {
+        Long userId = job.getUser().getId();
+        LearnerJob previousJob = getJob(userId, job.getProjectId());
+        if (previousJob != null && previousJob.isActive()) {
+            throw new IllegalStateException("Only one active learning is allowed per user and project, "
+                                                    + "even for user " + job.getUser() + "!");
+        }
+
+        jobs.computeIfAbsent(userId, id -> new ConcurrentHashMap<>()).put(job.getProjectId(), job);
+        latestJobs.put(userId, job);
+        queue.add(job);
+        dispatch();
+
+        if (job.getState() == LearnerJob.State.QUEUED) {
+            LOGGER.info(LEARNER_MARKER, "Queued {} at position {}.", job, queue.size());
+        }
+    }
+
+    /**
+     * Stop a job. A queued job is removed from the queue, a running job stops after its current step.
+     *
+     * @param job
+     *         The job to stop.
+     */
+    public synchronized void stop(LearnerJob job) {
+        if (job.getState() == LearnerJob.State.QUEUED) {
+            queue.remove(job);
+            job.getThread().dispose();
+            job.finish();
+        } else if (job.getState() == LearnerJob.State.RUNNING) {
+            job.getThread().stopLearning();
+        }
+    }
+
+    /**
+     * Get the latest job of a user in a project.
+     *
+     * @param userId
+     *         The id of the user.
+     * @param projectId
+     *         The id of the project.
+     * @return The job or null, if the user has not submitted a job in the project.
+     */
+    public LearnerJob getJob(Long userId, Long projectId) {
+        Map<Long, LearnerJob> jobsOfUser = jobs.get(userId);
+        return jobsOfUser == null ? null : jobsOfUser.get(projectId);
+    }
+
+    /**
+     * Get the job a user has submitted last.
+     *
+     * @param userId
+     *         The id of the user.
+     * @return The job or null, if the user has not submitted a job.
+     */
+    public LearnerJob getLatestJob(Long userId) {
+        return latestJobs.get(userId);
+    }
+
+    /**
+     * Get the latest jobs of a user in all projects.
+     *
+     * @param userId
+     *         The id of the user.
+     * @return The jobs of the user.
+     */
+    public List<LearnerJob> getJobs(Long userId) {
+        Map<Long, LearnerJob> jobsOfUser = jobs.get(userId);
+        return jobsOfUser == null ? new ArrayList<>() : new ArrayList<>(jobsOfUser.values());
+    }
+
+    /**
+     * Get the position of a job in the queue.
+     *
+     * @param job
+     *         The job.
+     * @return The position, starting with 1, or 0 if the job is not queued.
+     */
+    public synchronized int getQueuePosition(LearnerJob job) {
+        return queue.indexOf(job) + 1;
+    }
+
+    /**
+     * Stop the scheduler. Queued jobs are dropped, running jobs are interrupted.
+     */
+    public synchronized void shutdown() {
+        queue.forEach(job -> {
+            job.getThread().dispose();
+            job.finish();
+        });
+        queue.clear();
+        jobs.clear();
+        latestJobs.clear();
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Start as many queued jobs as the limits allow.
+     */
+    private synchronized void dispatch() {
+        Iterator<LearnerJob> iterator = queue.iterator();
+        while (runningJobs < maxConcurrentLearns && iterator.hasNext()) {
+            LearnerJob job = iterator.next();
+            Long userId = job.getUser().getId();
+            if (runningJobsPerUser.getOrDefault(userId, 0) < maxConcurrentLearnsPerUser) {
+                iterator.remove();
+                start(job);
+            }
+        }
+    }
+
+    private void start(LearnerJob job) {
+        runningJobs++;
+        runningJobsPerUser.merge(job.getUser().getId(), 1, Integer::sum);
+        job.setState(LearnerJob.State.RUNNING);
+
+        executorService.submit(() -> {
+            try {
+                job.getThread().run();
+            } finally {
+                finished(job);
+            }
+        });
+    }
+
+    private synchronized void finished(LearnerJob job) {
+        job.finish();
+        runningJobs--;
+        runningJobsPerUser.merge(job.getUser().getId(), -1, (a, b) -> a + b == 0 ? null : a + b);
+        dispatch();
+    }
+}
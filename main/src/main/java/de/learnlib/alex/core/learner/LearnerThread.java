@@ -25,9 +25,16 @@ import de.learnlib.alex.core.entities.Statistics;
 import de.learnlib.alex.core.entities.Symbol;
 import de.learnlib.alex.core.entities.learnlibproxies.AlphabetProxy;
 import de.learnlib.alex.core.entities.learnlibproxies.DefaultQueryProxy;
-import de.learnlib.alex.core.entities.learnlibproxies.eqproxies.MealyRandomWordsEQOracleProxy;
+import de.learnlib.alex.core.learner.cache.PersistentCacheOracle;
+import de.learnlib.alex.core.learner.cache.PersistentQueryCache;
+import de.learnlib.alex.core.learner.checkpoint.CheckpointOracle;
+import de.learnlib.alex.core.learner.checkpoint.CheckpointStep;
+import de.learnlib.alex.core.learner.checkpoint.CheckpointStore;
 import de.learnlib.alex.core.learner.connectors.ConnectorContextHandler;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.alex.core.learner.metrics.LearnerMetrics;
+import de.learnlib.alex.core.learner.workers.RemoteWorkerOracle;
+import de.learnlib.alex.core.learner.workers.WorkerSetup;
 import de.learnlib.alex.exceptions.LearnerException;
 import de.learnlib.alex.exceptions.NotFoundException;
 import de.learnlib.api.EquivalenceOracle;
@@ -53,10 +60,10 @@ import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
 import org.apache.logging.log4j.ThreadContext;
 
+import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -70,7 +77,10 @@ public class LearnerThread extends Thread {
     private static final Marker LEARNER_MARKER = MarkerManager.getMarker("LEARNER");
 
     /** Is the thread still running? */
-    private boolean finished;
+    private volatile boolean finished;
+
+    /** If the learning should stop after the current step. */
+    private volatile boolean stopped;
 
     /** Mapper to match the alphabet to the right symbols. */
     private final SymbolMapper symbolMapper;
@@ -88,7 +98,7 @@ public class LearnerThread extends Thread {
     private LearnerResultStep currentStep;
 
     /** The learner to use during the learning. */
-    private final MealyLearner<String, String> learner;
+    private MealyLearner<String, String> learner;
 
     /** The Alphabet of the Symbols which will be used during the learning. */
     private final Alphabet<String> sigma;
@@ -99,6 +109,9 @@ public class LearnerThread extends Thread {
     /** The mapped SUL. */
     private final SUL<String, String> mappedSUL;
 
+    /** The context handler of the SUL. */
+    private final ConnectorContextHandler context;
+
     /** The number of mqs executed in parallel. */
     private int maxConcurrentQueries;
 
@@ -111,6 +124,36 @@ public class LearnerThread extends Thread {
     /** The queries that are executed at the moment. */
     private List<DefaultQueryProxy> currentQueries;
 
+    /** The scheduler that shares the executions of queries with common prefixes. */
+    private final PrefixTreeQueryScheduler<String, String> queryScheduler;
+
+    /** The executor that processes the membership queries in parallel. */
+    private final QueryExecutor queryExecutor;
+
+    /** The oracle that lets remote query workers execute the queries, or null if they are executed here. */
+    private final RemoteWorkerOracle remoteOracle;
+
+    /** The persistent query cache to use, or null if no persistent cache should be used. */
+    private final PersistentQueryCache queryCache;
+
+    /** The processor that shortens the counterexamples of all equivalence oracles. */
+    private final CounterexampleProcessor<String, String> counterexampleProcessor;
+
+    /** The live metrics of the learn process. */
+    private final LearnerMetrics metrics;
+
+    /** The checkpoint of the learn process, or null if no checkpoint should be written. */
+    private CheckpointStore checkpoint;
+
+    /** The oracle that records the answered queries for the checkpoint, or null if there is no checkpoint. */
+    private final CheckpointOracle checkpointOracle;
+
+    /** The counterexample the hypothesis has been refined with in the current step, for the checkpoint. */
+    private DefaultQuery<String, Word<String>> stepCounterexample;
+
+    /** The step from where a resumed learn process continues, or 0 if the process is not resumed. */
+    private final int resumeStep;
+
     /**
      * Constructor to set the LearnerThread up.
      *
@@ -120,13 +163,47 @@ public class LearnerThread extends Thread {
      *         The result to update, including the proper configuration.
      * @param context
      *         The context of the SUL. If this context is a counter, the 'amountOfResets' field will be set correctly.
+     * @param queryCache
+     *         The persistent query cache to use, or null. The cache will be closed once the thread has finished.
+     * @param checkpoint
+     *         The checkpoint to write at the end of every step, or null.
      */
-    public LearnerThread(LearnerResultDAO learnerResultDAO, LearnerResult result, ConnectorContextHandler context) {
+    public LearnerThread(LearnerResultDAO learnerResultDAO, LearnerResult result, ConnectorContextHandler context,
+                         PersistentQueryCache queryCache, CheckpointStore checkpoint) {
+        this(learnerResultDAO, result, context, queryCache, checkpoint, 0);
+    }
+
+    /**
+     * Advanced constructor to set the LearnerThread up.
+     * Most likely to be used when resuming a learn process. The learner is restored from the checkpoint, or from the
+     * hypothesis of the step if there is no usable checkpoint, as soon as the thread runs.
+     *
+     * @param learnerResultDAO
+     *         The DAO to persists the results.
+     * @param result
+     *         The result to update, including the proper configuration.
+     * @param context
+     *         The context of the SUL. If this context is a counter, the 'amountOfResets' field will be set correctly.
+     * @param queryCache
+     *         The persistent query cache to use, or null. The cache will be closed once the thread has finished.
+     * @param checkpoint
+     *         The checkpoint to restore the learner from and to write at the end of every step, or null.
+     * @param step
+     *         The step from where to continue, or 0 if the learn process is not resumed.
+     */
+    public LearnerThread(LearnerResultDAO learnerResultDAO, LearnerResult result, ConnectorContextHandler context,
+                         PersistentQueryCache queryCache, CheckpointStore checkpoint, int step) {
         this.finished = false;
+        this.resumeStep = step;
+        this.checkpoint = checkpoint;
+        this.queryCache = queryCache;
+        this.context = context;
         this.learnerResultDAO = learnerResultDAO;
         this.result = result;
         this.currentStep = result.getSteps().get(result.getSteps().size() - 1); // get the latest step
         this.maxConcurrentQueries = context.getMaxConcurrentQueries();
+        this.metrics = new LearnerMetrics();
+        this.context.setMetrics(metrics);
         this.currentQueries = new ArrayList<>();
 
         Symbol[] symbolsArray = readSymbolArray(); // use the symbols in the result to create the symbol array.
@@ -138,42 +215,59 @@ public class LearnerThread extends Thread {
                 ceiSUL = new ContextExecutableInputSUL<>(context);
         this.mappedSUL = Mappers.apply(symbolMapper, ceiSUL);
         this.sul = new AlexSUL<>(mappedSUL);
+        this.queryExecutor = new QueryExecutor(maxConcurrentQueries);
+
+        // execute the queries on the remote query workers, if there are any
+        MembershipOracle<String, Word<String>> executionOracle;
+        if (context.getWorkerAddresses().isEmpty()) {
+            this.remoteOracle = null;
+            executionOracle = new MultiSULOracle<>(sul, queryExecutor);
+        } else {
+            WorkerSetup workerSetup = context.getWorkerSetup();
+            workerSetup.setResetSymbol(result.getResetSymbol());
+            workerSetup.setSymbols(new ArrayList<>(result.getSymbols()));
+            this.remoteOracle = new RemoteWorkerOracle(context.getWorkerAddresses(), workerSetup, queryExecutor);
+            executionOracle = remoteOracle;
+        }
 
         // monitor which queries are being processed.
-        QueryMonitorOracle<String, String> monitorOracle = new QueryMonitorOracle<>(new MultiSULOracle<>(sul));
+        this.queryScheduler = new PrefixTreeQueryScheduler<>(executionOracle);
+        QueryMonitorOracle<String, String> monitorOracle = new QueryMonitorOracle<>(queryScheduler);
         monitorOracle.addPostProcessingListener(queries -> {
             List<DefaultQueryProxy> currentQueries = new ArrayList<>();
             queries.forEach(query -> currentQueries.add(DefaultQueryProxy.createFrom(new DefaultQuery<>(query))));
             this.currentQueries = currentQueries;
         });
 
+        // answer the queries that have already been executed in previous learn processes from the disk.
+        MembershipOracle<String, Word<String>> sulOracle = monitorOracle;
+        if (queryCache != null) {
+            sulOracle = new PersistentCacheOracle(queryCache, result.getSymbols(), monitorOracle);
+        }
+
+        // record the queries that pass the MQ cache, so that the cache is filled again when the checkpoint is replayed
+        if (checkpoint != null) {
+            this.checkpointOracle = new CheckpointOracle(sulOracle);
+            sulOracle = checkpointOracle;
+        } else {
+            this.checkpointOracle = null;
+        }
+
         if (result.isUseMQCache()) {
-            this.mqOracle = new DelegateOracle<>(MealyCacheOracle.createDAGCacheOracle(this.sigma, monitorOracle));
+            this.mqOracle = new DelegateOracle<>(MealyCacheOracle.createDAGCacheOracle(this.sigma, sulOracle));
         } else {
-            this.mqOracle = new DelegateOracle<>(monitorOracle);
+            this.mqOracle = new DelegateOracle<>(sulOracle);
         }
 
-        LearnAlgorithmFactory algorithm = result.getAlgorithmFactory();
-        this.learner = algorithm.createLearner(sigma, mqOracle);
+        this.counterexampleProcessor = new CounterexampleProcessor<>(result.getCounterexampleShortening(),
+                                                                     mqOracle, sigma);
+
+        this.learner = createLearner();
     }
 
-    /**
-     * Advanced constructor to set the LearnerThread up.
-     * Most likely to be used when resuming a learn process.
-     *
-     * @param learnerResultDAO
-     *         The DAO to persists the results.
-     * @param result
-     *         The result to update, including the proper configuration.
-     * @param context
-     *         The context of the SUL. If this context is a counter, the 'amountOfResets' field will be set correctly.
-     * @param step
-     *         The step from where to continue.
-     */
-    public LearnerThread(LearnerResultDAO learnerResultDAO, LearnerResult result, ConnectorContextHandler context,
-                         int step) {
-        this(learnerResultDAO, result, context);
-        learnFromHypothesis(step);
+    private MealyLearner<String, String> createLearner() {
+        LearnAlgorithmFactory algorithm = result.getAlgorithmFactory();
+        return algorithm.createLearner(sigma, mqOracle);
     }
 
     private Symbol[] readSymbolArray() {
@@ -181,12 +275,91 @@ public class LearnerThread extends Thread {
         return symbols.toArray(new Symbol[symbols.size()]);
     }
 
+    /**
+     * Restore the internal state of the learner of a resumed learn process, or start a new checkpoint.
+     */
+    private void restore() {
+        if (resumeStep == 0) {
+            if (checkpoint != null) {
+                try {
+                    checkpoint.clear();
+                } catch (IOException e) {
+                    disableCheckpoint(e);
+                }
+            }
+            return;
+        }
+
+        CompactMealy<String, String> hypothesis = result.getSteps().get(resumeStep - 1).getHypothesis()
+                                                        .createMealyMachine(sigma);
+        if (checkpoint != null && replayCheckpoint(hypothesis)) {
+            return;
+        }
+
+        // the checkpoint can not reproduce the state that is restored from the hypothesis
+        if (checkpoint != null) {
+            try {
+                checkpoint.clear();
+            } catch (IOException e) {
+                LOGGER.warn(LEARNER_MARKER, "Could not clear the checkpoint.", e);
+            }
+            checkpoint = null;
+        }
+        learnFromHypothesis(hypothesis);
+    }
+
+    /**
+     * Restore the learner by replaying the steps of the checkpoint up to the resumed step.
+     * The queries are answered from the checkpoint, so that the SUL is only asked if the learner behaves differently.
+     *
+     * @param hypothesis
+     *         The hypothesis of the resumed step, which the learner must have learned after the replay.
+     * @return true, if the learner has been restored; false if the learner has to be restored from the hypothesis.
+     */
+    private boolean replayCheckpoint(MealyMachine<?, String, ?, String> hypothesis) {
+        List<CheckpointStep> steps;
+        try {
+            steps = checkpoint.restore(resumeStep);
+        } catch (IOException e) {
+            disableCheckpoint(e);
+            return false;
+        }
+        if (steps.isEmpty() || steps.get(0).getCounterexample() != null) {
+            LOGGER.info(LEARNER_MARKER, "There is no checkpoint to restore the learner from.");
+            return false;
+        }
+
+        checkpointOracle.startReplay(steps);
+        try {
+            learner.startLearning();
+            for (CheckpointStep step : steps.subList(1, steps.size())) {
+                learner.refineHypothesis(step.getCounterexample());
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn(LEARNER_MARKER, "Could not replay the checkpoint.", e);
+            learner = createLearner();
+            return false;
+        } finally {
+            checkpointOracle.stopReplay();
+        }
+
+        LOGGER.info(LEARNER_MARKER, "Replayed {} steps of the checkpoint: {} queries were answered by the checkpoint "
+                            + "and {} by the SUL.", steps.size(), checkpointOracle.getReplayedQueries(),
+                    checkpointOracle.getMissedQueries());
+
+        if (Automata.findSeparatingWord(learner.getHypothesisModel(), hypothesis, sigma) != null) {
+            LOGGER.info(LEARNER_MARKER, "The replayed learner differs from the hypothesis of step {}.", resumeStep);
+            learner = createLearner();
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Use the hypothesis of a previous step as a SUL and learn until no more counterexamples can be found.
      * The learner is then internally where it stopped the last time.
      */
-    private void learnFromHypothesis(int step) {
-        final CompactMealy<String, String> hypothesis = result.getSteps().get(step - 1).getHypothesis().createMealyMachine(sigma);
+    private void learnFromHypothesis(CompactMealy<String, String> hypothesis) {
         final MembershipOracle<String, Word<String>> oracle = mqOracle.getDelegate();
         mqOracle.setDelegate(new SimulatorOracle<>(hypothesis));
 
@@ -204,6 +377,46 @@ public class LearnerThread extends Thread {
         mqOracle.setDelegate(oracle);
     }
 
+    /**
+     * Append the current step to the checkpoint.
+     */
+    private void saveCheckpoint() {
+        if (checkpoint == null) {
+            return;
+        }
+
+        CheckpointStep step = new CheckpointStep(currentStep.getStepNo(), stepCounterexample,
+                                                 checkpointOracle.takeRecordedQueries());
+        stepCounterexample = null;
+        try {
+            checkpoint.append(step);
+        } catch (IOException | IllegalArgumentException e) {
+            disableCheckpoint(e);
+        }
+    }
+
+    private void disableCheckpoint(Exception e) {
+        LOGGER.warn(LEARNER_MARKER, "Could not write the checkpoint, the learn process continues without one.", e);
+        checkpoint = null;
+    }
+
+    /** @return The amount of resets / MQs that have been executed, either here or by the query workers. */
+    private long getResetCount() {
+        return remoteOracle == null ? sul.getResetCount() : remoteOracle.getResetCount();
+    }
+
+    /** @return The amount of symbols that have been executed, either here or by the query workers. */
+    private long getSymbolUsedCount() {
+        return remoteOracle == null ? sul.getSymbolUsedCount() : remoteOracle.getSymbolUsedCount();
+    }
+
+    private void resetCounter() {
+        sul.resetCounter();
+        if (remoteOracle != null) {
+            remoteOracle.resetCounter();
+        }
+    }
+
     /**
      * Returns the current status of the Thread.
      *
@@ -231,6 +444,7 @@ public class LearnerThread extends Thread {
         LOGGER.info(LEARNER_MARKER, "Started a learn thread.");
 
         try {
+            restore();
             learn();
         } catch (Exception e) {
             LOGGER.warn(LEARNER_MARKER, "Something in the LearnerThread went wrong:", e);
@@ -245,12 +459,33 @@ public class LearnerThread extends Thread {
 
             sul.post();
         } finally {
-            finished = true;
+            LOGGER.info(LEARNER_MARKER, "Executed {} queries, average latency: {} ns, max latency: {} ns.",
+                        queryExecutor.getFinishedQueries(), queryExecutor.getAverageLatency(),
+                        queryExecutor.getMaxLatency());
+            dispose();
             LOGGER.info(LEARNER_MARKER, "The learn thread has finished.");
             LOGGER.traceExit();
         }
     }
 
+    /**
+     * Release the resources of the thread, i.e. the query executor, the connectors and the query cache.
+     * This is done at the end of {@link #run()} and must only be called directly if the thread will never run.
+     */
+    public void dispose() {
+        if (remoteOracle != null) {
+            remoteOracle.close();
+        }
+        queryExecutor.shutdown();
+        context.shutdown();
+        if (queryCache != null) {
+            LOGGER.info(LEARNER_MARKER, "Persistent query cache: {} hits, {} misses, {} entries.",
+                        queryCache.getHits(), queryCache.getMisses(), queryCache.size());
+            queryCache.close();
+        }
+        finished = true;
+    }
+
     private void learn() throws NotFoundException {
         LOGGER.traceEntry();
         do {
@@ -261,7 +496,15 @@ public class LearnerThread extends Thread {
 
     private boolean continueLearning() {
         return currentStep.getCounterExample() != null && (currentStep.getStepsToLearn() > 0
-                || currentStep.getStepsToLearn() == -1) && !Thread.interrupted();
+                || currentStep.getStepsToLearn() == -1) && !stopped && !Thread.interrupted();
+    }
+
+    /**
+     * Stop the learning after the current step.
+     * The thread is usually executed by a pool, so interrupting it would not reach the learning loop.
+     */
+    public void stopLearning() {
+        this.stopped = true;
     }
 
     private void learnOneStep() throws NotFoundException {
@@ -272,6 +515,7 @@ public class LearnerThread extends Thread {
             learnSuccessiveStep();
         }
         learnerResultDAO.saveStep(result, currentStep);
+        saveCheckpoint();
         LOGGER.traceExit();
     }
 
@@ -325,13 +569,14 @@ public class LearnerThread extends Thread {
         if (counterExample != null) {
             DefaultQuery<String, Word<String>> counterexample = counterExample.createDefaultProxy();
 
-            // for long randomly generated words, check if there is a shorter prefix that is also a counterexample
-            if (previousStep.getEqOracle() instanceof MealyRandomWordsEQOracleProxy) {
-                counterexample = findShortestPrefix(counterexample);
-            }
+            // shorter counterexamples lead to less queries during the refinement
+            long mqsBefore = getResetCount();
+            counterexample = counterexampleProcessor.process(learner.getHypothesisModel(), counterexample);
+            statistics.setCounterexampleMqsUsed(getResetCount() - mqsBefore);
 
             try {
                 learnerPhase = Learner.LearnerPhase.LEARNING;
+                stepCounterexample = counterexample;
                 learner.refineHypothesis(counterexample);
             } catch (NullPointerException e) {
                 throw new LearnerException("Presumably the detected counterexample '" + counterexample
@@ -348,32 +593,6 @@ public class LearnerThread extends Thread {
         LOGGER.traceExit();
     }
 
-    /**
-     * Given a counterexample, est if there is a shorter prefix that is also a counterexample.
-     *
-     * @param ce The counterexample.
-     * @return The prefix.
-     */
-    private DefaultQuery<String, Word<String>> findShortestPrefix(DefaultQuery<String, Word<String>> ce) {
-        Word<String> input = ce.getInput();
-        Word<String> output = ce.getOutput();
-
-        int i;
-        for (i = 0; i <= input.size(); i++) {
-            Word<String> prefix = input.subWord(0, i);
-            Word<String> sulOutput = output.subWord(0, i);
-            Word<String> hypOutput = learner.getHypothesisModel().computeOutput(prefix);
-            if (!Objects.equals(sulOutput, hypOutput)) {
-                break;
-            }
-        }
-
-        DefaultQuery<String, Word<String>> prefix = new DefaultQuery<>(input.subWord(0, i));
-        prefix.answer(output.subWord(0, i));
-
-        return prefix;
-    }
-
     private void storeLearnerMetaData() throws NotFoundException {
         LOGGER.traceEntry();
 
@@ -384,9 +603,12 @@ public class LearnerThread extends Thread {
         LOGGER.info(LEARNER_MARKER, "Duration of the learning: {} (start: {}, end: {}).", statistics.getDuration(),
                     startTime, currentTime);
 
-        statistics.getMqsUsed().setLearner(sul.getResetCount());
-        statistics.getSymbolsUsed().setLearner(sul.getSymbolUsedCount());
-        sul.resetCounter();
+        statistics.getMqsUsed().setLearner(getResetCount());
+        statistics.getSymbolsUsed().setLearner(getSymbolUsedCount());
+        statistics.getMqsSaved().setLearner(queryScheduler.getSavedQueries());
+        statistics.getSymbolsSaved().setLearner(queryScheduler.getSavedSymbols());
+        resetCounter();
+        queryScheduler.resetCounter();
 
         // algorithm information
         currentStep.createHypothesisFrom(learner.getHypothesisModel());
@@ -407,13 +629,26 @@ public class LearnerThread extends Thread {
         LOGGER.traceEntry();
 
         if (eqOracle == null) {
-            eqOracle = currentStep.getEqOracle().createEqOracle(mqOracle, maxConcurrentQueries);
+            eqOracle = currentStep.getEqOracle().createEqOracle(mqOracle, queryExecutor);
         }
 
         DefaultQuery<String, Word<String>> newCounterExample;
         learnerPhase = Learner.LearnerPhase.EQUIVALENCE_TESTING;
 
-        newCounterExample = eqOracle.findCounterExample(learner.getHypothesisModel(), sigma);
+        // the words of the equivalence oracle are not needed to replay the learner, only the counterexample is
+        if (checkpointOracle != null) {
+            checkpointOracle.setRecording(false);
+        }
+        try {
+            newCounterExample = eqOracle.findCounterExample(learner.getHypothesisModel(), sigma);
+        } finally {
+            if (checkpointOracle != null) {
+                checkpointOracle.setRecording(true);
+            }
+        }
+        if (newCounterExample != null && checkpointOracle != null) {
+            checkpointOracle.record(newCounterExample);
+        }
 
         // remember the counter example, if any
         if (newCounterExample == null) {
@@ -436,6 +671,16 @@ public class LearnerThread extends Thread {
         return currentQueries;
     }
 
+    /** @return {@link #queryExecutor}. */
+    public QueryExecutor getQueryExecutor() {
+        return queryExecutor;
+    }
+
+    /** @return {@link #metrics}. */
+    public LearnerMetrics getMetrics() {
+        return metrics;
+    }
+
     private void storeCounterExampleSearchMetaData() {
         LOGGER.traceEntry();
         // statistics
@@ -449,9 +694,12 @@ public class LearnerThread extends Thread {
         statistics.getDuration().setEqOracle(duration);
         LOGGER.info(LEARNER_MARKER, "Duration of the eq oracle: {}.", duration);
 
-        statistics.getMqsUsed().setEqOracle(sul.getResetCount());
-        statistics.getSymbolsUsed().setEqOracle(sul.getSymbolUsedCount());
-        sul.resetCounter();
+        statistics.getMqsUsed().setEqOracle(getResetCount());
+        statistics.getSymbolsUsed().setEqOracle(getSymbolUsedCount());
+        statistics.getMqsSaved().setEqOracle(queryScheduler.getSavedQueries());
+        statistics.getSymbolsSaved().setEqOracle(queryScheduler.getSavedSymbols());
+        resetCounter();
+        queryScheduler.resetCounter();
 
         LOGGER.traceExit();
     }
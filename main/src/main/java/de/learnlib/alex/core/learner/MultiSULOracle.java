@@ -23,12 +23,13 @@ import net.automatalib.words.Word;
 import net.automatalib.words.WordBuilder;
 
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.List;
 
 /**
  * Oracle that allows batched execution of membership queries to multiple suls.
+ * The queries of a batch are executed by a shared {@link QueryExecutor}, each on its own fork of the sul.
  *
  * @param <I> Input symbol type.
  * @param <O> Output symbol type.
@@ -39,14 +40,20 @@ public class MultiSULOracle<I, O> implements MembershipOracle<I, Word<O>> {
     /** The sul the membership queries should be posed to. */
     private final SUL<I, O> sul;
 
+    /** The executor that processes the queries in parallel. */
+    private final QueryExecutor executor;
+
     /**
      * Constructor.
      *
      * @param sul
      *          The sul the membership queries should be posed to.
+     * @param executor
+     *          The executor that processes the queries in parallel.
      */
-    public MultiSULOracle(SUL<I, O> sul) {
+    public MultiSULOracle(SUL<I, O> sul, QueryExecutor executor) {
         this.sul = sul;
+        this.executor = executor;
     }
 
     @Override
@@ -57,10 +64,10 @@ public class MultiSULOracle<I, O> implements MembershipOracle<I, Word<O>> {
     }
 
     private void processQueries(SUL<I, O> sul, Collection<? extends Query<I, Word<O>>> queries) {
-        ExecutorService executor = Executors.newFixedThreadPool(queries.size());
+        List<Runnable> workers = new ArrayList<>(queries.size());
 
         for (Query<I, Word<O>> q : queries) {
-            Runnable worker = () -> {
+            workers.add(() -> {
 
                 // forking the sul allows us to pose multiple
                 // queries in parallel to multiple suls
@@ -84,14 +91,10 @@ public class MultiSULOracle<I, O> implements MembershipOracle<I, Word<O>> {
                 } finally {
                     forkedSul.post();
                 }
-            };
-
-            executor.submit(worker);
+            });
         }
 
-        executor.shutdown();
-        while (!executor.isTerminated()) { // wait for all futures to finish
-        }
+        executor.executeAll(workers); // blocks until all queries are answered
     }
 
 }
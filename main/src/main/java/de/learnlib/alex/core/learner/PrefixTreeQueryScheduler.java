@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner;
+
+import de.learnlib.api.MembershipOracle;
+import de.learnlib.api.Query;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.words.Word;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Oracle that reduces the amount of SUL executions of a batch of membership queries by sharing their prefixes.
+ *
+ * The input words of a batch are arranged in a prefix tree. Only the words at the leaves of the tree are
+ * executed, as the outputs of all other words are prefixes of the outputs of the leaves below them.
+ * Duplicate queries and queries with the same input word but a different prefix / suffix split are executed once.
+ * Like any query cache, this requires the SUL to be deterministic.
+ *
+ * @param <I> Input symbol type.
+ * @param <O> Output symbol type.
+ */
+@ParametersAreNonnullByDefault
+public class PrefixTreeQueryScheduler<I, O> implements MembershipOracle<I, Word<O>> {
+
+    /** The oracle the remaining queries are delegated to. */
+    private final MembershipOracle<I, Word<O>> delegate;
+
+    /** The amount of queries that did not have to be executed since the last counter reset. */
+    private final AtomicLong savedQueries;
+
+    /** The amount of symbols that did not have to be executed since the last counter reset. */
+    private final AtomicLong savedSymbols;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *         The oracle the remaining queries are delegated to.
+     */
+    public PrefixTreeQueryScheduler(MembershipOracle<I, Word<O>> delegate) {
+        this.delegate = delegate;
+        this.savedQueries = new AtomicLong();
+        this.savedSymbols = new AtomicLong();
+    }
+
+    @Override
+    public void processQueries(Collection<? extends Query<I, Word<O>>> queries) {
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        // build the prefix tree of the batch
+        Node<I, O> root = new Node<>();
+        long requestedSymbols = 0;
+        for (Query<I, Word<O>> query : queries) {
+            Node<I, O> node = root;
+            for (I symbol : query.getInput()) {
+                node = node.children.computeIfAbsent(symbol, s -> new Node<>());
+            }
+            node.queries.add(query);
+            requestedSymbols += query.getInput().length();
+        }
+
+        // only the leaves have to be executed
+        List<DefaultQuery<I, Word<O>>> leafQueries = new ArrayList<>();
+        collectLeaves(root, Word.epsilon(), leafQueries);
+        delegate.processQueries(leafQueries);
+
+        long executedSymbols = leafQueries.stream().mapToLong(q -> q.getInput().length()).sum();
+        savedQueries.addAndGet(queries.size() - leafQueries.size());
+        savedSymbols.addAndGet(requestedSymbols - executedSymbols);
+
+        answer(root, 0);
+    }
+
+    private void collectLeaves(Node<I, O> node, Word<I> input, List<DefaultQuery<I, Word<O>>> leafQueries) {
+        if (node.children.isEmpty()) {
+            node.leafQuery = new DefaultQuery<>(input);
+            leafQueries.add(node.leafQuery);
+        } else {
+            node.children.forEach((symbol, child) -> collectLeaves(child, input.append(symbol), leafQueries));
+        }
+    }
+
+    /**
+     * Answer all queries of a subtree.
+     *
+     * @return The output of one of the leaves of the subtree, of which the output of the node is a prefix.
+     */
+    private Word<O> answer(Node<I, O> node, int depth) {
+        Word<O> output = null;
+        if (node.leafQuery != null) {
+            output = node.leafQuery.getOutput();
+        }
+
+        for (Node<I, O> child : node.children.values()) {
+            Word<O> childOutput = answer(child, depth + 1);
+            if (output == null) {
+                output = childOutput;
+            }
+        }
+
+        for (Query<I, Word<O>> query : node.queries) {
+            query.answer(output.subWord(query.getPrefix().length(), depth));
+        }
+
+        return output;
+    }
+
+    /** @return The amount of queries that did not have to be executed since the last counter reset. */
+    public long getSavedQueries() {
+        return savedQueries.get();
+    }
+
+    /** @return The amount of symbols that did not have to be executed since the last counter reset. */
+    public long getSavedSymbols() {
+        return savedSymbols.get();
+    }
+
+    /**
+     * Reset the counters of the saved queries and symbols.
+     */
+    public void resetCounter() {
+        savedQueries.set(0);
+        savedSymbols.set(0);
+    }
+
+    /**
+     * A node in the prefix tree of a batch.
+     *
+     * @param <I> Input symbol type.
+     * @param <O> Output symbol type.
+     */
+    private static final class Node<I, O> {
+
+        /** The child nodes by their input symbol, in insertion order to keep the execution order stable. */
+        private final Map<I, Node<I, O>> children = new LinkedHashMap<>();
+
+        /** The queries whose input word ends in this node. */
+        private final List<Query<I, Word<O>>> queries = new ArrayList<>();
+
+        /** The query that is executed for this node, if it is a leaf. */
+        private DefaultQuery<I, Word<O>> leafQuery;
+    }
+}
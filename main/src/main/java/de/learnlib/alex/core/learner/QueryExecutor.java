@@ -0,0 +1,293 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner;
+
+import de.learnlib.alex.exceptions.LearnerException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Long living, work stealing executor for membership queries.
+ *
+ * One executor is created per learn process and is sized to the amount of connector contexts,
+ * so that every worker thread can always get a context without waiting for another query to finish.
+ * Callers are blocked until all of their queries are processed, exceptions of the queries are forwarded to them.
+ * Single queries can also be submitted without waiting for them, e.g. to keep all workers busy with a stream of
+ * queries.
+ */
+public class QueryExecutor {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** How long to wait for the running queries on shutdown in seconds. */
+    private static final long SHUTDOWN_TIMEOUT = 30;
+
+    /** The pool that executes the queries. */
+    private final ForkJoinPool pool;
+
+    /** The amount of queries that are submitted, but not yet started. */
+    private final AtomicInteger queuedQueries;
+
+    /** The amount of queries that are currently executed. */
+    private final AtomicInteger runningQueries;
+
+    /** The amount of queries that have been finished, either successfully or not. */
+    private final LongAdder finishedQueries;
+
+    /** The sum of the execution times of all finished queries in ns. */
+    private final LongAdder totalLatency;
+
+    /** The longest execution time of a query in ns. */
+    private final AtomicLong maxLatency;
+
+    /**
+     * Constructor.
+     *
+     * @param parallelism
+     *         The amount of queries that should be executed in parallel.
+     */
+    public QueryExecutor(int parallelism) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.queuedQueries = new AtomicInteger();
+        this.runningQueries = new AtomicInteger();
+        this.finishedQueries = new LongAdder();
+        this.totalLatency = new LongAdder();
+        this.maxLatency = new AtomicLong();
+    }
+
+    /**
+     * Execute tasks in parallel and wait until all of them are finished.
+     * If a task fails, the tasks that have not yet been started are cancelled and the error is rethrown.
+     *
+     * @param tasks
+     *         The tasks to execute, usually one per membership query.
+     * @throws LearnerException
+     *         If one of the tasks failed or the thread was interrupted while waiting.
+     */
+    public void executeAll(Collection<? extends Runnable> tasks) throws LearnerException {
+        if (isWorker()) {
+            executeInWorker(tasks);
+            return;
+        }
+
+        List<QueryTask> queryTasks = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            QueryTask queryTask = new QueryTask(task);
+            queuedQueries.incrementAndGet();
+            queryTask.future = pool.submit(queryTask);
+            queryTasks.add(queryTask);
+        }
+
+        QueryTask currentTask = null;
+        try {
+            for (QueryTask queryTask : queryTasks) {
+                currentTask = queryTask;
+                queryTask.future.get();
+            }
+        } catch (ExecutionException e) {
+            queryTasks.forEach(queryTask -> queryTask.cancel(false));
+
+            // the pool may wrap the exception if it is rethrown in another thread, so prefer the original one.
+            Throwable cause = currentTask.error != null ? currentTask.error : e.getCause();
+            if (cause instanceof LearnerException) {
+                throw (LearnerException) cause;
+            }
+            throw new LearnerException("An error occurred while executing a query: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            queryTasks.forEach(queryTask -> queryTask.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new LearnerException("The execution of the queries has been interrupted.", e);
+        }
+    }
+
+    /**
+     * Submit a single task without waiting for it.
+     * Cancelling the returned future only removes the task from the queue, a task that is already running finishes.
+     *
+     * @param task
+     *         The task to execute, usually a membership query.
+     * @return The future of the task.
+     */
+    public Future<?> submit(Runnable task) {
+        QueryTask queryTask = new QueryTask(task);
+        queuedQueries.incrementAndGet();
+        queryTask.future = pool.submit(queryTask);
+        return queryTask;
+    }
+
+    /**
+     * A submitted task that poses queries itself, e.g. a test word of an equivalence oracle that is passed through
+     * the oracles of the learn process, already occupies a worker. Its queries are executed in the same worker,
+     * because waiting for another worker could block all of them. They are measured as part of the outer task.
+     */
+    private void executeInWorker(Collection<? extends Runnable> tasks) throws LearnerException {
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (LearnerException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new LearnerException("An error occurred while executing a query: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private boolean isWorker() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == pool;
+    }
+
+    /**
+     * Stop the executor. Queries that are still running will be awaited for a short time.
+     */
+    public void shutdown() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                LOGGER.warn("The query executor did not terminate in time.");
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** @return The amount of queries that can be executed in parallel. */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /** @return The amount of queries that are waiting for a free worker. */
+    public int getQueueDepth() {
+        return queuedQueries.get();
+    }
+
+    /** @return The amount of queries that are executed at the moment. */
+    public int getRunningQueries() {
+        return runningQueries.get();
+    }
+
+    /** @return The amount of finished queries. */
+    public long getFinishedQueries() {
+        return finishedQueries.sum();
+    }
+
+    /** @return The average execution time of a query in ns, or 0 if no query has been finished yet. */
+    public long getAverageLatency() {
+        long finished = finishedQueries.sum();
+        return finished == 0 ? 0 : totalLatency.sum() / finished;
+    }
+
+    /** @return The longest execution time of a query in ns. */
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    /**
+     * Wrapper around a submitted task that measures its execution and that can only be started or cancelled once.
+     */
+    private final class QueryTask implements Runnable, Future<Void> {
+
+        /** The actual task. */
+        private final Runnable task;
+
+        /** If the task has already been started or cancelled. */
+        private final AtomicBoolean claimed;
+
+        /** The future of the task in the pool. */
+        private Future<?> future;
+
+        /** The exception or error the task has thrown, if any. */
+        private volatile Throwable error;
+
+        private QueryTask(Runnable task) {
+            this.task = task;
+            this.claimed = new AtomicBoolean();
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+
+            queuedQueries.decrementAndGet();
+            runningQueries.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (RuntimeException | Error e) {
+                error = e;
+                throw e;
+            } finally {
+                long latency = System.nanoTime() - start;
+                runningQueries.decrementAndGet();
+                finishedQueries.increment();
+                totalLatency.add(latency);
+                maxLatency.accumulateAndGet(latency, Math::max);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (claimed.compareAndSet(false, true)) { // the task has not been started yet
+                queuedQueries.decrementAndGet();
+                future.cancel(false);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        @Override
+        public Void get() throws InterruptedException, ExecutionException {
+            future.get();
+            return null;
+        }
+
+        @Override
+        public Void get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            future.get(timeout, unit);
+            return null;
+        }
+    }
+}
@@ -18,7 +18,11 @@ package de.learnlib.alex.core.learner;
 
 import com.rits.cloning.Cloner;
 import de.learnlib.alex.core.entities.ExecuteResult;
+import de.learnlib.alex.core.entities.Project;
 import de.learnlib.alex.core.entities.Symbol;
+import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.core.entities.SymbolGroup;
+import de.learnlib.alex.core.entities.User;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.api.SULException;
 import de.learnlib.mapper.api.ContextExecutableInput;
@@ -30,6 +34,7 @@ import org.apache.logging.log4j.Logger;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -37,17 +42,17 @@ import java.util.Map;
 
 /**
  * Class to map the Symbols and their result to the values used in the learning process.
+ *
+ * The symbols are compiled once into execution plans, see {@link #compile(Symbol)}. The plans are shared by all
+ * forks of the mapper, as the state of a query, i.e. the connectors, is passed to the symbols on every execution.
  */
 public class SymbolMapper
         implements Mapper<String, String, ContextExecutableInput<ExecuteResult, ConnectorManager>, ExecuteResult> {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
-    /** Map to manage the symbols according to their name in the Alphabet. */
-    private Map<String, Symbol> symbols;
-
-    /** Java object cloner. */
-    private Cloner cloner;
+    /** Map to manage the compiled symbols according to their name in the Alphabet. */
+    private final Map<String, Symbol> symbols;
 
     /**
      * Constructor.
@@ -56,12 +61,66 @@ public class SymbolMapper
      * @param symbols - The symbols for the learning process.
      */
     public SymbolMapper(Symbol... symbols) {
-        this.symbols = new HashMap<>();
-        this.cloner = new Cloner();
-
+        Map<String, Symbol> compiledSymbols = new HashMap<>();
         for (Symbol s : symbols) {
-            this.symbols.put(s.getAbbreviation(), s);
+            compiledSymbols.put(s.getAbbreviation(), compile(s));
         }
+        this.symbols = Collections.unmodifiableMap(compiledSymbols);
+    }
+
+    /**
+     * Constructor for forks, which share the compiled symbols.
+     *
+     * @param symbols
+     *         The compiled symbols by their abbreviation.
+     */
+    private SymbolMapper(Map<String, Symbol> symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Compile a symbol into an execution plan, i.e. a copy of the symbol that is detached from the database.
+     * The user, the project and the group are only referenced by their IDs and the actions are copied into an
+     * unmodifiable list, so the plan can be executed by several queries in parallel without any Hibernate state.
+     *
+     * @param symbol
+     *         The symbol to compile.
+     * @return The compiled symbol, or null if the symbol is null.
+     */
+    public static Symbol compile(Symbol symbol) {
+        if (symbol == null) {
+            return null;
+        }
+
+        Symbol plan = new Symbol();
+        plan.setSymbolId(symbol.getSymbolId());
+        plan.setId(symbol.getId());
+        plan.setUserId(symbol.getUserId());
+        plan.setProjectId(symbol.getProjectId());
+        plan.setGroupId(symbol.getGroupId());
+        plan.setName(symbol.getName());
+        plan.setAbbreviation(symbol.getAbbreviation());
+        plan.setHidden(symbol.isHidden());
+
+        // the actions are copied without their references to other entities, which are replaced by the IDs
+        Cloner cloner = new Cloner();
+        cloner.dontCloneInstanceOf(User.class, Project.class, SymbolGroup.class, Symbol.class);
+
+        List<SymbolAction> actions = new ArrayList<>(symbol.getActions().size());
+        for (SymbolAction action : symbol.getActions()) {
+            SymbolAction actionPlan = cloner.deepClone(action);
+            if (action.getUser() != null) {
+                actionPlan.setUser(new User(action.getUser().getId()));
+            }
+            if (action.getProject() != null) {
+                actionPlan.setProject(new Project(action.getProject().getId()));
+            }
+            actionPlan.setSymbol(plan);
+            actions.add(actionPlan);
+        }
+        plan.setActions(Collections.unmodifiableList(actions));
+
+        return plan;
     }
 
     @Override
@@ -114,7 +173,7 @@ public class SymbolMapper
     }
 
     /**
-     * Get the list of symbols.
+     * Get the list of compiled symbols.
      *
      * @return The list of symbols.
      */
@@ -133,7 +192,6 @@ public class SymbolMapper
     @Override
     public Mapper<String, String, ContextExecutableInput<ExecuteResult, ConnectorManager>, ExecuteResult> fork()
             throws UnsupportedOperationException {
-        Symbol[] symbolsArray = symbols.values().toArray(new Symbol[symbols.values().size()]);
-        return new SymbolMapper(cloner.deepClone(symbolsArray));
+        return new SymbolMapper(symbols);
     }
 }
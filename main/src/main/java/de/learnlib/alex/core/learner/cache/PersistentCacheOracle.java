@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.hash.Hashing;
+import de.learnlib.alex.core.entities.Symbol;
+import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.exceptions.LearnerException;
+import de.learnlib.api.MembershipOracle;
+import de.learnlib.api.Query;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.words.Word;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Membership oracle that answers queries from a {@link PersistentQueryCache} and only delegates the queries
+ * that are not cached yet. The answers of the delegate are stored in the cache, so that they can be reused by
+ * later learn processes.
+ *
+ * Queries are always posed with their complete input word to the delegate, because only the output of the
+ * whole word can be reused for queries with a different prefix / suffix split.
+ */
+@ParametersAreNonnullByDefault
+public class PersistentCacheOracle implements MembershipOracle<String, Word<String>> {
+
+    /** Writer to serialize the actions of a symbol in order to compute its fingerprint. */
+    private static final ObjectWriter ACTIONS_WRITER = new ObjectMapper()
+            .writerFor(new TypeReference<List<SymbolAction>>() { });
+
+    /** The cache to use. */
+    private final PersistentQueryCache cache;
+
+    /** Map of the abbreviations of the symbols to their fingerprints. */
+    private final Map<String, Long> fingerprints;
+
+    /** The oracle to delegate the uncached queries to. */
+    private final MembershipOracle<String, Word<String>> delegate;
+
+    /**
+     * Constructor.
+     *
+     * @param cache
+     *         The cache to use.
+     * @param symbols
+     *         The symbols of the alphabet.
+     * @param delegate
+     *         The oracle to delegate the uncached queries to.
+     */
+    public PersistentCacheOracle(PersistentQueryCache cache, Collection<Symbol> symbols,
+                                 MembershipOracle<String, Word<String>> delegate) {
+        this.cache = cache;
+        this.delegate = delegate;
+        this.fingerprints = new HashMap<>();
+        symbols.forEach(s -> fingerprints.put(s.getAbbreviation(), fingerprint(s)));
+    }
+
+    @Override
+    public void processQueries(Collection<? extends Query<String, Word<String>>> queries) {
+        List<Query<String, Word<String>>> uncachedQueries = new ArrayList<>();
+        List<DefaultQuery<String, Word<String>>> delegatedQueries = new ArrayList<>();
+
+        try {
+            for (Query<String, Word<String>> query : queries) {
+                List<String> output = cache.lookup(toFingerprints(query.getInput()));
+                if (output == null) {
+                    uncachedQueries.add(query);
+                    delegatedQueries.add(new DefaultQuery<>(query.getInput()));
+                } else {
+                    answer(query, Word.fromList(output));
+                }
+            }
+
+            if (delegatedQueries.isEmpty()) {
+                return;
+            }
+
+            delegate.processQueries(delegatedQueries);
+
+            for (int i = 0; i < uncachedQueries.size(); i++) {
+                Word<String> output = delegatedQueries.get(i).getOutput();
+                Query<String, Word<String>> query = uncachedQueries.get(i);
+                cache.insert(toFingerprints(query.getInput()), output.asList());
+                answer(query, output);
+            }
+        } catch (IOException e) {
+            throw new LearnerException("Could not access the persistent query cache.", e);
+        }
+    }
+
+    private void answer(Query<String, Word<String>> query, Word<String> output) {
+        query.answer(output.subWord(query.getPrefix().length()));
+    }
+
+    private long[] toFingerprints(Word<String> input) {
+        long[] result = new long[input.length()];
+        for (int i = 0; i < result.length; i++) {
+            Long fingerprint = fingerprints.get(input.getSymbol(i));
+            if (fingerprint == null) {
+                throw new LearnerException("The symbol '" + input.getSymbol(i) + "' is not part of the alphabet.");
+            }
+            result[i] = fingerprint;
+        }
+        return result;
+    }
+
+    /**
+     * Calculate the fingerprint of a symbol.
+     * The fingerprint only depends on the actions of the symbol, i.e. it changes as soon as the actions are modified.
+     *
+     * @param symbol
+     *         The symbol to calculate the fingerprint for.
+     * @return A 64 bit fingerprint.
+     */
+    public static long fingerprint(Symbol symbol) {
+        try {
+            String actions = ACTIONS_WRITER.writeValueAsString(symbol.getActions());
+            return Hashing.murmur3_128().hashString(actions, StandardCharsets.UTF_8).asLong();
+        } catch (JsonProcessingException e) {
+            throw new LearnerException("Could not calculate the fingerprint of the symbol " + symbol + ".", e);
+        }
+    }
+}
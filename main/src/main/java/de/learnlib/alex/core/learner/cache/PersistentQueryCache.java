@@ -0,0 +1,566 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.cache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A disk based store for the answers of membership queries.
+ *
+ * The store consists of two files:
+ * An append only data file, which contains the input and output words of all queries,
+ * and a memory mapped hash index, which maps the hash of an input word to the position of its record in the data file.
+ * Because neither of both is held on the heap, the cache can grow far beyond the size of the available memory.
+ *
+ * The input symbols are stored as 64 bit fingerprints, cf. {@link PersistentCacheOracle#fingerprint}, so that
+ * entries of symbols whose actions have been modified can never be matched again.
+ *
+ * All public methods are synchronized, so that one cache can be shared between parallel queries and learn processes.
+ */
+public class PersistentQueryCache implements Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The file extension of the data file. */
+    static final String DATA_FILE_EXTENSION = ".dat";
+
+    /** The file extension of the index file. */
+    static final String INDEX_FILE_EXTENSION = ".idx";
+
+    /** Magic number at the start of both files. */
+    private static final int MAGIC = 0x414c4558; // "ALEX"
+
+    /** The version of the file format. Increment if the format changes. */
+    private static final int VERSION = 1;
+
+    /** The size of the header of the data file in bytes: magic, version. */
+    private static final int DATA_HEADER_SIZE = 8;
+
+    /** The size of the header of the index file in bytes: magic, version, capacity, padding, size, data length. */
+    private static final int INDEX_HEADER_SIZE = 32;
+
+    /** The size of one slot in the index in bytes: hash, data offset + 1. */
+    private static final int SLOT_SIZE = 16;
+
+    /** The initial amount of slots in the index. Must be a power of two. */
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    /** The maximal amount of slots, as a single mapped buffer can not be larger than 2GB. */
+    private static final int MAX_CAPACITY = 1 << 26;
+
+    /** The load factor at which the index will be doubled. */
+    private static final double MAX_LOAD_FACTOR = 0.6;
+
+    /** Position of the capacity in the index header. */
+    private static final int CAPACITY_POSITION = 8;
+
+    /** Position of the size in the index header. */
+    private static final int SIZE_POSITION = 16;
+
+    /** Position of the indexed data length in the index header. */
+    private static final int DATA_LENGTH_POSITION = 24;
+
+    /** The path of the data file. */
+    private final Path dataPath;
+
+    /** The path of the index file. */
+    private final Path indexPath;
+
+    /** The channel of the data file. */
+    private FileChannel data;
+
+    /** The current length of the data file. */
+    private long dataLength;
+
+    /** The channel of the index file. */
+    private FileChannel indexChannel;
+
+    /** The memory mapped index. */
+    private MappedByteBuffer index;
+
+    /** The amount of slots in the index. */
+    private int capacity;
+
+    /** The amount of entries in the cache. */
+    private long size;
+
+    /** Reusable buffer to read and write records. */
+    private ByteBuffer recordBuffer;
+
+    /** How many learn processes are currently using the cache. */
+    private int references;
+
+    /** The amount of lookups that could be answered by the cache. */
+    private long hits;
+
+    /** The amount of lookups that could not be answered by the cache. */
+    private long misses;
+
+    /**
+     * Open or create a persistent cache.
+     *
+     * @param directory
+     *         The directory in which the cache files are located.
+     * @param name
+     *         The name of the cache, which is used as file name.
+     * @throws IOException
+     *         If the files could not be opened or created.
+     */
+    public PersistentQueryCache(Path directory, String name) throws IOException {
+        Files.createDirectories(directory);
+        this.dataPath = directory.resolve(name + DATA_FILE_EXTENSION);
+        this.indexPath = directory.resolve(name + INDEX_FILE_EXTENSION);
+        this.recordBuffer = ByteBuffer.allocate(1024);
+        this.references = 1;
+
+        openDataFile();
+        openIndexFile();
+
+        LOGGER.info("Opened the query cache '{}' with {} entries.", name, size);
+    }
+
+    private void openDataFile() throws IOException {
+        data = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        dataLength = data.size();
+
+        boolean valid = false;
+        if (dataLength >= DATA_HEADER_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(DATA_HEADER_SIZE);
+            data.read(header, 0);
+            header.flip();
+            valid = header.getInt() == MAGIC && header.getInt() == VERSION;
+        }
+
+        if (!valid) {
+            LOGGER.info("The query cache file '{}' is empty or outdated and will be created from scratch.", dataPath);
+            data.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(DATA_HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            data.write(header, 0);
+            dataLength = DATA_HEADER_SIZE;
+        }
+    }
+
+    private void openIndexFile() throws IOException {
+        boolean valid = false;
+        long indexedDataLength = DATA_HEADER_SIZE;
+
+        if (Files.exists(indexPath) && Files.size(indexPath) >= INDEX_HEADER_SIZE) {
+            mapIndex(indexPath);
+            valid = index.getInt(0) == MAGIC
+                    && index.getInt(4) == VERSION
+                    && Integer.bitCount(index.getInt(CAPACITY_POSITION)) == 1
+                    && index.getLong(DATA_LENGTH_POSITION) <= dataLength;
+            if (valid) {
+                capacity = index.getInt(CAPACITY_POSITION);
+                size = index.getLong(SIZE_POSITION);
+                indexedDataLength = index.getLong(DATA_LENGTH_POSITION);
+                valid = Files.size(indexPath) >= INDEX_HEADER_SIZE + (long) capacity * SLOT_SIZE;
+            }
+        }
+
+        if (!valid) {
+            createIndex(indexPath, INITIAL_CAPACITY);
+            indexedDataLength = DATA_HEADER_SIZE;
+        }
+
+        // records that have been written after the last index update, e.g. because of a crash
+        if (indexedDataLength < dataLength) {
+            indexRecordsFrom(indexedDataLength);
+        }
+    }
+
+    private void mapIndex(Path path) throws IOException {
+        if (indexChannel != null) {
+            indexChannel.close();
+        }
+        indexChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, indexChannel.size());
+    }
+
+    private void createIndex(Path path, int newCapacity) throws IOException {
+        Files.deleteIfExists(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            // write the last byte, so that the file has its final size, the rest will be filled with zeros
+            channel.write(ByteBuffer.allocate(1), INDEX_HEADER_SIZE + (long) newCapacity * SLOT_SIZE - 1);
+        }
+        mapIndex(path);
+
+        index.putInt(0, MAGIC);
+        index.putInt(4, VERSION);
+        index.putInt(CAPACITY_POSITION, newCapacity);
+        index.putLong(SIZE_POSITION, 0L);
+        index.putLong(DATA_LENGTH_POSITION, DATA_HEADER_SIZE);
+
+        capacity = newCapacity;
+        size = 0;
+    }
+
+    /**
+     * Add all records of the data file, starting at a given position, to the index.
+     * An incomplete record at the end of the file will be removed.
+     */
+    private void indexRecordsFrom(long position) throws IOException {
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+        long offset = position;
+
+        while (offset + 4 <= dataLength) {
+            lengthBuffer.clear();
+            data.read(lengthBuffer, offset);
+            lengthBuffer.flip();
+            int recordLength = lengthBuffer.getInt();
+            if (recordLength <= 0 || offset + 4 + recordLength > dataLength) {
+                break;
+            }
+
+            long[] input = readRecord(offset).input;
+            if (findSlot(input, hash(input)) < 0) {
+                if (size + 1 > capacity * MAX_LOAD_FACTOR) {
+                    grow();
+                }
+                putIntoIndex(hash(input), offset);
+            }
+            offset += 4 + recordLength;
+        }
+
+        if (offset < dataLength) {
+            LOGGER.warn("Removing an incomplete record from the query cache '{}'.", dataPath);
+            data.truncate(offset);
+            dataLength = offset;
+        }
+        index.putLong(DATA_LENGTH_POSITION, dataLength);
+    }
+
+    /**
+     * Get the cached output of an input word.
+     *
+     * @param input
+     *         The input word as fingerprints of the symbols.
+     * @return The output word or null, if the input is not cached.
+     * @throws IOException
+     *         If the cache could not be read.
+     */
+    public synchronized List<String> lookup(long[] input) throws IOException {
+        ensureOpen();
+
+        long hash = hash(input);
+        int slot = findSlot(input, hash);
+        if (slot < 0) {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return readRecord(index.getLong(slotPosition(slot) + 8) - 1).output;
+    }
+
+    /**
+     * Store the output of an input word.
+     * If the input is already cached, the cache is not changed.
+     *
+     * @param input
+     *         The input word as fingerprints of the symbols.
+     * @param output
+     *         The output word of the SUL.
+     * @throws IOException
+     *         If the cache could not be written.
+     */
+    public synchronized void insert(long[] input, List<String> output) throws IOException {
+        ensureOpen();
+
+        long hash = hash(input);
+        if (findSlot(input, hash) >= 0) {
+            return;
+        }
+
+        if (size + 1 > capacity * MAX_LOAD_FACTOR) {
+            grow();
+        }
+
+        long offset = dataLength;
+        writeRecord(offset, input, output);
+        putIntoIndex(hash, offset);
+        index.putLong(DATA_LENGTH_POSITION, dataLength);
+    }
+
+    /** @return The amount of cached queries. */
+    public synchronized long size() {
+        return size;
+    }
+
+    /** @return The amount of lookups that could be answered by the cache since it was opened. */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /** @return The amount of lookups that could not be answered by the cache since it was opened. */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Register one more user of the cache.
+     *
+     * @return true, if the cache is still open and can be used; false if it was already closed.
+     */
+    synchronized boolean acquire() {
+        if (references == 0) {
+            return false;
+        }
+        references++;
+        return true;
+    }
+
+    /** @return true if the cache has not been closed by all of its users. */
+    public synchronized boolean isOpen() {
+        return references > 0;
+    }
+
+    /**
+     * Release the cache. The underlying files will be closed as soon as the last user released the cache.
+     */
+    @Override
+    public synchronized void close() {
+        if (references == 0) {
+            return;
+        }
+
+        references--;
+        if (references == 0) {
+            try {
+                index.force();
+                data.force(true);
+                indexChannel.close();
+                data.close();
+                LOGGER.info("Closed the query cache '{}' with {} entries.", dataPath, size);
+            } catch (IOException e) {
+                LOGGER.warn("Could not close the query cache '{}' properly.", dataPath, e);
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (references == 0) {
+            throw new IllegalStateException("The query cache '" + dataPath + "' is already closed.");
+        }
+    }
+
+    /**
+     * Search the slot of an input word in the index.
+     *
+     * @return The slot number or -1 if the input is not in the index.
+     */
+    private int findSlot(long[] input, long hash) throws IOException {
+        int slot = firstSlot(hash, capacity);
+        while (true) {
+            int position = slotPosition(slot);
+            long offset = index.getLong(position + 8);
+            if (offset == 0) {
+                return -1;
+            }
+            if (index.getLong(position) == hash && Arrays.equals(readRecord(offset - 1).input, input)) {
+                return slot;
+            }
+            slot = (slot + 1) & (capacity - 1);
+        }
+    }
+
+    private void putIntoIndex(long hash, long offset) {
+        insertIntoSlots(index, capacity, hash, offset + 1);
+        size++;
+        index.putLong(SIZE_POSITION, size);
+    }
+
+    private static void insertIntoSlots(ByteBuffer buffer, int slots, long hash, long offsetPlusOne) {
+        int slot = firstSlot(hash, slots);
+        while (buffer.getLong(INDEX_HEADER_SIZE + slot * SLOT_SIZE + 8) != 0) {
+            slot = (slot + 1) & (slots - 1);
+        }
+        int position = INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+        buffer.putLong(position, hash);
+        buffer.putLong(position + 8, offsetPlusOne);
+    }
+
+    /**
+     * Double the size of the index.
+     * The new index is build in a temporary file, which replaces the old index afterwards.
+     */
+    private void grow() throws IOException {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IOException("The query cache '" + dataPath + "' reached its maximum size.");
+        }
+
+        int newCapacity = capacity * 2;
+        Path tmpPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        Files.deleteIfExists(tmpPath);
+
+        try (FileChannel channel = FileChannel.open(tmpPath, StandardOpenOption.CREATE_NEW,
+                                                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(1), INDEX_HEADER_SIZE + (long) newCapacity * SLOT_SIZE - 1);
+            MappedByteBuffer newIndex = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+
+            for (int slot = 0; slot < capacity; slot++) {
+                int position = slotPosition(slot);
+                long offset = index.getLong(position + 8);
+                if (offset != 0) {
+                    insertIntoSlots(newIndex, newCapacity, index.getLong(position), offset);
+                }
+            }
+
+            newIndex.putInt(0, MAGIC);
+            newIndex.putInt(4, VERSION);
+            newIndex.putInt(CAPACITY_POSITION, newCapacity);
+            newIndex.putLong(SIZE_POSITION, size);
+            // keep the indexed length, as the records of a re-index may not all be in the index yet
+            newIndex.putLong(DATA_LENGTH_POSITION, index.getLong(DATA_LENGTH_POSITION));
+            newIndex.force();
+        }
+
+        indexChannel.close();
+        Files.move(tmpPath, indexPath, StandardCopyOption.REPLACE_EXISTING);
+        mapIndex(indexPath);
+        capacity = newCapacity;
+
+        LOGGER.debug("Increased the index of the query cache '{}' to {} slots.", dataPath, newCapacity);
+    }
+
+    private void writeRecord(long offset, long[] input, List<String> output) throws IOException {
+        List<byte[]> encodedOutput = new ArrayList<>(output.size());
+        int recordLength = 4 + input.length * 8 + 4;
+        for (String o : output) {
+            byte[] bytes = o.getBytes(StandardCharsets.UTF_8);
+            encodedOutput.add(bytes);
+            recordLength += 4 + bytes.length;
+        }
+
+        ByteBuffer buffer = recordBuffer(4 + recordLength);
+        buffer.putInt(recordLength);
+        buffer.putInt(input.length);
+        for (long symbol : input) {
+            buffer.putLong(symbol);
+        }
+        buffer.putInt(encodedOutput.size());
+        for (byte[] bytes : encodedOutput) {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            data.write(buffer, offset + buffer.position());
+        }
+        dataLength = offset + 4 + recordLength;
+    }
+
+    private Record readRecord(long offset) throws IOException {
+        ByteBuffer buffer = recordBuffer(4);
+        readFully(buffer, offset);
+        int recordLength = buffer.getInt();
+
+        buffer = recordBuffer(recordLength);
+        readFully(buffer, offset + 4);
+
+        long[] input = new long[buffer.getInt()];
+        for (int i = 0; i < input.length; i++) {
+            input[i] = buffer.getLong();
+        }
+
+        int outputLength = buffer.getInt();
+        List<String> output = new ArrayList<>(outputLength);
+        for (int i = 0; i < outputLength; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            // interned, so that the outputs are identical to the ones of the ExecuteResults
+            output.add(new String(bytes, StandardCharsets.UTF_8).intern());
+        }
+
+        return new Record(input, output);
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (data.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of the query cache file '" + dataPath + "'.");
+            }
+        }
+        buffer.flip();
+    }
+
+    /** Get the reusable record buffer, cleared and limited to the requested size. */
+    private ByteBuffer recordBuffer(int length) {
+        if (recordBuffer.capacity() < length) {
+            recordBuffer = ByteBuffer.allocate(Math.max(length, recordBuffer.capacity() * 2));
+        }
+        recordBuffer.clear();
+        recordBuffer.limit(length);
+        return recordBuffer;
+    }
+
+    private static int slotPosition(int slot) {
+        return INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static int firstSlot(long hash, int slots) {
+        return (int) (hash ^ (hash >>> 32)) & (slots - 1);
+    }
+
+    /**
+     * Calculate the hash of an input word.
+     *
+     * @param input
+     *         The input word as fingerprints of the symbols.
+     * @return A 64 bit hash of the word.
+     */
+    static long hash(long[] input) {
+        long hash = 0xcbf29ce484222325L ^ input.length;
+        for (long symbol : input) {
+            hash = (hash ^ symbol) * 0x100000001b3L;
+            hash ^= hash >>> 29;
+        }
+        return hash;
+    }
+
+    /** An entry of the data file. */
+    private static final class Record {
+
+        /** The input word as fingerprints. */
+        private final long[] input;
+
+        /** The output word. */
+        private final List<String> output;
+
+        private Record(long[] input, List<String> output) {
+            this.input = input;
+            this.output = output;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.checkpoint;
+
+import de.learnlib.api.MembershipOracle;
+import de.learnlib.api.Query;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Membership oracle that records the queries that are answered by its delegate, so that they can be stored in a
+ * checkpoint at the end of a step. Only the queries that are needed to replay the learner are recorded, i.e. the
+ * recording is paused while the equivalence oracle searches for a counterexample and only the counterexample
+ * itself is recorded, see {@link #setRecording(boolean)} and {@link #record(DefaultQuery)}.
+ *
+ * While a learner is restored from a checkpoint, the oracle answers the queries from the stored queries instead,
+ * including all prefixes of the stored queries. Only queries that have not been stored are delegated, and recorded.
+ */
+@ParametersAreNonnullByDefault
+public class CheckpointOracle implements MembershipOracle<String, Word<String>> {
+
+    /** The oracle to delegate the queries to. */
+    private final MembershipOracle<String, Word<String>> delegate;
+
+    /** The queries that have been answered by the delegate since they have been taken the last time. */
+    private List<DefaultQuery<String, Word<String>>> recordedQueries;
+
+    /** If the queries that are answered by the delegate should be recorded. */
+    private volatile boolean recording;
+
+    /** The stored queries while the learner is restored, null otherwise. */
+    private volatile Node storedQueries;
+
+    /** The amount of queries that have been answered from the stored queries. */
+    private long replayedQueries;
+
+    /** The amount of queries that could not be answered from the stored queries during the restore. */
+    private long missedQueries;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *         The oracle to delegate the queries to.
+     */
+    public CheckpointOracle(MembershipOracle<String, Word<String>> delegate) {
+        this.delegate = delegate;
+        this.recordedQueries = new ArrayList<>();
+        this.recording = true;
+    }
+
+    @Override
+    public void processQueries(Collection<? extends Query<String, Word<String>>> queries) {
+        Node stored = storedQueries;
+        List<Query<String, Word<String>>> unansweredQueries = new ArrayList<>();
+        List<DefaultQuery<String, Word<String>>> delegatedQueries = new ArrayList<>();
+
+        for (Query<String, Word<String>> query : queries) {
+            Word<String> output = stored == null ? null : stored.lookup(query.getInput());
+            if (output == null) {
+                unansweredQueries.add(query);
+                delegatedQueries.add(new DefaultQuery<>(query.getInput()));
+            } else {
+                answer(query, output);
+            }
+        }
+
+        if (!delegatedQueries.isEmpty()) {
+            delegate.processQueries(delegatedQueries);
+            for (int i = 0; i < unansweredQueries.size(); i++) {
+                answer(unansweredQueries.get(i), delegatedQueries.get(i).getOutput());
+            }
+        }
+
+        // the queries of the equivalence oracles may be processed in parallel
+        synchronized (this) {
+            if (recording) {
+                recordedQueries.addAll(delegatedQueries);
+            }
+            if (stored != null) {
+                replayedQueries += queries.size() - delegatedQueries.size();
+                missedQueries += delegatedQueries.size();
+            }
+        }
+    }
+
+    private void answer(Query<String, Word<String>> query, Word<String> output) {
+        query.answer(output.subWord(query.getPrefix().length()));
+    }
+
+    /**
+     * Answer the following queries from the stored queries of a checkpoint.
+     *
+     * @param steps
+     *         The steps of the checkpoint.
+     */
+    public void startReplay(List<CheckpointStep> steps) {
+        Node stored = new Node();
+        steps.forEach(step -> step.getQueries().forEach(q -> stored.insert(q.getInput(), q.getOutput())));
+        storedQueries = stored;
+    }
+
+    /**
+     * Delegate all following queries again.
+     */
+    public void stopReplay() {
+        storedQueries = null;
+    }
+
+    /**
+     * Pause or continue the recording of the queries that are answered by the delegate.
+     *
+     * @param recording
+     *         If the queries should be recorded.
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Record a query that has been answered while the recording was paused, e.g. the counterexample that has been
+     * found by the equivalence oracle. Queries with a prefix are ignored, because the output of their prefix is
+     * not known.
+     *
+     * @param query
+     *         The answered query.
+     */
+    public synchronized void record(DefaultQuery<String, Word<String>> query) {
+        if (query.getPrefix().isEmpty() && query.getOutput() != null) {
+            recordedQueries.add(new DefaultQuery<>(Word.epsilon(), query.getInput(), query.getOutput()));
+        }
+    }
+
+    /**
+     * Get the queries that have been answered by the delegate and forget them.
+     *
+     * @return The queries with their complete input and output.
+     */
+    public synchronized List<DefaultQuery<String, Word<String>>> takeRecordedQueries() {
+        List<DefaultQuery<String, Word<String>>> queries = recordedQueries;
+        recordedQueries = new ArrayList<>();
+        return queries;
+    }
+
+    /** @return {@link #replayedQueries}. */
+    public synchronized long getReplayedQueries() {
+        return replayedQueries;
+    }
+
+    /** @return {@link #missedQueries}. */
+    public synchronized long getMissedQueries() {
+        return missedQueries;
+    }
+
+    /**
+     * A node of the prefix tree of the stored queries.
+     */
+    private static final class Node {
+
+        /** The output of the input symbol that leads to this node, null for the root. */
+        private final String output;
+
+        /** The successors by their input symbol. */
+        private final Map<String, Node> successors;
+
+        /** Constructor for the root. */
+        Node() {
+            this(null);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param output
+         *         The output of the input symbol that leads to the node.
+         */
+        Node(String output) {
+            this.output = output;
+            this.successors = new HashMap<>(2);
+        }
+
+        /**
+         * Store the output of an input word.
+         *
+         * @param input
+         *         The input word.
+         * @param outputWord
+         *         The output word, which has the same length as the input.
+         */
+        void insert(Word<String> input, Word<String> outputWord) {
+            Node node = this;
+            for (int i = 0; i < input.length(); i++) {
+                String symbolOutput = outputWord.getSymbol(i);
+                node = node.successors.computeIfAbsent(input.getSymbol(i), symbol -> new Node(symbolOutput));
+            }
+        }
+
+        /**
+         * Get the output of an input word.
+         *
+         * @param input
+         *         The input word.
+         * @return The output word or null, if neither the word nor a word that it is a prefix of has been stored.
+         */
+        Word<String> lookup(Word<String> input) {
+            WordBuilder<String> outputWord = new WordBuilder<>(input.length());
+            Node node = this;
+            for (String symbol : input) {
+                node = node.successors.get(symbol);
+                if (node == null) {
+                    return null;
+                }
+                outputWord.append(node.output);
+            }
+            return outputWord.toWord();
+        }
+    }
+}
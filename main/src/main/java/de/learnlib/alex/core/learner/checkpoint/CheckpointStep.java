@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.checkpoint;
+
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.words.Word;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The part of a checkpoint that belongs to one step of a learn process:
+ * The counterexample that has been used to refine the hypothesis and the membership queries that have been answered
+ * by the SUL during the step. The queries are stored with their complete input and output word.
+ */
+public class CheckpointStep {
+
+    /** The number of the step. */
+    private final long stepNo;
+
+    /** The counterexample the hypothesis was refined with, or null in the first step. */
+    private final DefaultQuery<String, Word<String>> counterexample;
+
+    /** The queries that have been answered by the SUL. */
+    private final List<DefaultQuery<String, Word<String>>> queries;
+
+    /**
+     * Constructor.
+     *
+     * @param stepNo
+     *         The number of the step.
+     * @param counterexample
+     *         The counterexample the hypothesis was refined with, or null in the first step.
+     * @param queries
+     *         The queries that have been answered by the SUL, with their complete input and output word.
+     */
+    public CheckpointStep(long stepNo, DefaultQuery<String, Word<String>> counterexample,
+                          List<DefaultQuery<String, Word<String>>> queries) {
+        this.stepNo = stepNo;
+        this.counterexample = counterexample;
+        this.queries = Collections.unmodifiableList(queries);
+    }
+
+    /** @return {@link #stepNo}. */
+    public long getStepNo() {
+        return stepNo;
+    }
+
+    /** @return {@link #counterexample}. */
+    public DefaultQuery<String, Word<String>> getCounterexample() {
+        return counterexample;
+    }
+
+    /** @return {@link #queries}. */
+    public List<DefaultQuery<String, Word<String>>> getQueries() {
+        return queries;
+    }
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.checkpoint;
+
+import com.google.common.io.CountingInputStream;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A file that stores the checkpoint of a learn process, i.e. the counterexamples and the answered membership
+ * queries of all steps, so that the learner can be restored by replaying the steps instead of asking the SUL again.
+ *
+ * The file starts with a header that contains the learn algorithm and the fingerprints of the symbols of the
+ * alphabet, cf. {@link de.learnlib.alex.core.learner.cache.PersistentCacheOracle#fingerprint}. A checkpoint of
+ * another algorithm or alphabet, or with modified symbols, is discarded. The header is followed by one block per
+ * step, which is appended at the end of the step. The symbols and outputs are stored as indices into tables and all
+ * numbers as variable-length integers. Every block is prefixed by its length, so that an incomplete block, e.g.
+ * after a crash, is detected and removed.
+ */
+public class CheckpointStore {
+
+    /** The file extension of the checkpoint files. */
+    public static final String FILE_EXTENSION = ".ckpt";
+
+    /** Magic number at the start of the file. */
+    private static final int MAGIC = 0x414c4558; // "ALEX"
+
+    /** The version of the file format. Increment if the format changes. */
+    private static final int VERSION = 1;
+
+    /** The path of the file. */
+    private final Path path;
+
+    /** The name of the learn algorithm. */
+    private final String algorithm;
+
+    /** The fingerprints of the symbols by their abbreviation, sorted by the abbreviation. */
+    private final Map<String, Long> fingerprints;
+
+    /** The abbreviations of the symbols by their index in the file. */
+    private final List<String> symbols;
+
+    /** The indices of the symbols in the file by their abbreviation. */
+    private final Map<String, Integer> symbolIndices;
+
+    /** The outputs by their index in the file, in the order of their first appearance. */
+    private final List<String> outputs;
+
+    /** The indices of the outputs in the file. */
+    private final Map<String, Integer> outputIndices;
+
+    /** If the file has been restored or cleared, so that steps can be appended. */
+    private boolean ready;
+
+    /**
+     * Constructor. The file is not accessed until the checkpoint is restored or cleared.
+     *
+     * @param path
+     *         The path of the file.
+     * @param algorithm
+     *         The name of the learn algorithm.
+     * @param fingerprints
+     *         The fingerprints of the symbols of the alphabet by their abbreviation.
+     */
+    public CheckpointStore(Path path, String algorithm, Map<String, Long> fingerprints) {
+        this.path = path;
+        this.algorithm = algorithm;
+        this.fingerprints = new TreeMap<>(fingerprints);
+        this.symbols = new ArrayList<>(this.fingerprints.keySet());
+        this.symbolIndices = new HashMap<>();
+        for (int i = 0; i < symbols.size(); i++) {
+            symbolIndices.put(symbols.get(i), i);
+        }
+        this.outputs = new ArrayList<>();
+        this.outputIndices = new HashMap<>();
+    }
+
+    /**
+     * Read the steps of the checkpoint up to a given step.
+     * The following steps are removed from the file, so that the steps of a resumed learn process can be appended.
+     * If the file does not exist or belongs to another algorithm or alphabet, an empty checkpoint is created.
+     *
+     * @param lastStepNo
+     *         The number of the last step to read.
+     * @return The steps in the order they have been learned.
+     * @throws IOException
+     *         If the file could not be read or written.
+     */
+    public synchronized List<CheckpointStep> restore(long lastStepNo) throws IOException {
+        List<CheckpointStep> steps = new ArrayList<>();
+        if (!Files.exists(path)) {
+            clear();
+            return steps;
+        }
+
+        long fileLength = Files.size(path);
+        long validLength = 0;
+        try (CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(path)));
+             DataInputStream in = new DataInputStream(counter)) {
+            if (readHeader(in)) {
+                resetOutputs();
+                validLength = counter.getCount();
+                while (true) {
+                    int knownOutputs = outputs.size();
+                    CheckpointStep step = readBlock(in, fileLength - counter.getCount());
+                    if (step == null) {
+                        break;
+                    } else if (step.getStepNo() > lastStepNo) {
+                        removeOutputsFrom(knownOutputs);
+                        break;
+                    }
+                    steps.add(step);
+                    validLength = counter.getCount();
+                }
+            }
+        }
+
+        if (validLength == 0) {
+            clear();
+            return steps;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(validLength);
+        }
+        ready = true;
+        return steps;
+    }
+
+    /**
+     * Remove all steps of the checkpoint, e.g. because a new learn process is started.
+     *
+     * @throws IOException
+     *         If the file could not be written.
+     */
+    public synchronized void clear() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(algorithm);
+        writeVarLong(out, symbols.size());
+        for (String symbol : symbols) {
+            out.writeUTF(symbol);
+            out.writeLong(fingerprints.get(symbol));
+        }
+        out.flush();
+        Files.write(path, bytes.toByteArray());
+
+        resetOutputs();
+        ready = true;
+    }
+
+    /**
+     * Append a step to the checkpoint.
+     *
+     * @param step
+     *         The step to append.
+     * @throws IOException
+     *         If the file could not be written.
+     * @throws IllegalStateException
+     *         If the checkpoint has not been restored or cleared before.
+     */
+    public synchronized void append(CheckpointStep step) throws IOException, IllegalStateException {
+        if (!ready) {
+            throw new IllegalStateException("The checkpoint '" + path + "' must be restored or cleared first.");
+        }
+
+        int knownOutputs = outputs.size();
+        byte[] block;
+        try {
+            block = writeBlock(step, knownOutputs);
+        } catch (IllegalArgumentException e) {
+            removeOutputsFrom(knownOutputs);
+            throw e;
+        }
+
+        try (OutputStream file = Files.newOutputStream(path, StandardOpenOption.APPEND);
+             DataOutputStream out = new DataOutputStream(file)) {
+            out.writeInt(block.length);
+            out.write(block);
+        } catch (IOException e) {
+            removeOutputsFrom(knownOutputs);
+            ready = false; // the file may end with an incomplete block, which is removed by the next restore
+            throw e;
+        }
+    }
+
+    /** @return {@link #path}. */
+    public Path getPath() {
+        return path;
+    }
+
+    private boolean readHeader(DataInputStream in) throws IOException {
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !algorithm.equals(in.readUTF())) {
+                return false;
+            }
+            if (readVarLong(in) != symbols.size()) {
+                return false;
+            }
+            for (String symbol : symbols) {
+                if (!symbol.equals(in.readUTF()) || in.readLong() != fingerprints.get(symbol)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Read the next block of the file.
+     *
+     * @return The step of the block, or null if there is no complete and valid block.
+     */
+    private CheckpointStep readBlock(DataInputStream in, long remainingLength) throws IOException {
+        byte[] block;
+        try {
+            int length = in.readInt();
+            if (length <= 0 || length > remainingLength) {
+                return null;
+            }
+            block = new byte[length];
+            in.readFully(block);
+        } catch (EOFException e) {
+            return null;
+        }
+
+        int knownOutputs = outputs.size();
+        try (DataInputStream blockIn = new DataInputStream(new ByteArrayInputStream(block))) {
+            long stepNo = readVarLong(blockIn);
+
+            long newOutputs = readVarLong(blockIn);
+            for (long i = 0; i < newOutputs; i++) {
+                addOutput(blockIn.readUTF());
+            }
+
+            DefaultQuery<String, Word<String>> counterexample = null;
+            if (blockIn.readBoolean()) {
+                Word<String> prefix = readInput(blockIn);
+                Word<String> suffix = readInput(blockIn);
+                counterexample = new DefaultQuery<>(prefix, suffix, readOutput(blockIn, suffix.length()));
+            }
+
+            long amountOfQueries = readVarLong(blockIn);
+            List<DefaultQuery<String, Word<String>>> queries = new ArrayList<>();
+            for (long i = 0; i < amountOfQueries; i++) {
+                Word<String> input = readInput(blockIn);
+                queries.add(new DefaultQuery<>(Word.epsilon(), input, readOutput(blockIn, input.length())));
+            }
+
+            if (blockIn.available() > 0) {
+                throw new IOException("The block has trailing data.");
+            }
+            return new CheckpointStep(stepNo, counterexample, queries);
+        } catch (IOException | IndexOutOfBoundsException e) {
+            removeOutputsFrom(knownOutputs);
+            return null;
+        }
+    }
+
+    private byte[] writeBlock(CheckpointStep step, int knownOutputs) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream bodyOut = new DataOutputStream(body);
+
+        DefaultQuery<String, Word<String>> counterexample = step.getCounterexample();
+        bodyOut.writeBoolean(counterexample != null);
+        if (counterexample != null) {
+            writeInput(bodyOut, counterexample.getPrefix());
+            writeInput(bodyOut, counterexample.getSuffix());
+            writeOutput(bodyOut, counterexample.getOutput(), counterexample.getSuffix().length());
+        }
+
+        writeVarLong(bodyOut, step.getQueries().size());
+        for (DefaultQuery<String, Word<String>> query : step.getQueries()) {
+            if (query.getPrefix().length() > 0) {
+                throw new IllegalArgumentException("The query " + query + " is not stored with its complete input.");
+            }
+            writeInput(bodyOut, query.getInput());
+            writeOutput(bodyOut, query.getOutput(), query.getInput().length());
+        }
+        bodyOut.flush();
+
+        // the outputs are collected while writing the body, but must be read before it
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(block);
+        writeVarLong(out, step.getStepNo());
+        writeVarLong(out, outputs.size() - knownOutputs);
+        for (String output : outputs.subList(knownOutputs, outputs.size())) {
+            out.writeUTF(output);
+        }
+        body.writeTo(out);
+        out.flush();
+        return block.toByteArray();
+    }
+
+    private Word<String> readInput(DataInputStream in) throws IOException {
+        int length = readLength(in);
+        WordBuilder<String> builder = new WordBuilder<>(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(symbols.get((int) readVarLong(in)));
+        }
+        return builder.toWord();
+    }
+
+    private void writeInput(DataOutputStream out, Word<String> input) throws IOException {
+        writeVarLong(out, input.length());
+        for (String symbol : input) {
+            Integer index = symbolIndices.get(symbol);
+            if (index == null) {
+                throw new IllegalArgumentException("The symbol '" + symbol + "' is not part of the alphabet.");
+            }
+            writeVarLong(out, index);
+        }
+    }
+
+    private Word<String> readOutput(DataInputStream in, int length) throws IOException {
+        if (length > in.available()) {
+            throw new EOFException("The output is longer than the rest of the block.");
+        }
+        WordBuilder<String> builder = new WordBuilder<>(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(outputs.get((int) readVarLong(in)));
+        }
+        return builder.toWord();
+    }
+
+    private void writeOutput(DataOutputStream out, Word<String> output, int length) throws IOException {
+        if (output == null || output.length() != length) {
+            throw new IllegalArgumentException("The output '" + output + "' does not match the input.");
+        }
+        for (String symbol : output) {
+            if (symbol == null) {
+                throw new IllegalArgumentException("The output '" + output + "' contains null.");
+            }
+            Integer index = outputIndices.get(symbol);
+            if (index == null) {
+                index = addOutput(symbol);
+            }
+            writeVarLong(out, index);
+        }
+    }
+
+    /** Read the length of a word, which must fit into the rest of the block, as every symbol takes a byte. */
+    private static int readLength(DataInputStream in) throws IOException {
+        long length = readVarLong(in);
+        if (length > in.available()) {
+            throw new EOFException("The word is longer than the rest of the block.");
+        }
+        return (int) length;
+    }
+
+    private int addOutput(String output) {
+        int index = outputs.size();
+        outputs.add(output);
+        outputIndices.put(output, index);
+        return index;
+    }
+
+    private void removeOutputsFrom(int index) {
+        List<String> removed = outputs.subList(index, outputs.size());
+        removed.forEach(outputIndices::remove);
+        removed.clear();
+    }
+
+    private void resetOutputs() {
+        outputs.clear();
+        outputIndices.clear();
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift >= Long.SIZE) {
+                throw new IOException("The variable-length integer is too long.");
+            }
+            b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
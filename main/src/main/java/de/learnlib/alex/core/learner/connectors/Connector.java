@@ -36,4 +36,43 @@ public interface Connector {
      */
     void dispose();
 
+    /**
+     * Acquire the resources that the connector keeps between two resets in advance, e.g. start a browser,
+     * so that the first query does not have to wait for them.
+     * This method will be called once after the connector has been created, before the first reset.
+     */
+    default void start() {
+    }
+
+    /**
+     * Release all resources that the connector keeps between two resets, e.g. a running browser.
+     * This method will be called once the connector is not used anymore, i.e. after the learning.
+     */
+    default void shutdown() {
+    }
+
+    /**
+     * Capture the state of the connector right after the reset symbol has been executed,
+     * so that later resets can restore it instead of executing the reset symbol again.
+     *
+     * @return The state of the connector, or null if there is nothing to restore.
+     * @throws Exception
+     *         If the state could not be captured.
+     */
+    default Object snapshot() throws Exception {
+        return null;
+    }
+
+    /**
+     * Restore a state captured by {@link #snapshot()}.
+     * This method will be called right after {@link #reset()}.
+     *
+     * @param snapshot
+     *         The state to restore, as returned by {@link #snapshot()}.
+     * @throws Exception
+     *         If the state could not be restored.
+     */
+    default void restore(Object snapshot) throws Exception {
+    }
+
 }
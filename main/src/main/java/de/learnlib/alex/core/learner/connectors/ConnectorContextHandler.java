@@ -18,28 +18,104 @@ package de.learnlib.alex.core.learner.connectors;
 
 import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.Symbol;
+import de.learnlib.alex.core.learner.instances.SulInstanceListener;
+import de.learnlib.alex.core.learner.metrics.ConnectionStatistics;
+import de.learnlib.alex.core.learner.metrics.LearnerMetrics;
+import de.learnlib.alex.core.learner.workers.WorkerSetup;
 import de.learnlib.alex.exceptions.LearnerException;
 import de.learnlib.mapper.ContextExecutableInputSUL;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ContextHandler for the connectors.
+ * The contexts of a base URL can be taken out of the pool while the URL is unavailable, e.g. while a local instance
+ * of the SUL is restarted, see {@link SulInstanceListener}.
  */
-public class ConnectorContextHandler implements ContextExecutableInputSUL.ContextHandler<ConnectorManager> {
+public class ConnectorContextHandler
+        implements ContextExecutableInputSUL.ContextHandler<ConnectorManager>, SulInstanceListener {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The default number of queries after which a snapshot is replaced by a full reset. */
+    public static final int DEFAULT_FULL_RESET_INTERVAL = 100;
+
+    /** How long to wait for the running queries on a URL that becomes unavailable in seconds. */
+    private static final long DRAIN_TIMEOUT = 60;
+
+    /** The strategies to bring the SUL into its initial state before a membership query. */
+    public enum ResetStrategy {
+
+        /** Reset the connectors and execute the reset symbol before every query. */
+        SYMBOL,
+
+        /**
+         * Execute the reset symbol once per context, capture the state of the connectors afterwards and restore it
+         * before the following queries. The state of the SUL on the server is not part of the snapshot.
+         */
+        SNAPSHOT
+    }
 
     /** The pool with the managers for the sul. */
     private BlockingQueue<ConnectorManager> pool;
 
+    /** All managers, including the ones that are in use or parked. */
+    private final List<ConnectorManager> contexts;
+
+    /** The managers that have been taken out of the pool, because their URL is unavailable. Guarded by itself. */
+    private final List<ConnectorManager> parkedContexts;
+
+    /** The base URLs that are unavailable. Guarded by {@link #parkedContexts}. */
+    private final Set<String> unavailableUrls;
+
+    /** Tasks that are executed when the handler is shut down. */
+    private final List<Runnable> shutdownHooks;
+
     /** The symbol used to reset the SUL. */
     private Symbol resetSymbol;
 
+    /** How the SUL is reset before a query. */
+    private ResetStrategy resetStrategy;
+
+    /** After how many restores of a snapshot the reset symbol is executed again and a new snapshot is taken. */
+    private int fullResetInterval;
+
+    /** The metrics of the learn process, or null. */
+    private LearnerMetrics metrics;
+
+    /** The connection statistics of the HTTP client used by the connectors, or null. */
+    private ConnectionStatistics httpConnections;
+
+    /** The addresses of the query workers that should execute the queries of a learn process instead of this pool. */
+    private List<String> workerAddresses;
+
+    /** The setup for the query workers, or null if there are no workers. */
+    private WorkerSetup workerSetup;
+
     /**
      * Default constructor.
      */
     public ConnectorContextHandler() {
         this.pool = new LinkedBlockingQueue<>();
+        this.contexts = new CopyOnWriteArrayList<>();
+        this.parkedContexts = new ArrayList<>();
+        this.unavailableUrls = new HashSet<>();
+        this.shutdownHooks = new CopyOnWriteArrayList<>();
+        this.workerAddresses = Collections.emptyList();
+        this.resetStrategy = ResetStrategy.SYMBOL;
+        this.fullResetInterval = DEFAULT_FULL_RESET_INTERVAL;
     }
 
     /**
@@ -49,6 +125,7 @@ public class ConnectorContextHandler implements ContextExecutableInputSUL.Contex
      *         The new connector manager.
      */
     public void addConnectorManager(ConnectorManager connectorManager) {
+        contexts.add(connectorManager);
         try {
             pool.put(connectorManager);
         } catch (InterruptedException e) {
@@ -67,50 +144,308 @@ public class ConnectorContextHandler implements ContextExecutableInputSUL.Contex
         this.resetSymbol = resetSymbol;
     }
 
+    /** @return {@link #resetStrategy}. */
+    public ResetStrategy getResetStrategy() {
+        return resetStrategy;
+    }
+
+    /**
+     * Set how the SUL should be reset before a query.
+     * Switching the strategy discards the snapshots that have been taken so far.
+     *
+     * @param resetStrategy
+     *         The new strategy, null for {@link ResetStrategy#SYMBOL}.
+     */
+    public void setResetStrategy(ResetStrategy resetStrategy) {
+        this.resetStrategy = resetStrategy == null ? ResetStrategy.SYMBOL : resetStrategy;
+        contexts.forEach(ConnectorManager::discardSnapshot);
+    }
+
+    /** @return {@link #fullResetInterval}. */
+    public int getFullResetInterval() {
+        return fullResetInterval;
+    }
+
+    /** @param fullResetInterval {@link #fullResetInterval}. */
+    public void setFullResetInterval(int fullResetInterval) {
+        this.fullResetInterval = fullResetInterval;
+    }
+
+    /**
+     * Set the metrics of the learn process, which are recorded by the contexts and the symbols executed on them.
+     *
+     * @param metrics
+     *         The metrics to record.
+     */
+    public void setMetrics(LearnerMetrics metrics) {
+        this.metrics = metrics;
+        contexts.forEach(connectorManager -> connectorManager.setMetrics(metrics));
+        if (metrics != null) {
+            metrics.setHttpConnections(httpConnections);
+        }
+    }
+
+    /**
+     * Set the connection statistics of the HTTP client that is used by the connectors,
+     * so that they are reported together with the metrics.
+     *
+     * @param httpConnections
+     *         The statistics of the HTTP client.
+     */
+    public void setHttpConnections(ConnectionStatistics httpConnections) {
+        this.httpConnections = httpConnections;
+        if (metrics != null) {
+            metrics.setHttpConnections(httpConnections);
+        }
+    }
+
+    /**
+     * Let remote query workers execute the membership queries of a learn process.
+     * The connectors of this handler are still used for everything else, e.g. to test symbols.
+     *
+     * @param addresses
+     *         The addresses of the workers as 'host:port'.
+     * @param setup
+     *         The setup for the workers without the symbols.
+     */
+    public void setWorkers(List<String> addresses, WorkerSetup setup) {
+        this.workerAddresses = addresses;
+        this.workerSetup = setup;
+    }
+
+    /** @return {@link #workerAddresses}. */
+    public List<String> getWorkerAddresses() {
+        return workerAddresses;
+    }
+
+    /** @return {@link #workerSetup}. */
+    public WorkerSetup getWorkerSetup() {
+        return workerSetup;
+    }
+
     @Override
     public ConnectorManager createContext() throws LearnerException {
-        ConnectorManager connectorManager;
-        try {
-            connectorManager = pool.take();
-        } catch (InterruptedException e) {
-            throw new LearnerException("An error occurred while creating a new context.", e);
+        ConnectorManager connectorManager = null;
+        long waitStart = System.nanoTime();
+        while (connectorManager == null) {
+            try {
+                connectorManager = pool.take();
+            } catch (InterruptedException e) {
+                throw new LearnerException("An error occurred while creating a new context.", e);
+            }
+            synchronized (parkedContexts) {
+                // the URL may have become unavailable while the manager was taken
+                if (unavailableUrls.contains(connectorManager.getUrl())) {
+                    parkedContexts.add(connectorManager);
+                    parkedContexts.notifyAll();
+                    connectorManager = null;
+                }
+            }
+        }
+
+        if (metrics != null) {
+            metrics.recordPoolWait(System.nanoTime() - waitStart);
         }
 
         try {
-            for (Connector connector : connectorManager) {
-                connector.reset();
+            resetConnectors(connectorManager);
+
+            if (resetStrategy == ResetStrategy.SNAPSHOT && connectorManager.hasSnapshot()
+                    && connectorManager.getRestoresSinceSnapshot() < fullResetInterval) {
+                long restoreStart = System.nanoTime();
+                try {
+                    connectorManager.restoreSnapshot();
+                    if (metrics != null) {
+                        metrics.recordReset(System.nanoTime() - restoreStart);
+                        metrics.recordQueryStarted();
+                    }
+                    return connectorManager;
+                } catch (Exception e) {
+                    LOGGER.warn("Could not restore the snapshot of the connectors, executing the reset symbol.", e);
+                    connectorManager.discardSnapshot();
+                    // release the connectors of the failed attempt first, e.g. quit the browser
+                    connectorManager.dispose();
+                    resetConnectors(connectorManager);
+                }
             }
-        } catch (Exception e) {
-            throw new LearnerException("An error occurred while resetting a connector.", e);
+
+            ExecuteResult resetResult;
+            long resetStart = System.nanoTime();
+            try {
+                resetResult = resetSymbol.execute(connectorManager);
+            } catch (Exception e) {
+                throw new LearnerException("An error occurred while executing the reset symbol.", e);
+            }
+
+            if (metrics != null) {
+                metrics.recordReset(System.nanoTime() - resetStart);
+            }
+
+            if (!resetResult.isSuccess()) {
+                throw new LearnerException("The execution of the reset symbol failed on step "
+                                                   + resetResult.getFailedActionNumber() + ".");
+            }
+
+            if (resetStrategy == ResetStrategy.SNAPSHOT) {
+                try {
+                    connectorManager.takeSnapshot();
+                } catch (Exception e) {
+                    LOGGER.warn("Could not take a snapshot of the connectors.", e);
+                    connectorManager.discardSnapshot();
+                }
+            }
+
+            if (metrics != null) {
+                metrics.recordQueryStarted();
+            }
+
+            return connectorManager;
+        } catch (RuntimeException e) {
+            releaseFailedContext(connectorManager);
+            throw e;
         }
+    }
 
-        ExecuteResult resetResult;
+    /**
+     * Put a context, the reset of which has failed, back into the pool, so that neither the context nor its
+     * connectors, e.g. a kept alive browser, are lost. The connectors are disposed and will be reset by the next query.
+     * The snapshot of the context is discarded, as it may have been taken from a broken state.
+     */
+    private void releaseFailedContext(ConnectorManager connectorManager) {
+        connectorManager.discardSnapshot();
         try {
-            resetResult = resetSymbol.execute(connectorManager);
-        } catch (Exception e) {
-            throw new LearnerException("An error occurred while executing the reset symbol.", e);
+            connectorManager.dispose();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not dispose the connectors of a failed context.", e);
         }
+        returnToPool(connectorManager);
+    }
 
-        if (resetResult.equals(ExecuteResult.FAILED)) {
-            throw new LearnerException("The execution of the reset symbol failed on step "
-                                               + resetResult.getFailedActionNumber() + ".");
+    /**
+     * Put a manager back into the pool, or park it if its URL is unavailable.
+     */
+    private void returnToPool(ConnectorManager connectorManager) {
+        synchronized (parkedContexts) {
+            if (unavailableUrls.contains(connectorManager.getUrl())) {
+                parkedContexts.add(connectorManager);
+                parkedContexts.notifyAll();
+            } else {
+                pool.add(connectorManager);
+            }
         }
+    }
+
+    /**
+     * Take the managers of a URL out of the pool and wait until the queries that use the URL have finished,
+     * at most {@link #DRAIN_TIMEOUT} seconds.
+     */
+    @Override
+    public void instanceUnavailable(String url) {
+        synchronized (parkedContexts) {
+            unavailableUrls.add(url);
+            for (ConnectorManager connectorManager : contexts) {
+                if (url.equals(connectorManager.getUrl()) && pool.remove(connectorManager)) {
+                    parkedContexts.add(connectorManager);
+                }
+            }
 
-        return connectorManager;
+            long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(DRAIN_TIMEOUT);
+            while (countContexts(parkedContexts, url) < countContexts(contexts, url)) {
+                long remaining = end - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    LOGGER.warn("The queries on {} did not finish in time.", url);
+                    return;
+                }
+                try {
+                    parkedContexts.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
     }
 
+    /**
+     * Put the parked managers of a URL back into the pool.
+     */
     @Override
-    public void disposeContext(ConnectorManager connectorManager) {
+    public void instanceAvailable(String url) {
+        synchronized (parkedContexts) {
+            unavailableUrls.remove(url);
+            Iterator<ConnectorManager> iterator = parkedContexts.iterator();
+            while (iterator.hasNext()) {
+                ConnectorManager connectorManager = iterator.next();
+                if (url.equals(connectorManager.getUrl())) {
+                    iterator.remove();
+                    pool.add(connectorManager);
+                }
+            }
+        }
+    }
+
+    private static int countContexts(Collection<ConnectorManager> connectorManagers, String url) {
+        int count = 0;
+        for (ConnectorManager connectorManager : connectorManagers) {
+            if (url.equals(connectorManager.getUrl())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void resetConnectors(ConnectorManager connectorManager) throws LearnerException {
         try {
-            pool.put(connectorManager);
-            connectorManager.dispose();
-        } catch (InterruptedException e) {
-            throw new LearnerException(e.getMessage(), e);
+            for (Connector connector : connectorManager) {
+                connector.reset();
+            }
+        } catch (Exception e) {
+            throw new LearnerException("An error occurred while resetting a connector.", e);
         }
     }
 
+    @Override
+    public void disposeContext(ConnectorManager connectorManager) {
+        if (metrics != null) {
+            metrics.recordQueryFinished();
+        }
+
+        // dispose first, so that no other query can get the connectors while they are cleaned up.
+        connectorManager.dispose();
+        returnToPool(connectorManager);
+    }
+
+    /**
+     * Start the connectors of all contexts, e.g. the browsers of the pooled mode, so that the first queries do not
+     * have to wait for them. The contexts are started in parallel.
+     */
+    public void start() {
+        contexts.parallelStream().forEach(ConnectorManager::start);
+    }
+
+    /**
+     * Shut down the connectors of all contexts, e.g. quit the browsers that are kept alive between the queries.
+     * Should be called once the learning has finished and all contexts have been disposed.
+     */
+    public void shutdown() {
+        // the hooks are only executed once, e.g. the HTTP client must not be released twice
+        shutdownHooks.forEach(Runnable::run);
+        shutdownHooks.clear();
+        contexts.forEach(ConnectorManager::shutdown);
+    }
+
+    /**
+     * Add a task that should be executed when the handler is shut down, e.g. to unregister it as listener.
+     *
+     * @param hook
+     *         The task.
+     */
+    public void addShutdownHook(Runnable hook) {
+        shutdownHooks.add(hook);
+    }
+
     /** @return The number of mqs executed in parallel. */
     public int getMaxConcurrentQueries() {
-        return pool.size();
+        return contexts.size();
     }
 }
@@ -19,14 +19,30 @@ package de.learnlib.alex.core.learner.connectors;
 import de.learnlib.alex.core.dao.CounterDAO;
 import de.learnlib.alex.core.entities.BrowserConfig;
 import de.learnlib.alex.core.entities.Counter;
+import de.learnlib.alex.core.entities.HttpClientConfig;
 import de.learnlib.alex.core.entities.Project;
+import de.learnlib.alex.core.entities.Symbol;
 import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.core.learner.SymbolMapper;
+import de.learnlib.alex.core.learner.workers.WorkerSetup;
+import de.learnlib.alex.core.services.HttpClientService;
+import de.learnlib.alex.core.services.SulInstanceService;
 import de.learnlib.alex.exceptions.NotFoundException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.ws.rs.client.Client;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Factor to create a ContextHandler which knows all available connectors.
@@ -34,12 +50,89 @@ import java.util.List;
 @Service
 public class ConnectorContextHandlerFactory {
 
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The default minimum time in seconds between two writes of the changed counters to the database. */
+    public static final long DEFAULT_COUNTER_FLUSH_INTERVAL = 10;
+
     /** The {@link CounterDAO}. */
     @Autowired
     private CounterDAO counterDAO;
 
+    /** The service that provides the pooled HTTP clients. */
+    @Autowired
+    private HttpClientService httpClientService;
+
+    /** The service that provides the local instances of the SUL. */
+    @Autowired
+    private SulInstanceService sulInstanceService;
+
+    /**
+     * The addresses of the query workers as comma separated 'host:port' list, empty to execute the queries here.
+     * This will be injected by Spring and is configured in the applications.properties file.
+     */
+    @Value("${alex.learner.workers:}")
+    private String workers;
+
+    /**
+     * The shared secret of the learner and the query workers,
+     * see {@link de.learnlib.alex.core.learner.workers.QueryWorker}.
+     * This will be injected by Spring and is configured in the applications.properties file.
+     */
+    @Value("${alex.learner.workerToken:}")
+    private String workerToken;
+
+    /**
+     * After how many queries a context that restores snapshots executes the reset symbol again,
+     * see {@link ConnectorContextHandler.ResetStrategy#SNAPSHOT}.
+     * This will be injected by Spring and is configured in the applications.properties file.
+     */
+    @Value("${alex.learner.snapshotFullResetInterval:" + ConnectorContextHandler.DEFAULT_FULL_RESET_INTERVAL + "}")
+    private int snapshotFullResetInterval;
+
     /**
-     * Factor to create a ContextHandler which knows all available connectors.
+     * The minimum time in seconds between two writes of the changed counters to the database, see {@link CounterStore}.
+     * This will be injected by Spring and is configured in the applications.properties file.
+     */
+    @Value("${alex.learner.counterFlushInterval:" + DEFAULT_COUNTER_FLUSH_INTERVAL + "}")
+    private long counterFlushInterval;
+
+    /**
+     * Constructor used by Spring.
+     */
+    public ConnectorContextHandlerFactory() {
+        this.snapshotFullResetInterval = ConnectorContextHandler.DEFAULT_FULL_RESET_INTERVAL;
+        this.counterFlushInterval = DEFAULT_COUNTER_FLUSH_INTERVAL;
+    }
+
+    /**
+     * Constructor that sets the services by the given parameters, e.g. to create contexts outside of Spring.
+     * The other properties have their default values.
+     *
+     * @param counterDAO
+     *         The DAO to read and write the counters with.
+     * @param httpClientService
+     *         The service that provides the pooled HTTP clients.
+     * @param sulInstanceService
+     *         The service that provides the local instances of the SUL.
+     */
+    public ConnectorContextHandlerFactory(CounterDAO counterDAO, HttpClientService httpClientService,
+                                          SulInstanceService sulInstanceService) {
+        this();
+        this.counterDAO = counterDAO;
+        this.httpClientService = httpClientService;
+        this.sulInstanceService = sulInstanceService;
+    }
+
+    /**
+     * Factor to create a ContextHandler which knows the connectors the symbols need.
+     * There is one context for every slot of every URL of the project, see {@link Project#getSlotsPerUrl()}.
+     * If local instances of the SUL are configured for the project, their URLs are used instead of the base URL and
+     * the mirrors of the project, see {@link SulInstanceService}.
+     * The web site and the web service connector are only created if an action of the symbols uses them, so that
+     * e.g. no browser is started for every query of a project that only contains REST symbols.
+     * The query workers are not used if the symbols change counters, because the counters are only shared by the
+     * contexts of this process.
      *
      * @param user
      *         The user that executes the learning experiment.
@@ -47,15 +140,72 @@ public class ConnectorContextHandlerFactory {
      *         The current project in which the context should be.
      * @param browser
      *         The browser to use for the frontend learning.
+     * @param resetSymbol
+     *         The symbol used to reset the SUL.
+     * @param symbols
+     *         The symbols that will be executed on the contexts.
+     *
+     * @return A ContextHandler for the project with the connectors the symbols need.
+     */
+    public ConnectorContextHandler createContext(User user, Project project, BrowserConfig browser,
+                                                 Symbol resetSymbol, Collection<Symbol> symbols) {
+        return createContext(user, project, browser, resetSymbol, symbols, false);
+    }
+
+    /**
+     * Factor to create a ContextHandler with only one context for the first URL of the project, e.g. to execute a
+     * single sequence of symbols, where the other slots and the workers would only be set up to be shut down again.
+     *
+     * @param user
+     *         The user that executes the symbols.
+     * @param project
+     *         The current project in which the context should be.
+     * @param browser
+     *         The browser to use for the frontend symbols.
+     * @param resetSymbol
+     *         The symbol used to reset the SUL.
+     * @param symbols
+     *         The symbols that will be executed on the context.
      *
-     * @return A ContextHandler for the project with all the connectors.
+     * @return A ContextHandler for the project with one context.
      */
-    public ConnectorContextHandler createContext(User user, Project project, BrowserConfig browser) {
+    public ConnectorContextHandler createSingleContext(User user, Project project, BrowserConfig browser,
+                                                       Symbol resetSymbol, Collection<Symbol> symbols) {
+        return createContext(user, project, browser, resetSymbol, symbols, true);
+    }
+
+    private ConnectorContextHandler createContext(User user, Project project, BrowserConfig browser,
+                                                  Symbol resetSymbol, Collection<Symbol> symbols, boolean single) {
         ConnectorContextHandler context = new ConnectorContextHandler();
+        context.setResetSymbol(SymbolMapper.compile(resetSymbol));
+        context.setFullResetInterval(snapshotFullResetInterval);
+
+        List<Symbol> allSymbols = new ArrayList<>(symbols);
+        if (resetSymbol != null) {
+            allSymbols.add(resetSymbol);
+        }
+        Set<Class<? extends Connector>> requiredConnectors = getRequiredConnectors(allSymbols);
+        boolean useWebSite = requiredConnectors.contains(WebSiteConnector.class);
+        boolean useWebService = requiredConnectors.contains(WebServiceConnector.class);
+
+        HttpClientConfig httpClientConfig = project.getHttpClient();
+        Client httpClient = null;
+        if (useWebService) {
+            httpClient = httpClientService.getClient(httpClientConfig);
+            context.setHttpConnections(httpClientService.getStatistics(httpClientConfig));
+            context.addShutdownHook(() -> httpClientService.releaseClient(httpClientConfig));
+        }
 
         List<String> urls = new ArrayList<>();
-        urls.add(project.getBaseUrl());
-        urls.addAll(project.getMirrorUrls());
+        if (sulInstanceService.isUsedBy(project)) {
+            urls.addAll(sulInstanceService.getUrls());
+            // take the contexts of an instance out of the pool while the instance is restarted
+            sulInstanceService.addListener(context);
+            context.addShutdownHook(() -> sulInstanceService.removeListener(context));
+        } else {
+            urls.add(project.getBaseUrl());
+            urls.addAll(project.getMirrorUrls());
+        }
 
         List<Counter> counters;
         try {
@@ -64,16 +214,84 @@ public class ConnectorContextHandlerFactory {
             counters = new ArrayList<>();
         }
 
-        for (String url: urls) {
+        // one context per slot, the slots of the URLs are interleaved so that parallel queries are spread over them
+        List<String> slots = new ArrayList<>();
+        if (single) {
+            urls.stream().findFirst().ifPresent(slots::add);
+        } else {
+            for (int i = 0; i < project.getSlotsPerUrl(); i++) {
+                slots.addAll(urls);
+            }
+        }
+
+        // the counters are shared by all contexts, so that parallel queries never get the same value from a counter
+        CounterStore counterStore = new CounterStore(counterDAO, user, project, counters,
+                                                     TimeUnit.SECONDS.toMillis(counterFlushInterval));
+
+        for (String url: slots) {
             ConnectorManager connectorManager = new ConnectorManager();
-            connectorManager.addConnector(new WebSiteConnector(url, browser));
-            connectorManager.addConnector(new WebServiceConnector(url));
-            connectorManager.addConnector(new CounterStoreConnector(counterDAO, user, project, counters));
+            connectorManager.setUrl(url);
+            if (useWebSite) {
+                connectorManager.addConnector(new WebSiteConnector(url, browser));
+            }
+            if (useWebService) {
+                connectorManager.addConnector(new WebServiceConnector(httpClient, url));
+            }
+            connectorManager.addConnector(new CounterStoreConnector(counterStore));
             connectorManager.addConnector(new VariableStoreConnector());
             connectorManager.addConnector(new FileStoreConnector());
             context.addConnectorManager(connectorManager);
         }
 
+        List<String> workerAddresses = getWorkerAddresses();
+        if (!single && !workerAddresses.isEmpty() && requiredConnectors.contains(CounterStoreConnector.class)) {
+            // a worker only has a copy of the counters, so it would hand out values the learner hands out as well
+            LOGGER.warn("The symbols of the project {} change counters, executing all queries without the workers.",
+                        project.getId());
+        } else if (!single && !workerAddresses.isEmpty()) {
+            Map<String, Integer> counterValues = new HashMap<>();
+            counters.forEach(counter -> counterValues.put(counter.getName(), counter.getValue()));
+
+            WorkerSetup setup = new WorkerSetup();
+            setup.setUserId(user.getId());
+            setup.setProjectId(project.getId());
+            setup.setUrls(slots);
+            setup.setBrowser(browser);
+            setup.setHttpClient(httpClientConfig);
+            setup.setCounters(counterValues);
+            setup.setToken(workerToken);
+            context.setWorkers(workerAddresses, setup);
+        }
+
+        if (useWebSite && browser.getDriverMode() == BrowserConfig.DriverMode.POOLED) {
+            context.start();
+        }
+
         return context;
     }
+
+    /**
+     * Get the connectors to the SUL that are used by the enabled actions of symbols.
+     *
+     * @param symbols
+     *         The symbols to analyse.
+     * @return The types of the connectors, see {@link Symbol#getRequiredConnectors()}.
+     */
+    public static Set<Class<? extends Connector>> getRequiredConnectors(Collection<Symbol> symbols) {
+        Set<Class<? extends Connector>> connectors = new HashSet<>();
+        symbols.forEach(symbol -> connectors.addAll(symbol.getRequiredConnectors()));
+        return connectors;
+    }
+
+    private List<String> getWorkerAddresses() {
+        List<String> addresses = new ArrayList<>();
+        if (workers != null) {
+            for (String address : workers.split(",")) {
+                if (!address.trim().isEmpty()) {
+                    addresses.add(address.trim());
+                }
+            }
+        }
+        return addresses;
+    }
 }
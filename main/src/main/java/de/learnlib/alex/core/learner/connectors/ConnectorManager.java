@@ -16,6 +16,8 @@
 
 package de.learnlib.alex.core.learner.connectors;
 
+import de.learnlib.alex.core.learner.metrics.LearnerMetrics;
+
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -30,6 +32,18 @@ public class ConnectorManager implements Iterable<Connector> {
      */
     private Map<Class<? extends Connector>, Connector> connectors;
 
+    /** The metrics of the learn process the connectors are used by, or null. */
+    private LearnerMetrics metrics;
+
+    /** The base URL the connectors use, or null if it is not known. */
+    private String url;
+
+    /** The states of the connectors after the last execution of the reset symbol by their type, or null. */
+    private Map<Class<? extends Connector>, Object> snapshot;
+
+    /** How often the snapshot has been restored since it has been taken. */
+    private int restoresSinceSnapshot;
+
     /**
      * Default constructor.
      */
@@ -52,9 +66,88 @@ public class ConnectorManager implements Iterable<Connector> {
      * @param type The class of the connector.
      * @param <T>  The type of the connector.
      * @return The connector that matches the specified class.
+     * @throws IllegalStateException
+     *         If the connector has not been created, because none of the symbols uses it.
+     */
+    public <T> T getConnector(Class<T> type) throws IllegalStateException {
+        Connector connector = this.connectors.get(type);
+        if (connector == null) {
+            throw new IllegalStateException("The connector " + type.getSimpleName() + " has not been created, "
+                                                    + "because none of the symbols uses it.");
+        }
+        return (T) connector;
+    }
+
+    /** @return {@link #url}. */
+    public String getUrl() {
+        return url;
+    }
+
+    /** @param url {@link #url}. */
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    /** @return {@link #metrics}. */
+    public LearnerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** @param metrics {@link #metrics}. */
+    public void setMetrics(LearnerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Capture the state of all connectors, see {@link Connector#snapshot()}.
+     *
+     * @throws Exception
+     *         If the state of a connector could not be captured.
      */
-    public <T> T getConnector(Class<T> type) {
-        return (T) this.connectors.get(type);
+    public void takeSnapshot() throws Exception {
+        Map<Class<? extends Connector>, Object> states = new HashMap<>();
+        for (Map.Entry<Class<? extends Connector>, Connector> entry : connectors.entrySet()) {
+            states.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        this.snapshot = states;
+        this.restoresSinceSnapshot = 0;
+    }
+
+    /**
+     * Restore the state of all connectors from the last snapshot, see {@link Connector#restore(Object)}.
+     * The connectors have to be reset before.
+     *
+     * @throws Exception
+     *         If the state of a connector could not be restored.
+     * @throws IllegalStateException
+     *         If no snapshot has been taken.
+     */
+    public void restoreSnapshot() throws Exception {
+        if (snapshot == null) {
+            throw new IllegalStateException("No snapshot of the connectors has been taken.");
+        }
+        for (Map.Entry<Class<? extends Connector>, Connector> entry : connectors.entrySet()) {
+            entry.getValue().restore(snapshot.get(entry.getKey()));
+        }
+        restoresSinceSnapshot++;
+    }
+
+    /**
+     * Forget the last snapshot, so that the next reset executes the reset symbol again.
+     */
+    public void discardSnapshot() {
+        this.snapshot = null;
+        this.restoresSinceSnapshot = 0;
+    }
+
+    /** @return true if a snapshot has been taken and not been discarded; false otherwise. */
+    public boolean hasSnapshot() {
+        return snapshot != null;
+    }
+
+    /** @return {@link #restoresSinceSnapshot}. */
+    public int getRestoresSinceSnapshot() {
+        return restoresSinceSnapshot;
     }
 
     @Override
@@ -70,4 +163,18 @@ public class ConnectorManager implements Iterable<Connector> {
         connectors.forEach((t, u) -> u.dispose());
     }
 
+    /**
+     * Start all connectors, so that they acquire the resources they keep between two resets.
+     */
+    public void start() {
+        connectors.forEach((t, u) -> u.start());
+    }
+
+    /**
+     * Shut down all connectors, so that they release the resources they keep between two resets.
+     */
+    public void shutdown() {
+        connectors.forEach((t, u) -> u.shutdown());
+    }
+
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.connectors;
+
+import de.learnlib.alex.core.dao.CounterDAO;
+import de.learnlib.alex.core.entities.Counter;
+import de.learnlib.alex.core.entities.Project;
+import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.exceptions.NotFoundException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.validation.ValidationException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The counters of a learn process, shared by the {@link CounterStoreConnector}s of all its contexts.
+ * The counters are kept in memory and changed atomically, so that parallel queries never get the same value from a
+ * counter. The changed counters are written to the database in batches, at most once per flush interval and when
+ * the learn process is finished.
+ */
+public class CounterStore {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The DAO to write the counters with, or null if the counters should only be kept in memory. */
+    private final CounterDAO counterDAO;
+
+    /** The user that executes the learn process. */
+    private final User user;
+
+    /** The project of the counters. */
+    private final Project project;
+
+    /** The minimum time between two writes to the database in ms. */
+    private final long flushInterval;
+
+    /** The values of the counters by their name. */
+    private final Map<String, Integer> counters;
+
+    /** The names of the counters that have been changed since the last write to the database. */
+    private final Set<String> changed;
+
+    /** Lock so that the counters are not written by two threads at the same time. */
+    private final Object flushLock;
+
+    /** When the counters have been written to the database the last time, as returned by currentTimeMillis. */
+    private volatile long lastFlush;
+
+    /**
+     * Constructor.
+     *
+     * @param counterDAO
+     *         The DAO to write the counters with, or null if the counters should only be kept in memory,
+     *         e.g. in a query worker.
+     * @param user
+     *         The user that executes the learn process.
+     * @param project
+     *         The project of the counters.
+     * @param counterList
+     *         The counters in the database to initialize the store with.
+     * @param flushInterval
+     *         The minimum time between two writes to the database in ms, 0 to write after every query.
+     */
+    public CounterStore(CounterDAO counterDAO, User user, Project project, List<Counter> counterList,
+                        long flushInterval) {
+        this.counterDAO = counterDAO;
+        this.user = user;
+        this.project = project;
+        this.flushInterval = flushInterval;
+        this.counters = new HashMap<>();
+        this.changed = new HashSet<>();
+        this.flushLock = new Object();
+        this.lastFlush = System.currentTimeMillis();
+        counterList.forEach(counter -> this.counters.put(counter.getName(), counter.getValue()));
+    }
+
+    /**
+     * Set the value of a counter.
+     *
+     * @param name
+     *         The name of the counter.
+     * @param value
+     *         The new value.
+     */
+    public synchronized void set(String name, Integer value) {
+        counters.put(name, value);
+        changed.add(name);
+    }
+
+    /**
+     * Increment the value of a counter.
+     * A counter that does not exist yet is created with the value 1.
+     *
+     * @param name
+     *         The name of the counter.
+     * @param incrementBy
+     *         The value to add to the counter.
+     * @return The new value of the counter.
+     */
+    public synchronized Integer incrementBy(String name, int incrementBy) {
+        Integer value = counters.containsKey(name) ? counters.get(name) + incrementBy : 1;
+        counters.put(name, value);
+        changed.add(name);
+        return value;
+    }
+
+    /**
+     * Get the value of a counter.
+     *
+     * @param name
+     *         The name of the counter.
+     * @return The value of the counter, or null if it has not been set yet.
+     */
+    public synchronized Integer get(String name) {
+        return counters.get(name);
+    }
+
+    /**
+     * Write the changed counters to the database, if the last write is longer ago than the flush interval.
+     */
+    public void flushIfDue() {
+        if (System.currentTimeMillis() - lastFlush >= flushInterval) {
+            flush();
+        }
+    }
+
+    /**
+     * Write the changed counters to the database.
+     * The database is only accessed if a counter has been changed. The value of a counter in the database is only
+     * replaced by a larger one, so that a counter never counts backwards.
+     */
+    public void flush() {
+        if (counterDAO == null) {
+            return;
+        }
+
+        synchronized (flushLock) {
+            lastFlush = System.currentTimeMillis();
+
+            Map<String, Integer> values = new HashMap<>();
+            synchronized (this) {
+                changed.forEach(name -> values.put(name, counters.get(name)));
+                changed.clear();
+            }
+            if (values.isEmpty()) {
+                return;
+            }
+
+            Map<String, Counter> existingCounters = new HashMap<>();
+            try {
+                counterDAO.getAll(user.getId(), project.getId()).forEach(c -> existingCounters.put(c.getName(), c));
+            } catch (NotFoundException e) {
+                LOGGER.warn("Could not load the counters of the project {}.", project.getId(), e);
+            }
+
+            List<Counter> updatedCounters = new ArrayList<>();
+            values.forEach((name, value) -> {
+                Counter counter = existingCounters.get(name);
+                if (counter != null) {
+                    counter.setValue(Math.max(counter.getValue(), value));
+                    updatedCounters.add(counter);
+                } else {
+                    try {
+                        counterDAO.create(createCounter(name, value));
+                    } catch (ValidationException e) {
+                        LOGGER.warn("Could not create the counter '{}'.", name, e);
+                    }
+                }
+            });
+
+            if (!updatedCounters.isEmpty()) {
+                counterDAO.update(updatedCounters);
+            }
+
+            LOGGER.debug("Wrote {} counters of the project {} to the database.", values.size(), project.getId());
+        }
+    }
+
+    private Counter createCounter(String name, Integer value) {
+        Counter counter = new Counter();
+        counter.setUser(new User(user.getId()));
+        counter.setProject(new Project(project.getId()));
+        counter.setName(name);
+        counter.setValue(value);
+        return counter;
+    }
+}
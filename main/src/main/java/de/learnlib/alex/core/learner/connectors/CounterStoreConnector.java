@@ -20,51 +20,45 @@ import de.learnlib.alex.core.dao.CounterDAO;
 import de.learnlib.alex.core.entities.Counter;
 import de.learnlib.alex.core.entities.Project;
 import de.learnlib.alex.core.entities.User;
-import de.learnlib.alex.exceptions.NotFoundException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Connector to store and manage counters.
+ * The counters are kept in a {@link CounterStore} that can be shared by the connectors of all contexts.
  */
 public class CounterStoreConnector implements Connector {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
-    /**
-     * The map that keeps track of all counters used by different urls.
-     * url -> (counterName -> counterValue).
-     */
-    private Map<String, Integer> countersMap;
-
-    /** An instance of the counterDAO. */
-    private CounterDAO counterDAO;
-
-    /** The current project. */
-    private Project project;
-
-    /** The user that executes the experiment. */
-    private User user;
+    /** The store with the counters. */
+    private CounterStore store;
 
     /**
-     * Constructor.
+     * Constructor for a connector with its own store that writes the changed counters after every query.
      * @param counterDAO
-     *          An instance of the counterDAO.
+     *          An instance of the counterDAO, or null if the counters should only be kept in memory,
+     *          e.g. in a query worker.
+     * @param user
+     *          The user that executes the experiment.
      * @param project
      *          The current project.
      * @param counterList
      *          The list of counters in the database to initialize the map with.
      */
     public CounterStoreConnector(CounterDAO counterDAO, User user, Project project, List<Counter> counterList) {
-        this.counterDAO = counterDAO;
-        this.project = project;
-        this.user = user;
-        this.countersMap = new HashMap<>();
-        counterList.forEach(counter -> this.countersMap.put(counter.getName(), counter.getValue()));
+        this(new CounterStore(counterDAO, user, project, counterList, 0));
+    }
+
+    /**
+     * Constructor.
+     * @param store
+     *          The store with the counters, which may be shared with other connectors.
+     */
+    public CounterStoreConnector(CounterStore store) {
+        this.store = store;
     }
 
     @Override
@@ -72,41 +66,20 @@ public class CounterStoreConnector implements Connector {
         // nothing to do here
     }
 
+    /**
+     * Write the changed counters to the database, if the flush interval of the store has passed.
+     */
     @Override
     public void dispose() {
-
-        // get all counters from the db
-        Map<String, Counter> counters = new HashMap<>();
-        try {
-            counterDAO.getAll(user.getId(), project.getId()).forEach(c -> counters.put(c.getName(), c));
-        } catch (NotFoundException e) {
-        }
-
-        // create counters that have not yet been created
-        // update counters that have been created
-        for (String name: countersMap.keySet()) {
-            try {
-                boolean counterExists = counters.containsKey(name);
-                if (counterExists) {
-                    counters.get(name).setValue(Math.max(counters.get(name).getValue(), countersMap.get(name)));
-                    counterDAO.update(counters.get(name));
-                } else {
-                    Counter counter = createCounter(user.getId(), project.getId(), name, countersMap.get(name));
-                    counterDAO.create(counter);
-                }
-            } catch (NotFoundException e) {
-                e.printStackTrace();
-            }
-        }
+        store.flushIfDue();
     }
 
-    private Counter createCounter(Long userId, Long projectId, String name, Integer value) {
-        Counter counter = new Counter();
-        counter.setUser(new User(userId));
-        counter.setProject(new Project(projectId));
-        counter.setName(name);
-        counter.setValue(value);
-        return counter;
+    /**
+     * Write the changed counters to the database, as the learn process is finished.
+     */
+    @Override
+    public void shutdown() {
+        store.flush();
     }
 
     /**
@@ -123,7 +96,7 @@ public class CounterStoreConnector implements Connector {
      *         The value of the counter.
      */
     public void set(Long userId, Long projectId, String name, Integer value) {
-        countersMap.put(name, value);
+        store.set(name, value);
 
         LOGGER.debug("Set the counter '{}' in the project <{}> of user <{}> to '{}'.", name, projectId, userId, value);
     }
@@ -145,14 +118,10 @@ public class CounterStoreConnector implements Connector {
     }
 
     public void incrementBy(Long userId, Long projectId, String name, int incrementBy) {
-        if (countersMap.containsKey(name)) {
-            countersMap.put(name, countersMap.get(name) + incrementBy);
-        } else {
-            countersMap.put(name, 1);
-        }
+        Integer value = store.incrementBy(name, incrementBy);
 
         LOGGER.debug("Incremented the counter '{}' in the project <{}> of user <{}> to '{}'.", name, projectId, userId,
-                countersMap.get(name));
+                value);
     }
 
     /**
@@ -169,6 +138,6 @@ public class CounterStoreConnector implements Connector {
      *         If the counter 'name' has not been set yet.
      */
     public Integer get(String name) throws IllegalStateException {
-        return this.countersMap.get(name);
+        return store.get(name);
     }
 }
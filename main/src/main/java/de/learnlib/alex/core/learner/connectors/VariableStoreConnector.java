@@ -49,6 +49,17 @@ public class VariableStoreConnector implements Connector {
         // nothing to do here
     }
 
+    @Override
+    public Object snapshot() {
+        return new HashMap<>(store);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restore(Object snapshot) {
+        store = new HashMap<>((Map<String, String>) snapshot);
+    }
+
     /**
      * Set a variable to a certain value.
      *
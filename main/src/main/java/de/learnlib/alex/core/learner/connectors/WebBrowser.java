@@ -93,7 +93,7 @@ public enum WebBrowser {
      * @throws Exception
      *          If the instantiation of the driver failed.
      */
-    public synchronized WebDriver getWebDriver(BrowserConfig config) throws Exception {
+    public WebDriver getWebDriver(BrowserConfig config) throws Exception {
         int retries = 0;
 
         while (retries < MAX_RETRIES) {
@@ -17,15 +17,24 @@
 package de.learnlib.alex.core.learner.connectors;
 
 import de.learnlib.alex.core.learner.BaseUrlManager;
+import de.learnlib.alex.utils.JsonDocument;
 
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.NewCookie;
 import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 
@@ -34,6 +43,12 @@ import java.util.Set;
  */
 public class WebServiceConnector implements Connector {
 
+    /** The initial size of the buffer for the response bodies in bytes. */
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    /** The size up to which a grown body buffer is kept for the next requests. */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
     /** The target behind the connector. */
     private WebTarget target;
 
@@ -52,19 +67,38 @@ public class WebServiceConnector implements Connector {
     /** The response body of the last call done by the connection. */
     private String body;
 
+    /** The response body of the last call as JSON document, or null if it has not been requested yet. */
+    private JsonDocument jsonBody;
+
     /** The cookies from th last call done by the connection. */
     private Map<String, NewCookie> cookies;
 
+    /** The buffer the response bodies are read into. It is reused for all requests of the connector. */
+    private byte[] bodyBuffer;
+
     /**
-     * Constructor which sets the WebTarget to use.
+     * Constructor which creates a new, not pooled client.
      *
      * @param baseUrl
      *         The base url used by the connector. All other paths will treated as suffix to this.
      */
     public WebServiceConnector(String baseUrl) {
+        this(ClientBuilder.newClient(), baseUrl);
+    }
+
+    /**
+     * Constructor which uses a given client, e.g. a shared client with a pool of kept-alive connections.
+     *
+     * @param client
+     *         The client to send the requests with.
+     * @param baseUrl
+     *         The base url used by the connector. All other paths will treated as suffix to this.
+     */
+    public WebServiceConnector(Client client, String baseUrl) {
         this.baseUrl = new BaseUrlManager(baseUrl);
 
-        this.target = ClientBuilder.newClient().target(baseUrl);
+        this.target = client.target(baseUrl);
+        this.bodyBuffer = new byte[INITIAL_BUFFER_SIZE];
     }
 
     /**
@@ -81,6 +115,7 @@ public class WebServiceConnector implements Connector {
         this.baseUrl = new BaseUrlManager(baseUrl);
 
         this.target = target;
+        this.bodyBuffer = new byte[INITIAL_BUFFER_SIZE];
         reset(resetUrl);
     }
 
@@ -148,6 +183,24 @@ public class WebServiceConnector implements Connector {
         return body;
     }
 
+    /**
+     * Get the response body of the last request as JSON document.
+     * The document is shared by all actions, so that the body is only parsed once per request.
+     *
+     * @return The last body received by the connections as JSON document.
+     * @throws java.lang.IllegalStateException
+     *         If no request was done before the method call.
+     */
+    public JsonDocument getJsonBody() throws IllegalStateException {
+        if (!init) {
+            throw new IllegalStateException();
+        }
+        if (jsonBody == null) {
+            jsonBody = new JsonDocument(body);
+        }
+        return jsonBody;
+    }
+
     /**
      * Get the cookies.
      * @return The cookies.
@@ -234,22 +287,70 @@ public class WebServiceConnector implements Connector {
      *         The url (based on the base url) to reset the SUL.
      */
     public void reset(String resetUrl) {
-        target.path(resetUrl).request().get();
+        target.path(resetUrl).request().get().close(); // release the connection
         this.init = false;
     }
 
     /**
      * Multi setter for all the fields based on the response.
+     * The response is closed afterwards, so that its connection can be reused.
      *
      * @param response
      *         The response all other fields will be based on.
      */
     private void rememberResponseComponents(Response response) {
-        status = response.getStatus();
-        headers = response.getHeaders();
-        body = response.readEntity(String.class);
-        cookies = response.getCookies();
-        init = true;
+        try {
+            status = response.getStatus();
+            headers = response.getHeaders();
+            body = readBody(response);
+            jsonBody = null;
+            cookies = response.getCookies();
+            init = true;
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Read the body of a response into the reusable buffer, which avoids the temporary buffers that are created
+     * if the body is read as String by JAX-RS.
+     *
+     * @param response
+     *         The response to read the body of.
+     * @return The body, an empty String if the response has no body.
+     */
+    private String readBody(Response response) {
+        if (!response.hasEntity()) {
+            return "";
+        }
+
+        try (InputStream in = response.readEntity(InputStream.class)) {
+            int length = 0;
+            int read;
+            while ((read = in.read(bodyBuffer, length, bodyBuffer.length - length)) != -1) {
+                length += read;
+                if (length == bodyBuffer.length) {
+                    bodyBuffer = Arrays.copyOf(bodyBuffer, bodyBuffer.length * 2);
+                }
+            }
+            return new String(bodyBuffer, 0, length, getCharset(response.getMediaType()));
+        } catch (IOException e) {
+            throw new ProcessingException("Could not read the body of the response.", e);
+        } finally {
+            // do not hold the memory of a single large body for the lifetime of the connector
+            if (bodyBuffer.length > MAX_RETAINED_BUFFER_SIZE) {
+                bodyBuffer = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
+    }
+
+    private static Charset getCharset(MediaType mediaType) {
+        String charset = mediaType == null ? null : mediaType.getParameters().get(MediaType.CHARSET_PARAMETER);
+        try {
+            return charset == null ? StandardCharsets.UTF_8 : Charset.forName(charset);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
     }
 
     /**
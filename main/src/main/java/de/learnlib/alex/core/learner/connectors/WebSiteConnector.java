@@ -21,7 +21,10 @@ import de.learnlib.alex.core.entities.BrowserConfig;
 import de.learnlib.alex.core.entities.WebElementLocator;
 import de.learnlib.alex.core.learner.BaseUrlManager;
 import de.learnlib.alex.utils.CSSUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
@@ -29,7 +32,10 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -38,9 +44,29 @@ import java.util.concurrent.TimeUnit;
  */
 public class WebSiteConnector implements Connector {
 
+    private static final Logger LOGGER = LogManager.getLogger();
+
     /** How often it should be tried to navigate to a given URL. */
     private static final int MAX_RETRIES = 10;
 
+    /** The page a pooled browser is set to between two membership queries. */
+    private static final String BLANK_PAGE = "about:blank";
+
+    /** Script to clear the local and session storage of the current origin. */
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) { }";
+
+    /** Script to read the local and session storage of the current origin as two maps. */
+    private static final String READ_STORAGE_SCRIPT =
+            "function read(s) { var r = {}; for (var i = 0; i < s.length; i++) { r[s.key(i)] = s.getItem(s.key(i)); }"
+            + " return r; }"
+            + " try { return [read(window.localStorage), read(window.sessionStorage)]; } catch (e) { return null; }";
+
+    /** Script to write the maps given as arguments to the local and session storage of the current origin. */
+    private static final String WRITE_STORAGE_SCRIPT =
+            "function write(s, v) { for (var k in v) { s.setItem(k, v[k]); } }"
+            + " write(window.localStorage, arguments[0]); write(window.sessionStorage, arguments[1]);";
+
     /** The browser to use. */
     private BrowserConfig browser;
 
@@ -50,6 +76,9 @@ public class WebSiteConnector implements Connector {
     /** The driver used to send and receive data to a WebSite. */
     private WebDriver driver;
 
+    /** How many membership queries the current driver has been used for. */
+    private int driverUses;
+
     /**
      * Constructor.
      *
@@ -63,17 +92,129 @@ public class WebSiteConnector implements Connector {
         this.browser = browser;
     }
 
+    /**
+     * Start the browser in the pooled mode, so that the first query does not have to wait for it.
+     * If the browser can not be started, the first reset tries it again.
+     */
+    @Override
+    public void start() {
+        if (isPooled() && driver == null) {
+            try {
+                this.driver = browser.getDriver().getWebDriver(browser);
+                this.driverUses = 0;
+            } catch (Exception e) {
+                LOGGER.warn("Could not start the web driver in advance.", e);
+            }
+        }
+    }
+
     /**
      * Try to clear all data from the browser, including Cookies, local storage & session storage.
+     * In the pooled mode the running browser is reused if possible, otherwise a new browser is started.
      */
     @Override
     public void reset() throws Exception {
+        if (isPooled() && driver != null) {
+            try {
+                clearBrowserState();
+                driverUses++;
+                return;
+            } catch (Exception e) {
+                LOGGER.warn("Could not reset the web driver, starting a new one.", e);
+            }
+        }
+
+        // a browser that has not been disposed, e.g. because the reset is repeated, must not be left running
+        quitDriver();
         this.driver = browser.getDriver().getWebDriver(browser);
+        this.driverUses = 1;
     }
 
+    /**
+     * Quit the browser, or, in the pooled mode, keep it alive until it has been used for the configured amount
+     * of membership queries.
+     */
     @Override
     public void dispose() {
-        this.driver.quit();
+        if (!isPooled() || driverUses >= browser.getMaxDriverUses()) {
+            quitDriver();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        quitDriver();
+    }
+
+    private boolean isPooled() {
+        return browser.getDriverMode() == BrowserConfig.DriverMode.POOLED;
+    }
+
+    /**
+     * Clear the cookies and the storage of the current page and navigate to a blank page.
+     * The storage can only be cleared for the origin of the current page, i.e. the page the last query ended on.
+     */
+    private void clearBrowserState() {
+        driver.manage().deleteAllCookies();
+        if (driver instanceof JavascriptExecutor) {
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+        }
+        driver.navigate().to(BLANK_PAGE);
+    }
+
+    /**
+     * Capture the cookies, the local & session storage and the URL of the current page.
+     * Only the cookies and the storage of the origin of the current page can be captured.
+     */
+    @Override
+    public Object snapshot() {
+        if (driver == null) {
+            return null;
+        }
+
+        BrowserSnapshot snapshot = new BrowserSnapshot();
+        snapshot.url = driver.getCurrentUrl();
+        snapshot.cookies = new HashSet<>(driver.manage().getCookies());
+        if (driver instanceof JavascriptExecutor) {
+            Object storage = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+            if (storage instanceof List && ((List<?>) storage).size() == 2) {
+                snapshot.localStorage = (Map<?, ?>) ((List<?>) storage).get(0);
+                snapshot.sessionStorage = (Map<?, ?>) ((List<?>) storage).get(1);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Open the captured page with the captured cookies and storage.
+     * The page is loaded twice: once to be able to set the cookies and the storage for its origin
+     * and once more so that the page is rendered with them.
+     */
+    @Override
+    public void restore(Object snapshot) {
+        BrowserSnapshot browserSnapshot = (BrowserSnapshot) snapshot;
+        if (browserSnapshot == null || browserSnapshot.url == null || browserSnapshot.url.equals(BLANK_PAGE)) {
+            return;
+        }
+
+        driver.navigate().to(browserSnapshot.url);
+        browserSnapshot.cookies.forEach(cookie -> driver.manage().addCookie(cookie));
+        if (driver instanceof JavascriptExecutor && browserSnapshot.localStorage != null) {
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, browserSnapshot.localStorage,
+                                                        browserSnapshot.sessionStorage);
+        }
+        driver.navigate().to(browserSnapshot.url);
+    }
+
+    private void quitDriver() {
+        if (driver != null) {
+            try {
+                driver.quit();
+            } catch (Exception e) {
+                LOGGER.warn("Could not quit the web driver.", e);
+            }
+            driver = null;
+        }
     }
 
     /**
@@ -104,7 +245,7 @@ public class WebSiteConnector implements Connector {
             } catch (Exception e1) {
                 numRetries++;
                 try {
-                    dispose();
+                    quitDriver(); // never reuse a failed browser
                     reset();
                     TimeUnit.SECONDS.sleep(1);
                 } catch (Exception e2) {
@@ -209,4 +350,20 @@ public class WebSiteConnector implements Connector {
     public WebDriver getDriver() {
         return driver;
     }
+
+    /** The state of the browser captured by {@link #snapshot()}. */
+    private static class BrowserSnapshot {
+
+        /** The URL of the page. */
+        private String url;
+
+        /** The cookies of the page. */
+        private Set<Cookie> cookies;
+
+        /** The local storage of the origin of the page, or null if it could not be read. */
+        private Map<?, ?> localStorage;
+
+        /** The session storage of the origin of the page, or null if it could not be read. */
+        private Map<?, ?> sessionStorage;
+    }
 }
@@ -16,6 +16,8 @@
 
 package de.learnlib.alex.core.learner.eqOracles;
 
+import com.google.common.collect.Iterators;
+import de.learnlib.alex.core.learner.QueryExecutor;
 import de.learnlib.api.EquivalenceOracle;
 import de.learnlib.api.MembershipOracle;
 import de.learnlib.oracles.DefaultQuery;
@@ -26,13 +28,21 @@ import net.automatalib.automata.transout.MealyMachine;
 import net.automatalib.commons.util.collections.CollectionsUtil;
 import net.automatalib.util.automata.Automata;
 import net.automatalib.words.Word;
-import net.automatalib.words.WordBuilder;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
 
 public class WMethodEQOracle<A extends UniversalDeterministicAutomaton<?, I, ?, ?, ?> & Output<I, D>, I, D> implements EquivalenceOracle<A, I, D> {
 
@@ -42,8 +52,9 @@ public class WMethodEQOracle<A extends UniversalDeterministicAutomaton<?, I, ?,
             super(maxDepth, sulOracle);
         }
 
-        public DFAWMethodEQOracle(int maxDepth, MembershipOracle<I, Boolean> sulOracle, int batchSize) {
-            super(maxDepth, sulOracle, batchSize);
+        public DFAWMethodEQOracle(int maxDepth, MembershipOracle<I, Boolean> sulOracle, QueryExecutor executor,
+                                  boolean partialSuffixes) {
+            super(maxDepth, sulOracle, executor, partialSuffixes);
         }
     }
 
@@ -53,17 +64,19 @@ public class WMethodEQOracle<A extends UniversalDeterministicAutomaton<?, I, ?,
             super(maxDepth, sulOracle);
         }
 
-        public MealyWMethodEQOracle(int maxDepth, MembershipOracle<I, Word<O>> sulOracle, int batchSize) {
-            super(maxDepth, sulOracle, batchSize);
+        public MealyWMethodEQOracle(int maxDepth, MembershipOracle<I, Word<O>> sulOracle, QueryExecutor executor,
+                                    boolean partialSuffixes) {
+            super(maxDepth, sulOracle, executor, partialSuffixes);
         }
     }
 
     private int maxDepth;
-    private int batchSize;
     private final MembershipOracle<I, D> sulOracle;
+    private final QueryExecutor executor;
+    private final boolean partialSuffixes;
 
     /**
-     * Constructor.
+     * Constructor for an oracle that poses the test words one after another in the calling thread.
      *
      * @param maxDepth
      *         the maximum length of the "middle" part of the test cases.
@@ -71,7 +84,7 @@ public class WMethodEQOracle<A extends UniversalDeterministicAutomaton<?, I, ?,
      *         interface to the system under learning.
      */
     public WMethodEQOracle(int maxDepth, MembershipOracle<I, D> sulOracle) {
-        this(maxDepth, sulOracle, 1);
+        this(maxDepth, sulOracle, null, false);
     }
 
     /**
@@ -81,77 +94,196 @@ public class WMethodEQOracle<A extends UniversalDeterministicAutomaton<?, I, ?,
      *         the maximum length of the "middle" part of the test cases.
      * @param sulOracle
      *         interface to the system under learning.
-     * @param batchSize
-     *         size of the query batch.
+     * @param executor
+     *         the query executor of the learn process, the test words are posed on its workers. If null, the words
+     *         are posed one after another in the calling thread.
+     * @param partialSuffixes
+     *         if the Wp-method should be used instead of the W-method, see {@link #findCounterExample}.
      */
-    public WMethodEQOracle(int maxDepth, MembershipOracle<I, D> sulOracle, int batchSize) {
+    public WMethodEQOracle(int maxDepth, MembershipOracle<I, D> sulOracle, QueryExecutor executor,
+                           boolean partialSuffixes) {
         if (maxDepth < 1) maxDepth = 1;
 
         this.maxDepth = maxDepth;
         this.sulOracle = sulOracle;
-        this.batchSize = batchSize;
+        this.executor = executor;
+        this.partialSuffixes = partialSuffixes;
     }
 
     public void setMaxDepth(int maxDepth) {
         this.maxDepth = maxDepth;
     }
 
+    /**
+     * Search for a counterexample.
+     *
+     * The W-method tests the words transition cover + middle + characterizing set. The Wp-method tests the words
+     * state cover + middle + characterizing set and then the remaining transitions + middle + the characterizing set
+     * of the state that is reached, which is usually a lot smaller. The test words are generated lazily and the
+     * characterizing sets of the single states are only computed once they are needed.
+     *
+     * As many words as the query executor has workers are posed at the same time. Every answered word is replaced
+     * by the next one at once, so that a slow query does not hold back the others. As soon as a counterexample is
+     * found, the words that wait for a worker are cancelled and the answers of the running ones are ignored. A word
+     * that is equal to a word that is in flight is skipped, words that have been answered before are answered by the
+     * membership query cache of the learn process.
+     */
     @Override
     public DefaultQuery<I, D> findCounterExample(A hypothesis, Collection<? extends I> inputs) {
+        Iterator<Word<I>> testWords = createTestWords(hypothesis, inputs);
+        int window = executor == null ? 1 : executor.getParallelism();
+
+        BlockingQueue<Probe> answered = new LinkedBlockingQueue<>();
+        Map<Word<I>, Probe> inFlight = new LinkedHashMap<>();
+        try {
+            while (true) {
+                while (inFlight.size() < window && testWords.hasNext()) {
+                    Word<I> queryWord = testWords.next();
+                    if (inFlight.containsKey(queryWord)) continue;
+
+                    Probe probe = new Probe(new DefaultQuery<>(queryWord), answered);
+                    inFlight.put(queryWord, probe);
+                    if (executor == null) {
+                        probe.run();
+                    } else {
+                        probe.future = executor.submit(probe);
+                    }
+                }
+
+                if (inFlight.isEmpty()) return null;
 
-        List<Word<I>> transCover = Automata.transitionCover(hypothesis, inputs);
-        List<Word<I>> charSuffixes = Automata.characterizingSet(hypothesis, inputs);
+                Probe probe = answered.take();
+                inFlight.remove(probe.query.getInput());
+                probe.rethrowError();
 
-        // Special case: List of characterizing suffixes may be empty,
-        // but in this case we still need to test!
-        if (charSuffixes.isEmpty()) charSuffixes = Collections.singletonList(Word.<I>epsilon());
+                // compare output of hypothesis and oracle
+                if (!Objects.equals(probe.query.getOutput(), hypothesis.computeOutput(probe.query.getInput()))) {
+                    return probe.query;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The search for a counterexample has been interrupted.", e);
+        } finally {
+            // the words that are still in flight are not needed anymore
+            inFlight.values().forEach(Probe::cancel);
+        }
+    }
 
-        WordBuilder<I> wb = new WordBuilder<>();
+    private Iterator<Word<I>> createTestWords(A hypothesis, Collection<? extends I> inputs) {
+        List<Word<I>> globalSuffixes = orEpsilon(Automata.characterizingSet(hypothesis, inputs));
 
-        List<DefaultQuery<I, D>> queryBatch = new ArrayList<>();
+        if (!partialSuffixes) {
+            List<Word<I>> transCover = Automata.transitionCover(hypothesis, inputs);
+            return new TestWords(inputs, transCover, word -> globalSuffixes);
+        }
 
-        for (List<? extends I> middle : CollectionsUtil.allTuples(inputs, 1, maxDepth)) {
-            for (Word<I> trans : transCover) {
-                for (Word<I> suffix : charSuffixes) {
-                    wb.append(trans).append(middle).append(suffix);
-                    Word<I> queryWord = wb.toWord();
-                    wb.clear();
-                    DefaultQuery<I, D> query = new DefaultQuery<>(queryWord);
-                    queryBatch.add(query);
+        List<Word<I>> stateCover = new ArrayList<>();
+        List<Word<I>> transitions = new ArrayList<>();
+        Automata.cover(hypothesis, inputs, stateCover, transitions);
 
-                    if (queryBatch.size() >= batchSize) {
-                        DefaultQuery<I, D> ce = processBatch(hypothesis, queryBatch);
-                        if (ce != null) return ce;
+        Map<Object, List<Word<I>>> localSuffixes = new HashMap<>();
+        return Iterators.concat(new TestWords(inputs, stateCover, word -> globalSuffixes),
+                                new TestWords(inputs, transitions,
+                                              word -> getLocalSuffixes(hypothesis, inputs, word, localSuffixes)));
+    }
 
-                        queryBatch.clear();
-                    }
+    /**
+     * Get the characterizing set of the state a word leads to, which is computed when it is needed first.
+     */
+    private static <S, I> List<Word<I>> getLocalSuffixes(UniversalDeterministicAutomaton<S, I, ?, ?, ?> hypothesis,
+                                                         Collection<? extends I> inputs, Word<I> word,
+                                                         Map<Object, List<Word<I>>> localSuffixes) {
+        S state = hypothesis.getState(word);
+        return localSuffixes.computeIfAbsent(state, s ->
+                orEpsilon(Automata.stateCharacterizingSet(hypothesis, inputs, state)));
+    }
+
+    /**
+     * Special case: List of characterizing suffixes may be empty, but in this case we still need to test!
+     */
+    private static <I> List<Word<I>> orEpsilon(List<Word<I>> suffixes) {
+        return suffixes.isEmpty() ? Collections.singletonList(Word.<I>epsilon()) : suffixes;
+    }
+
+    /**
+     * Lazy generator of the test words prefix + middle + suffix, in the order middle, prefix, suffix.
+     * The suffixes may depend on the word prefix + middle.
+     */
+    private final class TestWords implements Iterator<Word<I>> {
+
+        private final Iterator<? extends List<? extends I>> middles;
+        private final List<Word<I>> prefixes;
+        private final Function<Word<I>, List<Word<I>>> suffixes;
+
+        private Word<I> middle;
+        private int prefixIndex;
+        private Word<I> prefix;
+        private Iterator<Word<I>> currentSuffixes;
+
+        private TestWords(Collection<? extends I> inputs, List<Word<I>> prefixes,
+                          Function<Word<I>, List<Word<I>>> suffixes) {
+            this.middles = CollectionsUtil.allTuples(inputs, 1, maxDepth).iterator();
+            this.prefixes = prefixes;
+            this.suffixes = suffixes;
+            this.currentSuffixes = Collections.emptyIterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentSuffixes.hasNext()) {
+                if (middle == null || prefixIndex == prefixes.size()) {
+                    if (!middles.hasNext()) return false;
+                    middle = Word.fromList(middles.next());
+                    prefixIndex = 0;
+                } else {
+                    prefix = prefixes.get(prefixIndex++).concat(middle);
+                    currentSuffixes = suffixes.apply(prefix).iterator();
                 }
             }
+            return true;
         }
 
-        // take care of remaining queries in the batch
-        if (queryBatch.size() > 0) {
-            return processBatch(hypothesis, queryBatch);
+        @Override
+        public Word<I> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return prefix.concat(currentSuffixes.next());
         }
-
-        return null;
     }
 
-    private DefaultQuery<I, D> processBatch(A hypothesis, List<DefaultQuery<I, D>> queryBatch) {
-        sulOracle.processQueries(queryBatch);
+    /**
+     * A test word that is posed to the SUL and that puts itself into a queue once it is answered.
+     */
+    private final class Probe implements Runnable {
 
-        for (final DefaultQuery<I, D> ioQuery : queryBatch) {
-            D oracleOutput = ioQuery.getOutput();
+        private final DefaultQuery<I, D> query;
+        private final BlockingQueue<Probe> answered;
+        private Future<?> future;
+        private volatile Throwable error;
 
-            // trace hypothesis
-            D hypOutput = hypothesis.computeOutput(ioQuery.getInput());
+        private Probe(DefaultQuery<I, D> query, BlockingQueue<Probe> answered) {
+            this.query = query;
+            this.answered = answered;
+        }
 
-            // compare output of hypothesis and oracle
-            if (!Objects.equals(oracleOutput, hypOutput)) {
-                return ioQuery;
+        @Override
+        public void run() {
+            try {
+                sulOracle.processQueries(Collections.singletonList(query));
+            } catch (RuntimeException | Error e) {
+                error = e;
+            } finally {
+                answered.add(this);
             }
         }
 
-        return null;
+        private void rethrowError() {
+            if (error instanceof RuntimeException) throw (RuntimeException) error;
+            if (error instanceof Error) throw (Error) error;
+        }
+
+        private void cancel() {
+            if (future != null) future.cancel(false);
+        }
     }
 }
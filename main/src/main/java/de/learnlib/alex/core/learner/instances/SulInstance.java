@@ -0,0 +1,249 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.instances;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local instance of the system under learning, which runs as a child process of ALEX on its own port.
+ */
+public class SulInstance {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The placeholder for the port of the instance in the command and in the URL. */
+    public static final String PORT_PLACEHOLDER = "{port}";
+
+    /** The timeout of a health check in milliseconds. */
+    private static final int HEALTH_CHECK_TIMEOUT = 2000;
+
+    /** The time in milliseconds to wait for the process to terminate before it is killed. */
+    private static final long STOP_TIMEOUT = 10000;
+
+    /** The time in milliseconds between two health checks while waiting for the instance. */
+    private static final long POLL_INTERVAL = 250;
+
+    /** The command to start the instance, split into the program and its arguments. */
+    private final List<String> command;
+
+    /** The port of the instance. */
+    private final int port;
+
+    /** The base URL of the instance. */
+    private final String url;
+
+    /** The URL that is requested to check if the instance is healthy. */
+    private final String healthCheckUrl;
+
+    /** The file the output of the process is written to, or null to discard it. */
+    private final Path logFile;
+
+    /** The process of the instance, or null if it has not been started yet. */
+    private Process process;
+
+    /** The time in milliseconds at which the process has been started. */
+    private long startTime;
+
+    /** How often the instance has been restarted. */
+    private int restarts;
+
+    /**
+     * Constructor.
+     *
+     * @param commandTemplate
+     *         The command to start an instance, in which {@link #PORT_PLACEHOLDER} is replaced by the port.
+     *         The arguments are separated by whitespace.
+     * @param port
+     *         The port of the instance.
+     * @param urlTemplate
+     *         The base URL of the instance, in which {@link #PORT_PLACEHOLDER} is replaced by the port.
+     * @param healthCheckPath
+     *         The path relative to the base URL that is requested to check if the instance is healthy.
+     * @param logFile
+     *         The file the output of the process is written to, or null to discard it.
+     */
+    public SulInstance(String commandTemplate, int port, String urlTemplate, String healthCheckPath, Path logFile) {
+        this.command = new ArrayList<>();
+        for (String argument : commandTemplate.trim().split("\\s+")) {
+            this.command.add(argument.replace(PORT_PLACEHOLDER, String.valueOf(port)));
+        }
+        this.port = port;
+        this.url = urlTemplate.replace(PORT_PLACEHOLDER, String.valueOf(port));
+        this.healthCheckUrl = url.replaceAll("/+$", "") + "/" + healthCheckPath.replaceAll("^/+", "");
+        this.logFile = logFile;
+    }
+
+    /**
+     * Start the process of the instance, if it is not running.
+     *
+     * @throws IOException
+     *         If the process could not be started.
+     */
+    public synchronized void start() throws IOException {
+        if (isAlive()) {
+            return;
+        }
+
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        if (logFile == null) {
+            builder.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+        } else {
+            Files.createDirectories(logFile.getParent());
+            builder.redirectOutput(ProcessBuilder.Redirect.appendTo(logFile.toFile()));
+        }
+
+        process = builder.start();
+        startTime = System.currentTimeMillis();
+        LOGGER.info("Started the instance of the SUL on port {}.", port);
+    }
+
+    /**
+     * Stop the process of the instance. It is killed if it does not terminate in time.
+     */
+    public synchronized void stop() {
+        if (process == null) {
+            return;
+        }
+
+        process.destroy();
+        try {
+            if (!process.waitFor(STOP_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("The instance of the SUL on port {} did not terminate, killing it.", port);
+                process.destroyForcibly().waitFor(STOP_TIMEOUT, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+        process = null;
+        LOGGER.info("Stopped the instance of the SUL on port {}.", port);
+    }
+
+    /**
+     * Stop the instance and start it again, e.g. because it has crashed or does not respond anymore.
+     *
+     * @throws IOException
+     *         If the process could not be started.
+     */
+    public synchronized void restart() throws IOException {
+        stop();
+        start();
+        restarts++;
+    }
+
+    /**
+     * @return True, if the process of the instance is running.
+     */
+    public synchronized boolean isAlive() {
+        return process != null && process.isAlive();
+    }
+
+    /**
+     * Check if the instance is running and answers the health check request, i.e. the response to the request
+     * is no server error.
+     *
+     * @return True, if the instance is healthy.
+     */
+    public boolean isHealthy() {
+        if (!isAlive()) {
+            return false;
+        }
+
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(healthCheckUrl).openConnection();
+            connection.setConnectTimeout(HEALTH_CHECK_TIMEOUT);
+            connection.setReadTimeout(HEALTH_CHECK_TIMEOUT);
+            return connection.getResponseCode() < HttpURLConnection.HTTP_INTERNAL_ERROR;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Wait until the instance is healthy.
+     *
+     * @param timeout
+     *         The maximal time to wait in milliseconds.
+     * @return True, if the instance is healthy; false, if it has not become healthy in time or its process has
+     *         terminated.
+     * @throws InterruptedException
+     *         If the thread has been interrupted while waiting.
+     */
+    public boolean awaitHealthy(long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (isAlive()) {
+            if (isHealthy()) {
+                return true;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+        return false;
+    }
+
+    /** @return {@link #command}. */
+    public List<String> getCommand() {
+        return command;
+    }
+
+    /** @return {@link #port}. */
+    public int getPort() {
+        return port;
+    }
+
+    /** @return {@link #url}. */
+    public String getUrl() {
+        return url;
+    }
+
+    /** @return {@link #healthCheckUrl}. */
+    public String getHealthCheckUrl() {
+        return healthCheckUrl;
+    }
+
+    /** @return {@link #startTime}. */
+    public synchronized long getStartTime() {
+        return startTime;
+    }
+
+    /** @return {@link #restarts}. */
+    public synchronized int getRestarts() {
+        return restarts;
+    }
+
+    @Override
+    public String toString() {
+        return "SulInstance[" + port + "] " + url;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.instances;
+
+/**
+ * Listener for the availability of the local instances of the SUL, e.g. the contexts of a learn process that use
+ * the instances.
+ */
+public interface SulInstanceListener {
+
+    /**
+     * Called before an instance is restarted.
+     * The listener should stop to use the instance and should only return once the instance is not used anymore.
+     *
+     * @param url
+     *         The base URL of the instance.
+     */
+    void instanceUnavailable(String url);
+
+    /**
+     * Called once a restarted instance has passed a health check and can be used again.
+     *
+     * @param url
+     *         The base URL of the instance.
+     */
+    void instanceAvailable(String url);
+}
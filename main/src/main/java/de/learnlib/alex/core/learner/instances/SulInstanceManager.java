@@ -0,0 +1,294 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.instances;
+
+import de.learnlib.alex.exceptions.LearnerException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manager for local instances of the system under learning.
+ *
+ * The manager starts one instance for every port of a port range and waits until all of them are healthy.
+ * Afterwards it checks the instances periodically and restarts every instance whose process has terminated or
+ * which failed {@link #MAX_FAILED_HEALTH_CHECKS} health checks in a row. A restarted instance uses the same port
+ * and thus the same URL. The {@link SulInstanceListener}s, i.e. the contexts of running learn processes, stop to use
+ * an instance before it is restarted and use it again once it has passed a health check.
+ */
+public class SulInstanceManager implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** How many health checks in a row may fail before an instance that is still running is restarted. */
+    static final int MAX_FAILED_HEALTH_CHECKS = 3;
+
+    /** The highest valid port. */
+    private static final int MAX_PORT = 65535;
+
+    /** The instances, one for every port. */
+    private final List<SulInstance> instances;
+
+    /** The amount of failed health checks in a row by instance. Only accessed by the monitor. */
+    private final Map<SulInstance, Integer> failedHealthChecks;
+
+    /** The instances that have been restarted and have not passed a health check since. */
+    private final Set<SulInstance> restartedInstances;
+
+    /** The listeners that are notified about restarts. */
+    private final List<SulInstanceListener> listeners;
+
+    /** The time in milliseconds an instance may need until it is healthy after it has been started. */
+    private final long startupTimeout;
+
+    /** The time in milliseconds between two health checks of the instances. */
+    private final long healthCheckInterval;
+
+    /** The monitor that checks the instances periodically, or null if the instances have not been started. */
+    private ScheduledExecutorService monitor;
+
+    /**
+     * Constructor.
+     *
+     * @param commandTemplate
+     *         The command to start an instance, see {@link SulInstance}.
+     * @param ports
+     *         The ports of the instances, see {@link #parsePorts(String)}.
+     * @param urlTemplate
+     *         The base URL of an instance, see {@link SulInstance}.
+     * @param healthCheckPath
+     *         The path relative to the base URL that is requested to check if an instance is healthy.
+     * @param logDirectory
+     *         The directory the output of the instances is written to, or null to discard it.
+     * @param startupTimeout
+     *         The time in milliseconds an instance may need until it is healthy after it has been started.
+     * @param healthCheckInterval
+     *         The time in milliseconds between two health checks of the instances.
+     * @throws IllegalArgumentException
+     *         If the command or the ports are invalid.
+     */
+    public SulInstanceManager(String commandTemplate, String ports, String urlTemplate, String healthCheckPath,
+                              Path logDirectory, long startupTimeout, long healthCheckInterval)
+            throws IllegalArgumentException {
+        if (commandTemplate == null || commandTemplate.trim().isEmpty()) {
+            throw new IllegalArgumentException("The command to start the instances is empty.");
+        }
+
+        this.instances = new ArrayList<>();
+        this.failedHealthChecks = new HashMap<>();
+        this.restartedInstances = ConcurrentHashMap.newKeySet();
+        this.listeners = new CopyOnWriteArrayList<>();
+        for (int port : parsePorts(ports)) {
+            Path logFile = logDirectory == null ? null : logDirectory.resolve("instance-" + port + ".log");
+            instances.add(new SulInstance(commandTemplate, port, urlTemplate, healthCheckPath, logFile));
+        }
+        this.startupTimeout = startupTimeout;
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    /**
+     * Parse a list of ports.
+     *
+     * @param ports
+     *         Comma separated ports or port ranges, e.g. '9000-9003,9010'.
+     * @return The distinct ports in their order.
+     * @throws IllegalArgumentException
+     *         If the list is empty or contains something that is no port or port range.
+     */
+    static List<Integer> parsePorts(String ports) throws IllegalArgumentException {
+        Set<Integer> result = new LinkedHashSet<>();
+        if (ports != null) {
+            for (String part : ports.split(",")) {
+                String trimmedPart = part.trim();
+                if (trimmedPart.isEmpty()) {
+                    continue;
+                }
+
+                try {
+                    String[] range = trimmedPart.split("-", 2);
+                    int first = Integer.parseInt(range[0].trim());
+                    int last = range.length == 1 ? first : Integer.parseInt(range[1].trim());
+                    if (first < 1 || last > MAX_PORT || first > last) {
+                        throw new IllegalArgumentException("The port range '" + trimmedPart + "' is invalid.");
+                    }
+                    for (int port = first; port <= last; port++) {
+                        result.add(port);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("The port range '" + trimmedPart + "' is invalid.", e);
+                }
+            }
+        }
+
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("No port for the instances is defined.");
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Start all instances that are not running, wait until all of them are healthy and start to monitor them.
+     *
+     * @throws LearnerException
+     *         If an instance could not be started or has not become healthy in time.
+     */
+    public synchronized void start() throws LearnerException {
+        try {
+            for (SulInstance instance : instances) {
+                instance.start();
+            }
+            for (SulInstance instance : instances) {
+                if (!instance.awaitHealthy(startupTimeout)) {
+                    throw new LearnerException("The instance of the SUL on port " + instance.getPort()
+                                                       + " did not become healthy in time.");
+                }
+            }
+        } catch (IOException e) {
+            throw new LearnerException("Could not start an instance of the SUL.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LearnerException("Interrupted while waiting for the instances of the SUL.", e);
+        }
+
+        if (monitor == null) {
+            monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "sul-instance-monitor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            monitor.scheduleWithFixedDelay(this::checkInstances, healthCheckInterval, healthCheckInterval,
+                                           TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Check all instances once and restart the crashed and degraded ones.
+     * Instances that have been started recently are given time to start up.
+     */
+    void checkInstances() {
+        for (SulInstance instance : instances) {
+            try {
+                if (!instance.isAlive()) {
+                    LOGGER.warn("The instance of the SUL on port {} has terminated, restarting it.",
+                                instance.getPort());
+                    restart(instance);
+                } else if (instance.isHealthy()) {
+                    failedHealthChecks.remove(instance);
+                    synchronized (listeners) {
+                        if (restartedInstances.remove(instance)) {
+                            LOGGER.info("The restarted instance of the SUL on port {} is healthy again.",
+                                        instance.getPort());
+                            listeners.forEach(listener -> listener.instanceAvailable(instance.getUrl()));
+                        }
+                    }
+                } else if (System.currentTimeMillis() - instance.getStartTime() > startupTimeout) {
+                    int failures = failedHealthChecks.merge(instance, 1, Integer::sum);
+                    if (failures >= MAX_FAILED_HEALTH_CHECKS) {
+                        LOGGER.warn("The instance of the SUL on port {} failed {} health checks, restarting it.",
+                                    instance.getPort(), failures);
+                        restart(instance);
+                    }
+                }
+            } catch (Exception e) {
+                // keep monitoring the other instances
+                LOGGER.error("Could not check the instance of the SUL on port {}.", instance.getPort(), e);
+            }
+        }
+    }
+
+    /**
+     * Restart an instance once no listener uses it anymore.
+     * The listeners are notified that the instance is available again by {@link #checkInstances()}, once the
+     * instance has passed a health check.
+     */
+    private void restart(SulInstance instance) throws IOException {
+        failedHealthChecks.remove(instance);
+        synchronized (listeners) {
+            if (restartedInstances.add(instance)) {
+                listeners.forEach(listener -> listener.instanceUnavailable(instance.getUrl()));
+            }
+        }
+        instance.restart();
+    }
+
+    /**
+     * Add a listener that should be notified when an instance is restarted.
+     * The listener is notified at once about the instances that are currently restarting.
+     *
+     * @param listener
+     *         The listener.
+     */
+    public void addListener(SulInstanceListener listener) {
+        synchronized (listeners) {
+            listeners.add(listener);
+            restartedInstances.forEach(instance -> listener.instanceUnavailable(instance.getUrl()));
+        }
+    }
+
+    /**
+     * Remove a listener, e.g. because its learn process has finished.
+     *
+     * @param listener
+     *         The listener.
+     */
+    public void removeListener(SulInstanceListener listener) {
+        listeners.remove(listener);
+    }
+
+    /** @return The base URLs of the instances. */
+    public List<String> getUrls() {
+        List<String> urls = new ArrayList<>();
+        instances.forEach(instance -> urls.add(instance.getUrl()));
+        return urls;
+    }
+
+    /** @return {@link #instances}. */
+    public List<SulInstance> getInstances() {
+        return Collections.unmodifiableList(instances);
+    }
+
+    /**
+     * Stop monitoring and stop all instances.
+     */
+    @Override
+    public synchronized void close() {
+        if (monitor != null) {
+            monitor.shutdownNow();
+            try {
+                monitor.awaitTermination(healthCheckInterval, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            monitor = null;
+        }
+        instances.forEach(SulInstance::stop);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts how often the connections of a pooled HTTP client are reused.
+ * Every request leases a connection from the pool, but only a new connection has to be opened to the SUL,
+ * so a low amount of opened connections compared to the leases means that keep-alive works.
+ *
+ * The statistics belong to a client and not to a learn process, i.e. they include the requests of all learn
+ * processes that share the client.
+ */
+public class ConnectionStatistics {
+
+    /** The amount of connections that have been leased from the pool. */
+    private final AtomicLong leased;
+
+    /** The amount of connections that have been opened. */
+    private final AtomicLong opened;
+
+    /**
+     * Default constructor.
+     */
+    public ConnectionStatistics() {
+        this.leased = new AtomicLong();
+        this.opened = new AtomicLong();
+    }
+
+    /**
+     * Record that a connection has been leased from the pool.
+     */
+    public void recordLease() {
+        leased.incrementAndGet();
+    }
+
+    /**
+     * Record that a new connection has been opened, because there was no open connection left in the pool.
+     */
+    public void recordOpen() {
+        opened.incrementAndGet();
+    }
+
+    /** @return The amount of connections that have been leased from the pool, i.e. the requests. */
+    public long getLeased() {
+        return leased.get();
+    }
+
+    /** @return The amount of connections that have been opened. */
+    public long getOpened() {
+        return opened.get();
+    }
+
+    /** @return The amount of leases that reused an open connection. */
+    public long getReused() {
+        return Math.max(0, leased.get() - opened.get());
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.metrics;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe histogram of latencies with fixed buckets, similar to a Prometheus histogram.
+ * Recording a latency does not block, so it can be used by all queries of a learn process at the same time.
+ */
+public class LatencyHistogram {
+
+    /** The upper bounds of the buckets in ms. Latencies above the last bound are counted in an additional bucket. */
+    static final long[] BUCKETS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000};
+
+    /** The amount of latencies per bucket, the last one is for all latencies above the highest bound. */
+    private final LongAdder[] counts;
+
+    /** The sum of all latencies in ns. */
+    private final LongAdder sum;
+
+    /** The highest latency in ns. */
+    private final LongAccumulator max;
+
+    /**
+     * Default constructor.
+     */
+    public LatencyHistogram() {
+        this.counts = new LongAdder[BUCKETS.length + 1];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos
+     *         The latency in ns.
+     */
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+
+        int bucket = 0;
+        while (bucket < BUCKETS.length && millis >= BUCKETS[bucket]) {
+            bucket++;
+        }
+
+        counts[bucket].increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /** @return The amount of recorded latencies. */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder c : counts) {
+            count += c.sum();
+        }
+        return count;
+    }
+
+    /** @return The sum of all latencies in ms. */
+    public double getSum() {
+        return sum.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** @return The average latency in ms, or 0 if nothing has been recorded. */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : getSum() / count;
+    }
+
+    /** @return The highest latency in ms. */
+    public double getMax() {
+        return max.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the cumulative bucket counts, i.e. for every upper bound in ms the amount of latencies that are lower.
+     * The last bucket is named '+Inf' and contains all latencies.
+     *
+     * @return The cumulative bucket counts by their upper bound.
+     */
+    public Map<String, Long> getBuckets() {
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        long[] cumulativeCounts = getCumulativeCounts();
+        for (int i = 0; i < BUCKETS.length; i++) {
+            buckets.put(String.valueOf(BUCKETS[i]), cumulativeCounts[i]);
+        }
+        buckets.put("+Inf", cumulativeCounts[BUCKETS.length]);
+        return buckets;
+    }
+
+    /**
+     * Get the cumulative bucket counts in the order of {@link #BUCKETS}, plus the count of all latencies.
+     *
+     * @return The cumulative counts.
+     */
+    @JsonIgnore
+    long[] getCumulativeCounts() {
+        long[] result = new long[counts.length];
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            count += counts[i].sum();
+            result[i] = count;
+        }
+        return result;
+    }
+
+    /** @return The sum of all latencies in ns. */
+    @JsonIgnore
+    long getSumInNanos() {
+        return sum.sum();
+    }
+}
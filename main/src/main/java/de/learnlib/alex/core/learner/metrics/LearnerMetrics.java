@@ -0,0 +1,189 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The live metrics of a learn process.
+ *
+ * In contrast to the {@link de.learnlib.alex.core.entities.Statistics}, which are only updated after a step,
+ * the metrics are recorded while the queries are executed and can be read at any time, e.g. to find the
+ * symbols that dominate the duration of a long learn process.
+ */
+public class LearnerMetrics {
+
+    /** The latency of the symbols by their name. */
+    private final Map<String, LatencyHistogram> symbolLatencies;
+
+    /** The latency of the actions by their type. */
+    private final Map<String, LatencyHistogram> actionLatencies;
+
+    /** The latency of the reset symbol. */
+    private final LatencyHistogram resetLatency;
+
+    /** The time the queries waited for free connectors. */
+    private final LatencyHistogram poolWaitTime;
+
+    /** The queries that have been finished on the SUL. */
+    private final RateMeter queries;
+
+    /** The resets of the SUL. */
+    private final RateMeter resets;
+
+    /** The amount of queries that are currently executed on the SUL. */
+    private final AtomicInteger queriesInFlight;
+
+    /** The connection statistics of the HTTP client that is used by the REST symbols, or null. */
+    private volatile ConnectionStatistics httpConnections;
+
+    /**
+     * Default constructor.
+     */
+    public LearnerMetrics() {
+        this.symbolLatencies = new ConcurrentHashMap<>();
+        this.actionLatencies = new ConcurrentHashMap<>();
+        this.resetLatency = new LatencyHistogram();
+        this.poolWaitTime = new LatencyHistogram();
+        this.queries = new RateMeter();
+        this.resets = new RateMeter();
+        this.queriesInFlight = new AtomicInteger();
+    }
+
+    /**
+     * Record the execution of a symbol.
+     *
+     * @param symbol
+     *         The name of the symbol.
+     * @param nanos
+     *         The latency in ns.
+     */
+    public void recordSymbol(String symbol, long nanos) {
+        symbolLatencies.computeIfAbsent(symbol, s -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Record the execution of an action.
+     *
+     * @param type
+     *         The type of the action.
+     * @param nanos
+     *         The latency in ns.
+     */
+    public void recordAction(String type, long nanos) {
+        actionLatencies.computeIfAbsent(type, t -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Record the time a query had to wait for free connectors.
+     *
+     * @param nanos
+     *         The waiting time in ns.
+     */
+    public void recordPoolWait(long nanos) {
+        poolWaitTime.record(nanos);
+    }
+
+    /**
+     * Record a reset of the SUL.
+     *
+     * @param nanos
+     *         The latency of the reset symbol in ns.
+     */
+    public void recordReset(long nanos) {
+        resetLatency.record(nanos);
+        resets.mark();
+    }
+
+    /**
+     * Record the start of a query, i.e. the SUL has been reset successfully.
+     */
+    public void recordQueryStarted() {
+        queriesInFlight.incrementAndGet();
+    }
+
+    /**
+     * Record the end of a query.
+     */
+    public void recordQueryFinished() {
+        queries.mark();
+        queriesInFlight.decrementAndGet();
+    }
+
+    /** @return The latency of the symbols by their name, sorted by the name. */
+    public Map<String, LatencyHistogram> getSymbolLatencies() {
+        return Collections.unmodifiableMap(new TreeMap<>(symbolLatencies));
+    }
+
+    /** @return The latency of the actions by their type, sorted by the type. */
+    public Map<String, LatencyHistogram> getActionLatencies() {
+        return Collections.unmodifiableMap(new TreeMap<>(actionLatencies));
+    }
+
+    /** @return {@link #resetLatency}. */
+    public LatencyHistogram getResetLatency() {
+        return resetLatency;
+    }
+
+    /** @return {@link #poolWaitTime}. */
+    public LatencyHistogram getPoolWaitTime() {
+        return poolWaitTime;
+    }
+
+    /** @return The amount of queries that have been finished on the SUL. */
+    public long getQueries() {
+        return queries.getCount();
+    }
+
+    /** @return The queries per second in the last minute. */
+    public double getQueriesPerSecond() {
+        return queries.getRate();
+    }
+
+    /** @return The amount of resets of the SUL. */
+    public long getResets() {
+        return resets.getCount();
+    }
+
+    /** @return The resets per second in the last minute. */
+    public double getResetsPerSecond() {
+        return resets.getRate();
+    }
+
+    /** @return The amount of queries that are currently executed on the SUL. */
+    public int getQueriesInFlight() {
+        return queriesInFlight.get();
+    }
+
+    /** @return {@link #httpConnections}. */
+    public ConnectionStatistics getHttpConnections() {
+        return httpConnections;
+    }
+
+    /**
+     * @param httpConnections
+     *         {@link #httpConnections}.
+     */
+    public void setHttpConnections(ConnectionStatistics httpConnections) {
+        this.httpConnections = httpConnections;
+    }
+}
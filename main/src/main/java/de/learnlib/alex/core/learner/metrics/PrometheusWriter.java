@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Writes the metrics of multiple learn processes in the text format of Prometheus, so that they can be scraped.
+ * The latencies are exported as histograms in seconds, the rates are left to Prometheus.
+ *
+ * @see <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Exposition formats</a>
+ */
+public class PrometheusWriter {
+
+    /** The content type of the format. */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4";
+
+    /** The prefix of all metric names. */
+    private static final String PREFIX = "alex_learner_";
+
+    /** The labels of the learn processes, e.g. the project. */
+    private final List<Map<String, String>> labels;
+
+    /** The metrics of the learn processes. */
+    private final List<LearnerMetrics> metrics;
+
+    /**
+     * Default constructor.
+     */
+    public PrometheusWriter() {
+        this.labels = new ArrayList<>();
+        this.metrics = new ArrayList<>();
+    }
+
+    /**
+     * Add the metrics of a learn process.
+     *
+     * @param processLabels
+     *         The labels that identify the learn process.
+     * @param processMetrics
+     *         The metrics of the learn process.
+     */
+    public void add(Map<String, String> processLabels, LearnerMetrics processMetrics) {
+        labels.add(processLabels);
+        metrics.add(processMetrics);
+    }
+
+    /**
+     * Write the metrics of all learn processes.
+     *
+     * @return The metrics in the Prometheus text format.
+     */
+    public String write() {
+        StringBuilder out = new StringBuilder();
+
+        writeCounter(out, "queries_total", "Membership queries that have been finished on the SUL.",
+                     LearnerMetrics::getQueries);
+        writeCounter(out, "resets_total", "Resets of the SUL.", LearnerMetrics::getResets);
+
+        writeConnections(out, "http_connections_leased_total",
+                         "Connections leased from the pool of the HTTP client, i.e. requests of the REST symbols.",
+                         ConnectionStatistics::getLeased);
+        writeConnections(out, "http_connections_opened_total",
+                         "Connections opened by the HTTP client, the other leases reused a kept-alive connection.",
+                         ConnectionStatistics::getOpened);
+
+        writeHeader(out, "queries_in_flight", "gauge", "Membership queries that are currently executed on the SUL.");
+        for (int i = 0; i < metrics.size(); i++) {
+            writeSample(out, "queries_in_flight", labels.get(i), metrics.get(i).getQueriesInFlight());
+        }
+
+        writeHistograms(out, "reset_latency_seconds", "Latency of the reset symbol.", null,
+                        m -> singleton(m.getResetLatency()));
+        writeHistograms(out, "pool_wait_seconds", "Time the queries waited for free connectors.", null,
+                        m -> singleton(m.getPoolWaitTime()));
+        writeHistograms(out, "symbol_latency_seconds", "Latency of the symbols.", "symbol",
+                        LearnerMetrics::getSymbolLatencies);
+        writeHistograms(out, "action_latency_seconds", "Latency of the actions by their type.", "action",
+                        LearnerMetrics::getActionLatencies);
+
+        return out.toString();
+    }
+
+    private void writeCounter(StringBuilder out, String name, String help, ToLongFunction<LearnerMetrics> value) {
+        writeHeader(out, name, "counter", help);
+        for (int i = 0; i < metrics.size(); i++) {
+            writeSample(out, name, labels.get(i), value.applyAsLong(metrics.get(i)));
+        }
+    }
+
+    private void writeConnections(StringBuilder out, String name, String help,
+                                  ToLongFunction<ConnectionStatistics> value) {
+        writeHeader(out, name, "counter", help);
+        for (int i = 0; i < metrics.size(); i++) {
+            ConnectionStatistics connections = metrics.get(i).getHttpConnections();
+            if (connections != null) {
+                writeSample(out, name, labels.get(i), value.applyAsLong(connections));
+            }
+        }
+    }
+
+    private void writeHistograms(StringBuilder out, String name, String help, String label,
+                                 Function<LearnerMetrics, Map<String, LatencyHistogram>> histograms) {
+        writeHeader(out, name, "histogram", help);
+        for (int i = 0; i < metrics.size(); i++) {
+            for (Map.Entry<String, LatencyHistogram> entry : histograms.apply(metrics.get(i)).entrySet()) {
+                Map<String, String> histogramLabels = new LinkedHashMap<>(labels.get(i));
+                if (label != null) {
+                    histogramLabels.put(label, entry.getKey());
+                }
+                writeHistogram(out, name, histogramLabels, entry.getValue());
+            }
+        }
+    }
+
+    private void writeHistogram(StringBuilder out, String name, Map<String, String> histogramLabels,
+                                LatencyHistogram histogram) {
+        long[] counts = histogram.getCumulativeCounts();
+        for (int i = 0; i < counts.length; i++) {
+            Map<String, String> bucketLabels = new LinkedHashMap<>(histogramLabels);
+            bucketLabels.put("le", i < LatencyHistogram.BUCKETS.length
+                    ? String.valueOf(LatencyHistogram.BUCKETS[i] / (double) TimeUnit.SECONDS.toMillis(1))
+                    : "+Inf");
+            writeSample(out, name + "_bucket", bucketLabels, counts[i]);
+        }
+        writeSample(out, name + "_sum", histogramLabels,
+                    histogram.getSumInNanos() / (double) TimeUnit.SECONDS.toNanos(1));
+        writeSample(out, name + "_count", histogramLabels, counts[counts.length - 1]);
+    }
+
+    private void writeHeader(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private void writeSample(StringBuilder out, String name, Map<String, String> sampleLabels, Number value) {
+        out.append(PREFIX).append(name);
+        if (!sampleLabels.isEmpty()) {
+            out.append('{');
+            sampleLabels.forEach((key, labelValue) -> out.append(key).append("=\"").append(escape(labelValue))
+                                                          .append("\","));
+            out.setCharAt(out.length() - 1, '}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static Map<String, LatencyHistogram> singleton(LatencyHistogram histogram) {
+        Map<String, LatencyHistogram> result = new LinkedHashMap<>();
+        result.put("", histogram);
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts events and calculates their rate per second over a sliding window of the last minute.
+ * The events are counted in one slot per second, which are reused once they have left the window.
+ */
+public class RateMeter {
+
+    /** The length of the window in seconds. */
+    static final int WINDOW = 60;
+
+    /** The clock in ns. */
+    private final LongSupplier clock;
+
+    /** The time the meter was created in ns. */
+    private final long startTime;
+
+    /** The amount of events per second of the window. Guarded by this. */
+    private final long[] slots;
+
+    /** The second since the start to which each slot belongs. Guarded by this. */
+    private final long[] slotSeconds;
+
+    /** The amount of all events. Guarded by this. */
+    private long total;
+
+    /**
+     * Default constructor.
+     */
+    public RateMeter() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param clock
+     *         The clock in ns.
+     */
+    RateMeter(LongSupplier clock) {
+        this.clock = clock;
+        this.startTime = clock.getAsLong();
+        this.slots = new long[WINDOW];
+        this.slotSeconds = new long[WINDOW];
+    }
+
+    /**
+     * Count one event.
+     */
+    public synchronized void mark() {
+        long second = currentSecond();
+        int slot = (int) (second % WINDOW);
+        if (slotSeconds[slot] != second) {
+            slotSeconds[slot] = second;
+            slots[slot] = 0;
+        }
+        slots[slot]++;
+        total++;
+    }
+
+    /** @return The amount of all events. */
+    public synchronized long getCount() {
+        return total;
+    }
+
+    /** @return The events per second in the last minute, or since the start if that was less than a minute ago. */
+    public synchronized double getRate() {
+        long second = currentSecond();
+
+        long count = 0;
+        for (int i = 0; i < WINDOW; i++) {
+            if (second - slotSeconds[i] < WINDOW) {
+                count += slots[i];
+            }
+        }
+
+        double elapsed = Math.min(WINDOW, (clock.getAsLong() - startTime) / (double) TimeUnit.SECONDS.toNanos(1));
+        return elapsed < 1 ? count : count / elapsed;
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(clock.getAsLong() - startTime);
+    }
+}
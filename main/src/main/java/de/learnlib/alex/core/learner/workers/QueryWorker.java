@@ -0,0 +1,192 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.workers;
+
+import de.learnlib.alex.core.dao.FileDAO;
+import de.learnlib.alex.core.dao.FileDAOImpl;
+import de.learnlib.alex.core.services.HttpClientService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A lightweight process that hosts connectors and executes the membership queries of learn processes.
+ *
+ * The worker does not need a database or the web application. It is started with
+ * {@code java -jar ALEX.war worker [port] [filesRootDir] [bindAddress]} and is used by all learn processes that list
+ * its address in the property 'alex.learner.workers'.
+ * As the symbols of a learn process can open any URL and execute scripts, the worker only listens on the loopback
+ * interface, unless another bind address is given, and only accepts learners that send the shared secret of the
+ * environment variable ALEX_WORKER_TOKEN (property 'alex.learner.workerToken' of the learner).
+ * Every connection of a learner is handled by its own {@link WorkerSession}.
+ */
+public class QueryWorker implements Closeable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The directory of the uploaded files, if none is given. */
+    private static final String DEFAULT_FILES_ROOT_DIR = "./target/files";
+
+    /** The address the worker listens on, if none is given. */
+    private static final String DEFAULT_BIND_ADDRESS = "127.0.0.1";
+
+    /** The maximal amount of pending connections. */
+    private static final int BACKLOG = 50;
+
+    /** How long to wait for the sessions to release their connectors on shutdown in seconds. */
+    private static final long SHUTDOWN_TIMEOUT = 30;
+
+    /** The socket the worker listens on. */
+    private final ServerSocket serverSocket;
+
+    /** The DAO for the uploaded files, which are used by the symbols. */
+    private final FileDAO fileDAO;
+
+    /** The service that provides the HTTP clients for the REST symbols. */
+    private final HttpClientService httpClientService;
+
+    /** The threads of the sessions. */
+    private final ExecutorService sessions;
+
+    /** The sockets of the open sessions. */
+    private final Set<Socket> sockets;
+
+    /** The shared secret the learners have to send. */
+    private final String token;
+
+    /**
+     * Constructor.
+     *
+     * @param bindAddress
+     *         The address of the interface to listen on, e.g. '127.0.0.1' for the loopback interface.
+     * @param port
+     *         The port to listen on, or 0 to use any free port.
+     * @param filesRootDir
+     *         The directory of the uploaded files.
+     * @param token
+     *         The shared secret the learners have to send.
+     * @throws IOException
+     *         If the worker can not listen on the port.
+     * @throws IllegalArgumentException
+     *         If the token is empty.
+     */
+    public QueryWorker(String bindAddress, int port, String filesRootDir, String token)
+            throws IOException, IllegalArgumentException {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("The query worker requires a token, set the environment variable "
+                                                       + WorkerProtocol.TOKEN_VARIABLE + ".");
+        }
+        this.token = token;
+        this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getByName(bindAddress));
+        this.fileDAO = new FileDAOImpl(filesRootDir);
+        this.httpClientService = new HttpClientService();
+        this.sessions = Executors.newCachedThreadPool();
+        this.sockets = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Accept connections from learners until the worker is closed.
+     */
+    public void run() {
+        LOGGER.info("The query worker listens on {}:{}.",
+                    serverSocket.getInetAddress().getHostAddress(), getPort());
+
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                sockets.add(socket);
+                sessions.execute(() -> {
+                    try {
+                        new WorkerSession(socket, fileDAO, httpClientService, token).run();
+                    } finally {
+                        sockets.remove(socket);
+                    }
+                });
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    LOGGER.warn("Could not accept a connection.", e);
+                }
+            }
+        }
+    }
+
+    /** @return The port the worker listens on. */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stop the worker. Open sessions are closed and release their connectors.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            LOGGER.warn("Could not close the server socket.", e);
+        }
+
+        sockets.forEach(socket -> {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // the session ends anyway
+            }
+        });
+
+        sessions.shutdown();
+        try {
+            if (!sessions.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                LOGGER.warn("The sessions of the query worker did not terminate in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        httpClientService.destroy();
+    }
+
+    /**
+     * Start a query worker.
+     *
+     * @param args
+     *         The port to listen on (default: 8100), the directory of the uploaded files (default:
+     *         './target/files') and the address of the interface to listen on (default: '127.0.0.1').
+     * @throws IOException
+     *         If the worker can not listen on the port.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : WorkerProtocol.DEFAULT_PORT;
+        String filesRootDir = args.length > 1 ? args[1] : DEFAULT_FILES_ROOT_DIR;
+        String bindAddress = args.length > 2 ? args[2] : DEFAULT_BIND_ADDRESS;
+
+        QueryWorker worker = new QueryWorker(bindAddress, port, filesRootDir,
+                                             System.getenv(WorkerProtocol.TOKEN_VARIABLE));
+        Runtime.getRuntime().addShutdownHook(new Thread(worker::close));
+        worker.run();
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.workers;
+
+import de.learnlib.alex.core.learner.QueryExecutor;
+import de.learnlib.alex.exceptions.LearnerException;
+import de.learnlib.api.MembershipOracle;
+import de.learnlib.api.Query;
+import net.automatalib.words.Word;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Oracle that lets remote query workers execute the membership queries instead of the connectors of this JVM.
+ *
+ * The URLs of the project are distributed among the workers, and every worker creates one context per URL, just as a
+ * learn process in this JVM does. The queries of a batch are taken from a shared queue in smaller batches, so that
+ * faster workers process more queries. If the connection to a worker fails, its queries are passed to the remaining
+ * workers. If a worker reports that it could not execute the queries, e.g. because the reset symbol failed, the
+ * worker is kept and the error is thrown once all workers have finished their current batch.
+ */
+@ParametersAreNonnullByDefault
+public class RemoteWorkerOracle implements MembershipOracle<String, Word<String>> {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The timeout for connecting to a worker in ms. */
+    private static final int CONNECT_TIMEOUT = 10000;
+
+    /** In how many batches the queries of a context are split, so that idle workers can take over queries. */
+    private static final int BATCHES_PER_CONTEXT = 4;
+
+    /** The addresses of the workers as 'host:port'. */
+    private final List<String> addresses;
+
+    /** The setup of the learn process, the URLs of which are distributed among the workers. */
+    private final WorkerSetup setup;
+
+    /** The executor that processes the batches of the workers in parallel. */
+    private final QueryExecutor executor;
+
+    /** The connections to the workers that are available. */
+    private final List<WorkerConnection> connections;
+
+    /** If the workers have already been connected. */
+    private boolean connected;
+
+    /** The amount of queries that have been answered by the workers. */
+    private final LongAdder resetCount;
+
+    /** The amount of symbols that have been executed by the workers. */
+    private final LongAdder symbolUsedCount;
+
+    /**
+     * Constructor.
+     * The workers are connected when the first queries are processed.
+     *
+     * @param addresses
+     *         The addresses of the workers as 'host:port'.
+     * @param setup
+     *         The setup of the learn process, including all URLs that should be used.
+     * @param executor
+     *         The executor that processes the batches. It must be able to process a batch for every URL in parallel.
+     */
+    public RemoteWorkerOracle(List<String> addresses, WorkerSetup setup, QueryExecutor executor) {
+        this.addresses = addresses;
+        this.setup = setup;
+        this.executor = executor;
+        this.connections = new CopyOnWriteArrayList<>();
+        this.resetCount = new LongAdder();
+        this.symbolUsedCount = new LongAdder();
+    }
+
+    @Override
+    public void processQueries(Collection<? extends Query<String, Word<String>>> queries) {
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        connect();
+
+        Queue<Query<String, Word<String>>> pendingQueries = new ConcurrentLinkedQueue<>(queries);
+        AtomicReference<LearnerException> error = new AtomicReference<>();
+        while (!pendingQueries.isEmpty() && error.get() == null) {
+            if (connections.isEmpty()) {
+                throw new LearnerException("All query workers have failed.");
+            }
+
+            int batchSize = getBatchSize(pendingQueries.size());
+            List<Runnable> workers = new ArrayList<>(connections.size());
+            for (WorkerConnection connection : connections) {
+                workers.add(() -> process(connection, pendingQueries, batchSize * connection.getParallelism(),
+                                          error));
+            }
+            executor.executeAll(workers); // blocks until the queue is empty, all workers have failed or one has erred
+        }
+
+        if (error.get() != null) {
+            throw error.get();
+        }
+    }
+
+    /**
+     * Let a worker process batches of the pending queries until there are no more queries or an error occurred.
+     * The worker never throws, so that all workers finish their current batch and the connections stay in sync.
+     */
+    private void process(WorkerConnection connection, Queue<Query<String, Word<String>>> pendingQueries,
+                         int batchSize, AtomicReference<LearnerException> error) {
+        List<Query<String, Word<String>>> batch = new ArrayList<>(batchSize);
+        while (error.get() == null) {
+            batch.clear();
+            for (int i = 0; i < batchSize; i++) {
+                Query<String, Word<String>> query = pendingQueries.poll();
+                if (query == null) {
+                    break;
+                }
+                batch.add(query);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<Word<String>> outputs;
+            try {
+                outputs = connection.process(batch);
+            } catch (IOException e) {
+                LOGGER.warn("The query worker {} has failed, its queries are passed to the other workers.",
+                            connection, e);
+                connections.remove(connection);
+                connection.close();
+                pendingQueries.addAll(batch);
+                return;
+            } catch (LearnerException e) {
+                // the worker is still working, it only could not execute the queries
+                error.compareAndSet(null, e);
+                return;
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                Query<String, Word<String>> query = batch.get(i);
+                query.answer(outputs.get(i));
+                resetCount.increment();
+                symbolUsedCount.add(query.getPrefix().length() + query.getSuffix().length());
+            }
+        }
+    }
+
+    private int getBatchSize(int queries) {
+        int contexts = 0;
+        for (WorkerConnection connection : connections) {
+            contexts += connection.getParallelism();
+        }
+        return Math.max(1, queries / Math.max(1, contexts * BATCHES_PER_CONTEXT));
+    }
+
+    /**
+     * Connect to the workers and distribute the URLs among them.
+     * Workers that can not be reached are skipped.
+     *
+     * @throws LearnerException
+     *         If none of the workers could be set up.
+     */
+    private synchronized void connect() throws LearnerException {
+        if (connected) {
+            return;
+        }
+
+        List<WorkerConnection> reachable = new ArrayList<>();
+        for (String address : addresses) {
+            try {
+                reachable.add(WorkerConnection.open(address, CONNECT_TIMEOUT));
+            } catch (IOException e) {
+                LOGGER.warn("Could not connect to the query worker {}.", address, e);
+            }
+        }
+
+        List<String> urls = setup.getUrls();
+        while (reachable.size() > urls.size()) {
+            WorkerConnection connection = reachable.remove(reachable.size() - 1);
+            LOGGER.warn("The query worker {} is not used, because there are only {} slots.", connection, urls.size());
+            connection.close();
+        }
+
+        for (int i = 0; i < reachable.size(); i++) {
+            List<String> workerUrls = new ArrayList<>();
+            for (int j = i; j < urls.size(); j += reachable.size()) {
+                workerUrls.add(urls.get(j));
+            }
+
+            WorkerConnection connection = reachable.get(i);
+            try {
+                connection.setup(setup.withUrls(workerUrls));
+                connections.add(connection);
+            } catch (IOException e) {
+                LOGGER.warn("Could not set up the query worker {}.", connection, e);
+                connection.close();
+            }
+        }
+
+        if (connections.isEmpty()) {
+            throw new LearnerException("None of the query workers " + addresses + " could be set up.");
+        }
+
+        connected = true;
+        LOGGER.info("Connected to the query workers {}.", connections);
+    }
+
+    /** @return The amount of queries that have been answered by the workers. */
+    public long getResetCount() {
+        return resetCount.sum();
+    }
+
+    /** @return The amount of symbols that have been executed by the workers. */
+    public long getSymbolUsedCount() {
+        return symbolUsedCount.sum();
+    }
+
+    /**
+     * Reset the counters of this oracle.
+     */
+    public void resetCounter() {
+        resetCount.reset();
+        symbolUsedCount.reset();
+    }
+
+    /**
+     * Close the connections to the workers, so that they release their connectors.
+     */
+    public synchronized void close() {
+        connections.forEach(WorkerConnection::close);
+        connections.clear();
+    }
+}
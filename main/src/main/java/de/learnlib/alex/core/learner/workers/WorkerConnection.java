@@ -0,0 +1,243 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.workers;
+
+import com.google.common.net.HostAndPort;
+import de.learnlib.alex.core.entities.Symbol;
+import de.learnlib.alex.exceptions.LearnerException;
+import de.learnlib.api.Query;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The connection of the learner to a single query worker.
+ * A connection processes one batch of queries at a time.
+ */
+final class WorkerConnection implements Closeable {
+
+    /** The address of the worker as 'host:port'. */
+    private final String address;
+
+    /** The socket to the worker. */
+    private final Socket socket;
+
+    /** The stream to read the answers of the worker from. */
+    private final DataInputStream in;
+
+    /** The stream to send the requests to the worker. */
+    private final DataOutputStream out;
+
+    /** The index of every symbol in the setup by its abbreviation. */
+    private final Map<String, Integer> symbolIndexes;
+
+    /** The amount of queries the worker executes in parallel. */
+    private int parallelism;
+
+    private WorkerConnection(String address, Socket socket) throws IOException {
+        this.address = address;
+        this.socket = socket;
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        this.symbolIndexes = new HashMap<>();
+    }
+
+    /**
+     * Connect to a worker.
+     *
+     * @param address
+     *         The address of the worker as 'host:port' or 'host', if the worker listens on the default port.
+     * @param timeout
+     *         The timeout for the connect in ms.
+     * @return The open connection.
+     * @throws IOException
+     *         If the worker could not be reached.
+     */
+    static WorkerConnection open(String address, int timeout) throws IOException {
+        HostAndPort hostAndPort;
+        try {
+            hostAndPort = HostAndPort.fromString(address).withDefaultPort(WorkerProtocol.DEFAULT_PORT);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("The address '" + address + "' of the query worker is invalid.", e);
+        }
+
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(hostAndPort.getHost(), hostAndPort.getPort()), timeout);
+            socket.setTcpNoDelay(true);
+            return new WorkerConnection(hostAndPort.toString(), socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Send the setup of the learn process to the worker and wait until the worker is ready.
+     *
+     * @param setup
+     *         The setup of the learn process for this worker.
+     * @throws IOException
+     *         If the worker could not be set up.
+     */
+    void setup(WorkerSetup setup) throws IOException {
+        List<Symbol> symbols = setup.getSymbols();
+        for (int i = 0; i < symbols.size(); i++) {
+            symbolIndexes.put(symbols.get(i).getAbbreviation(), i);
+        }
+
+        out.writeInt(WorkerProtocol.MAGIC);
+        out.writeInt(WorkerProtocol.VERSION);
+        out.writeByte(WorkerProtocol.SETUP);
+        out.writeUTF(setup.getToken() == null ? "" : setup.getToken());
+        WorkerProtocol.writeBytes(out, WorkerProtocol.OBJECT_MAPPER.writeValueAsBytes(setup));
+        out.flush();
+
+        byte type;
+        try {
+            type = in.readByte();
+        } catch (EOFException e) {
+            throw new IOException("The query worker " + address + " has closed the connection, "
+                                          + "check that the learner and the worker use the same token.", e);
+        }
+        if (type == WorkerProtocol.ERROR) {
+            throw new IOException("The query worker " + address + " could not be set up: " + in.readUTF());
+        } else if (type != WorkerProtocol.READY) {
+            throw new IOException("Unexpected message " + type + " from the query worker " + address + ".");
+        }
+        parallelism = in.readInt();
+    }
+
+    /**
+     * Let the worker execute a batch of queries.
+     *
+     * @param queries
+     *         The queries to execute.
+     * @return The outputs of the suffixes of the queries, in the same order as the queries.
+     * @throws IOException
+     *         If the connection to the worker failed.
+     * @throws LearnerException
+     *         If the worker could not execute the queries, e.g. because the reset symbol failed.
+     */
+    List<Word<String>> process(List<? extends Query<String, Word<String>>> queries)
+            throws IOException, LearnerException {
+        // map the symbols first, so that an unknown symbol does not leave an incomplete message on the stream
+        List<int[]> encodedQueries = new ArrayList<>(queries.size());
+        for (Query<String, Word<String>> query : queries) {
+            Word<String> prefix = query.getPrefix();
+            Word<String> suffix = query.getSuffix();
+            int[] symbols = new int[prefix.length() + suffix.length()];
+            for (int i = 0; i < prefix.length(); i++) {
+                symbols[i] = getSymbolIndex(prefix.getSymbol(i));
+            }
+            for (int i = 0; i < suffix.length(); i++) {
+                symbols[prefix.length() + i] = getSymbolIndex(suffix.getSymbol(i));
+            }
+            encodedQueries.add(symbols);
+        }
+
+        out.writeByte(WorkerProtocol.QUERIES);
+        out.writeInt(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            int[] symbols = encodedQueries.get(i);
+            out.writeInt(queries.get(i).getPrefix().length());
+            out.writeInt(symbols.length);
+            for (int symbol : symbols) {
+                out.writeInt(symbol);
+            }
+        }
+        out.flush();
+
+        byte type = in.readByte();
+        if (type == WorkerProtocol.ERROR) {
+            throw new LearnerException("The query worker " + address + " could not execute the queries: "
+                                               + in.readUTF());
+        } else if (type != WorkerProtocol.ANSWERS) {
+            throw new IOException("Unexpected message " + type + " from the query worker " + address + ".");
+        }
+
+        int size = in.readInt();
+        if (size != queries.size()) {
+            throw new IOException("The query worker " + address + " answered " + size + " of " + queries.size()
+                                          + " queries.");
+        }
+
+        List<Word<String>> outputs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int length = in.readInt();
+            WordBuilder<String> output = new WordBuilder<>(length);
+            for (int j = 0; j < length; j++) {
+                output.add(in.readUTF().intern());
+            }
+            outputs.add(output.toWord());
+        }
+        return outputs;
+    }
+
+    private int getSymbolIndex(String symbol) {
+        Integer index = symbolIndexes.get(symbol);
+        if (index == null) {
+            throw new LearnerException("The symbol '" + symbol + "' is not part of the setup of the query workers.");
+        }
+        return index;
+    }
+
+    /** @return {@link #parallelism}. */
+    int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Tell the worker that the learn process is finished and close the connection.
+     */
+    @Override
+    public void close() {
+        try {
+            if (!socket.isClosed()) {
+                out.writeByte(WorkerProtocol.CLOSE);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // the worker is gone anyway
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return address;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.workers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.learnlib.alex.JacksonConfiguration;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * The binary protocol between the learner and the query workers.
+ *
+ * After the learner has connected, it sends the magic number, the protocol version and a {@link #SETUP} message with
+ * the shared secret of the learner and the worker and the {@link WorkerSetup} as JSON. The worker closes the
+ * connection if the secret does not match, before it reads the setup. Otherwise it answers with {@link #READY} and
+ * the amount of queries it can execute in parallel. Afterwards the learner sends batches of queries
+ * ({@link #QUERIES}), which the worker answers in the same order ({@link #ANSWERS}), until the learner sends
+ * {@link #CLOSE}. If the worker can not execute a batch, it answers with {@link #ERROR} and a message and keeps the
+ * connection open.
+ *
+ * The symbols of a query are sent as their index in the list of symbols of the setup.
+ */
+final class WorkerProtocol {
+
+    /** The port a worker listens on, if no other port is given. */
+    static final int DEFAULT_PORT = 8100;
+
+    /** The magic number at the start of every connection, 'ALXW'. */
+    static final int MAGIC = 0x414c5857;
+
+    /** The version of the protocol. */
+    static final int VERSION = 2;
+
+    /** Message with the setup of a learn process. */
+    static final byte SETUP = 1;
+
+    /** Message that the worker is ready to execute queries. */
+    static final byte READY = 2;
+
+    /** Message with a batch of queries. */
+    static final byte QUERIES = 3;
+
+    /** Message with the outputs of a batch of queries. */
+    static final byte ANSWERS = 4;
+
+    /** Message that a request could not be processed. */
+    static final byte ERROR = 5;
+
+    /** Message that the learner closes the connection. */
+    static final byte CLOSE = 6;
+
+    /** The environment variable with the shared secret of the learner and the workers. */
+    static final String TOKEN_VARIABLE = "ALEX_WORKER_TOKEN";
+
+    /** The maximal size of a JSON document in bytes, to detect corrupted messages early. */
+    private static final int MAX_DOCUMENT_SIZE = 64 * 1024 * 1024;
+
+    /** The mapper for the setup, which is configured like the mapper of the REST API. */
+    static final ObjectMapper OBJECT_MAPPER = new JacksonConfiguration().getContext(WorkerSetup.class);
+
+    private WorkerProtocol() {
+        // utility class
+    }
+
+    /**
+     * Check if the secret sent by a learner matches the secret of the worker, in constant time.
+     *
+     * @param expected
+     *         The secret of the worker.
+     * @param actual
+     *         The secret sent by the learner.
+     * @return true if both secrets are equal; false otherwise.
+     */
+    static boolean isValidToken(String expected, String actual) {
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                                     actual.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write a byte array with its length.
+     *
+     * @param out
+     *         The output to write to.
+     * @param bytes
+     *         The bytes to write.
+     * @throws IOException
+     *         If the bytes could not be written.
+     */
+    static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read a byte array that has been written by {@link #writeBytes(DataOutput, byte[])}.
+     *
+     * @param in
+     *         The input to read from.
+     * @return The bytes.
+     * @throws IOException
+     *         If the bytes could not be read or their length is invalid.
+     */
+    static byte[] readBytes(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_DOCUMENT_SIZE) {
+            throw new IOException("Invalid length of a message: " + length + ".");
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
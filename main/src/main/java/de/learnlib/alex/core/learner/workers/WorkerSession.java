@@ -0,0 +1,314 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.workers;
+
+import de.learnlib.alex.core.dao.FileDAO;
+import de.learnlib.alex.core.entities.BrowserConfig;
+import de.learnlib.alex.core.entities.Counter;
+import de.learnlib.alex.core.entities.ExecuteResult;
+import de.learnlib.alex.core.entities.Project;
+import de.learnlib.alex.core.entities.Symbol;
+import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.core.learner.MultiSULOracle;
+import de.learnlib.alex.core.learner.QueryExecutor;
+import de.learnlib.alex.core.learner.SymbolMapper;
+import de.learnlib.alex.core.learner.connectors.Connector;
+import de.learnlib.alex.core.learner.connectors.ConnectorContextHandler;
+import de.learnlib.alex.core.learner.connectors.ConnectorContextHandlerFactory;
+import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.alex.core.learner.connectors.CounterStore;
+import de.learnlib.alex.core.learner.connectors.CounterStoreConnector;
+import de.learnlib.alex.core.learner.connectors.FileStoreConnector;
+import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
+import de.learnlib.alex.core.learner.connectors.WebServiceConnector;
+import de.learnlib.alex.core.learner.connectors.WebSiteConnector;
+import de.learnlib.alex.core.services.HttpClientService;
+import de.learnlib.api.SUL;
+import de.learnlib.mapper.ContextExecutableInputSUL;
+import de.learnlib.mapper.Mappers;
+import de.learnlib.mapper.api.ContextExecutableInput;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.ws.rs.client.Client;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The connection of a query worker to a learn process.
+ * A session creates the connectors for the URLs of its setup and executes the queries of the learner on them.
+ */
+class WorkerSession implements Runnable {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The socket to the learner. */
+    private final Socket socket;
+
+    /** The DAO for the uploaded files. */
+    private final FileDAO fileDAO;
+
+    /** The service that provides the HTTP clients for the REST symbols. */
+    private final HttpClientService httpClientService;
+
+    /** The shared secret the learner has to send. */
+    private final String token;
+
+    /** The symbols of the setup, the learner sends the symbols of the queries as index in this list. */
+    private List<Symbol> symbols;
+
+    /** The context handler with one context per URL. */
+    private ConnectorContextHandler context;
+
+    /** The executor that processes the queries of a batch in parallel. */
+    private QueryExecutor executor;
+
+    /** The oracle that executes the queries. */
+    private MultiSULOracle<String, String> oracle;
+
+    /**
+     * Constructor.
+     *
+     * @param socket
+     *         The socket to the learner.
+     * @param fileDAO
+     *         The DAO for the uploaded files.
+     * @param httpClientService
+     *         The service that provides the HTTP clients for the REST symbols.
+     * @param token
+     *         The shared secret the learner has to send.
+     */
+    WorkerSession(Socket socket, FileDAO fileDAO, HttpClientService httpClientService, String token) {
+        this.socket = socket;
+        this.fileDAO = fileDAO;
+        this.httpClientService = httpClientService;
+        this.token = token;
+    }
+
+    @Override
+    public void run() {
+        LOGGER.info("The learner {} has connected.", socket.getRemoteSocketAddress());
+
+        try {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            if (in.readInt() != WorkerProtocol.MAGIC || in.readInt() != WorkerProtocol.VERSION
+                    || in.readByte() != WorkerProtocol.SETUP) {
+                writeError(out, "Unsupported protocol, the learner and the worker must have the same version.");
+                return;
+            }
+
+            // nothing of an unauthenticated learner is parsed, the connection is just closed
+            if (!WorkerProtocol.isValidToken(token, in.readUTF())) {
+                LOGGER.warn("The learner {} has sent an invalid token.", socket.getRemoteSocketAddress());
+                return;
+            }
+
+            WorkerSetup setup = WorkerProtocol.OBJECT_MAPPER.readValue(WorkerProtocol.readBytes(in), WorkerSetup.class);
+            try {
+                open(setup);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not set up the worker.", e);
+                writeError(out, String.valueOf(e.getMessage()));
+                return;
+            }
+
+            out.writeByte(WorkerProtocol.READY);
+            out.writeInt(setup.getUrls().size());
+            out.flush();
+
+            for (byte type = in.readByte(); type != WorkerProtocol.CLOSE; type = in.readByte()) {
+                if (type != WorkerProtocol.QUERIES) {
+                    throw new IOException("Unexpected message " + type + " from the learner.");
+                }
+                processQueries(in, out);
+            }
+        } catch (EOFException e) {
+            LOGGER.info("The learner {} has closed the connection.", socket.getRemoteSocketAddress());
+        } catch (IOException e) {
+            LOGGER.warn("The connection to the learner {} failed.", socket.getRemoteSocketAddress(), e);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Create the connectors and the SUL of the setup.
+     *
+     * @param setup
+     *         The setup of the learn process.
+     */
+    private void open(WorkerSetup setup) {
+        if (setup.getUrls().isEmpty()) {
+            throw new IllegalArgumentException("The setup does not contain any URL.");
+        }
+
+        User user = new User(setup.getUserId());
+        Project project = new Project(setup.getProjectId());
+        symbols = setup.getSymbols();
+        symbols.forEach(symbol -> link(symbol, user, project));
+        link(setup.getResetSymbol(), user, project);
+
+        List<Counter> counters = new ArrayList<>();
+        setup.getCounters().forEach((name, value) -> {
+            Counter counter = new Counter();
+            counter.setName(name);
+            counter.setValue(value);
+            counters.add(counter);
+        });
+
+        List<Symbol> allSymbols = new ArrayList<>(symbols);
+        allSymbols.add(setup.getResetSymbol());
+        Set<Class<? extends Connector>> requiredConnectors =
+                ConnectorContextHandlerFactory.getRequiredConnectors(allSymbols);
+        boolean useWebSite = requiredConnectors.contains(WebSiteConnector.class);
+        boolean useWebService = requiredConnectors.contains(WebServiceConnector.class);
+
+        context = new ConnectorContextHandler();
+        context.setResetSymbol(SymbolMapper.compile(setup.getResetSymbol()));
+        Client httpClient = null;
+        if (useWebService) {
+            httpClient = httpClientService.getClient(setup.getHttpClient());
+            context.addShutdownHook(() -> httpClientService.releaseClient(setup.getHttpClient()));
+        }
+        // the learner does not use workers for symbols that change counters, so the values are only read here
+        CounterStore counterStore = new CounterStore(null, user, project, counters, 0);
+        for (String url : setup.getUrls()) {
+            ConnectorManager connectorManager = new ConnectorManager();
+            if (useWebSite) {
+                connectorManager.addConnector(new WebSiteConnector(url, setup.getBrowser()));
+            }
+            if (useWebService) {
+                connectorManager.addConnector(new WebServiceConnector(httpClient, url));
+            }
+            connectorManager.addConnector(new CounterStoreConnector(counterStore));
+            connectorManager.addConnector(new VariableStoreConnector());
+            connectorManager.addConnector(new FileStoreConnector(fileDAO));
+            context.addConnectorManager(connectorManager);
+        }
+        if (useWebSite && setup.getBrowser().getDriverMode() == BrowserConfig.DriverMode.POOLED) {
+            context.start();
+        }
+
+        SymbolMapper symbolMapper = new SymbolMapper(symbols.toArray(new Symbol[symbols.size()]));
+        SUL<String, String> sul = Mappers.apply(symbolMapper, new ContextExecutableInputSUL<
+                ContextExecutableInput<ExecuteResult, ConnectorManager>, ExecuteResult, ConnectorManager>(context));
+        executor = new QueryExecutor(setup.getUrls().size());
+        oracle = new MultiSULOracle<>(sul, executor);
+
+        LOGGER.info("Set up the worker for the project {} of the user {} with the URLs {}.",
+                    setup.getProjectId(), setup.getUserId(), setup.getUrls());
+    }
+
+    /**
+     * The user and the project of symbols are not part of their JSON, but they are needed by the actions.
+     */
+    private void link(Symbol symbol, User user, Project project) {
+        symbol.setUser(user);
+        symbol.setProject(project);
+        for (SymbolAction action : symbol.getActions()) {
+            action.setUser(user);
+            action.setProject(project);
+            action.setSymbol(symbol);
+        }
+    }
+
+    private void processQueries(DataInputStream in, DataOutputStream out) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            throw new IOException("Invalid amount of queries: " + size + ".");
+        }
+
+        List<DefaultQuery<String, Word<String>>> queries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int prefixLength = in.readInt();
+            int length = in.readInt();
+            if (prefixLength < 0 || length < prefixLength) {
+                throw new IOException("Invalid length of a query: " + prefixLength + ", " + length + ".");
+            }
+
+            WordBuilder<String> input = new WordBuilder<>(length);
+            for (int j = 0; j < length; j++) {
+                int index = in.readInt();
+                if (index < 0 || index >= symbols.size()) {
+                    throw new IOException("Unknown symbol " + index + ".");
+                }
+                input.add(symbols.get(index).getAbbreviation());
+            }
+
+            Word<String> word = input.toWord();
+            queries.add(new DefaultQuery<>(word.prefix(prefixLength), word.subWord(prefixLength)));
+        }
+
+        try {
+            oracle.processQueries(queries);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not execute the queries.", e);
+            writeError(out, String.valueOf(e.getMessage()));
+            return;
+        }
+
+        out.writeByte(WorkerProtocol.ANSWERS);
+        out.writeInt(queries.size());
+        for (DefaultQuery<String, Word<String>> query : queries) {
+            Word<String> output = query.getOutput();
+            out.writeInt(output.length());
+            for (String symbolOutput : output) {
+                out.writeUTF(symbolOutput);
+            }
+        }
+        out.flush();
+    }
+
+    private void writeError(DataOutputStream out, String message) throws IOException {
+        out.writeByte(WorkerProtocol.ERROR);
+        out.writeUTF(message);
+        out.flush();
+    }
+
+    /**
+     * Close the connection and release the connectors, e.g. quit the browsers.
+     */
+    private void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        if (context != null) {
+            context.shutdown();
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // nothing to do
+        }
+    }
+}
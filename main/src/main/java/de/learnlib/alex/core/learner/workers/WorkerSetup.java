@@ -0,0 +1,185 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.workers;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import de.learnlib.alex.core.entities.BrowserConfig;
+import de.learnlib.alex.core.entities.HttpClientConfig;
+import de.learnlib.alex.core.entities.Symbol;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything a query worker needs to execute the membership queries of a learn process.
+ * The setup is sent to the workers as JSON.
+ */
+@JsonPropertyOrder(alphabetic = true)
+public class WorkerSetup {
+
+    /** The id of the user that executes the learn process. */
+    private Long userId;
+
+    /** The id of the project of the learn process. */
+    private Long projectId;
+
+    /** The base URLs of the SUL, the worker creates one context for every entry, i.e. for every slot of a URL. */
+    private List<String> urls;
+
+    /** The browser to use for the frontend learning. */
+    private BrowserConfig browser;
+
+    /** The configuration of the HTTP client for the REST symbols. */
+    private HttpClientConfig httpClient;
+
+    /** The values of the counters of the project by their name. */
+    private Map<String, Integer> counters;
+
+    /** The symbol used to reset the SUL. */
+    private Symbol resetSymbol;
+
+    /** The symbols of the alphabet, the symbols of a query are sent as their index in this list. */
+    private List<Symbol> symbols;
+
+    /** The shared secret of the learner and the workers. It is sent before the setup and is not part of the JSON. */
+    @JsonIgnore
+    private String token;
+
+    /** Constructor. */
+    public WorkerSetup() {
+        this.urls = new ArrayList<>();
+        this.counters = new HashMap<>();
+        this.symbols = new ArrayList<>();
+    }
+
+    /**
+     * Create a copy of the setup for a worker that should only use some of the URLs.
+     *
+     * @param workerUrls
+     *         The URLs the worker should use.
+     * @return The setup for the worker.
+     */
+    WorkerSetup withUrls(List<String> workerUrls) {
+        WorkerSetup setup = new WorkerSetup();
+        setup.userId = userId;
+        setup.projectId = projectId;
+        setup.urls = workerUrls;
+        setup.token = token;
+        setup.browser = browser;
+        setup.httpClient = httpClient;
+        setup.counters = counters;
+        setup.resetSymbol = resetSymbol;
+        setup.symbols = symbols;
+        return setup;
+    }
+
+    /** @return {@link #userId}. */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /** @param userId {@link #userId} */
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    /** @return {@link #projectId}. */
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    /** @param projectId {@link #projectId} */
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    /** @return {@link #urls}. */
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    /** @param urls {@link #urls} */
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    /** @return {@link #browser}. */
+    public BrowserConfig getBrowser() {
+        return browser;
+    }
+
+    /** @param browser {@link #browser} */
+    public void setBrowser(BrowserConfig browser) {
+        this.browser = browser;
+    }
+
+    /** @return {@link #httpClient}. */
+    public HttpClientConfig getHttpClient() {
+        return httpClient;
+    }
+
+    /** @param httpClient {@link #httpClient} */
+    public void setHttpClient(HttpClientConfig httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /** @return {@link #counters}. */
+    public Map<String, Integer> getCounters() {
+        return counters;
+    }
+
+    /** @param counters {@link #counters} */
+    public void setCounters(Map<String, Integer> counters) {
+        this.counters = counters;
+    }
+
+    /** @return {@link #resetSymbol}. */
+    public Symbol getResetSymbol() {
+        return resetSymbol;
+    }
+
+    /** @param resetSymbol {@link #resetSymbol} */
+    public void setResetSymbol(Symbol resetSymbol) {
+        this.resetSymbol = resetSymbol;
+    }
+
+    /** @return {@link #symbols}. */
+    public List<Symbol> getSymbols() {
+        return symbols;
+    }
+
+    /** @param symbols {@link #symbols} */
+    public void setSymbols(List<Symbol> symbols) {
+        this.symbols = symbols;
+    }
+
+    /** @return {@link #token}. */
+    @JsonIgnore
+    public String getToken() {
+        return token;
+    }
+
+    /** @param token {@link #token} */
+    @JsonIgnore
+    public void setToken(String token) {
+        this.token = token;
+    }
+}
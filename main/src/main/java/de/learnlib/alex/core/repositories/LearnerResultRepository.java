@@ -18,6 +18,7 @@ package de.learnlib.alex.core.repositories;
 
 import de.learnlib.alex.core.entities.LearnerResult;
 import de.learnlib.alex.core.entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -44,6 +45,34 @@ public interface LearnerResultRepository extends JpaRepository<LearnerResult, Lo
     @SuppressWarnings("checkstyle:methodname")
     List<LearnerResult> findByUser_IdAndProject_IdOrderByTestNoAsc(Long userId, Long projectId);
 
+    /**
+     * Find one page of the LearnerResults in a Project.
+     *
+     * @param userId
+     *         The ID the User the LearnerResults belong to.
+     * @param projectId
+     *         The ID the Project the LearnerResults belong to.
+     * @param pageable
+     *         The page to fetch.
+     * @return The LearnerResults of the page.
+     */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("checkstyle:methodname")
+    List<LearnerResult> findByUser_IdAndProject_IdOrderByTestNoAsc(Long userId, Long projectId, Pageable pageable);
+
+    /**
+     * Count the LearnerResults in a Project.
+     *
+     * @param userId
+     *         The ID the User the LearnerResults belong to.
+     * @param projectId
+     *         The ID the Project the LearnerResults belong to.
+     * @return The amount of LearnerResults.
+     */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("checkstyle:methodname")
+    long countByUser_IdAndProject_Id(Long userId, Long projectId);
+
     /**
      * Find all LearnerResults by their test no in a Project.
      *
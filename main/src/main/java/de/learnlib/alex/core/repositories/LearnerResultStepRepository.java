@@ -17,12 +17,91 @@
 package de.learnlib.alex.core.repositories;
 
 import de.learnlib.alex.core.entities.LearnerResultStep;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 /**
  * Repository to persist LearnerResultSteps.
  */
 @Repository
 public interface LearnerResultStepRepository extends JpaRepository<LearnerResultStep, Long> {
+
+    /**
+     * Find one page of the complete steps of a LearnerResult.
+     *
+     * @param resultId
+     *         The ID of the LearnerResult in the DB.
+     * @param pageable
+     *         The page to fetch.
+     * @return The steps of the page.
+     */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("checkstyle:methodname")
+    List<LearnerResultStep> findByResult_IdOrderByStepNoAsc(Long resultId, Pageable pageable);
+
+    /**
+     * Find one page of the steps of a LearnerResult without loading the hypotheses and the algorithm information.
+     *
+     * @param resultId
+     *         The ID of the LearnerResult in the DB.
+     * @param pageable
+     *         The page to fetch.
+     * @return The steps of the page.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT NEW de.learnlib.alex.core.entities.LearnerResultStep(s.id, s.stepNo, s.eqOracle, s.stepsToLearn, "
+                   + "s.statistics, s.counterExample, s.errorText) "
+                   + "FROM LearnerResultStep s WHERE s.result.id = ?1 ORDER BY s.stepNo ASC")
+    List<LearnerResultStep> findSummariesByResultId(Long resultId, Pageable pageable);
+
+    /**
+     * Find one page of the steps of a LearnerResult with their hypotheses, but without the algorithm information.
+     *
+     * @param resultId
+     *         The ID of the LearnerResult in the DB.
+     * @param pageable
+     *         The page to fetch.
+     * @return The steps of the page.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT NEW de.learnlib.alex.core.entities.LearnerResultStep(s.id, s.stepNo, s.eqOracle, s.stepsToLearn, "
+                   + "s.statistics, s.counterExample, s.errorText, s.hypothesis) "
+                   + "FROM LearnerResultStep s WHERE s.result.id = ?1 ORDER BY s.stepNo ASC")
+    List<LearnerResultStep> findSummariesWithHypothesisByResultId(Long resultId, Pageable pageable);
+
+    /**
+     * Find a range of steps of a LearnerResult with their hypotheses, but without the algorithm information.
+     *
+     * @param resultId
+     *         The ID of the LearnerResult in the DB.
+     * @param fromStepNo
+     *         The step no. of the first step (inclusive).
+     * @param toStepNo
+     *         The step no. of the last step (inclusive).
+     * @return The steps of the range.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT NEW de.learnlib.alex.core.entities.LearnerResultStep(s.id, s.stepNo, s.eqOracle, s.stepsToLearn, "
+                   + "s.statistics, s.counterExample, s.errorText, s.hypothesis) "
+                   + "FROM LearnerResultStep s WHERE s.result.id = ?1 AND s.stepNo BETWEEN ?2 AND ?3 "
+                   + "ORDER BY s.stepNo ASC")
+    List<LearnerResultStep> findSummariesWithHypothesisByResultIdAndStepNos(Long resultId, Long fromStepNo,
+                                                                             Long toStepNo);
+
+    /**
+     * Count the steps of a LearnerResult.
+     *
+     * @param resultId
+     *         The ID of the LearnerResult in the DB.
+     * @return The amount of steps.
+     */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("checkstyle:methodname")
+    long countByResult_Id(Long resultId);
+
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.services;
+
+import de.learnlib.alex.core.entities.LearnerResult;
+import de.learnlib.alex.core.learner.cache.PersistentCacheOracle;
+import de.learnlib.alex.core.learner.checkpoint.CheckpointStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A Service to manage the checkpoints of the learn processes, which are used to restore the learner on a resume.
+ *
+ * There is one checkpoint file for every learner result.
+ */
+@Service
+public class CheckpointService {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The name of the directory for the checkpoints, relative to the files root directory. */
+    private static final String CHECKPOINT_DIRECTORY = "checkpoints";
+
+    /**
+     * The path of the files root directory as String.
+     * This will be injected by Spring and is configured in the applications.properties file.
+     */
+    @Value("${alex.filesRootDir}")
+    private String filesRootDir;
+
+    /**
+     * Get the checkpoint of a learn process.
+     * The checkpoint must be restored or cleared before steps can be appended.
+     *
+     * @param result
+     *         The result of the learn process, including the algorithm and the symbols.
+     * @return The checkpoint of the learn process.
+     */
+    public CheckpointStore open(LearnerResult result) {
+        Map<String, Long> fingerprints = new HashMap<>();
+        result.getSymbols().forEach(s -> fingerprints.put(s.getAbbreviation(), PersistentCacheOracle.fingerprint(s)));
+
+        return new CheckpointStore(getPath(result.getUserId(), result.getProjectId(), result.getTestNo()),
+                                   result.getAlgorithm().getName(), fingerprints);
+    }
+
+    /**
+     * Delete the checkpoints of learner results, e.g. because the results have been deleted.
+     *
+     * @param userId
+     *         The id of the user the results belong to.
+     * @param projectId
+     *         The id of the project the results belong to.
+     * @param testNos
+     *         The test numbers of the results.
+     */
+    public void delete(Long userId, Long projectId, Long... testNos) {
+        for (Long testNo : testNos) {
+            Path path = getPath(userId, projectId, testNo);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete the checkpoint '{}'.", path, e);
+            }
+        }
+    }
+
+    private Path getPath(Long userId, Long projectId, Long testNo) {
+        return Paths.get(filesRootDir, CHECKPOINT_DIRECTORY, String.valueOf(userId), String.valueOf(projectId),
+                         testNo + CheckpointStore.FILE_EXTENSION);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.services;
+
+import de.learnlib.alex.core.entities.HttpClientConfig;
+import de.learnlib.alex.core.learner.metrics.ConnectionStatistics;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A Service to manage the pooled HTTP clients that are used for the REST symbols.
+ *
+ * There is one client for every {@link HttpClientConfig}, so that all connectors and learn processes with the same
+ * configuration share the kept-alive connections to the SUL instead of opening a new connection for every request.
+ * The clients do not manage cookies on their own, as the cookies are handled by the REST actions.
+ * Every user of a client has to release it when it is done, so that the pool of a configuration that is no longer
+ * used is closed instead of keeping its connections open until the application shuts down.
+ */
+@Service
+public class HttpClientService {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The created clients by their configuration. */
+    private final Map<HttpClientConfig, PooledClient> clients;
+
+    /**
+     * Default constructor.
+     */
+    public HttpClientService() {
+        this.clients = new HashMap<>();
+    }
+
+    /**
+     * Get the client for a configuration. The client is shared and must not be closed by the caller, instead the
+     * caller has to call {@link #releaseClient(HttpClientConfig)} once it does not use the client anymore.
+     *
+     * @param config
+     *         The configuration of the client.
+     * @return The client for the configuration.
+     */
+    public synchronized Client getClient(HttpClientConfig config) {
+        PooledClient pooledClient = getPooledClient(config);
+        pooledClient.users++;
+        return pooledClient.client;
+    }
+
+    /**
+     * Release the client for a configuration. If it was the last user of the client, the client and its connections
+     * are closed.
+     *
+     * @param config
+     *         The configuration of the client.
+     */
+    public synchronized void releaseClient(HttpClientConfig config) {
+        PooledClient pooledClient = clients.get(config);
+        if (pooledClient == null) {
+            return;
+        }
+
+        pooledClient.users--;
+        if (pooledClient.users <= 0) {
+            clients.remove(config);
+            pooledClient.close();
+        }
+    }
+
+    /**
+     * Get the connection statistics of the client for a configuration.
+     *
+     * @param config
+     *         The configuration of the client.
+     * @return The statistics of the client for the configuration.
+     */
+    public ConnectionStatistics getStatistics(HttpClientConfig config) {
+        return getPooledClient(config).connectionManager.getStatistics();
+    }
+
+    /**
+     * Close all clients and their connections, e.g. when the application shuts down.
+     */
+    @PreDestroy
+    public synchronized void destroy() {
+        clients.values().forEach(PooledClient::close);
+        clients.clear();
+    }
+
+    private synchronized PooledClient getPooledClient(HttpClientConfig config) {
+        return clients.computeIfAbsent(copy(config), PooledClient::new);
+    }
+
+    /**
+     * Copy a configuration, so that the key of a client does not change if the configuration of a project does.
+     *
+     * @param config
+     *         The configuration to copy.
+     * @return The copy.
+     */
+    private static HttpClientConfig copy(HttpClientConfig config) {
+        HttpClientConfig copy = new HttpClientConfig();
+        copy.setMaxConnections(config.getMaxConnections());
+        copy.setMaxConnectionsPerHost(config.getMaxConnectionsPerHost());
+        copy.setConnectTimeout(config.getConnectTimeout());
+        copy.setReadTimeout(config.getReadTimeout());
+        return copy;
+    }
+
+    /**
+     * A client together with the pool of its connections.
+     */
+    private static final class PooledClient {
+
+        /** The pool of the connections. */
+        private final CountingConnectionManager connectionManager;
+
+        /** The client that uses the pool. */
+        private final Client client;
+
+        /** The number of users that got the client and have not released it yet. */
+        private int users;
+
+        /**
+         * Constructor.
+         *
+         * @param config
+         *         The configuration of the client.
+         */
+        private PooledClient(HttpClientConfig config) {
+            LOGGER.info("Create a pooled HTTP client with {}.", config);
+
+            this.connectionManager = new CountingConnectionManager();
+            this.connectionManager.setMaxTotal(config.getMaxConnections());
+            this.connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerHost());
+
+            ClientConfig clientConfig = new ClientConfig()
+                    .connectorProvider(new ApacheConnectorProvider())
+                    .property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager)
+                    .property(ApacheClientProperties.DISABLE_COOKIES, true)
+                    .property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED)
+                    .property(ClientProperties.CONNECT_TIMEOUT, config.getConnectTimeout())
+                    .property(ClientProperties.READ_TIMEOUT, config.getReadTimeout());
+            this.client = ClientBuilder.newClient(clientConfig);
+        }
+
+        /**
+         * Close the client and its connections.
+         */
+        private void close() {
+            LOGGER.info("Close the pooled HTTP client.");
+            client.close();
+            connectionManager.shutdown();
+        }
+    }
+
+    /**
+     * A connection pool that counts how many connections are leased and how many of them had to be opened.
+     */
+    static class CountingConnectionManager extends PoolingHttpClientConnectionManager {
+
+        /** The statistics of the pool. */
+        private final ConnectionStatistics statistics;
+
+        /**
+         * Default constructor.
+         */
+        CountingConnectionManager() {
+            this.statistics = new ConnectionStatistics();
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            statistics.recordLease();
+            return super.requestConnection(route, state);
+        }
+
+        @Override
+        public void connect(HttpClientConnection managedConn, HttpRoute route, int connectTimeout,
+                            HttpContext context) throws IOException {
+            statistics.recordOpen();
+            super.connect(managedConn, route, connectTimeout, context);
+        }
+
+        /** @return {@link #statistics}. */
+        ConnectionStatistics getStatistics() {
+            return statistics;
+        }
+    }
+}
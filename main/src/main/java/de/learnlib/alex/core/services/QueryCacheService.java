@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.services;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import de.learnlib.alex.core.entities.LearnerResult;
+import de.learnlib.alex.core.learner.cache.PersistentCacheOracle;
+import de.learnlib.alex.core.learner.cache.PersistentQueryCache;
+import de.learnlib.alex.exceptions.LearnerException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A Service to manage the persistent membership query caches.
+ *
+ * There is one cache for every combination of user, project, reset symbol and connector configuration,
+ * so that all learn processes with the same setup share their query answers.
+ */
+@Service
+public class QueryCacheService {
+
+    /** The name of the directory for the caches, relative to the files root directory. */
+    private static final String CACHE_DIRECTORY = "cache";
+
+    /**
+     * The path of the files root directory as String.
+     * This will be injected by Spring and is configured in the applications.properties file.
+     */
+    @Value("${alex.filesRootDir}")
+    private String filesRootDir;
+
+    /** The currently opened caches by their name. */
+    private final Map<String, PersistentQueryCache> openCaches;
+
+    /**
+     * Default constructor.
+     */
+    public QueryCacheService() {
+        this.openCaches = new HashMap<>();
+    }
+
+    /**
+     * Open the cache that fits the setup of a learn process.
+     * The cache must be closed by the caller if it is no longer needed.
+     *
+     * @param result
+     *         The result of the learn process, including the reset symbol and the connector configuration.
+     * @return The opened cache.
+     * @throws LearnerException
+     *         If the cache could not be opened.
+     */
+    public synchronized PersistentQueryCache open(LearnerResult result) throws LearnerException {
+        String name = getCacheName(result);
+
+        PersistentQueryCache cache = openCaches.get(name);
+        if (cache != null && cache.acquire()) {
+            return cache;
+        }
+
+        try {
+            cache = new PersistentQueryCache(getCacheDirectory(), name);
+            openCaches.put(name, cache);
+            return cache;
+        } catch (IOException e) {
+            throw new LearnerException("Could not open the persistent query cache.", e);
+        }
+    }
+
+    /**
+     * Close all caches, e.g. when the application shuts down.
+     */
+    @PreDestroy
+    public synchronized void destroy() {
+        openCaches.values().forEach(cache -> {
+            while (cache.isOpen()) {
+                cache.close();
+            }
+        });
+        openCaches.clear();
+    }
+
+    private Path getCacheDirectory() {
+        return Paths.get(filesRootDir, CACHE_DIRECTORY);
+    }
+
+    /**
+     * Calculate the name of the cache for a learn process.
+     * The symbols of the alphabet are not part of the name, as the cache stores the fingerprint of every symbol.
+     *
+     * @param result
+     *         The result of the learn process.
+     * @return The name of the cache.
+     */
+    static String getCacheName(LearnerResult result) {
+        Hasher hasher = Hashing.murmur3_128().newHasher()
+                .putLong(result.getUserId())
+                .putLong(result.getProjectId())
+                .putString(String.valueOf(result.getProject().getBaseUrl()), StandardCharsets.UTF_8)
+                .putString(String.valueOf(result.getBrowser().getDriver()), StandardCharsets.UTF_8)
+                .putLong(PersistentCacheOracle.fingerprint(result.getResetSymbol()));
+
+        return "mq-" + result.getUserId() + "-" + result.getProjectId() + "-" + hasher.hash().toString();
+    }
+}
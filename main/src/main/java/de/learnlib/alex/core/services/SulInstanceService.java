@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.services;
+
+import de.learnlib.alex.core.entities.Project;
+import de.learnlib.alex.core.learner.instances.SulInstanceListener;
+import de.learnlib.alex.core.learner.instances.SulInstanceManager;
+import de.learnlib.alex.exceptions.LearnerException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Service to manage the local instances of the system under learning.
+ *
+ * If a command and ports are configured, the learn processes of the matching projects do not use the base URL and
+ * the mirrors of the project, but instances of the SUL that ALEX starts itself, one for every port. The instances
+ * are started with the first learn process that uses them and run until ALEX is shut down, so that they are reused
+ * by all following learn processes.
+ */
+@Service
+public class SulInstanceService {
+
+    /** The name of the directory for the output of the instances, relative to the files root directory. */
+    private static final String LOG_DIRECTORY = "instances";
+
+    /**
+     * The command to start an instance, '{port}' is replaced by the port of the instance.
+     * This will be injected by Spring and is configured in the applications.properties file.
+     */
+    @Value("${alex.learner.instances.command:}")
+    private String command;
+
+    /** The ports of the instances as comma separated ports or port ranges, e.g. '9000-9007'. */
+    @Value("${alex.learner.instances.ports:}")
+    private String ports;
+
+    /** The base URL of an instance, '{port}' is replaced by the port of the instance. */
+    @Value("${alex.learner.instances.url:http://localhost:{port}}")
+    private String url;
+
+    /** The path relative to the base URL of an instance that is requested to check if the instance is healthy. */
+    @Value("${alex.learner.instances.healthCheckPath:/}")
+    private String healthCheckPath;
+
+    /** The base URL of the projects that should use the instances, empty if all projects should use them. */
+    @Value("${alex.learner.instances.baseUrl:}")
+    private String baseUrl;
+
+    /** The time in seconds an instance may need until it is healthy after it has been started. */
+    @Value("${alex.learner.instances.startupTimeout:60}")
+    private long startupTimeout;
+
+    /** The time in seconds between two health checks of the instances. */
+    @Value("${alex.learner.instances.healthCheckInterval:10}")
+    private long healthCheckInterval;
+
+    /**
+     * The path of the files root directory as String.
+     * This will be injected by Spring and is configured in the applications.properties file.
+     */
+    @Value("${alex.filesRootDir}")
+    private String filesRootDir;
+
+    /** The manager of the instances, or null if the instances have not been started yet. */
+    private SulInstanceManager manager;
+
+    /**
+     * Check if the learn processes of a project should use the local instances.
+     *
+     * @param project
+     *         The project.
+     * @return True, if instances are configured and the project should use them.
+     */
+    public boolean isUsedBy(Project project) {
+        return !isBlank(command) && !isBlank(ports) && (isBlank(baseUrl) || baseUrl.equals(project.getBaseUrl()));
+    }
+
+    /**
+     * Get the base URLs of the instances. The instances are started if they are not running yet.
+     *
+     * @return The base URLs of the healthy instances.
+     * @throws LearnerException
+     *         If the instances are not configured correctly or could not be started.
+     */
+    public synchronized List<String> getUrls() throws LearnerException {
+        if (manager == null) {
+            try {
+                manager = new SulInstanceManager(command, ports, url, healthCheckPath,
+                                                 Paths.get(filesRootDir, LOG_DIRECTORY),
+                                                 TimeUnit.SECONDS.toMillis(startupTimeout),
+                                                 TimeUnit.SECONDS.toMillis(healthCheckInterval));
+            } catch (IllegalArgumentException e) {
+                throw new LearnerException("The instances of the SUL are not configured correctly.", e);
+            }
+        }
+
+        manager.start();
+        return manager.getUrls();
+    }
+
+    /**
+     * Add a listener that should be notified when an instance is restarted, e.g. the context handler of a learn
+     * process that uses the instances.
+     *
+     * @param listener
+     *         The listener.
+     */
+    public synchronized void addListener(SulInstanceListener listener) {
+        if (manager != null) {
+            manager.addListener(listener);
+        }
+    }
+
+    /**
+     * Remove a listener, e.g. because its learn process has finished.
+     *
+     * @param listener
+     *         The listener.
+     */
+    public synchronized void removeListener(SulInstanceListener listener) {
+        if (manager != null) {
+            manager.removeListener(listener);
+        }
+    }
+
+    /**
+     * Stop all instances, e.g. when the application shuts down.
+     */
+    @PreDestroy
+    public synchronized void destroy() {
+        if (manager != null) {
+            manager.close();
+            manager = null;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
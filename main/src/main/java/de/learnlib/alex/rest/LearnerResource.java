@@ -30,6 +30,8 @@ import de.learnlib.alex.core.entities.SymbolSet;
 import de.learnlib.alex.core.entities.User;
 import de.learnlib.alex.core.entities.learnlibproxies.CompactMealyMachineProxy;
 import de.learnlib.alex.core.learner.Learner;
+import de.learnlib.alex.core.learner.metrics.LearnerMetrics;
+import de.learnlib.alex.core.learner.metrics.PrometheusWriter;
 import de.learnlib.alex.core.repositories.LearnerResultRepository;
 import de.learnlib.alex.core.repositories.LearnerResultStepRepository;
 import de.learnlib.alex.exceptions.LearnerException;
@@ -207,7 +209,9 @@ public class LearnerResource {
                         .forEach(learnerResultStepRepository::delete);
                 learnerResultStepRepository.flush();
                 result = learnerResultDAO.get(user.getId(), projectId, testNo, true);
-                result.setHypothesis(result.getSteps().get(result.getSteps().size() - 1).getHypothesis());
+                CompactMealyMachineProxy hypothesis = result.getSteps().get(result.getSteps().size() - 1)
+                                                            .getHypothesis();
+                result.setHypothesis(hypothesis == null ? null : new CompactMealyMachineProxy(hypothesis));
                 result.getStatistics().setEqsUsed(result.getSteps().size());
                 learnerResultRepository.saveAndFlush(result);
             }
@@ -276,6 +280,121 @@ public class LearnerResource {
         return Response.ok(status).build();
     }
 
+    /**
+     * Stop the learning in a project after the current step.
+     * If the learn process is still queued, it will not be started at all.
+     * This will always return OK, even if there is nothing to stop.
+     *
+     * @param projectId The project in which the learning should be stopped.
+     * @return The status of the learn process in the project.
+     * @successResponse 200 OK
+     * @responseType de.learnlib.alex.core.entities.LearnerStatus
+     */
+    @GET
+    @Path("/stop/{project_id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response stop(@PathParam("project_id") long projectId) {
+        User user = ((UserPrincipal) securityContext.getUserPrincipal()).getUser();
+        LOGGER.traceEntry("stop({}) for user {}.", projectId, user);
+
+        if (learner.isActive(user, projectId)) {
+            learner.stop(user, projectId);
+        } else {
+            LOGGER.info(RESOURCE_MARKER, "tried to stop the learning again.");
+        }
+        LearnerStatus status = learner.getStatus(user, projectId);
+
+        LOGGER.traceExit(status);
+        return Response.ok(status).build();
+    }
+
+    /**
+     * Is the learner active in a project?
+     *
+     * @param projectId The project to check.
+     * @return The status of the learn process in the project.
+     * @successResponse 200 OK
+     * @responseType de.learnlib.alex.core.entities.LearnerStatus
+     */
+    @GET
+    @Path("/active/{project_id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response isActive(@PathParam("project_id") long projectId) {
+        User user = ((UserPrincipal) securityContext.getUserPrincipal()).getUser();
+        LOGGER.traceEntry("isActive({}) for user {}.", projectId, user);
+
+        LearnerStatus status = learner.getStatus(user, projectId);
+
+        LOGGER.traceExit(status);
+        return Response.ok(status).build();
+    }
+
+    /**
+     * Get the status of all running or queued learn processes of the user.
+     *
+     * @return The status of all active learn processes.
+     * @successResponse 200 OK
+     * @responseType java.util.List<de.learnlib.alex.core.entities.LearnerStatus>
+     */
+    @GET
+    @Path("/jobs")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getJobs() {
+        User user = ((UserPrincipal) securityContext.getUserPrincipal()).getUser();
+        LOGGER.traceEntry("getJobs() for user {}.", user);
+
+        List<LearnerStatus> statuses = learner.getStatuses(user);
+
+        LOGGER.traceExit(statuses);
+        return Response.ok(statuses).build();
+    }
+
+    /**
+     * Get the live metrics of the latest learn process in a project, e.g. the latency of every symbol.
+     *
+     * @param projectId The project of the learn process.
+     * @return The metrics of the learn process.
+     * @throws NotFoundException If no learn process has been started in the project.
+     * @successResponse 200 OK
+     * @responseType de.learnlib.alex.core.learner.metrics.LearnerMetrics
+     * @errorResponse 404 not found `de.learnlib.alex.utils.ResourceErrorHandler.RESTError
+     */
+    @GET
+    @Path("/metrics/{project_id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getMetrics(@PathParam("project_id") long projectId) throws NotFoundException {
+        User user = ((UserPrincipal) securityContext.getUserPrincipal()).getUser();
+        LOGGER.traceEntry("getMetrics({}) for user {}.", projectId, user);
+
+        LearnerMetrics metrics = learner.getMetrics(user, projectId);
+        if (metrics == null) {
+            throw new NotFoundException("No learn process has been started in the project " + projectId + ".");
+        }
+
+        LOGGER.traceExit(metrics);
+        return Response.ok(metrics).build();
+    }
+
+    /**
+     * Get the live metrics of the latest learn processes of the user in the Prometheus text format,
+     * so that they can be scraped by a Prometheus server.
+     *
+     * @return The metrics of the learn processes.
+     * @successResponse 200 OK
+     */
+    @GET
+    @Path("/metrics")
+    @Produces(PrometheusWriter.CONTENT_TYPE)
+    public Response getPrometheusMetrics() {
+        User user = ((UserPrincipal) securityContext.getUserPrincipal()).getUser();
+        LOGGER.traceEntry("getPrometheusMetrics() for user {}.", user);
+
+        String metrics = learner.getPrometheusMetrics(user);
+
+        LOGGER.traceExit(metrics);
+        return Response.ok(metrics).build();
+    }
+
     /**
      * Get the parameters & (temporary) results of the learning.
      *
@@ -16,8 +16,13 @@
 
 package de.learnlib.alex.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.learnlib.alex.core.dao.LearnerResultDAO;
 import de.learnlib.alex.core.entities.LearnerResult;
+import de.learnlib.alex.core.entities.LearnerResultStep;
 import de.learnlib.alex.core.entities.User;
 import de.learnlib.alex.core.learner.Learner;
 import de.learnlib.alex.exceptions.NotFoundException;
@@ -31,6 +36,7 @@ import org.apache.logging.log4j.Logger;
 import javax.inject.Inject;
 import javax.validation.ValidationException;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -40,7 +46,17 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Providers;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * REST API to fetch the test results.
@@ -52,6 +68,18 @@ public class LearnerResultResource {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
+    /** The default amount of elements per page. */
+    private static final String DEFAULT_PAGE_SIZE = "20";
+
+    /** The maximal amount of elements per page. */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /** The amount of steps that are loaded at once while all steps of a result are streamed. */
+    private static final int STEPS_CHUNK_SIZE = 10;
+
+    /** The ObjectMapper to use if no custom ObjectMapper is configured. */
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
     /** The {@link de.learnlib.alex.core.dao.LearnerResultDAO} to use. */
     @Inject
     private LearnerResultDAO learnerResultDAO;
@@ -64,14 +92,25 @@ public class LearnerResultResource {
     @Context
     private SecurityContext securityContext;
 
+    /** The providers to get the configured ObjectMapper from. */
+    @Context
+    private Providers providers;
+
     /**
      * Get all learn results one project.
+     * The results are streamed one by one, so that large projects do not have to be loaded into the memory at once.
      *
      * @param projectId
      *         The project of the learn results.
      * @param embed
      *         By default no steps are included in the response. However you can ask to include them with
      *         this parameter set to 'steps'.
+     * @param page
+     *         Optional. The zero-based number of the page of results to fetch. By default all results are returned.
+     * @param size
+     *         Optional. The amount of results per page.
+     * @param fields
+     *         Optional. A comma (',') separated list of the properties of the results to include, e.g. testNo,sigma.
      * @return A List of all learn results within one project.
      * @throws NotFoundException If the related Project could not be found.
      * @successResponse 200 OK
@@ -81,16 +120,32 @@ public class LearnerResultResource {
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getAll(@PathParam("project_id") long projectId, @QueryParam("embed") String embed)
+    public Response getAll(@PathParam("project_id") long projectId,
+                           @QueryParam("embed") String embed,
+                           @QueryParam("page") Integer page,
+                           @QueryParam("size") @DefaultValue(DEFAULT_PAGE_SIZE) int size,
+                           @QueryParam("fields") String fields)
             throws NotFoundException {
         User user = ((UserPrincipal) securityContext.getUserPrincipal()).getUser();
         LOGGER.trace("LearnerResultResource.getAllFinalResults(" + projectId + ") for user " + user + ".");
 
         try {
             boolean includeSteps = parseEmbeddableFields(embed);
+            Set<String> properties = parseFields(fields);
+            validatePage(page, size);
+
+            List<LearnerResult> results;
+            long totalCount;
+            if (page == null) {
+                results = learnerResultDAO.getAll(user.getId(), projectId, false);
+                totalCount = results.size();
+            } else {
+                results = learnerResultDAO.getAll(user.getId(), projectId, page, size);
+                totalCount = learnerResultDAO.count(user.getId(), projectId);
+            }
 
-            List<LearnerResult> results = learnerResultDAO.getAll(user.getId(), projectId, includeSteps);
-            return ResponseHelper.renderList(results, Response.Status.OK);
+            StreamingOutput stream = streamResults(results, includeSteps, properties, true);
+            return ResponseHelper.renderStream(stream, totalCount, Response.Status.OK);
         } catch (IllegalArgumentException e) {
             LOGGER.traceExit(e);
             return ResourceErrorHandler.createRESTErrorMessage("LearnerResultResource.getAllSteps",
@@ -108,6 +163,8 @@ public class LearnerResultResource {
      * @param embed
      *         By default no steps are included in the response. However you can ask to include them with
      *         this parameter set to 'steps'.
+     * @param fields
+     *         Optional. A comma (',') separated list of the properties of the results to include, e.g. testNo,sigma.
      * @return A List of all step of possible multiple test runs.
      * @throws NotFoundException If the requested results or the related Project could not be found.
      * @successResponse 200 OK
@@ -120,23 +177,28 @@ public class LearnerResultResource {
     @Produces(MediaType.APPLICATION_JSON)
     public Response getAll(@PathParam("project_id") Long projectId,
                            @PathParam("test_nos") IdsList testNos,
-                           @QueryParam("embed") String embed)
+                           @QueryParam("embed") String embed,
+                           @QueryParam("fields") String fields)
             throws NotFoundException {
         User user = ((UserPrincipal) securityContext.getUserPrincipal()).getUser();
         LOGGER.trace("LearnerResultResource.getAllSteps(" + projectId + ", " + testNos + ") for user " + user + ".");
 
         try {
             boolean includeSteps = parseEmbeddableFields(embed);
+            Set<String> properties = parseFields(fields);
 
             if (testNos.size() == 1) {
-                LearnerResult result = learnerResultDAO.get(user.getId(), projectId, testNos.get(0), includeSteps);
-                return Response.ok(result).build();
+                LearnerResult result = learnerResultDAO.get(user.getId(), projectId, testNos.get(0), false);
+                StreamingOutput stream = streamResults(Collections.singletonList(result), includeSteps,
+                                                       properties, false);
+                return Response.ok(stream).build();
             } else {
                 List<LearnerResult> result = learnerResultDAO.getAll(user.getId(),
                                                                      projectId,
                                                                      testNos.toArray(new Long[testNos.size()]),
-                                                                     includeSteps);
-                return ResponseHelper.renderList(result, Response.Status.OK);
+                                                                     false);
+                StreamingOutput stream = streamResults(result, includeSteps, properties, true);
+                return ResponseHelper.renderStream(stream, result.size(), Response.Status.OK);
             }
         } catch (IllegalArgumentException e) {
             LOGGER.traceExit(e);
@@ -145,6 +207,75 @@ public class LearnerResultResource {
         }
     }
 
+    /**
+     * Get the steps of one learn result.
+     * By default the steps are returned without their hypotheses and algorithm information, because these can be
+     * very large. To include them, add 'hypothesis' and / or 'algorithmInformation' to the fields parameter.
+     *
+     * @param projectId
+     *         The project of the learn result.
+     * @param testNo
+     *         The number of the learn result.
+     * @param page
+     *         Optional. The zero-based number of the page of steps to fetch. By default all steps are returned.
+     * @param size
+     *         Optional. The amount of steps per page.
+     * @param fields
+     *         Optional. A comma (',') separated list of the properties of the steps to include,
+     *         e.g. stepNo,statistics,hypothesis.
+     * @return A List of the steps of the learn result.
+     * @throws NotFoundException If the requested result or the related Project could not be found.
+     * @successResponse 200 OK
+     * @responseType    java.util.List<de.learnlib.alex.core.entities.LearnerResultStep>
+     * @errorResponse   400 bad request `de.learnlib.alex.utils.ResourceErrorHandler.RESTError
+     * @errorResponse   404 not found `de.learnlib.alex.utils.ResourceErrorHandler.RESTError
+     */
+    @GET
+    @Path("{test_no}/steps")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getSteps(@PathParam("project_id") Long projectId,
+                             @PathParam("test_no") Long testNo,
+                             @QueryParam("page") Integer page,
+                             @QueryParam("size") @DefaultValue(DEFAULT_PAGE_SIZE) int size,
+                             @QueryParam("fields") String fields)
+            throws NotFoundException {
+        User user = ((UserPrincipal) securityContext.getUserPrincipal()).getUser();
+        LOGGER.trace("LearnerResultResource.getSteps(" + projectId + ", " + testNo + ") for user " + user + ".");
+
+        try {
+            Set<String> properties = parseFields(fields);
+            validatePage(page, size);
+
+            LearnerResult result = learnerResultDAO.get(user.getId(), projectId, testNo, false);
+            long totalCount = learnerResultDAO.countSteps(result);
+
+            boolean includeHypothesis = properties != null && properties.contains("hypothesis");
+            boolean includeAlgorithmInformation = properties != null && properties.contains("algorithmInformation");
+
+            StreamingOutput stream = output -> {
+                try (JsonGenerator generator = createGenerator(output)) {
+                    if (page == null) {
+                        writeSteps(generator, result, properties, includeHypothesis, includeAlgorithmInformation);
+                    } else {
+                        generator.writeStartArray();
+                        List<LearnerResultStep> steps = learnerResultDAO.getSteps(result, page, size,
+                                                                                  includeHypothesis,
+                                                                                  includeAlgorithmInformation);
+                        for (LearnerResultStep step : steps) {
+                            writeObject(generator, step, properties);
+                        }
+                        generator.writeEndArray();
+                    }
+                }
+            };
+            return ResponseHelper.renderStream(stream, totalCount, Response.Status.OK);
+        } catch (IllegalArgumentException e) {
+            LOGGER.traceExit(e);
+            return ResourceErrorHandler.createRESTErrorMessage("LearnerResultResource.getSteps",
+                                                               Response.Status.BAD_REQUEST,  e);
+        }
+    }
+
     /**
      * Delete one or more learn result(s).
      *
@@ -171,6 +302,7 @@ public class LearnerResultResource {
         try {
             Long[] numbersLongArray = testNumbers.toArray(new Long[testNumbers.size()]);
             learnerResultDAO.delete(learner, user, projectId, numbersLongArray);
+            learner.deleteCheckpoints(user, projectId, numbersLongArray);
             return Response.status(Response.Status.NO_CONTENT).build();
 
         } catch (ValidationException e) {
@@ -180,6 +312,148 @@ public class LearnerResultResource {
         }
     }
 
+    /**
+     * Create a stream that writes learn results as JSON.
+     *
+     * @param results
+     *         The results to write, without their steps.
+     * @param includeSteps
+     *         If the steps of the results should be loaded and written, too.
+     * @param fields
+     *         The properties of the results to write or null to write all properties.
+     * @param asArray
+     *         If the results should be written as array. Otherwise only the first result is written.
+     * @return The stream.
+     */
+    private StreamingOutput streamResults(List<LearnerResult> results, boolean includeSteps, Set<String> fields,
+                                          boolean asArray) {
+        return output -> {
+            try (JsonGenerator generator = createGenerator(output)) {
+                if (asArray) {
+                    generator.writeStartArray();
+                }
+
+                for (LearnerResult result : results) {
+                    if (includeSteps) {
+                        ObjectNode node = getObjectMapper().valueToTree(result);
+                        node.remove("steps");
+                        if (fields != null) {
+                            node.retain(fields);
+                        }
+
+                        generator.writeStartObject();
+                        Iterator<Map.Entry<String, JsonNode>> properties = node.fields();
+                        while (properties.hasNext()) {
+                            Map.Entry<String, JsonNode> property = properties.next();
+                            generator.writeFieldName(property.getKey());
+                            generator.writeTree(property.getValue());
+                        }
+                        generator.writeFieldName("steps");
+                        writeSteps(generator, result, null, true, true);
+                        generator.writeEndObject();
+                    } else {
+                        writeObject(generator, result, fields);
+                    }
+                    generator.flush();
+
+                    if (!asArray) {
+                        break;
+                    }
+                }
+
+                if (asArray) {
+                    generator.writeEndArray();
+                }
+            }
+        };
+    }
+
+    /**
+     * Write all steps of a learn result as JSON array.
+     * The steps are loaded in chunks, so that only one chunk at a time is in the memory.
+     *
+     * @param generator
+     *         The generator to write to.
+     * @param result
+     *         The result of the steps.
+     * @param fields
+     *         The properties of the steps to write or null to write all properties.
+     * @param includeHypothesis
+     *         If the hypotheses should be loaded.
+     * @param includeAlgorithmInformation
+     *         If the algorithm information should be loaded.
+     * @throws IOException
+     *         If the steps could not be written.
+     */
+    private void writeSteps(JsonGenerator generator, LearnerResult result, Set<String> fields,
+                            boolean includeHypothesis, boolean includeAlgorithmInformation) throws IOException {
+        generator.writeStartArray();
+
+        List<LearnerResultStep> steps;
+        int page = 0;
+        do {
+            steps = learnerResultDAO.getSteps(result, page, STEPS_CHUNK_SIZE,
+                                              includeHypothesis, includeAlgorithmInformation);
+            for (LearnerResultStep step : steps) {
+                writeObject(generator, step, fields);
+            }
+            generator.flush();
+            page++;
+        } while (steps.size() == STEPS_CHUNK_SIZE);
+
+        generator.writeEndArray();
+    }
+
+    private void writeObject(JsonGenerator generator, Object object, Set<String> fields) throws IOException {
+        if (fields == null) {
+            generator.writeObject(object);
+        } else {
+            ObjectNode node = getObjectMapper().valueToTree(object);
+            node.retain(fields);
+            generator.writeTree(node);
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream output) throws IOException {
+        JsonGenerator generator = getObjectMapper().getFactory().createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    private ObjectMapper getObjectMapper() {
+        ContextResolver<ObjectMapper> resolver = providers.getContextResolver(ObjectMapper.class,
+                                                                              MediaType.APPLICATION_JSON_TYPE);
+        if (resolver == null) {
+            return DEFAULT_OBJECT_MAPPER;
+        } else {
+            return resolver.getContext(ObjectMapper.class);
+        }
+    }
+
+    private Set<String> parseFields(String fields) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return null;
+        }
+
+        Set<String> properties = new HashSet<>();
+        for (String field : fields.split(",")) {
+            if (!field.trim().isEmpty()) {
+                properties.add(field.trim());
+            }
+        }
+        return properties;
+    }
+
+    private void validatePage(Integer page, int size) throws IllegalArgumentException {
+        if (page != null && page < 0) {
+            throw new IllegalArgumentException("The page must not be negative, but was " + page + ".");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("The page size must be between 1 and " + MAX_PAGE_SIZE + ", but was "
+                                                       + size + ".");
+        }
+    }
+
     private boolean parseEmbeddableFields(String embed) throws IllegalArgumentException {
         if (embed == null
                 || embed.isEmpty()) {
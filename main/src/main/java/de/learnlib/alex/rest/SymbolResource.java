@@ -19,11 +19,13 @@ package de.learnlib.alex.rest;
 import de.learnlib.alex.actions.RESTSymbolActions.CallAction;
 import de.learnlib.alex.core.dao.ProjectDAO;
 import de.learnlib.alex.core.dao.SymbolDAO;
+import de.learnlib.alex.core.entities.HttpClientConfig;
 import de.learnlib.alex.core.entities.Project;
 import de.learnlib.alex.core.entities.Symbol;
 import de.learnlib.alex.core.entities.SymbolAction;
 import de.learnlib.alex.core.entities.SymbolVisibilityLevel;
 import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.core.services.HttpClientService;
 import de.learnlib.alex.exceptions.NotFoundException;
 import de.learnlib.alex.security.UserPrincipal;
 import de.learnlib.alex.utils.IdsList;
@@ -86,6 +88,10 @@ public class SymbolResource {
     @Inject
     private ProjectDAO projectDAO;
 
+    /** The {@link HttpClientService} to use. */
+    @Inject
+    private HttpClientService httpClientService;
+
     /**
      * Create a new Symbol.
      *
@@ -152,8 +158,14 @@ public class SymbolResource {
         Project project = projectDAO.getByID(user.getId(), projectId);
         if (action instanceof CallAction) { // other actions might be worth testing, too.
             CallAction callAction = (CallAction) action;
-            CallAction.TestResult result = callAction.testRequest(project.getBaseUrl());
-            return Response.ok(result).build();
+            HttpClientConfig httpClientConfig = project.getHttpClient();
+            try {
+                CallAction.TestResult result = callAction.testRequest(
+                        httpClientService.getClient(httpClientConfig), project.getBaseUrl());
+                return Response.ok(result).build();
+            } finally {
+                httpClientService.releaseClient(httpClientConfig);
+            }
         } else {
             return Response.noContent().build();
         }
@@ -21,6 +21,7 @@ import de.learnlib.alex.core.entities.User;
 import de.learnlib.alex.core.entities.UserRole;
 import de.learnlib.alex.exceptions.NotFoundException;
 import de.learnlib.alex.security.JWTHelper;
+import de.learnlib.alex.security.TokenCache;
 import de.learnlib.alex.security.UserPrincipal;
 import de.learnlib.alex.utils.IdsList;
 import de.learnlib.alex.utils.ResourceErrorHandler;
@@ -72,6 +73,10 @@ public class UserResource {
     @Inject
     private UserDAO userDAO;
 
+    /** The cache of the verified tokens, which must not contain changed or deleted users. */
+    @Inject
+    private TokenCache tokenCache;
+
     /** The security context containing the user of the request. */
     @Context
     private SecurityContext securityContext;
@@ -204,6 +209,7 @@ public class UserResource {
 
             realUser.setEncryptedPassword(newPassword);
             userDAO.update(realUser);
+            tokenCache.invalidate(userId);
 
             LOGGER.traceExit(realUser);
             return Response.ok(user).build();
@@ -262,6 +268,7 @@ public class UserResource {
 
             realUser.setEmail(email);
             userDAO.update(realUser);
+            tokenCache.invalidate(userId);
 
             LOGGER.traceExit(realUser);
             return Response.ok(realUser).build();
@@ -305,6 +312,7 @@ public class UserResource {
         User userToPromote = userDAO.getById(userId);
         userToPromote.setRole(UserRole.ADMIN);
         userDAO.update(userToPromote);
+        tokenCache.invalidate(userId);
         LOGGER.info(RESOURCE_MARKER, "User {} promoted.", user);
 
         LOGGER.traceExit(userToPromote);
@@ -348,6 +356,7 @@ public class UserResource {
             User userToDemote = userDAO.getById(userId);
             userToDemote.setRole(UserRole.REGISTERED);
             userDAO.update(userToDemote);
+            tokenCache.invalidate(userId);
 
             LOGGER.traceExit(userToDemote);
             return Response.ok(userToDemote).build();
@@ -385,6 +394,7 @@ public class UserResource {
         }
 
         userDAO.delete(userId);
+        tokenCache.invalidate(userId);
 
         LOGGER.traceExit("User {} deleted.", userId);
         return Response.status(Status.NO_CONTENT).build();
@@ -418,6 +428,7 @@ public class UserResource {
         }
 
         userDAO.delete(ids);
+        ids.forEach(tokenCache::invalidate);
 
         LOGGER.traceExit("User(s) {} deleted.", ids);
         return Response.status(Status.NO_CONTENT).build();
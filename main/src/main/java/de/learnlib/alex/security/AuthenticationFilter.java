@@ -16,14 +16,9 @@
 
 package de.learnlib.alex.security;
 
-import de.learnlib.alex.core.dao.UserDAO;
 import de.learnlib.alex.core.entities.User;
 import de.learnlib.alex.core.entities.UserRole;
-import de.learnlib.alex.exceptions.NotFoundException;
-import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.consumer.InvalidJwtException;
-import org.jose4j.jwt.consumer.JwtConsumer;
-import org.jose4j.jwt.consumer.JwtConsumerBuilder;
 
 import javax.annotation.Priority;
 import javax.inject.Inject;
@@ -47,9 +42,9 @@ public class AuthenticationFilter implements ContainerRequestFilter {
     private static final Pattern PATTERN = Pattern.compile("bearer [a-z0-9-_]+\\.[a-z0-9-_]+\\.[a-z0-9-_]+",
                                                            Pattern.CASE_INSENSITIVE);
 
-    /** The UserDAO to use. */
+    /** The cache of the verified tokens and their users. */
     @Inject
-    private UserDAO userDAO;
+    private TokenCache tokenCache;
 
     /**
      * checks for the availability of a JWT and puts the corresponding user into a SecurityContext that can be injected
@@ -68,24 +63,8 @@ public class AuthenticationFilter implements ContainerRequestFilter {
             if (jwt != null && PATTERN.matcher(jwt).matches()) {
                 jwt = jwt.split(" ")[1];
 
-                // check if the jwt is valid
-                JwtConsumer jwtConsumer = new JwtConsumerBuilder()
-                        .setExpectedIssuer("ALEX")
-                        .setVerificationKey(JWTHelper.getKey().getPublicKey())
-                        .build();
-
-                // get payload and get user id
-                // if no exception was throws up to here you can be sure that the jwt has not been modified
-                // and that the user that send the jwt is the one he seems to be
-                JwtClaims claims = jwtConsumer.processToClaims(jwt);
-                Long id = (Long) claims.getClaimsMap().get("userId");
-
-                // get user from the db
-                try {
-                    user = userDAO.getById(id);
-                } catch (NotFoundException e) {
-                    user = null;
-                }
+                // get the user of the jwt, the jwt is only verified if it is not already cached
+                user = tokenCache.getUser(jwt);
             } else {
 
                 // create dummy guest user
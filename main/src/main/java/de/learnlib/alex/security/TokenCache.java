@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import de.learnlib.alex.core.dao.UserDAO;
+import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.exceptions.NotFoundException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.jwt.consumer.JwtConsumer;
+import org.jose4j.jwt.consumer.JwtConsumerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the verified JWTs and the users they belong to, so that the signature of a token is not verified and the
+ * user is not loaded from the database on every request, e.g. when the status of the learner is polled.
+ *
+ * The entries expire after a short time. They must be invalidated if a user is changed or deleted.
+ */
+@Service
+public class TokenCache {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /** The default time in seconds after that a cached token has to be verified again. */
+    public static final long DEFAULT_TIME_TO_LIVE = 30;
+
+    /** The max. amount of cached tokens. */
+    private static final long MAX_CACHE_SIZE = 10000;
+
+    /** The number of lookups after that the hit rate is logged. */
+    private static final long REPORT_INTERVAL = 10000;
+
+    /** The UserDAO to load the users with. */
+    @Inject
+    private UserDAO userDAO;
+
+    /**
+     * The time in seconds after that a cached token has to be verified again.
+     * This will be injected by Spring and is configured in the applications.properties file.
+     */
+    @Value("${alex.security.tokenCacheTimeToLive:" + DEFAULT_TIME_TO_LIVE + "}")
+    private long timeToLive;
+
+    /** The consumer that verifies the tokens, which is shared by all requests. */
+    private final JwtConsumer jwtConsumer;
+
+    /** The users by their verified tokens. */
+    private Cache<String, User> users;
+
+    /** Incremented on every invalidation, so that users loaded before an invalidation are not cached. */
+    private final AtomicLong invalidations;
+
+    /**
+     * Default constructor.
+     * The UserDAO must be externally injected.
+     */
+    public TokenCache() {
+        this.jwtConsumer = new JwtConsumerBuilder()
+                .setExpectedIssuer("ALEX")
+                .setVerificationKey(JWTHelper.getKey().getPublicKey())
+                .build();
+        this.invalidations = new AtomicLong();
+        this.timeToLive = DEFAULT_TIME_TO_LIVE;
+    }
+
+    /**
+     * Constructor that sets all fields by the given parameter.
+     *
+     * @param userDAO
+     *         The UserDAO to use.
+     * @param timeToLive
+     *         The time in seconds after that a cached token has to be verified again, 0 to disable the cache.
+     */
+    public TokenCache(UserDAO userDAO, long timeToLive) {
+        this();
+        this.userDAO = userDAO;
+        this.timeToLive = timeToLive;
+        init();
+    }
+
+    /**
+     * Create the cache with the configured time to live.
+     */
+    @PostConstruct
+    public void init() {
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("The time to live of the token cache must not be negative.");
+        }
+
+        users = CacheBuilder.newBuilder()
+                .expireAfterWrite(timeToLive, TimeUnit.SECONDS)
+                .maximumSize(MAX_CACHE_SIZE)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get the user of a token.
+     * The token is only verified and the user is only loaded if the token is not in the cache.
+     *
+     * @param jwt
+     *         The token without the 'Bearer' prefix.
+     * @return The user of the token or null if the user does not exist.
+     * @throws InvalidJwtException
+     *         If the token is invalid, e.g. it has been modified.
+     */
+    public User getUser(String jwt) throws InvalidJwtException {
+        User user = users.getIfPresent(jwt);
+        reportHitRate();
+        if (user != null) {
+            return user;
+        }
+
+        long invalidationsBeforeLoad = invalidations.get();
+
+        // if no exception is thrown you can be sure that the jwt has not been modified
+        // and that the user that send the jwt is the one he seems to be
+        JwtClaims claims = jwtConsumer.processToClaims(jwt);
+        Long id = (Long) claims.getClaimsMap().get("userId");
+
+        try {
+            user = userDAO.getById(id);
+        } catch (NotFoundException e) {
+            return null;
+        }
+
+        if (invalidations.get() == invalidationsBeforeLoad) {
+            users.put(jwt, user);
+        }
+        return user;
+    }
+
+    /**
+     * Remove all tokens of a user from the cache, e.g. because the role of the user has changed or the user has been
+     * deleted.
+     *
+     * @param userId
+     *         The id of the user.
+     */
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        users.asMap().values().removeIf(user -> userId.equals(user.getId()));
+    }
+
+    /**
+     * Remove all tokens from the cache.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        users.invalidateAll();
+    }
+
+    /**
+     * Get the statistics of the cache, e.g. the hit rate.
+     *
+     * @return The statistics since the cache was created.
+     */
+    public CacheStats getStatistics() {
+        return users.stats();
+    }
+
+    private void reportHitRate() {
+        CacheStats statistics = users.stats();
+        if (statistics.requestCount() % REPORT_INTERVAL == 0) {
+            LOGGER.info("The token cache has a hit rate of {} after {} lookups.", statistics.hitRate(),
+                        statistics.requestCount());
+        }
+    }
+}
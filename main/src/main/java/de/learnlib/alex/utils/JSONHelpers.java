@@ -18,7 +18,6 @@ package de.learnlib.alex.utils;
 
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
-import com.jayway.jsonpath.JsonPath;
 import de.learnlib.alex.actions.RESTSymbolActions.CheckAttributeTypeAction.JsonType;
 import net.minidev.json.JSONArray;
 import org.apache.logging.log4j.LogManager;
@@ -49,9 +48,23 @@ public final class JSONHelpers {
      * @return The value of the attribute as JSON encoded String or null.
      */
     public static String getAttributeValue(String json, String attribute) {
+        return getAttributeValue(new JsonDocument(json), attribute);
+    }
+
+    /**
+     * Get the value of an attribute from a JSON document, which is only parsed once for all attributes.
+     *
+     * @param document
+     *         The JSON with the the attribute.
+     * @param attribute
+     *         The attribute to search for.
+     * @return The value of the attribute as JSON encoded String or null.
+     */
+    public static String getAttributeValue(JsonDocument document, String attribute) {
         try {
-            String value = String.valueOf(getParsedAttributeValue(json, attribute));
-            LOGGER.info("The attribute '{}' has the value '{}' in the body '{}'.", attribute, value, json);
+            String value = String.valueOf(document.read(attribute));
+            LOGGER.info("The attribute '{}' has the value '{}'.", attribute, value);
+            LOGGER.debug("The attribute '{}' was read from the body '{}'.", attribute, document.getJson());
             return value;
         } catch (InvalidJsonException e) {
             LOGGER.info("JSON was not valid, e.g. the body was empty.", e);
@@ -72,8 +85,21 @@ public final class JSONHelpers {
      * @return The type of the attribute or null.
      */
     public static JsonType getAttributeType(String json, String attribute) {
+        return getAttributeType(new JsonDocument(json), attribute);
+    }
+
+    /**
+     * Get the type of an attribute from a JSON document, which is only parsed once for all attributes.
+     *
+     * @param document
+     *         The JSON with the the attribute.
+     * @param attribute
+     *         The attribute to search for.
+     * @return The type of the attribute or null.
+     */
+    public static JsonType getAttributeType(JsonDocument document, String attribute) {
         try {
-            Object o = getParsedAttributeValue(json, attribute);
+            Object o = document.read(attribute);
             if (o == null) {
                 return JsonType.NULL;
             } else if (o instanceof String) {
@@ -98,15 +124,4 @@ public final class JSONHelpers {
             return null;
         }
     }
-
-    private static Object getParsedAttributeValue(String json, String attribute)
-            throws InvalidJsonException, InvalidPathException {
-        if (json.startsWith("[")) {
-            return JsonPath.read(json, "$" + attribute);
-        } else if (json.startsWith("{")) {
-            return JsonPath.read(json, "$." + attribute);
-        } else {
-            throw new InvalidJsonException();
-        }
-    }
 }
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A JSON document, e.g. the body of a response, whose attributes can be read with the attribute paths of the
+ * actions, e.g. 'user.roles[0].name'.
+ *
+ * The document is parsed lazily and only once, no matter how many attributes are read.
+ * If the first attribute is read from a large document and the path only consists of names and indices,
+ * the attribute is read with a streaming parser instead, which validates the whole text, but only keeps the value
+ * of the attribute instead of building the whole document. Only if a second attribute is read, the document is
+ * parsed completely.
+ *
+ * A document is not thread-safe.
+ */
+public final class JsonDocument {
+
+    /** The length from which on the first attribute of a document is read with the streaming parser. */
+    static final int STREAMING_THRESHOLD = 64 * 1024;
+
+    /** The maximal amount of cached paths. The cache is cleared if it grows beyond this. */
+    static final int MAX_CACHE_SIZE = 1000;
+
+    /** The compiled JSON paths by their expression. */
+    private static final Map<String, JsonPath> PATH_CACHE = new ConcurrentHashMap<>();
+
+    /** The factory for the streaming parsers. */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /** The maximal amount of digits of an index in a path that is read with the streaming parser. */
+    private static final int MAX_INDEX_DIGITS = 9;
+
+    /** The maximal length of a floating point number that is read as double by the JSON provider of JsonPath. */
+    private static final int MAX_DOUBLE_LENGTH = 18;
+
+    /** Marker that an attribute could not be read with the streaming parser. */
+    private static final Object NOT_STREAMABLE = new Object();
+
+    /** The JSON text. */
+    private final String json;
+
+    /** The parsed document, or null if it has not been parsed yet. */
+    private Object document;
+
+    /** The error if the document could not be parsed, so that it is not parsed again. */
+    private InvalidJsonException parseError;
+
+    /** If an attribute has already been read with the streaming parser. */
+    private boolean streamed;
+
+    /**
+     * Constructor.
+     *
+     * @param json
+     *         The JSON text, which must not be null.
+     */
+    public JsonDocument(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Read the value of an attribute, with the types of the default JSON provider of JsonPath.
+     *
+     * @param attribute
+     *         The path of the attribute, relative to the root of the document.
+     * @return The value of the attribute, null if the value is null.
+     * @throws InvalidJsonException
+     *         If the text is not a JSON object or array.
+     * @throws InvalidPathException
+     *         If the path is invalid or the attribute does not exist.
+     */
+    public Object read(String attribute) throws InvalidJsonException, InvalidPathException {
+        String path = getPath(attribute);
+
+        if (parseError != null) {
+            throw parseError;
+        } else if (document == null) {
+            if (!streamed && json.length() >= STREAMING_THRESHOLD) {
+                streamed = true;
+                Object value = readStreaming(attribute);
+                if (value != NOT_STREAMABLE) {
+                    return value;
+                }
+            }
+            try {
+                document = Configuration.defaultConfiguration().jsonProvider().parse(json);
+            } catch (InvalidJsonException e) {
+                parseError = e;
+                throw e;
+            }
+        }
+
+        return compile(path).read(document);
+    }
+
+    /** @return {@link #json}. */
+    public String getJson() {
+        return json;
+    }
+
+    private String getPath(String attribute) throws InvalidJsonException {
+        if (json.startsWith("[")) {
+            return "$" + attribute;
+        } else if (json.startsWith("{")) {
+            return "$." + attribute;
+        } else {
+            throw new InvalidJsonException();
+        }
+    }
+
+    private static JsonPath compile(String path) throws InvalidPathException {
+        JsonPath jsonPath = PATH_CACHE.get(path);
+        if (jsonPath == null) {
+            jsonPath = JsonPath.compile(path);
+            if (PATH_CACHE.size() >= MAX_CACHE_SIZE) {
+                PATH_CACHE.clear();
+            }
+            PATH_CACHE.put(path, jsonPath);
+        }
+        return jsonPath;
+    }
+
+    /**
+     * Read a scalar attribute with the streaming parser.
+     * The whole text is read, so that invalid or truncated JSON is detected, and the value of the last occurrence
+     * of a duplicated name is used, like the JSON provider of JsonPath does.
+     *
+     * @param attribute
+     *         The path of the attribute.
+     * @return The value of the attribute or {@link #NOT_STREAMABLE} if the path is too complex, the attribute is
+     *         an object or array or the JSON could not be read strictly.
+     * @throws PathNotFoundException
+     *         If the attribute does not exist.
+     */
+    private Object readStreaming(String attribute) throws PathNotFoundException {
+        List<Object> steps = parseSimplePath(attribute);
+        if (steps == null) {
+            return NOT_STREAMABLE;
+        }
+
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            StreamingResult result = new StreamingResult();
+            readStreaming(parser, parser.nextToken(), steps, 0, result);
+            if (parser.nextToken() != null) { // trailing content after the root value
+                return NOT_STREAMABLE;
+            }
+
+            if (!result.found) {
+                throw new PathNotFoundException("Missing attribute '" + attribute + "'.");
+            }
+            return result.value;
+        } catch (IOException e) {
+            return NOT_STREAMABLE;
+        }
+    }
+
+    /**
+     * Read a value whose location matches the first steps of a path.
+     * Values that are not on the path are skipped, which still reads and validates them.
+     *
+     * @param parser
+     *         The parser, positioned at the first token of the value.
+     * @param token
+     *         The first token of the value.
+     * @param steps
+     *         The steps of the path.
+     * @param matchedSteps
+     *         The amount of steps the location of the value matches.
+     * @param result
+     *         The result to store the value of the attribute in.
+     * @throws IOException
+     *         If the JSON could not be read.
+     */
+    private static void readStreaming(JsonParser parser, JsonToken token, List<Object> steps, int matchedSteps,
+                                      StreamingResult result) throws IOException {
+        if (token == null) {
+            throw new IOException("Unexpected end of the JSON document.");
+        }
+
+        if (matchedSteps == steps.size()) {
+            result.found = true;
+            result.value = getScalarValue(parser, token);
+            parser.skipChildren();
+            return;
+        }
+
+        Object step = steps.get(matchedSteps);
+        if (token == JsonToken.START_OBJECT) {
+            JsonToken field;
+            while ((field = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                boolean matches = step.equals(parser.getCurrentName());
+                JsonToken value = parser.nextToken();
+                if (matches) {
+                    // a later occurrence of a name replaces the earlier one
+                    result.found = false;
+                    result.value = null;
+                    readStreaming(parser, value, steps, matchedSteps + 1, result);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (field != JsonToken.END_OBJECT) {
+                throw new IOException("Unexpected end of the JSON document.");
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            JsonToken element;
+            int index = 0;
+            while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (element == null) {
+                    throw new IOException("Unexpected end of the JSON document.");
+                } else if (step.equals(index)) {
+                    readStreaming(parser, element, steps, matchedSteps + 1, result);
+                } else {
+                    parser.skipChildren();
+                }
+                index++;
+            }
+        }
+    }
+
+    private static Object getScalarValue(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                BigInteger value = parser.getBigIntegerValue();
+                if (value.bitLength() < Integer.SIZE) {
+                    return value.intValue();
+                } else if (value.bitLength() < Long.SIZE) {
+                    return value.longValue();
+                }
+                return value;
+            case VALUE_NUMBER_FLOAT:
+                return parser.getTextLength() > MAX_DOUBLE_LENGTH ? NOT_STREAMABLE : parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default: // an object or array, as the JSON provider of JsonPath represents them
+                return NOT_STREAMABLE;
+        }
+    }
+
+    /**
+     * Split a path that only consists of names and indices, e.g. 'user.roles[0].name' or '[1].id'.
+     *
+     * @param attribute
+     *         The path of the attribute.
+     * @return The names (String) and indices (Integer) of the path or null if the path uses other expressions.
+     */
+    static List<Object> parseSimplePath(String attribute) {
+        List<Object> steps = new ArrayList<>();
+        int i = 0;
+        while (i < attribute.length()) {
+            if (attribute.charAt(i) == '[') {
+                int end = attribute.indexOf(']', i);
+                if (end == -1 || end == i + 1 || end - i - 1 > MAX_INDEX_DIGITS) {
+                    return null;
+                }
+                for (int j = i + 1; j < end; j++) {
+                    if (!Character.isDigit(attribute.charAt(j))) {
+                        return null;
+                    }
+                }
+                steps.add(Integer.parseInt(attribute.substring(i + 1, end)));
+                i = end + 1;
+            } else {
+                if (!steps.isEmpty()) {
+                    if (attribute.charAt(i) != '.') {
+                        return null;
+                    }
+                    i++;
+                }
+                int end = i;
+                while (end < attribute.length() && isNameCharacter(attribute.charAt(end))) {
+                    end++;
+                }
+                if (end == i) {
+                    return null;
+                }
+                steps.add(attribute.substring(i, end));
+                i = end;
+            }
+        }
+        return steps.isEmpty() ? null : steps;
+    }
+
+    private static boolean isNameCharacter(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-';
+    }
+
+    /** The value of an attribute that is read with the streaming parser. */
+    private static final class StreamingResult {
+
+        /** If the attribute has been found. */
+        private boolean found;
+
+        /** The value of the attribute, {@link #NOT_STREAMABLE} if it is an object or array. */
+        private Object value;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Searches multiple literal values in a text with a single pass over the text (Aho-Corasick).
+ *
+ * The values are compiled into a deterministic automaton over the characters that occur in the values,
+ * all other characters lead back to the initial state. The matchers are immutable and are cached by their values,
+ * because the same checks are evaluated for every execution of a symbol.
+ */
+public final class MultiPatternMatcher {
+
+    /** The maximal amount of cached matchers. The cache is cleared if it grows beyond this. */
+    static final int MAX_CACHE_SIZE = 1000;
+
+    /** The cached matchers by their values. */
+    private static final Map<List<String>, MultiPatternMatcher> CACHE = new ConcurrentHashMap<>();
+
+    /** The amount of characters that are mapped directly to their class. */
+    private static final int ASCII = 128;
+
+    /** No values are found in a state. */
+    private static final int[] NO_OUTPUT = new int[0];
+
+    /** The amount of values. */
+    private final int valueCount;
+
+    /** The amount of character classes, including the class 0 of the characters that do not occur in a value. */
+    private final int classCount;
+
+    /** The classes of the ASCII characters. */
+    private final int[] asciiClasses;
+
+    /** The other characters that occur in a value, sorted. */
+    private final char[] otherChars;
+
+    /** The classes of {@link #otherChars}. */
+    private final int[] otherClasses;
+
+    /** The transitions of the automaton, indexed by state * {@link #classCount} + class. */
+    private final int[] transitions;
+
+    /** The indices of the values that are found if a state is reached. */
+    private final int[][] outputs;
+
+    /**
+     * Constructor.
+     *
+     * @param values
+     *         The values to search, which must not be null.
+     */
+    private MultiPatternMatcher(List<String> values) {
+        this.valueCount = values.size();
+
+        TreeSet<Character> chars = new TreeSet<>();
+        values.forEach(value -> value.chars().forEach(c -> chars.add((char) c)));
+
+        this.asciiClasses = new int[ASCII];
+        List<Character> others = new ArrayList<>();
+        int nextClass = 1;
+        for (char c : chars) {
+            if (c < ASCII) {
+                asciiClasses[c] = nextClass++;
+            } else {
+                others.add(c);
+            }
+        }
+        this.otherChars = new char[others.size()];
+        this.otherClasses = new int[others.size()];
+        for (int i = 0; i < others.size(); i++) {
+            otherChars[i] = others.get(i);
+            otherClasses[i] = nextClass++;
+        }
+        this.classCount = nextClass;
+
+        // build the trie
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<List<Integer>> found = new ArrayList<>();
+        children.add(new HashMap<>());
+        found.add(new ArrayList<>());
+        for (int i = 0; i < values.size(); i++) {
+            int state = 0;
+            String value = values.get(i);
+            for (int j = 0; j < value.length(); j++) {
+                int charClass = classOf(value.charAt(j));
+                Integer next = children.get(state).get(charClass);
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(charClass, next);
+                    children.add(new HashMap<>());
+                    found.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            found.get(state).add(i);
+        }
+
+        // complete the trie to an automaton in breadth first order, so that the fallback of a state is done before
+        int stateCount = children.size();
+        this.transitions = new int[stateCount * classCount];
+        this.outputs = new int[stateCount][];
+        int[] fallbacks = new int[stateCount];
+
+        Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fallback = fallbacks[state];
+
+            List<Integer> stateOutput = found.get(state);
+            int[] fallbackOutput = state == 0 ? NO_OUTPUT : outputs[fallback];
+            if (stateOutput.isEmpty()) {
+                outputs[state] = fallbackOutput;
+            } else {
+                int[] output = Arrays.copyOf(fallbackOutput, fallbackOutput.length + stateOutput.size());
+                for (int i = 0; i < stateOutput.size(); i++) {
+                    output[fallbackOutput.length + i] = stateOutput.get(i);
+                }
+                outputs[state] = output;
+            }
+
+            for (int charClass = 0; charClass < classCount; charClass++) {
+                Integer child = children.get(state).get(charClass);
+                if (child != null) {
+                    transitions[state * classCount + charClass] = child;
+                    fallbacks[child] = state == 0 ? 0 : transitions[fallback * classCount + charClass];
+                    queue.add(child);
+                } else {
+                    transitions[state * classCount + charClass] =
+                            state == 0 ? 0 : transitions[fallback * classCount + charClass];
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the matcher for some values. The values are only compiled if they have not been compiled before.
+     *
+     * @param values
+     *         The values to search, which must not be null.
+     * @return The matcher for the values.
+     */
+    public static MultiPatternMatcher of(List<String> values) {
+        MultiPatternMatcher matcher = CACHE.get(values);
+        if (matcher == null) {
+            List<String> key = new ArrayList<>(values);
+            matcher = new MultiPatternMatcher(key);
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(key, matcher);
+        }
+        return matcher;
+    }
+
+    /**
+     * Search all values in a text. The search stops as soon as all values have been found.
+     *
+     * @param text
+     *         The text to search in.
+     * @return For every value (in the order of the values) if it is contained in the text.
+     */
+    public boolean[] search(CharSequence text) {
+        boolean[] result = new boolean[valueCount];
+        int remaining = valueCount;
+
+        int state = 0;
+        remaining -= mark(outputs[state], result); // the empty values
+        for (int i = 0; i < text.length() && remaining > 0; i++) {
+            state = transitions[state * classCount + classOf(text.charAt(i))];
+            if (outputs[state] != NO_OUTPUT) {
+                remaining -= mark(outputs[state], result);
+            }
+        }
+
+        return result;
+    }
+
+    private static int mark(int[] output, boolean[] result) {
+        int marked = 0;
+        for (int value : output) {
+            if (!result[value]) {
+                result[value] = true;
+                marked++;
+            }
+        }
+        return marked;
+    }
+
+    private int classOf(char c) {
+        if (c < ASCII) {
+            return asciiClasses[c];
+        }
+        int index = Arrays.binarySearch(otherChars, c);
+        return index < 0 ? 0 : otherClasses[index];
+    }
+
+    /** @return The amount of values. */
+    public int getValueCount() {
+        return valueCount;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.utils;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A thread-safe cache of compiled regular expressions.
+ *
+ * The regular expressions of the actions are evaluated for every execution of a symbol, but only change if the
+ * symbol is changed, so they should not be compiled again and again.
+ */
+public final class PatternCache {
+
+    /** The maximal amount of cached patterns. The cache is cleared if it grows beyond this. */
+    static final int MAX_CACHE_SIZE = 1000;
+
+    /** The cached patterns by their expression and flags. */
+    private static final Map<Key, Pattern> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Disabled default constructor, this is only a utility class with static methods.
+     */
+    private PatternCache() {
+    }
+
+    /**
+     * Get the compiled pattern of a regular expression.
+     *
+     * @param regex
+     *         The regular expression.
+     * @return The compiled pattern.
+     * @throws java.util.regex.PatternSyntaxException
+     *         If the expression is invalid.
+     */
+    public static Pattern compile(String regex) {
+        return compile(regex, 0);
+    }
+
+    /**
+     * Get the compiled pattern of a regular expression with flags.
+     *
+     * @param regex
+     *         The regular expression.
+     * @param flags
+     *         The flags of the pattern, see {@link Pattern#compile(String, int)}.
+     * @return The compiled pattern.
+     * @throws java.util.regex.PatternSyntaxException
+     *         If the expression is invalid.
+     */
+    public static Pattern compile(String regex, int flags) {
+        Key key = new Key(regex, flags);
+        Pattern pattern = CACHE.get(key);
+        if (pattern == null) {
+            pattern = Pattern.compile(regex, flags);
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(key, pattern);
+        }
+        return pattern;
+    }
+
+    /**
+     * The key of a cached pattern.
+     */
+    private static final class Key {
+
+        /** The regular expression. */
+        private final String regex;
+
+        /** The flags of the pattern. */
+        private final int flags;
+
+        /**
+         * Constructor.
+         *
+         * @param regex
+         *         The regular expression.
+         * @param flags
+         *         The flags of the pattern.
+         */
+        private Key(String regex, int flags) {
+            this.regex = Objects.requireNonNull(regex);
+            this.flags = flags;
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:needbraces") // Auto generated by IntelliJ
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return flags == key.flags && regex.equals(key.regex);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * regex.hashCode() + flags;
+        }
+    }
+}
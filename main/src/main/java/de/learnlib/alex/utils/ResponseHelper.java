@@ -17,6 +17,7 @@
 package de.learnlib.alex.utils;
 
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.util.List;
 
 /**
@@ -48,4 +49,24 @@ public final class ResponseHelper {
                        .build();
     }
 
+    /**
+     * Create a Response for a streamed list that includes the "X-Total-Count" header.
+     * The list is written by the stream itself, so that it does not have to be in memory at once.
+     *
+     * @param stream
+     *         The stream that writes the list as JSON.
+     * @param totalCount
+     *         The total amount of elements, which can be greater than the amount of streamed elements if only
+     *         one page of the list is streamed.
+     * @param status
+     *         The status of the Response.
+     * @return The corresponding Response.
+     */
+    public static Response renderStream(StreamingOutput stream, long totalCount, Response.Status status) {
+        return Response.status(status)
+                       .header("X-Total-Count", totalCount)
+                       .entity(stream)
+                       .build();
+    }
+
 }
@@ -17,9 +17,6 @@
 package de.learnlib.alex.utils;
 
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
-import de.learnlib.alex.core.learner.connectors.CounterStoreConnector;
-import de.learnlib.alex.core.learner.connectors.FileStoreConnector;
-import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -61,7 +58,7 @@ public final class SearchHelper {
 
     /**
      * Search for a regular expression within a text.
-     * This method allows to use the '.' for line breaks.
+     * This method allows to use the '.' for line breaks. The compiled expression is cached, see {@link PatternCache}.
      *
      * @param regex
      *         The pattern to search.
@@ -70,13 +67,14 @@ public final class SearchHelper {
      * @return true on success, false otherwise.
      */
     public static boolean searchWithRegex(String regex, String text) {
-        Pattern pattern = Pattern.compile(regex, Pattern.DOTALL);
+        Pattern pattern = PatternCache.compile(regex, Pattern.DOTALL);
         Matcher matcher = pattern.matcher(text);
         return matcher.find();
     }
 
     /**
      * Replace all counters and variables within an input string by their actual values.
+     * The input string is only parsed once, see {@link VariableTemplate}.
      *
      * @param connector
      *         The connectors to connect to the counter and variable stores.
@@ -92,47 +90,6 @@ public final class SearchHelper {
      */
     public static String insertVariableValues(ConnectorManager connector, Long userId, Long projectId, String text)
                          throws IllegalStateException {
-        final int endPosOffset = -2;  // because ...}}
-        final int startPosOffset = 3; // because {{$...
-
-        StringBuilder result = new StringBuilder();
-        int variableStartPos = text.indexOf("{{");
-        int variableEndPos = endPosOffset; // because of the length of '}}' we will always +2 to the endPos,
-                                 // so this is a start at 0
-
-        while (variableStartPos > -1) {
-            result.append(text.substring(variableEndPos + 2, variableStartPos)); // add everything before the variable.
-
-            variableEndPos = text.indexOf("}}", variableStartPos);
-            String variableName = text.substring(variableStartPos + startPosOffset, variableEndPos);
-
-            String variableValue;
-            switch (text.charAt(variableStartPos + 2)) {
-                case '#': // counter
-                    variableValue = String.valueOf(connector.getConnector(CounterStoreConnector.class)
-                            .get(variableName));
-                    result.append(variableValue);
-                    break;
-                case '$': // variable:
-                    variableValue = connector.getConnector(VariableStoreConnector.class).get(variableName);
-                    result.append(variableValue);
-                    break;
-                case '/': // file name
-                    variableValue = connector.getConnector(FileStoreConnector.class)
-                                             .getAbsoluteFileLocation(userId, projectId, variableName);
-                    result.append(variableValue);
-                    break;
-                default: // bullshit
-                    result.append(text.substring(variableStartPos, variableEndPos + 2));
-                    break;
-            }
-
-            variableStartPos = text.indexOf("{{", variableEndPos); // prepare next step
-        }
-
-        result.append(text.substring(variableEndPos + 2));
-
-        return result.toString();
+        return VariableTemplate.of(text).render(connector, userId, projectId);
     }
-
 }
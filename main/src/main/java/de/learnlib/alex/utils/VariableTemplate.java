@@ -0,0 +1,242 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.utils;
+
+import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.alex.core.learner.connectors.CounterStoreConnector;
+import de.learnlib.alex.core.learner.connectors.FileStoreConnector;
+import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A text with counters ({{#name}}), variables ({{$name}}) and file names ({{/name}}) that has been parsed into
+ * a list of segments, so that their values can be inserted without searching the text again.
+ *
+ * The templates are immutable and are cached by their text, because the fields of the actions are rendered
+ * for every step of every membership query, but only change if the symbol is changed.
+ */
+public final class VariableTemplate {
+
+    /** The maximal amount of cached templates. The cache is cleared if it grows beyond this. */
+    static final int MAX_CACHE_SIZE = 10000;
+
+    /** The cached templates by their text. */
+    private static final Map<String, VariableTemplate> CACHE = new ConcurrentHashMap<>();
+
+    /** The segment is a text that is copied as it is. */
+    private static final byte LITERAL = 0;
+
+    /** The segment is the name of a counter. */
+    private static final byte COUNTER = 1;
+
+    /** The segment is the name of a variable. */
+    private static final byte VARIABLE = 2;
+
+    /** The segment is the name of a file. */
+    private static final byte FILE = 3;
+
+    /** The length of the brackets and the type character before a name, i.e. '{{$'. */
+    private static final int PREFIX_LENGTH = 3;
+
+    /** The length of the brackets after a name, i.e. '}}'. */
+    private static final int SUFFIX_LENGTH = 2;
+
+    /** The expected length of a value, to size the buffer for the result. */
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+
+    /** The text of the template. */
+    private final String text;
+
+    /** The types of the segments. */
+    private final byte[] types;
+
+    /** The texts of the literal segments and the names of all other segments. */
+    private final String[] values;
+
+    /** The summed up length of all literal segments. */
+    private final int literalLength;
+
+    /** The amount of segments that are no literals. */
+    private final int placeholders;
+
+    private VariableTemplate(String text, byte[] types, String[] values) {
+        this.text = text;
+        this.types = types;
+        this.values = values;
+
+        int length = 0;
+        int placeholderCount = 0;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == LITERAL) {
+                length += values[i].length();
+            } else {
+                placeholderCount++;
+            }
+        }
+        this.literalLength = length;
+        this.placeholders = placeholderCount;
+    }
+
+    /**
+     * Get the compiled template of a text. The text is only parsed if it has not been compiled before.
+     *
+     * @param text
+     *         The text of the template.
+     * @return The compiled template.
+     */
+    public static VariableTemplate of(String text) {
+        VariableTemplate template = CACHE.get(text);
+        if (template == null) {
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            template = compile(text);
+            CACHE.put(text, template);
+        }
+        return template;
+    }
+
+    /**
+     * Parse a text into a template, without using the cache.
+     * Brackets that do not contain a counter, variable or file name, or are not closed, are kept as they are.
+     *
+     * @param text
+     *         The text of the template.
+     * @return The compiled template.
+     */
+    static VariableTemplate compile(String text) {
+        List<Byte> types = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+
+        int literalStart = 0;
+        int start = text.indexOf("{{");
+        while (start > -1) {
+            int end = text.indexOf("}}", start);
+            if (end == -1) {
+                break;
+            }
+
+            byte type = start + PREFIX_LENGTH <= end ? getType(text.charAt(start + 2)) : LITERAL;
+            if (type != LITERAL) {
+                if (literalStart < start) {
+                    types.add(LITERAL);
+                    values.add(text.substring(literalStart, start));
+                }
+                types.add(type);
+                values.add(text.substring(start + PREFIX_LENGTH, end));
+                literalStart = end + SUFFIX_LENGTH;
+            }
+
+            start = text.indexOf("{{", end);
+        }
+
+        if (literalStart < text.length()) {
+            types.add(LITERAL);
+            values.add(literalStart == 0 ? text : text.substring(literalStart));
+        }
+
+        byte[] typeArray = new byte[types.size()];
+        for (int i = 0; i < typeArray.length; i++) {
+            typeArray[i] = types.get(i);
+        }
+        return new VariableTemplate(text, typeArray, values.toArray(new String[values.size()]));
+    }
+
+    private static byte getType(char c) {
+        switch (c) {
+            case '#':
+                return COUNTER;
+            case '$':
+                return VARIABLE;
+            case '/':
+                return FILE;
+            default:
+                return LITERAL;
+        }
+    }
+
+    /**
+     * Insert the current values of the counters, variables and file names into the template.
+     * Every store is only looked up once and the result is built in a single buffer.
+     *
+     * @param connector
+     *         The connectors to connect to the counter, variable and file stores.
+     * @param userId
+     *         The user id for the context.
+     * @param projectId
+     *         The project as context.
+     * @return The text with all counters, variables and file names replaced by their values.
+     * @throws IllegalStateException
+     *         If a variable value should be inserted, but the variable does not exists or was never set.
+     */
+    public String render(ConnectorManager connector, Long userId, Long projectId) throws IllegalStateException {
+        if (placeholders == 0) {
+            return text;
+        }
+
+        CounterStoreConnector counters = null;
+        VariableStoreConnector variables = null;
+        FileStoreConnector files = null;
+
+        StringBuilder result = new StringBuilder(literalLength + placeholders * ESTIMATED_VALUE_LENGTH);
+        for (int i = 0; i < types.length; i++) {
+            switch (types[i]) {
+                case COUNTER:
+                    if (counters == null) {
+                        counters = connector.getConnector(CounterStoreConnector.class);
+                    }
+                    result.append(counters.get(values[i]));
+                    break;
+                case VARIABLE:
+                    if (variables == null) {
+                        variables = connector.getConnector(VariableStoreConnector.class);
+                    }
+                    result.append(variables.get(values[i]));
+                    break;
+                case FILE:
+                    if (files == null) {
+                        files = connector.getConnector(FileStoreConnector.class);
+                    }
+                    result.append(files.getAbsoluteFileLocation(userId, projectId, values[i]));
+                    break;
+                default:
+                    result.append(values[i]);
+                    break;
+            }
+        }
+        return result.toString();
+    }
+
+    /** @return True, if the template contains at least one counter, variable or file name. */
+    public boolean hasPlaceholders() {
+        return placeholders > 0;
+    }
+
+    /** @return {@link #text}. */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -81,10 +81,12 @@ export class WMethodEqOracle {
      * Constructor.
      *
      * @param {number} maxDepth
+     * @param {boolean} partialSuffixes - If the Wp-method should be used.
      */
-    constructor(maxDepth = 1) {
+    constructor(maxDepth = 1, partialSuffixes = false) {
         this.type = eqOracleType.WMETHOD;
         this.maxDepth = maxDepth;
+        this.partialSuffixes = partialSuffixes;
     }
 }
 
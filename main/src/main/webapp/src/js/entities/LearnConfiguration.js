@@ -72,7 +72,9 @@ export class LearnConfiguration {
         this.browser = obj.browser || {
                 driver: webBrowser.HTMLUNITDRIVER,
                 width: screen.width,
-                height: screen.height
+                height: screen.height,
+                driverMode: 'NEW_PER_QUERY',
+                maxDriverUses: 100
             };
 
         /**
@@ -80,6 +82,24 @@ export class LearnConfiguration {
          * @type {boolean}
          */
         this.useMQCache = obj.useMQCache !== undefined ? obj.useMQCache : true;
+
+        /**
+         * If membership queries should be stored on the disk and reused by later learn processes.
+         * @type {boolean}
+         */
+        this.usePersistentMQCache = obj.usePersistentMQCache !== undefined ? obj.usePersistentMQCache : false;
+
+        /**
+         * How counterexamples are shortened before they are used to refine the hypothesis.
+         * @type {string}
+         */
+        this.counterexampleShortening = obj.counterexampleShortening || 'NONE';
+
+        /**
+         * How the SUL should be reset before a membership query.
+         * @type {string}
+         */
+        this.resetStrategy = obj.resetStrategy || 'SYMBOL';
     }
 
     /**
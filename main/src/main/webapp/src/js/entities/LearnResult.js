@@ -116,6 +116,24 @@ export class LearnResult {
          */
         this.useMQCache = obj.useMQCache;
 
+        /**
+         * If membership queries have been stored on the disk and reused from previous learn processes.
+         * @type {boolean}
+         */
+        this.usePersistentMQCache = obj.usePersistentMQCache;
+
+        /**
+         * How counterexamples have been shortened before they were used to refine the hypothesis.
+         * @type {string}
+         */
+        this.counterexampleShortening = obj.counterexampleShortening;
+
+        /**
+         * How the SUL has been reset before a membership query.
+         * @type {string}
+         */
+        this.resetStrategy = obj.resetStrategy;
+
         // convert ns to ms
         LearnResult.convertNsToMs(this.statistics.duration);
 
@@ -61,5 +61,11 @@ export class Project {
          * @type {string[]}
          */
         this.mirrorUrls = obj.mirrorUrls || [];
+
+        /**
+         * The number of parallel slots per URL.
+         * @type {number}
+         */
+        this.slotsPerUrl = obj.slotsPerUrl || 1;
     }
 }
\ No newline at end of file
@@ -37,7 +37,7 @@ export class EqOracleService {
             case eqOracleType.SAMPLE:
                 return new SampleEqOracle(obj.counterExamples);
             case eqOracleType.WMETHOD:
-                return new WMethodEqOracle(obj.maxDepth);
+                return new WMethodEqOracle(obj.maxDepth, obj.partialSuffixes);
             case eqOracleType.HYPOTHESIS:
                 return new HypothesisEqOracle(obj.hypothesis);
             default:
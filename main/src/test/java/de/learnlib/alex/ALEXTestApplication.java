@@ -22,6 +22,7 @@ import de.learnlib.alex.core.entities.UserRole;
 import de.learnlib.alex.exceptions.NotFoundException;
 import de.learnlib.alex.security.AuthenticationFilter;
 import de.learnlib.alex.security.JWTHelper;
+import de.learnlib.alex.security.TokenCache;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import org.glassfish.jersey.server.ResourceConfig;
@@ -71,6 +72,8 @@ public class ALEXTestApplication extends ResourceConfig {
             @Override
             protected void configure() {
                 bind(userDAO).to(UserDAO.class);
+                // the mocked users change between the requests of a test, so the tokens must not be cached
+                bind(new TokenCache(userDAO, 0)).to(TokenCache.class);
             }
         });
     }
@@ -21,6 +21,7 @@ import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.Project;
 import de.learnlib.alex.core.entities.User;
 import de.learnlib.alex.core.learner.connectors.WebServiceConnector;
+import de.learnlib.alex.utils.JsonDocument;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -81,7 +82,8 @@ public class CheckAttributeExistsActionTest {
 
     @Test
     public void shouldReturnOkIfAttributeExists() {
-        given(connector.getBody()).willReturn("{\"awesome_field\": \"Lorem Ipsum. Hello World! Fooooobar\"}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument(
+                "{\"awesome_field\": \"Lorem Ipsum. Hello World! Fooooobar\"}"));
 
         ExecuteResult result = c.execute(connector);
 
@@ -90,8 +92,8 @@ public class CheckAttributeExistsActionTest {
 
     @Test
     public void shouldReturnOkIfAttributeExistsWithComplexStructure() {
-        given(connector.getBody()).willReturn("{\"awesome_field\": {\"foo\": \"Fooooobar.\","
-                                                                 + "\"other\": [\"Lorem Ipsum.\", \"Hello World!\"]}}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument("{\"awesome_field\": {\"foo\": \"Fooooobar.\","
+                + "\"other\": [\"Lorem Ipsum.\", \"Hello World!\"]}}"));
         c.setAttribute("awesome_field.foo");
 
         ExecuteResult result = c.execute(connector);
@@ -101,7 +103,8 @@ public class CheckAttributeExistsActionTest {
 
     @Test
     public void shouldReturnFailedIfAttributeDoesNotExists() {
-        given(connector.getBody()).willReturn("{\"not_so_awesome_field\": \"Lorem Ipsum. Hello World! Fooooobar\"}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument(
+                "{\"not_so_awesome_field\": \"Lorem Ipsum. Hello World! Fooooobar\"}"));
 
         ExecuteResult result = c.execute(connector);
 
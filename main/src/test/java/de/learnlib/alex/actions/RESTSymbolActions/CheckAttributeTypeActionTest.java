@@ -21,6 +21,7 @@ import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.Project;
 import de.learnlib.alex.core.entities.User;
 import de.learnlib.alex.core.learner.connectors.WebServiceConnector;
+import de.learnlib.alex.utils.JsonDocument;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -84,7 +85,8 @@ public class CheckAttributeTypeActionTest {
 
     @Test
     public void shouldReturnOkIfAttributeWithRightTypeExists() {
-        given(connector.getBody()).willReturn("{\"awesome_field\": \"Lorem Ipsum. Hello World! Fooooobar\"}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument(
+                "{\"awesome_field\": \"Lorem Ipsum. Hello World! Fooooobar\"}"));
 
         ExecuteResult result = c.execute(connector);
 
@@ -93,8 +95,8 @@ public class CheckAttributeTypeActionTest {
 
     @Test
     public void shouldReturnOkIfAttributeWithRightTypeExistsWithComplexStructure() {
-        given(connector.getBody()).willReturn("{\"awesome_field\": {\"foo\": \"Fooooobar.\","
-                + "\"other\": [\"Lorem Ipsum.\", \"Hello World!\"]}}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument("{\"awesome_field\": {\"foo\": \"Fooooobar.\","
+                + "\"other\": [\"Lorem Ipsum.\", \"Hello World!\"]}}"));
         c.setAttribute("awesome_field.foo");
 
         ExecuteResult result = c.execute(connector);
@@ -104,7 +106,7 @@ public class CheckAttributeTypeActionTest {
 
     @Test
     public void shouldReturnFailedIfAttributeWithWrongTypeExists() {
-        given(connector.getBody()).willReturn("{\"awesome_field\": true}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument("{\"awesome_field\": true}"));
 
         ExecuteResult result = c.execute(connector);
 
@@ -113,7 +115,8 @@ public class CheckAttributeTypeActionTest {
 
     @Test
     public void shouldReturnFailedIfAttributeDoesNotExist() {
-        given(connector.getBody()).willReturn("{\"not_so_awesome_field\": \"Lorem Ipsum. Hello World! Fooooobar\"}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument(
+                "{\"not_so_awesome_field\": \"Lorem Ipsum. Hello World! Fooooobar\"}"));
 
         ExecuteResult result = c.execute(connector);
 
@@ -21,6 +21,7 @@ import de.learnlib.alex.core.entities.ExecuteResult;
 import de.learnlib.alex.core.entities.Project;
 import de.learnlib.alex.core.entities.User;
 import de.learnlib.alex.core.learner.connectors.WebServiceConnector;
+import de.learnlib.alex.utils.JsonDocument;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -94,7 +95,7 @@ public class CheckAttributeValueActionTest {
         action.setValue("0");
         action.setRegexp(false);
 
-        given(connector.getBody()).willReturn("[{\"id\": 0}]");
+        given(connector.getJsonBody()).willReturn(new JsonDocument("[{\"id\": 0}]"));
 
         ExecuteResult result = action.execute(connector);
         assertEquals(ExecuteResult.OK, result);
@@ -109,7 +110,7 @@ public class CheckAttributeValueActionTest {
         action.setValue("0");
         action.setRegexp(false);
 
-        given(connector.getBody()).willReturn("[{\"id\": 6}]");
+        given(connector.getJsonBody()).willReturn(new JsonDocument("[{\"id\": 6}]"));
 
         ExecuteResult result = action.execute(connector);
         assertEquals(ExecuteResult.FAILED, result);
@@ -117,7 +118,7 @@ public class CheckAttributeValueActionTest {
 
     @Test
     public void shouldReturnOkIfAttributeWithRightValueExists() {
-        given(connector.getBody()).willReturn("{\"awesome_field\": \"Hello World!\"}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument("{\"awesome_field\": \"Hello World!\"}"));
 
         ExecuteResult result = c.execute(connector);
 
@@ -126,8 +127,8 @@ public class CheckAttributeValueActionTest {
 
     @Test
     public void shouldReturnOkIfAttributeWithRightValueExistsWithComplexStructure() {
-        given(connector.getBody()).willReturn("{\"awesome_field\": {\"foo\": \"Hello World!\","
-                + "\"other\": [\"Lorem Ipsum.\", \"Fooooobar.\"]}}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument("{\"awesome_field\": {\"foo\": \"Hello World!\","
+                + "\"other\": [\"Lorem Ipsum.\", \"Fooooobar.\"]}}"));
         c.setAttribute("awesome_field.foo");
 
         ExecuteResult result = c.execute(connector);
@@ -137,7 +138,7 @@ public class CheckAttributeValueActionTest {
 
     @Test
     public void shouldReturnFailedIfAttributeWithWrongValueExists() {
-        given(connector.getBody()).willReturn("{\"awesome_field\": \"Lorem Ipsum!\"}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument("{\"awesome_field\": \"Lorem Ipsum!\"}"));
 
         ExecuteResult result = c.execute(connector);
 
@@ -146,7 +147,8 @@ public class CheckAttributeValueActionTest {
 
     @Test
     public void shouldReturnFailedIfAttributeDoesNotExist() {
-        given(connector.getBody()).willReturn("{\"not_so_awesome_field\": \"Lorem Ipsum. Hello World! Fooooobar\"}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument(
+                "{\"not_so_awesome_field\": \"Lorem Ipsum. Hello World! Fooooobar\"}"));
 
         ExecuteResult result = c.execute(connector);
 
@@ -155,7 +157,7 @@ public class CheckAttributeValueActionTest {
 
     @Test
     public void shouldReturnFailedIfJSONIsEmpty() {
-        given(connector.getBody()).willReturn("");
+        given(connector.getJsonBody()).willReturn(new JsonDocument(""));
 
         ExecuteResult result = c.execute(connector);
 
@@ -166,7 +168,7 @@ public class CheckAttributeValueActionTest {
     public void shouldReturnOKIfTextWasFoundWithRegexp() {
         c.setValue("F[oO]+ B[a]+r");
         c.setRegexp(true);
-        given(connector.getBody()).willReturn("{\"awesome_field\": \"FoO Baaaaar\"}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument("{\"awesome_field\": \"FoO Baaaaar\"}"));
 
         assertEquals(ExecuteResult.OK, c.execute(connector));
     }
@@ -175,7 +177,7 @@ public class CheckAttributeValueActionTest {
     public void shouldReturnFailedIfTextWasNotFoundWithRegexp() {
         c.setValue("F[oO]+ B[a]+r");
         c.setRegexp(true);
-        given(connector.getBody()).willReturn("{\"awesome_field\": \"F Bar\"}");
+        given(connector.getJsonBody()).willReturn(new JsonDocument("{\"awesome_field\": \"F Bar\"}"));
 
         assertEquals(ExecuteResult.FAILED, c.execute(connector));
     }
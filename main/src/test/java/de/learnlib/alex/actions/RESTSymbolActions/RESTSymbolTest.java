@@ -23,6 +23,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -55,6 +57,19 @@ public class RESTSymbolTest {
         assertEquals(ExecuteResult.OK, result);
     }
 
+    @Test
+    public void shouldReturnTheNumberOfTheFailedAction() throws Exception {
+        ConnectorManager connector = mock(ConnectorManager.class);
+        given(action1.executeAction(connector)).willReturn(ExecuteResult.OK);
+        given(action2.executeAction(connector)).willReturn(ExecuteResult.FAILED);
+
+        ExecuteResult result = symbol.execute(connector);
+
+        assertSame(ExecuteResult.failed(1), result);
+        assertEquals("FAILED(2)", result.toString());
+        assertNull(ExecuteResult.FAILED.getFailedActionNumber()); // the shared instance is not modified
+    }
+
     @Test
     public void shouldReturnFailedIfOneActionsRunFailed() throws Exception {
         ConnectorManager connector = mock(ConnectorManager.class);
@@ -63,7 +78,7 @@ public class RESTSymbolTest {
 
         ExecuteResult result = symbol.execute(connector);
 
-        assertEquals(ExecuteResult.FAILED, result);
+        assertEquals(ExecuteResult.failed(0), result);
         verify(action2, never()).executeAction(connector);
     }
 
@@ -75,7 +90,7 @@ public class RESTSymbolTest {
 
         ExecuteResult result = symbol.execute(connector);
 
-        assertEquals(ExecuteResult.FAILED, result);
+        assertEquals(ExecuteResult.failed(0), result);
         verify(action2, never()).executeAction(connector);
     }
 
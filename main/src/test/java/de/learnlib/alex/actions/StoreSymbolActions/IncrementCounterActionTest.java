@@ -33,6 +33,7 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -101,4 +102,9 @@ public class IncrementCounterActionTest {
         assertEquals(ExecuteResult.OK, result);
         verify(counters).incrementBy(USER_ID, PROJECT_ID, TEST_NAME, 1);
     }
+
+    @Test
+    public void shouldRequireTheCounterStoreConnector() {
+        assertEquals(Collections.singleton(CounterStoreConnector.class), incrementAction.getRequiredConnectors());
+    }
 }
@@ -22,6 +22,7 @@ import de.learnlib.alex.core.entities.SymbolAction;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
 import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
 import de.learnlib.alex.core.learner.connectors.WebServiceConnector;
+import de.learnlib.alex.utils.JsonDocument;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -78,7 +79,7 @@ public class SetVariableByJSONAttributeActionTest {
     public void shouldSetTheRightValue() {
         VariableStoreConnector storeConnector = mock(VariableStoreConnector.class);
         WebServiceConnector webServiceConnector = mock(WebServiceConnector.class);
-        given(webServiceConnector.getBody()).willReturn("{\"foo\": \"bar\"}");
+        given(webServiceConnector.getJsonBody()).willReturn(new JsonDocument("{\"foo\": \"bar\"}"));
         ConnectorManager connectors = mock(ConnectorManager.class);
         given(connectors.getConnector(VariableStoreConnector.class)).willReturn(storeConnector);
         given((connectors.getConnector(WebServiceConnector.class))).willReturn(webServiceConnector);
@@ -93,7 +94,7 @@ public class SetVariableByJSONAttributeActionTest {
     public void shouldSetNotihingIfThePropertyDoesNotExists() {
         VariableStoreConnector storeConnector = mock(VariableStoreConnector.class);
         WebServiceConnector webServiceConnector = mock(WebServiceConnector.class);
-        given(webServiceConnector.getBody()).willReturn("{\"nope\": \"bar\"}");
+        given(webServiceConnector.getJsonBody()).willReturn(new JsonDocument("{\"nope\": \"bar\"}"));
         ConnectorManager connectors = mock(ConnectorManager.class);
         given(connectors.getConnector(VariableStoreConnector.class)).willReturn(storeConnector);
         given((connectors.getConnector(WebServiceConnector.class))).willReturn(webServiceConnector);
@@ -29,6 +29,7 @@ import de.learnlib.alex.core.entities.Symbol;
 import de.learnlib.alex.core.entities.SymbolGroup;
 import de.learnlib.alex.core.entities.User;
 import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.alex.core.learner.connectors.WebSiteConnector;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -41,6 +42,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class WebSymbolTest {
@@ -203,8 +205,37 @@ public class WebSymbolTest {
         symbol.addAction(action1);
         symbol.addAction(action2);
 
-        assertEquals(ExecuteResult.FAILED, symbol.execute(connector));
+        assertEquals(ExecuteResult.failed(0), symbol.execute(connector));
         verify(action2, never()).execute(connector);
     }
 
+    @Test
+    public void shouldSearchConsecutiveTextChecksInOnePass() {
+        WebSiteConnector webSiteConnector = mock(WebSiteConnector.class);
+        given(webSiteConnector.getPageSource()).willReturn("<p>Hello World</p>");
+        ConnectorManager connector = mock(ConnectorManager.class);
+        given(connector.getConnector(WebSiteConnector.class)).willReturn(webSiteConnector);
+
+        User user = symbol.getUser();
+        Project project = symbol.getProject();
+        symbol = new Symbol();
+        symbol.setUser(user);
+        symbol.setProject(project);
+        symbol.addAction(createCheckText("Hello", false));
+        symbol.addAction(createCheckText("Goodbye", true));
+        symbol.addAction(createCheckText("World", false));
+        symbol.addAction(createCheckText("Foobar", false));
+
+        assertEquals(ExecuteResult.failed(3), symbol.execute(connector));
+        verify(webSiteConnector, times(1)).getPageSource();
+    }
+
+    private CheckTextWebAction createCheckText(String value, boolean negated) {
+        CheckTextWebAction action = new CheckTextWebAction();
+        action.setUser(symbol.getUser());
+        action.setProject(symbol.getProject());
+        action.setValue(value);
+        action.setNegated(negated);
+        return action;
+    }
 }
@@ -35,6 +35,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import javax.validation.ValidationException;
 import java.util.ArrayList;
@@ -44,10 +45,12 @@ import java.util.List;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -193,6 +196,49 @@ public class LearnerResultDAOImplTest {
         learnerResultDAO.getAll(USER_ID, PROJECT_ID, true); // should fail
     }
 
+    @Test
+    public void shouldGetOnePageOfResults() throws NotFoundException {
+        List<LearnerResult> results = createLearnerResultsList();
+        given(learnerResultRepository.findByUser_IdAndProject_IdOrderByTestNoAsc(USER_ID, PROJECT_ID,
+                                                                                 new PageRequest(1, 3)))
+                .willReturn(results);
+
+        List<LearnerResult> resultsFromDAO = learnerResultDAO.getAll(USER_ID, PROJECT_ID, 1, 3);
+
+        assertThat(resultsFromDAO, is(equalTo(results)));
+        resultsFromDAO.forEach(r -> assertNull(r.getSteps()));
+    }
+
+    @Test
+    public void shouldGetAnEmptyPageBehindTheLastResult() throws NotFoundException {
+        given(learnerResultRepository.countByUser_IdAndProject_Id(USER_ID, PROJECT_ID)).willReturn(3L);
+
+        List<LearnerResult> resultsFromDAO = learnerResultDAO.getAll(USER_ID, PROJECT_ID, 1, 3);
+
+        assertTrue(resultsFromDAO.isEmpty());
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void ensureThatGettingAPageOfResultsThrowsAnExceptionIfTheProjectHasNoResults() throws NotFoundException {
+        learnerResultDAO.getAll(USER_ID, PROJECT_ID, 0, 3); // should fail
+    }
+
+    @Test
+    public void shouldOnlyLoadTheHypothesesAndAlgorithmInformationOfStepsIfRequested() {
+        LearnerResult result = new LearnerResult();
+        result.setId(1L);
+        PageRequest pageRequest = new PageRequest(0, 10);
+
+        learnerResultDAO.getSteps(result, 0, 10, false, false);
+        verify(learnerResultStepRepository).findSummariesByResultId(1L, pageRequest);
+
+        learnerResultDAO.getSteps(result, 0, 10, true, false);
+        verify(learnerResultStepRepository).findSummariesWithHypothesisByResultId(1L, pageRequest);
+
+        learnerResultDAO.getSteps(result, 0, 10, true, true);
+        verify(learnerResultStepRepository).findByResult_IdOrderByStepNoAsc(1L, pageRequest);
+    }
+
 
     @Test
     public void shouldGetMultipleResults() throws NotFoundException {
@@ -311,20 +357,42 @@ public class LearnerResultDAOImplTest {
         statistics.setMqsUsed(detailedStatistics);
         statistics.setSymbolsUsed(detailedStatistics);
         //
-        CompactMealyMachineProxy hypothesis = mock(CompactMealyMachineProxy.class);
+        CompactMealyMachineProxy hypothesis = new CompactMealyMachineProxy();
+        hypothesis.setEdges(new ArrayList<>());
         step.setHypothesis(hypothesis);
         step.setStatistics(statistics);
 
         learnerResultDAO.saveStep(result, step);
 
         verify(learnerResultStepRepository, times(2)).save(step);
-        assertThat(result.getHypothesis(), is(equalTo(hypothesis)));
+        assertThat(result.getHypothesis(), is(not(sameInstance(hypothesis))));
+        assertThat(result.getHypothesis().getEdges(), is(sameInstance(hypothesis.getEdges())));
         assertThat(result.getStatistics().getEqsUsed(), is(equalTo(1L)));
         assertThat(result.getStatistics().getDuration(), is(equalTo(detailedStatistics)));
         assertThat(result.getStatistics().getMqsUsed(), is(equalTo(detailedStatistics)));
         assertThat(result.getStatistics().getSymbolsUsed(), is(equalTo(detailedStatistics)));
     }
 
+    @Test
+    public void shouldStoreTheHypothesisOfAStepAsDeltaToThePreviousHypothesis() {
+        LearnerResult result = new LearnerResult();
+        for (long i = 1; i <= LearnerResultDAOImpl.HYPOTHESIS_KEYFRAME_INTERVAL + 1; i++) {
+            LearnerResultStep step = new LearnerResultStep();
+            step.setStepNo(i);
+            step.setHypothesis(new CompactMealyMachineProxy());
+            step.getHypothesis().setEdges(new ArrayList<>());
+            result.getSteps().add(step);
+
+            learnerResultDAO.saveStep(result, step);
+        }
+
+        List<LearnerResultStep> steps = result.getSteps();
+        assertNull(steps.get(0).getHypothesis().getDeltaBase());
+        assertThat(steps.get(1).getHypothesis().getDeltaBase(), is(sameInstance(steps.get(0).getHypothesis())));
+        assertNull(steps.get(LearnerResultDAOImpl.HYPOTHESIS_KEYFRAME_INTERVAL).getHypothesis().getDeltaBase());
+        assertNull(result.getHypothesis().getDeltaBase());
+    }
+
     @Test
     public void shouldDeleteMultipleResults() throws NotFoundException {
         User user = new User();
@@ -332,7 +400,7 @@ public class LearnerResultDAOImplTest {
         Long[] testNos = new Long[] {0L, 1L};
         //
         LearnerStatus status = new LearnerStatus();
-        given(learner.getStatus(user)).willReturn(status);
+        given(learner.getStatus(user, PROJECT_ID)).willReturn(status);
         //
         given(learnerResultRepository.deleteByUserAndProject_IdAndTestNoIn(user, PROJECT_ID, testNos)).willReturn(2L);
 
@@ -348,7 +416,7 @@ public class LearnerResultDAOImplTest {
         Long[] testNos = new Long[] {0L, 1L};
         //
         LearnerStatus status = new LearnerStatus();
-        given(learner.getStatus(user)).willReturn(status);
+        given(learner.getStatus(user, PROJECT_ID)).willReturn(status);
         //
         given(learnerResultRepository.deleteByUserAndProject_IdAndTestNoIn(user, PROJECT_ID, testNos)).willReturn(1L);
 
@@ -368,7 +436,7 @@ public class LearnerResultDAOImplTest {
         Long[] testNos = new Long[] {0L, 1L};
         //
         LearnerStatus status = new LearnerStatus(result, Learner.LearnerPhase.LEARNING, new ArrayList<>());
-        given(learner.getStatus(user)).willReturn(status);
+        given(learner.getStatus(user, PROJECT_ID)).willReturn(status);
 
         learnerResultDAO.delete(learner, user, PROJECT_ID, testNos); // should fail
     }
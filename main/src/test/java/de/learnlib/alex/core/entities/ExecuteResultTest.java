@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.entities;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ExecuteResultTest {
+
+    private static final int AMOUNT_OF_THREADS = 4;
+
+    @Test
+    public void shouldHaveTheStringRepresentationOfTheOutput() {
+        assertEquals("OK", ExecuteResult.OK.toString());
+        assertEquals("FAILED", ExecuteResult.FAILED.toString());
+        assertEquals("FAILED(1)", ExecuteResult.failed(0).toString());
+        assertEquals("FAILED(1000)", ExecuteResult.failed(999).toString());
+    }
+
+    @Test
+    public void shouldInternTheOutputs() {
+        assertSame(ExecuteResult.failed(3), ExecuteResult.failed(3));
+        assertSame(ExecuteResult.failed(999), ExecuteResult.failed(999));
+        assertSame(ExecuteResult.failed(3).toString(), ExecuteResult.failed(3).toString());
+    }
+
+    @Test
+    public void shouldKnowTheFailedAction() {
+        assertTrue(ExecuteResult.OK.isSuccess());
+        assertNull(ExecuteResult.OK.getFailedActionNumber());
+        assertFalse(ExecuteResult.FAILED.isSuccess());
+        assertNull(ExecuteResult.FAILED.getFailedActionNumber());
+        assertFalse(ExecuteResult.failed(2).isSuccess());
+        assertEquals(Integer.valueOf(2), ExecuteResult.failed(2).getFailedActionNumber());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNegativeActionNumbers() {
+        ExecuteResult.failed(-1); // should fail
+    }
+
+    @Test
+    public void shouldNotShareTheFailedActionBetweenThreads() throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(AMOUNT_OF_THREADS);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < AMOUNT_OF_THREADS; i++) {
+                final int actionNumber = i;
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 10000; j++) {
+                        if (ExecuteResult.failed(actionNumber).getFailedActionNumber() != actionNumber) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -39,13 +39,16 @@ public class LearnerConfigurationTest {
     @Test
     public void shouldCreateTheCorrectDefaultJSON() throws JsonProcessingException {
         String expectedJSON = "{\"algorithm\":\"TTT\","
-                                + "\"browser\":{\"driver\":\"htmlunitdriver\",\"height\":null,\"width\":null},"
-                                + "\"comment\":\"\","
+                                + "\"browser\":{\"driver\":\"htmlunitdriver\",\"driverMode\":\"NEW_PER_QUERY\","
+                                + "\"height\":null,"
+                                + "\"maxDriverUses\":100,\"width\":null,\"xvfbDisplayPort\":null},"
+                                + "\"comment\":\"\",\"counterexampleShortening\":\"NONE\","
                                 + "\"eqOracle\":"
                                 + "{\"type\":\"random_word\",\"minLength\":" + EQ_MIN_VALUE + ","
                                 + "\"maxLength\":" + EQ_MAX_VALUE + ",\"seed\":42,\"maxNoOfTests\":1},"
-                                + "\"maxAmountOfStepsToLearn\":-1,\"project\":null,\"resetSymbol\":null,\"symbols\":[],"
-                                + "\"useMQCache\":true,\"user\":null}";
+                                + "\"maxAmountOfStepsToLearn\":-1,\"project\":null,\"resetStrategy\":\"SYMBOL\","
+                                + "\"resetSymbol\":null,\"symbols\":[],"
+                                + "\"useMQCache\":true,\"usePersistentMQCache\":false,\"user\":null}";
 
         LearnerConfiguration configuration = new LearnerConfiguration();
 
@@ -58,12 +61,15 @@ public class LearnerConfigurationTest {
     @Test
     public void shouldCreateTheCorrectJSON() throws JsonProcessingException {
         String expectedJSON = "{\"algorithm\":\"DHC\","
-                                +  "\"browser\":{\"driver\":\"htmlunitdriver\",\"height\":null,\"width\":null},"
-                                + "\"comment\":\"test\",\"eqOracle\":"
+                                +  "\"browser\":{\"driver\":\"htmlunitdriver\",\"driverMode\":\"NEW_PER_QUERY\","
+                                + "\"height\":null,"
+                                + "\"maxDriverUses\":100,\"width\":null,\"xvfbDisplayPort\":null},"
+                                + "\"comment\":\"test\",\"counterexampleShortening\":\"NONE\",\"eqOracle\":"
                                 + "{\"type\":\"complete\",\"minDepth\":" + EQ_MIN_VALUE + ","
                                     + "\"maxDepth\":" + EQ_MAX_VALUE + "},"
-                                + "\"maxAmountOfStepsToLearn\":-1,\"project\":null,\"resetSymbol\":null,\"symbols\":[],"
-                                + "\"useMQCache\":true,\"user\":null}";
+                                + "\"maxAmountOfStepsToLearn\":-1,\"project\":null,\"resetStrategy\":\"SYMBOL\","
+                                + "\"resetSymbol\":null,\"symbols\":[],"
+                                + "\"useMQCache\":true,\"usePersistentMQCache\":false,\"user\":null}";
 
         LearnerConfiguration configuration = new LearnerConfiguration();
 
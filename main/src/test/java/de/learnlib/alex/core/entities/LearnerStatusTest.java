@@ -48,9 +48,11 @@ public class LearnerStatusTest {
         learnerResult.setTestNo(0L);
 
         String expectedJSON = "{\"active\":true,\"currentQueries\":[],\"learnerPhase\":\"LEARNING\","
-                + "\"project\":0,\"statistics\":{\"duration\":{\"learner\":0,"
-                + "\"eqOracle\":0,\"total\":0},\"eqsUsed\":0,\"mqsUsed\":{\"learner\":1,\"eqOracle\":1,"
-                + "\"total\":2},\"startDate\":\"1970-01-01T00:00:00.000+00:00\",\"symbolsUsed\":{\"learner\":0,"
+                + "\"project\":0,\"statistics\":{\"counterexampleMqsUsed\":0,\"duration\":{\"learner\":0,"
+                + "\"eqOracle\":0,\"total\":0},\"eqsUsed\":0,\"mqsSaved\":{\"learner\":0,\"eqOracle\":0,\"total\":0},"
+                + "\"mqsUsed\":{\"learner\":1,\"eqOracle\":1,"
+                + "\"total\":2},\"startDate\":\"1970-01-01T00:00:00.000+00:00\","
+                + "\"symbolsSaved\":{\"learner\":0,\"eqOracle\":0,\"total\":0},\"symbolsUsed\":{\"learner\":0,"
                 + "\"eqOracle\":0,\"total\":0}},\"stepNo\":0,\"testNo\":0}";
 
         LearnerStatus status = new LearnerStatus(learnerResult, Learner.LearnerPhase.LEARNING, new ArrayList<>());
@@ -100,6 +100,16 @@ public class ProjectTest {
         assertEquals(2, p.getMirrorUrls().size());
     }
 
+    @Test
+    public void shouldHaveOneSlotPerUrlByDefault() throws IOException {
+        Project p = new Project();
+        assertEquals(1, p.getSlotsPerUrl());
+
+        p.setSlotsPerUrl(8);
+        Project p2 = new ObjectMapper().readValue(new ObjectMapper().writeValueAsString(p), Project.class);
+        assertEquals(8, p2.getSlotsPerUrl());
+    }
+
     @Test
     public void ensureThatEqualsAndHashAreWorking() {
         Project p1 = new Project();
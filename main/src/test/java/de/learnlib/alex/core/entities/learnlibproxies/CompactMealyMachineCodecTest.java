@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.entities.learnlibproxies;
+
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.impl.SimpleAlphabet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompactMealyMachineCodecTest {
+
+    private static final int AMOUNT_OF_STATES = 50;
+
+    private Alphabet<String> sigma;
+
+    private CompactMealyMachineProxy machine;
+
+    @Before
+    public void setUp() {
+        sigma = new SimpleAlphabet<>(Arrays.asList("login", "logout", "status"));
+        machine = CompactMealyMachineProxy.createFrom(createMachine(AMOUNT_OF_STATES, 0), sigma);
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeAMachineLosslessly() {
+        byte[] data = CompactMealyMachineCodec.encode(machine);
+
+        assertFalse(CompactMealyMachineCodec.isDelta(data));
+        assertMachineEquals(machine, CompactMealyMachineCodec.decode(data, null));
+    }
+
+    @Test
+    public void shouldEncodeAMachineMoreCompactThanJSON() {
+        byte[] data = CompactMealyMachineCodec.encode(machine);
+
+        // every edge is at least {"from":0,"input":"login","to":0,"output":"OK"} in JSON
+        assertTrue(data.length < machine.getEdges().size() * 10);
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeADeltaLosslessly() {
+        CompactMealyMachineProxy nextMachine = CompactMealyMachineProxy.createFrom(
+                createMachine(AMOUNT_OF_STATES + 1, 1), sigma);
+
+        byte[] delta = CompactMealyMachineCodec.encode(nextMachine, machine);
+
+        assertTrue(CompactMealyMachineCodec.isDelta(delta));
+        assertTrue(delta.length < CompactMealyMachineCodec.encode(nextMachine).length);
+        assertMachineEquals(nextMachine, CompactMealyMachineCodec.decode(delta, machine));
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeADeltaWithRemovedTransitionsLosslessly() {
+        CompactMealyMachineProxy smallerMachine = CompactMealyMachineProxy.createFrom(createMachine(2, 0), sigma);
+
+        byte[] delta = CompactMealyMachineCodec.encode(smallerMachine, machine);
+
+        assertMachineEquals(smallerMachine, CompactMealyMachineCodec.decode(delta, machine));
+    }
+
+    @Test
+    public void shouldEncodeAMachineCompletelyIfItsEdgesAreNotInCanonicalOrder() {
+        CompactMealyMachineProxy shuffledMachine = CompactMealyMachineProxy.createFrom(createMachine(3, 0), sigma);
+        List<CompactMealyTransitionProxy> edges = shuffledMachine.getEdges();
+        edges.add(edges.remove(0));
+
+        byte[] data = CompactMealyMachineCodec.encode(shuffledMachine, machine);
+
+        assertFalse(CompactMealyMachineCodec.isDelta(data));
+        assertMachineEquals(shuffledMachine, CompactMealyMachineCodec.decode(data, null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailToDecodeADeltaWithoutItsBase() {
+        CompactMealyMachineProxy nextMachine = CompactMealyMachineProxy.createFrom(createMachine(3, 1), sigma);
+        byte[] delta = CompactMealyMachineCodec.encode(nextMachine, machine);
+
+        CompactMealyMachineCodec.decode(delta, null); // should fail
+    }
+
+    @Test
+    public void shouldResolveAMachineThatWasLoadedAsDelta() {
+        CompactMealyMachineProxy nextMachine = CompactMealyMachineProxy.createFrom(
+                createMachine(AMOUNT_OF_STATES, 1), sigma);
+        nextMachine.setDeltaBase(machine);
+
+        CompactMealyMachineProxy loadedMachine = new CompactMealyMachineProxy();
+        loadedMachine.setDataDB(nextMachine.getDataDB());
+        assertTrue(loadedMachine.isUnresolved());
+        assertNull(loadedMachine.getEdges());
+
+        loadedMachine.resolve(machine);
+
+        assertFalse(loadedMachine.isUnresolved());
+        assertMachineEquals(nextMachine, loadedMachine);
+    }
+
+    private CompactMealy<String, String> createMachine(int amountOfStates, int variant) {
+        CompactMealy<String, String> mealy = new CompactMealy<>(sigma);
+        for (int i = 0; i < amountOfStates; i++) {
+            mealy.addState();
+        }
+        mealy.setInitialState(0);
+
+        for (int i = 0; i < amountOfStates; i++) {
+            mealy.addTransition(i, "login", (i + 1) % amountOfStates, "OK");
+            mealy.addTransition(i, "logout", 0, i % 7 == variant ? "FAILED" : "OK");
+            mealy.addTransition(i, "status", i, "OK (" + (i % 3) + ")");
+        }
+        return mealy;
+    }
+
+    private void assertMachineEquals(CompactMealyMachineProxy expected, CompactMealyMachineProxy actual) {
+        assertEquals(expected.getNodes(), actual.getNodes());
+        assertEquals(expected.getInitNode(), actual.getInitNode());
+        assertEquals(expected.getEdges().size(), actual.getEdges().size());
+        for (int i = 0; i < expected.getEdges().size(); i++) {
+            CompactMealyTransitionProxy expectedEdge = expected.getEdges().get(i);
+            CompactMealyTransitionProxy actualEdge = actual.getEdges().get(i);
+            assertEquals(expectedEdge.getFrom(), actualEdge.getFrom());
+            assertEquals(expectedEdge.getInput(), actualEdge.getInput());
+            assertEquals(expectedEdge.getTo(), actualEdge.getTo());
+            assertEquals(expectedEdge.getOutput(), actualEdge.getOutput());
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner;
+
+import de.learnlib.api.MembershipOracle;
+import de.learnlib.api.Query;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.WordBuilder;
+import net.automatalib.words.impl.SimpleAlphabet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CounterexampleProcessorTest {
+
+    private static final int COUNTEREXAMPLE_LENGTH = 64;
+
+    private Alphabet<String> alphabet;
+
+    private CompactMealy<String, String> target;
+
+    private CompactMealy<String, String> hypothesis;
+
+    private int queries;
+
+    private DefaultQuery<String, Word<String>> counterexample;
+
+    @Before
+    public void setUp() {
+        alphabet = new SimpleAlphabet<>(Arrays.asList("a", "b"));
+
+        // counts the 'a's modulo 4, 'b' outputs 1 after three 'a's
+        target = new CompactMealy<>(alphabet);
+        int[] states = new int[4];
+        states[0] = target.addInitialState();
+        for (int i = 1; i < states.length; i++) {
+            states[i] = target.addState();
+        }
+        for (int i = 0; i < states.length; i++) {
+            target.addTransition(states[i], "a", states[(i + 1) % states.length], "x");
+            target.addTransition(states[i], "b", states[i], i == 3 ? "1" : "0");
+        }
+
+        // only knows one state
+        hypothesis = new CompactMealy<>(alphabet);
+        int state = hypothesis.addInitialState();
+        hypothesis.addTransition(state, "a", state, "x");
+        hypothesis.addTransition(state, "b", state, "0");
+
+        // long word that only ends with a counterexample, as the 'a's before always complete a cycle
+        WordBuilder<String> wb = new WordBuilder<>();
+        for (int i = 0; i < (COUNTEREXAMPLE_LENGTH - 4) / 5; i++) {
+            wb.append("b").append("a").append("a").append("a").append("a");
+        }
+        Word<String> input = wb.toWord().concat(Word.fromSymbols("a", "a", "a", "b"));
+        counterexample = new DefaultQuery<>(Word.<String>epsilon(), input, target.computeOutput(input));
+
+        queries = 0;
+    }
+
+    @Test
+    public void shouldCutTheCounterexampleAfterTheFirstWrongOutputWithoutQueries() {
+        DefaultQuery<String, Word<String>> result = createProcessor(CounterexampleProcessor.Strategy.NONE)
+                .process(hypothesis, counterexample);
+
+        assertCounterexample(result);
+        assertEquals(0, queries);
+
+        Word<String> prefix = result.getInput().prefix(result.getInput().length() - 1);
+        assertEquals(hypothesis.computeOutput(prefix), target.computeOutput(prefix));
+    }
+
+    @Test
+    public void shouldShortenTheCounterexampleLinear() {
+        DefaultQuery<String, Word<String>> result = createProcessor(CounterexampleProcessor.Strategy.LINEAR)
+                .process(hypothesis, counterexample);
+
+        assertCounterexample(result);
+        assertEquals(4, result.getInput().length());
+    }
+
+    @Test
+    public void shouldShortenTheCounterexampleWithABinarySearch() {
+        int maxQueries = 32 - Integer.numberOfLeadingZeros(COUNTEREXAMPLE_LENGTH);
+
+        DefaultQuery<String, Word<String>> result = createProcessor(CounterexampleProcessor.Strategy.BINARY_SEARCH)
+                .process(hypothesis, counterexample);
+
+        assertCounterexample(result);
+        assertTrue(queries <= maxQueries);
+    }
+
+    @Test
+    public void shouldShortenTheCounterexampleWithAnExponentialSearch() {
+        DefaultQuery<String, Word<String>> result = createProcessor(CounterexampleProcessor.Strategy.EXPONENTIAL)
+                .process(hypothesis, counterexample);
+
+        assertCounterexample(result);
+        assertEquals(4, result.getInput().length());
+    }
+
+    private void assertCounterexample(DefaultQuery<String, Word<String>> result) {
+        assertTrue(result.getInput().length() <= counterexample.getInput().length());
+        assertEquals(target.computeOutput(result.getInput()), result.getOutput());
+        assertNotEquals(hypothesis.computeOutput(result.getInput()), result.getOutput());
+    }
+
+    private CounterexampleProcessor<String, String> createProcessor(CounterexampleProcessor.Strategy strategy) {
+        MembershipOracle<String, Word<String>> oracle = new MembershipOracle<String, Word<String>>() {
+            @Override
+            public void processQueries(Collection<? extends Query<String, Word<String>>> queries) {
+                for (Query<String, Word<String>> query : queries) {
+                    CounterexampleProcessorTest.this.queries++;
+                    query.answer(target.computeSuffixOutput(query.getPrefix(), query.getSuffix()));
+                }
+            }
+        };
+        return new CounterexampleProcessor<>(strategy, oracle, alphabet);
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner;
+
+import de.learnlib.alex.core.entities.LearnerResult;
+import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.core.learner.metrics.LearnerMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class LearnerJobSchedulerTest {
+
+    private static final long TIMEOUT = 5;
+
+    private LearnerJobScheduler scheduler;
+
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() {
+        scheduler = new LearnerJobScheduler(2, 1);
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void shouldRunJobsOfDifferentUsersConcurrently() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        LearnerJob job1 = createJob(1L, 1L, started);
+        LearnerJob job2 = createJob(2L, 1L, started);
+
+        scheduler.submit(job1);
+        scheduler.submit(job2);
+
+        assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(LearnerJob.State.RUNNING, job1.getState());
+        assertEquals(LearnerJob.State.RUNNING, job2.getState());
+    }
+
+    @Test
+    public void shouldQueueJobsThatExceedTheQuotaOfTheUser() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        LearnerJob job1 = createJob(1L, 1L, started);
+        LearnerJob job2 = createJob(1L, 2L, new CountDownLatch(1));
+        LearnerJob job3 = createJob(2L, 1L, new CountDownLatch(1));
+
+        scheduler.submit(job1);
+        scheduler.submit(job2);
+        scheduler.submit(job3);
+
+        assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(LearnerJob.State.QUEUED, job2.getState());
+        assertEquals(1, scheduler.getQueuePosition(job2));
+        assertEquals(LearnerJob.State.RUNNING, job3.getState()); // skips the job of the busy user
+        assertEquals(0, scheduler.getQueuePosition(job3));
+    }
+
+    @Test
+    public void shouldStartQueuedJobsAfterAJobHasFinished() throws Exception {
+        LearnerJob job1 = createJob(1L, 1L, new CountDownLatch(1));
+        CountDownLatch started = new CountDownLatch(1);
+        LearnerJob job2 = createJob(1L, 2L, started);
+
+        scheduler.submit(job1);
+        scheduler.submit(job2);
+        assertEquals(LearnerJob.State.QUEUED, job2.getState());
+
+        release.countDown();
+
+        assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(job2, scheduler.getLatestJob(1L));
+    }
+
+    @Test
+    public void shouldKeepTheResultOfTheLatestFinishedJob() throws Exception {
+        LearnerJob job1 = createJob(1L, 1L, new CountDownLatch(1));
+        CountDownLatch started = new CountDownLatch(1);
+        LearnerJob job2 = createJob(1L, 2L, started);
+        scheduler.submit(job1);
+        scheduler.submit(job2);
+
+        release.countDown();
+
+        assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+        assertFalse(job1.isActive());
+        assertNull(job1.getThread());
+        assertEquals(job1, scheduler.getJob(1L, 1L));
+        assertNotNull(scheduler.getJob(1L, 1L).getResult());
+        assertNotNull(scheduler.getJob(1L, 1L).getMetrics());
+    }
+
+    @Test
+    public void shouldKeepAStoppedQueuedJob() {
+        scheduler.submit(createJob(1L, 1L, new CountDownLatch(1)));
+        LearnerJob job = createJob(1L, 2L, new CountDownLatch(1));
+        scheduler.submit(job);
+
+        scheduler.stop(job);
+
+        assertEquals(job, scheduler.getJob(1L, 2L));
+        assertEquals(job, scheduler.getLatestJob(1L));
+        assertNull(job.getThread());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldOnlyAllowOneActiveJobPerUserAndProject() {
+        scheduler.submit(createJob(1L, 1L, new CountDownLatch(1)));
+        scheduler.submit(createJob(1L, 1L, new CountDownLatch(1)));
+    }
+
+    @Test
+    public void shouldRemoveAStoppedJobFromTheQueue() {
+        LearnerJob job1 = createJob(1L, 1L, new CountDownLatch(1));
+        LearnerJob job2 = createJob(1L, 2L, new CountDownLatch(1));
+        LearnerThread thread2 = job2.getThread();
+        scheduler.submit(job1);
+        scheduler.submit(job2);
+
+        scheduler.stop(job2);
+
+        assertFalse(job2.isActive());
+        assertEquals(0, scheduler.getQueuePosition(job2));
+        verify(thread2).dispose();
+        verify(thread2, never()).run();
+    }
+
+    @Test
+    public void shouldStopARunningJobAfterTheCurrentStep() {
+        LearnerJob job = createJob(1L, 1L, new CountDownLatch(1));
+        scheduler.submit(job);
+
+        scheduler.stop(job);
+
+        verify(job.getThread()).stopLearning();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptInvalidLimits() {
+        scheduler.setLimits(0, 1);
+    }
+
+    private LearnerJob createJob(Long userId, Long projectId, CountDownLatch started) {
+        User user = new User();
+        user.setId(userId);
+
+        LearnerThread thread = mock(LearnerThread.class);
+        given(thread.getResult()).willReturn(new LearnerResult());
+        given(thread.getMetrics()).willReturn(new LearnerMetrics());
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(TIMEOUT, TimeUnit.SECONDS);
+            return null;
+        }).when(thread).run();
+
+        return new LearnerJob(user, projectId, thread);
+    }
+}
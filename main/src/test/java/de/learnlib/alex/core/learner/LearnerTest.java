@@ -45,6 +45,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -90,7 +92,8 @@ public class LearnerTest {
         BrowserConfig browserConfig = new BrowserConfig();
 
         given(learnerConfiguration.getBrowser()).willReturn(browserConfig);
-        given(contextHandlerFactory.createContext(user, project, browserConfig))
+        given(contextHandlerFactory.createContext(eq(user), eq(project), eq(browserConfig), any(Symbol.class),
+                                                  anyCollection()))
                 .willReturn(contextHandler);
 //        given(learnerThreadFactory.createThread(any(LearnerResult.class), any(ConnectorContextHandler.class)))
 //                .willReturn(learnerThread);
@@ -153,16 +156,19 @@ public class LearnerTest {
         }
         //
         ConnectorContextHandler ctxHandler = mock(ConnectorContextHandler.class);
-        learner.setContextHandler(ctxHandler);
+        BrowserConfig browserConfig = new BrowserConfig();
+        given(contextHandlerFactory.createSingleContext(user, project, browserConfig, resetSymbol, symbols))
+                .willReturn(ctxHandler);
         //
         ConnectorManager connectorManager = mock(ConnectorManager.class);
         given(ctxHandler.createContext()).willReturn(connectorManager);
 
-        List<String> outputs = learner.readOutputs(user, project, resetSymbol, symbols, new BrowserConfig());
+        List<String> outputs = learner.readOutputs(user, project, resetSymbol, symbols, browserConfig);
 
         assertEquals(symbols.size(), outputs.size());
         assertTrue("at least one output was not OK", outputs.stream().allMatch(output -> output.equals("OK")));
-        verify(connectorManager).dispose();
+        verify(ctxHandler).disposeContext(connectorManager);
+        verify(ctxHandler).shutdown();
     }
 
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner;
+
+import de.learnlib.api.MembershipOracle;
+import de.learnlib.api.Query;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.words.Word;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class PrefixTreeQuerySchedulerTest {
+
+    private EchoOracle sul;
+
+    private PrefixTreeQueryScheduler<String, String> scheduler;
+
+    @Before
+    public void setUp() {
+        sul = new EchoOracle();
+        scheduler = new PrefixTreeQueryScheduler<>(sul);
+    }
+
+    @Test
+    public void shouldOnlyExecuteTheLongestWords() {
+        DefaultQuery<String, Word<String>> q1 = new DefaultQuery<>(Word.fromSymbols("a", "b", "c"));
+        DefaultQuery<String, Word<String>> q2 = new DefaultQuery<>(Word.fromSymbols("a", "b"));
+        DefaultQuery<String, Word<String>> q3 = new DefaultQuery<>(Word.fromSymbols("a"), Word.fromSymbols("b"));
+        DefaultQuery<String, Word<String>> q4 = new DefaultQuery<>(Word.fromSymbols("a", "d"));
+        DefaultQuery<String, Word<String>> q5 = new DefaultQuery<>(Word.fromSymbols("a", "b", "c"));
+
+        scheduler.processQueries(Arrays.asList(q1, q2, q3, q4, q5));
+
+        assertEquals(2, sul.executedQueries.size());
+        assertEquals(Word.fromSymbols("A", "B", "C"), q1.getOutput());
+        assertEquals(Word.fromSymbols("A", "B"), q2.getOutput());
+        assertEquals(Word.fromSymbols("B"), q3.getOutput());
+        assertEquals(Word.fromSymbols("A", "D"), q4.getOutput());
+        assertEquals(Word.fromSymbols("A", "B", "C"), q5.getOutput());
+
+        assertEquals(3L, scheduler.getSavedQueries());
+        assertEquals(12L - 5L, scheduler.getSavedSymbols());
+    }
+
+    @Test
+    public void shouldAnswerTheEmptyWord() {
+        DefaultQuery<String, Word<String>> query = new DefaultQuery<>(Word.epsilon());
+
+        scheduler.processQueries(Arrays.asList(query));
+
+        assertEquals(Word.epsilon(), query.getOutput());
+        assertEquals(0L, scheduler.getSavedQueries());
+    }
+
+    @Test
+    public void shouldResetTheCounters() {
+        scheduler.processQueries(Arrays.asList(new DefaultQuery<>(Word.fromSymbols("a")),
+                                               new DefaultQuery<>(Word.fromSymbols("a"))));
+        assertEquals(1L, scheduler.getSavedQueries());
+
+        scheduler.resetCounter();
+
+        assertEquals(0L, scheduler.getSavedQueries());
+        assertEquals(0L, scheduler.getSavedSymbols());
+    }
+
+    /** Oracle that answers every symbol with its upper case version. */
+    private static class EchoOracle implements MembershipOracle<String, Word<String>> {
+
+        private final List<Word<String>> executedQueries = new ArrayList<>();
+
+        @Override
+        public void processQueries(Collection<? extends Query<String, Word<String>>> queries) {
+            for (Query<String, Word<String>> query : queries) {
+                executedQueries.add(query.getInput());
+                query.answer(query.getSuffix().transform(String::toUpperCase));
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner;
+
+import de.learnlib.alex.exceptions.LearnerException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class QueryExecutorTest {
+
+    private static final int PARALLELISM = 4;
+
+    private static final long TIMEOUT = 5;
+
+    private QueryExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new QueryExecutor(PARALLELISM);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldExecuteAllTasksBeforeReturning() {
+        AtomicInteger counter = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(counter::incrementAndGet);
+        }
+
+        executor.executeAll(tasks);
+
+        assertEquals(100, counter.get());
+        assertEquals(100L, executor.getFinishedQueries());
+        assertEquals(0, executor.getQueueDepth());
+        assertEquals(0, executor.getRunningQueries());
+        assertTrue(executor.getMaxLatency() >= executor.getAverageLatency());
+    }
+
+    @Test(expected = LearnerException.class)
+    public void shouldForwardExceptionsOfTheTasks() {
+        Runnable failingTask = () -> {
+            throw new IllegalStateException("The SUL is not available.");
+        };
+
+        executor.executeAll(Arrays.asList(() -> { }, failingTask));
+    }
+
+    @Test
+    public void shouldBeReusableAfterAFailedBatch() {
+        try {
+            executor.executeAll(Arrays.asList(() -> {
+                throw new LearnerException("failed");
+            }));
+        } catch (LearnerException e) {
+            // expected
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        executor.executeAll(Arrays.asList(counter::incrementAndGet, counter::incrementAndGet));
+
+        assertEquals(2, counter.get());
+        assertEquals(0, executor.getQueueDepth());
+    }
+
+    @Test
+    public void shouldExecuteTheQueriesOfASubmittedTaskInTheSameWorker() throws Exception {
+        QueryExecutor singleWorker = new QueryExecutor(1);
+        AtomicInteger counter = new AtomicInteger();
+        try {
+            Future<?> future = singleWorker.submit(() ->
+                    singleWorker.executeAll(Arrays.asList(counter::incrementAndGet, counter::incrementAndGet)));
+
+            future.get(TIMEOUT, TimeUnit.SECONDS);
+        } finally {
+            singleWorker.shutdown();
+        }
+
+        assertEquals(2, counter.get());
+        assertEquals(1L, singleWorker.getFinishedQueries());
+    }
+
+    @Test
+    public void shouldNotStartACancelledTask() throws Exception {
+        QueryExecutor singleWorker = new QueryExecutor(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger counter = new AtomicInteger();
+        try {
+            Future<?> blocking = singleWorker.submit(() -> {
+                try {
+                    release.await(TIMEOUT, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Future<?> cancelled = singleWorker.submit(counter::incrementAndGet);
+
+            assertTrue(cancelled.cancel(false));
+            release.countDown();
+            blocking.get(TIMEOUT, TimeUnit.SECONDS);
+            assertFalse(cancelled.cancel(false));
+        } finally {
+            singleWorker.shutdown();
+        }
+
+        assertEquals(0, counter.get());
+        assertEquals(0, singleWorker.getQueueDepth());
+    }
+}
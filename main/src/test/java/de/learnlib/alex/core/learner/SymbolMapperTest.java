@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner;
+
+import de.learnlib.alex.actions.StoreSymbolActions.SetVariableAction;
+import de.learnlib.alex.core.entities.Project;
+import de.learnlib.alex.core.entities.Symbol;
+import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.core.entities.SymbolGroup;
+import de.learnlib.alex.core.entities.User;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SymbolMapperTest {
+
+    private static final Long USER_ID = 21L;
+    private static final Long PROJECT_ID = 42L;
+    private static final Long GROUP_ID = 3L;
+
+    private Symbol symbol;
+
+    @Before
+    public void setUp() {
+        User user = new User(USER_ID);
+        Project project = new Project(PROJECT_ID);
+        SymbolGroup group = new SymbolGroup();
+        group.setId(GROUP_ID);
+
+        symbol = new Symbol();
+        symbol.setId(1L);
+        symbol.setUser(user);
+        symbol.setProject(project);
+        symbol.setGroup(group);
+        symbol.setName("symbol");
+        symbol.setAbbreviation("s");
+
+        SetVariableAction action = new SetVariableAction();
+        action.setUser(user);
+        action.setProject(project);
+        action.setName("x");
+        action.setValue("1");
+        symbol.addAction(action);
+    }
+
+    @Test
+    public void shouldShareTheCompiledSymbolsWithItsForks() {
+        SymbolMapper mapper = new SymbolMapper(symbol);
+        SymbolMapper fork = (SymbolMapper) mapper.fork();
+
+        assertNotSame(symbol, mapper.mapInput("s"));
+        assertSame(mapper.mapInput("s"), fork.mapInput("s"));
+    }
+
+    @Test
+    public void shouldCompileADetachedCopyOfTheSymbol() {
+        Symbol plan = SymbolMapper.compile(symbol);
+
+        assertEquals(symbol, plan);
+        assertNull(plan.getUser());
+        assertNull(plan.getProject());
+        assertNull(plan.getGroup());
+        assertEquals(GROUP_ID, plan.getGroupId());
+        assertEquals(1, plan.getActions().size());
+
+        SymbolAction action = plan.getActions().get(0);
+        assertNotSame(symbol.getActions().get(0), action);
+        assertNotSame(symbol.getUser(), action.getUser());
+        assertEquals(USER_ID, action.getUser().getId());
+        assertEquals(PROJECT_ID, action.getProject().getId());
+        assertSame(plan, action.getSymbol());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowToChangeTheActionsOfACompiledSymbol() {
+        Symbol plan = SymbolMapper.compile(symbol);
+
+        plan.addAction(new SetVariableAction());
+    }
+
+}
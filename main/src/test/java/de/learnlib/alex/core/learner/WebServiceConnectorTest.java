@@ -17,6 +17,7 @@
 package de.learnlib.alex.core.learner;
 
 import de.learnlib.alex.core.learner.connectors.WebServiceConnector;
+import de.learnlib.alex.utils.JsonDocument;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -25,11 +26,16 @@ import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Cookie;
 import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -116,6 +122,29 @@ public class WebServiceConnectorTest {
         connector.getBody();
     }
 
+    @Test
+    public void shouldParseTheBodyOnlyOncePerResponse() {
+        connector.get("/", requestHeaders, cookies);
+
+        assertSame(connector.getJsonBody(), connector.getJsonBody());
+        assertEquals(FAKE_MESSAGE, connector.getJsonBody().getJson());
+    }
+
+    @Test
+    public void shouldParseTheBodyAgainAfterANewRequest() {
+        connector.get("/", requestHeaders, cookies);
+        JsonDocument firstDocument = connector.getJsonBody();
+
+        connector.get("/", requestHeaders, cookies);
+
+        assertNotSame(firstDocument, connector.getJsonBody());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowAnExceptionWhenThereIsNoJsonBody() {
+        connector.getJsonBody();
+    }
+
     private WebTarget createWebTarget() {
         Response response = createResponse();
         WebTarget subTarget = mock(WebTarget.class);
@@ -137,7 +166,9 @@ public class WebServiceConnectorTest {
         Response response = mock(Response.class);
         given(response.getStatus()).willReturn(OK_STATUS);
         given(response.getHeaders()).willReturn(null);
-        given(response.readEntity(String.class)).willReturn("{}");
+        given(response.hasEntity()).willReturn(true);
+        given(response.readEntity(InputStream.class))
+                .willAnswer(invocation -> new ByteArrayInputStream(FAKE_MESSAGE.getBytes(StandardCharsets.UTF_8)));
 
         return response;
     }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class PersistentQueryCacheTest {
+
+    private static final String CACHE_NAME = "test-cache";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldReturnTheStoredOutput() throws IOException {
+        try (PersistentQueryCache cache = new PersistentQueryCache(folder.getRoot().toPath(), CACHE_NAME)) {
+            long[] input = new long[] {1L, 2L, 3L};
+            List<String> output = Arrays.asList("OK", "FAILED (1)", "OK");
+
+            assertNull(cache.lookup(input));
+            cache.insert(input, output);
+
+            assertEquals(output, cache.lookup(input));
+            assertNull(cache.lookup(new long[] {1L, 2L}));
+            assertEquals(1L, cache.size());
+            assertEquals(1L, cache.getHits());
+            assertEquals(2L, cache.getMisses());
+        }
+    }
+
+    @Test
+    public void shouldKeepTheEntriesAfterReopening() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        long[] input = new long[] {42L, -7L};
+        List<String> output = Arrays.asList("OK", "OK");
+
+        PersistentQueryCache cache = new PersistentQueryCache(directory, CACHE_NAME);
+        cache.insert(input, output);
+        cache.close();
+        assertFalse(cache.isOpen());
+
+        try (PersistentQueryCache reopenedCache = new PersistentQueryCache(directory, CACHE_NAME)) {
+            assertEquals(1L, reopenedCache.size());
+            assertEquals(output, reopenedCache.lookup(input));
+        }
+    }
+
+    @Test
+    public void shouldGrowTheIndexIfItGetsFull() throws IOException {
+        int amount = 50000;
+
+        try (PersistentQueryCache cache = new PersistentQueryCache(folder.getRoot().toPath(), CACHE_NAME)) {
+            for (int i = 0; i < amount; i++) {
+                cache.insert(new long[] {i}, Collections.singletonList(String.valueOf(i)));
+            }
+
+            assertEquals(amount, cache.size());
+            for (int i = 0; i < amount; i++) {
+                assertEquals(Collections.singletonList(String.valueOf(i)), cache.lookup(new long[] {i}));
+            }
+        }
+    }
+
+    @Test
+    public void shouldGrowTheIndexWhenRebuildingItFromTheDataFile() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        int amount = 70000; // more than the initial capacity of the index
+
+        try (PersistentQueryCache cache = new PersistentQueryCache(directory, CACHE_NAME)) {
+            for (int i = 0; i < amount; i++) {
+                cache.insert(new long[] {i}, Collections.singletonList(String.valueOf(i)));
+            }
+        }
+        Files.delete(directory.resolve(CACHE_NAME + PersistentQueryCache.INDEX_FILE_EXTENSION));
+
+        try (PersistentQueryCache reopenedCache = new PersistentQueryCache(directory, CACHE_NAME)) {
+            assertEquals(amount, reopenedCache.size());
+            for (int i = 0; i < amount; i++) {
+                assertEquals(Collections.singletonList(String.valueOf(i)), reopenedCache.lookup(new long[] {i}));
+            }
+        }
+    }
+}
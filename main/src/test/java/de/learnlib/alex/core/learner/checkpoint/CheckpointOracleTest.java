@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.checkpoint;
+
+import de.learnlib.api.MembershipOracle;
+import de.learnlib.api.Query;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.words.Word;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CheckpointOracleTest {
+
+    private List<Word<String>> delegatedInputs;
+
+    private CheckpointOracle oracle;
+
+    @Before
+    public void setUp() {
+        delegatedInputs = new ArrayList<>();
+        oracle = new CheckpointOracle(new EchoOracle());
+    }
+
+    @Test
+    public void shouldRecordTheDelegatedQueriesWithTheirCompleteInput() {
+        DefaultQuery<String, Word<String>> query = new DefaultQuery<>(Word.fromSymbols("a"), Word.fromSymbols("b"));
+
+        oracle.processQueries(Collections.singletonList(query));
+
+        assertEquals(Word.fromSymbols("B"), query.getOutput());
+        List<DefaultQuery<String, Word<String>>> recordedQueries = oracle.takeRecordedQueries();
+        assertEquals(1, recordedQueries.size());
+        assertEquals(Word.fromSymbols("a", "b"), recordedQueries.get(0).getInput());
+        assertEquals(Word.fromSymbols("A", "B"), recordedQueries.get(0).getOutput());
+        assertTrue(oracle.takeRecordedQueries().isEmpty());
+    }
+
+    @Test
+    public void shouldOnlyRecordTheExplicitlyRecordedQueriesWhileTheRecordingIsPaused() {
+        DefaultQuery<String, Word<String>> query = new DefaultQuery<>(Word.fromSymbols("a", "b"));
+
+        oracle.setRecording(false);
+        oracle.processQueries(Collections.singletonList(query));
+        oracle.setRecording(true);
+        oracle.record(query);
+        oracle.record(new DefaultQuery<>(Word.fromSymbols("a"), Word.fromSymbols("b"), Word.fromSymbols("B")));
+
+        assertEquals(Word.fromSymbols("A", "B"), query.getOutput());
+        List<DefaultQuery<String, Word<String>>> recordedQueries = oracle.takeRecordedQueries();
+        assertEquals(1, recordedQueries.size());
+        assertEquals(Word.fromSymbols("a", "b"), recordedQueries.get(0).getInput());
+        assertEquals(Word.fromSymbols("A", "B"), recordedQueries.get(0).getOutput());
+    }
+
+    @Test
+    public void shouldAnswerTheStoredQueriesAndTheirPrefixesDuringTheReplay() {
+        DefaultQuery<String, Word<String>> stored = new DefaultQuery<>(Word.epsilon(), Word.fromSymbols("a", "b", "c"),
+                                                                       Word.fromSymbols("1", "2", "3"));
+        oracle.startReplay(Collections.singletonList(new CheckpointStep(1L, null,
+                                                                         Collections.singletonList(stored))));
+
+        DefaultQuery<String, Word<String>> prefix = new DefaultQuery<>(Word.fromSymbols("a"), Word.fromSymbols("b"));
+        DefaultQuery<String, Word<String>> unknown = new DefaultQuery<>(Word.fromSymbols("a", "c"));
+        oracle.processQueries(Arrays.asList(prefix, unknown));
+
+        assertEquals(Word.fromSymbols("2"), prefix.getOutput());
+        assertEquals(Word.fromSymbols("A", "C"), unknown.getOutput());
+        assertEquals(Collections.singletonList(Word.fromSymbols("a", "c")), delegatedInputs);
+        assertEquals(1, oracle.getReplayedQueries());
+        assertEquals(1, oracle.getMissedQueries());
+        assertEquals(1, oracle.takeRecordedQueries().size());
+    }
+
+    @Test
+    public void shouldDelegateAllQueriesAfterTheReplay() {
+        DefaultQuery<String, Word<String>> stored = new DefaultQuery<>(Word.epsilon(), Word.fromSymbols("a"),
+                                                                       Word.fromSymbols("1"));
+        oracle.startReplay(Collections.singletonList(new CheckpointStep(1L, null,
+                                                                         Collections.singletonList(stored))));
+        oracle.stopReplay();
+
+        DefaultQuery<String, Word<String>> query = new DefaultQuery<>(Word.fromSymbols("a"));
+        oracle.processQueries(Collections.singletonList(query));
+
+        assertEquals(Word.fromSymbols("A"), query.getOutput());
+        assertEquals(0, oracle.getMissedQueries());
+    }
+
+    /** Answers every input symbol with its upper case version. */
+    private final class EchoOracle implements MembershipOracle<String, Word<String>> {
+
+        @Override
+        public void processQueries(Collection<? extends Query<String, Word<String>>> queries) {
+            for (Query<String, Word<String>> query : queries) {
+                delegatedInputs.add(query.getInput());
+                List<String> output = new ArrayList<>();
+                query.getSuffix().forEach(symbol -> output.add(symbol.toUpperCase()));
+                query.answer(Word.fromList(output));
+            }
+        }
+    }
+}
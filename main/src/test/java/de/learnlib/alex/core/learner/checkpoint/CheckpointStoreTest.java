@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.checkpoint;
+
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.words.Word;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CheckpointStoreTest {
+
+    private static final String ALGORITHM = "TTT";
+
+    private Path directory;
+
+    private Path path;
+
+    private Map<String, Long> fingerprints;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("alex-checkpoint");
+        path = directory.resolve("checkpoints").resolve("1" + CheckpointStore.FILE_EXTENSION);
+
+        fingerprints = new HashMap<>();
+        fingerprints.put("login", 1L);
+        fingerprints.put("logout", 2L);
+        fingerprints.put("reset", 3L);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void shouldRestoreTheAppendedSteps() throws IOException {
+        CheckpointStore store = new CheckpointStore(path, ALGORITHM, fingerprints);
+        store.clear();
+        store.append(createFirstStep());
+        store.append(createSecondStep());
+
+        List<CheckpointStep> steps = new CheckpointStore(path, ALGORITHM, fingerprints).restore(2L);
+
+        assertEquals(2, steps.size());
+        assertEquals(1L, steps.get(0).getStepNo());
+        assertNull(steps.get(0).getCounterexample());
+        assertEquals(createFirstStep().getQueries().toString(), steps.get(0).getQueries().toString());
+
+        DefaultQuery<String, Word<String>> counterexample = steps.get(1).getCounterexample();
+        assertEquals(Word.fromSymbols("login"), counterexample.getPrefix());
+        assertEquals(Word.fromSymbols("logout", "login"), counterexample.getSuffix());
+        assertEquals(Word.fromSymbols("Ok", "Failed (1)"), counterexample.getOutput());
+        assertEquals(createSecondStep().getQueries().toString(), steps.get(1).getQueries().toString());
+    }
+
+    @Test
+    public void shouldOnlyRestoreTheStepsUpToTheGivenStepAndRemoveTheOthers() throws IOException {
+        CheckpointStore store = new CheckpointStore(path, ALGORITHM, fingerprints);
+        store.clear();
+        store.append(createFirstStep());
+        store.append(createSecondStep());
+
+        store = new CheckpointStore(path, ALGORITHM, fingerprints);
+        assertEquals(1, store.restore(1L).size());
+        store.append(createStep(5L, Word.fromSymbols("reset"), Word.fromSymbols("Ok")));
+
+        List<CheckpointStep> steps = new CheckpointStore(path, ALGORITHM, fingerprints).restore(Long.MAX_VALUE);
+        assertEquals(2, steps.size());
+        assertEquals(1L, steps.get(0).getStepNo());
+        assertEquals(5L, steps.get(1).getStepNo());
+        assertEquals(Word.fromSymbols("Ok"), steps.get(1).getQueries().get(0).getOutput());
+    }
+
+    @Test
+    public void shouldDiscardTheCheckpointIfASymbolHasBeenModified() throws IOException {
+        CheckpointStore store = new CheckpointStore(path, ALGORITHM, fingerprints);
+        store.clear();
+        store.append(createFirstStep());
+
+        fingerprints.put("logout", 4L);
+
+        assertTrue(new CheckpointStore(path, ALGORITHM, fingerprints).restore(1L).isEmpty());
+        assertTrue(new CheckpointStore(path, ALGORITHM, fingerprints).restore(1L).isEmpty());
+    }
+
+    @Test
+    public void shouldDiscardTheCheckpointOfAnotherAlgorithm() throws IOException {
+        CheckpointStore store = new CheckpointStore(path, ALGORITHM, fingerprints);
+        store.clear();
+        store.append(createFirstStep());
+
+        assertTrue(new CheckpointStore(path, "DHC", fingerprints).restore(1L).isEmpty());
+    }
+
+    @Test
+    public void shouldRemoveAnIncompleteStep() throws IOException {
+        CheckpointStore store = new CheckpointStore(path, ALGORITHM, fingerprints);
+        store.clear();
+        store.append(createFirstStep());
+        long lengthAfterFirstStep = Files.size(path);
+        store.append(createSecondStep());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(path) - 1);
+        }
+
+        store = new CheckpointStore(path, ALGORITHM, fingerprints);
+        assertEquals(1, store.restore(2L).size());
+        assertEquals(lengthAfterFirstStep, Files.size(path));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailToAppendAStepBeforeTheCheckpointIsRestored() throws IOException {
+        new CheckpointStore(path, ALGORITHM, fingerprints).append(createFirstStep());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailToAppendAQueryWithAnUnknownSymbol() throws IOException {
+        CheckpointStore store = new CheckpointStore(path, ALGORITHM, fingerprints);
+        store.clear();
+
+        store.append(createStep(1L, Word.fromSymbols("unknown"), Word.fromSymbols("Ok")));
+    }
+
+    private CheckpointStep createFirstStep() {
+        return new CheckpointStep(1L, null, Arrays.asList(
+                createQuery(Word.fromSymbols("login"), Word.fromSymbols("Ok")),
+                createQuery(Word.fromSymbols("login", "logout"), Word.fromSymbols("Ok", "Ok"))));
+    }
+
+    private CheckpointStep createSecondStep() {
+        DefaultQuery<String, Word<String>> counterexample = new DefaultQuery<>(Word.fromSymbols("login"),
+                                                                               Word.fromSymbols("logout", "login"),
+                                                                               Word.fromSymbols("Ok", "Failed (1)"));
+        DefaultQuery<String, Word<String>> query = createQuery(Word.fromSymbols("logout", "login"),
+                                                               Word.fromSymbols("Failed (1)", "Ok"));
+        return new CheckpointStep(2L, counterexample, Collections.singletonList(query));
+    }
+
+    private CheckpointStep createStep(long stepNo, Word<String> input, Word<String> output) {
+        return new CheckpointStep(stepNo, null, Collections.singletonList(createQuery(input, output)));
+    }
+
+    private DefaultQuery<String, Word<String>> createQuery(Word<String> input, Word<String> output) {
+        return new DefaultQuery<>(Word.epsilon(), input, output);
+    }
+}
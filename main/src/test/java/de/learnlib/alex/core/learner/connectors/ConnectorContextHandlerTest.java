@@ -22,13 +22,18 @@ import de.learnlib.alex.exceptions.LearnerException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -72,6 +77,135 @@ public class ConnectorContextHandlerTest {
         handler.createContext(); // should fail
     }
 
+    @Test(timeout = 10000)
+    public void shouldPutTheContextBackIntoThePoolIfTheResetSymbolFailed() {
+        given(resetSymbol.execute(any(ConnectorManager.class))).willReturn(ExecuteResult.FAILED, ExecuteResult.OK);
+        ConnectorManager connectorManager = createConnectorManager();
+        handler.addConnectorManager(connectorManager);
+
+        try {
+            handler.createContext();
+            fail("The reset symbol should have failed.");
+        } catch (LearnerException e) {
+            // the context must be available for the next query
+        }
+
+        assertEquals(connectorManager, handler.createContext());
+        for (Connector connector : connectorManager) {
+            verify(connector).dispose();
+        }
+    }
+
+    @Test
+    public void shouldExecuteTheResetSymbolOnlyOnceIfTheSnapshotIsRestored() throws Exception {
+        given(resetSymbol.execute(any(ConnectorManager.class))).willReturn(ExecuteResult.OK);
+        ConnectorManager connectorManager = createConnectorManager();
+        handler.addConnectorManager(connectorManager);
+        handler.setResetStrategy(ConnectorContextHandler.ResetStrategy.SNAPSHOT);
+
+        handler.disposeContext(handler.createContext());
+        handler.disposeContext(handler.createContext());
+        handler.disposeContext(handler.createContext());
+
+        verify(resetSymbol).execute(any(ConnectorManager.class));
+        for (Connector connector : connectorManager) {
+            verify(connector, times(3)).reset();
+            verify(connector).snapshot();
+            verify(connector, times(2)).restore(any());
+        }
+    }
+
+    @Test
+    public void shouldExecuteTheResetSymbolAgainAfterTheFullResetInterval() {
+        given(resetSymbol.execute(any(ConnectorManager.class))).willReturn(ExecuteResult.OK);
+        handler.addConnectorManager(createConnectorManager());
+        handler.setResetStrategy(ConnectorContextHandler.ResetStrategy.SNAPSHOT);
+        handler.setFullResetInterval(1);
+
+        handler.disposeContext(handler.createContext()); // reset symbol
+        handler.disposeContext(handler.createContext()); // snapshot
+        handler.disposeContext(handler.createContext()); // reset symbol
+
+        verify(resetSymbol, times(2)).execute(any(ConnectorManager.class));
+    }
+
+    @Test
+    public void shouldExecuteTheResetSymbolIfTheSnapshotCouldNotBeRestored() throws Exception {
+        given(resetSymbol.execute(any(ConnectorManager.class))).willReturn(ExecuteResult.OK);
+        ConnectorManager connectorManager = createConnectorManager();
+        handler.addConnectorManager(connectorManager);
+        handler.setResetStrategy(ConnectorContextHandler.ResetStrategy.SNAPSHOT);
+        for (Connector connector : connectorManager) {
+            willThrow(IllegalStateException.class).given(connector).restore(any());
+        }
+
+        handler.disposeContext(handler.createContext());
+        handler.disposeContext(handler.createContext());
+
+        verify(resetSymbol, times(2)).execute(any(ConnectorManager.class));
+    }
+
+    @Test
+    public void shouldDisposeTheConnectorsBeforeResettingThemAgainIfTheSnapshotCouldNotBeRestored() throws Exception {
+        given(resetSymbol.execute(any(ConnectorManager.class))).willReturn(ExecuteResult.OK);
+        ConnectorManager connectorManager = createConnectorManager();
+        handler.addConnectorManager(connectorManager);
+        handler.setResetStrategy(ConnectorContextHandler.ResetStrategy.SNAPSHOT);
+        Connector connector = connectorManager.iterator().next();
+        willThrow(IllegalStateException.class).given(connector).restore(any());
+        handler.disposeContext(handler.createContext());
+
+        handler.createContext();
+
+        InOrder inOrder = inOrder(connector);
+        inOrder.verify(connector).restore(any());
+        inOrder.verify(connector).dispose();
+        inOrder.verify(connector).reset();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldPutTheContextBackIntoThePoolIfTheSnapshotAndTheResetSymbolFailed() throws Exception {
+        given(resetSymbol.execute(any(ConnectorManager.class)))
+                .willReturn(ExecuteResult.OK, ExecuteResult.FAILED, ExecuteResult.OK);
+        ConnectorManager connectorManager = createConnectorManager();
+        handler.addConnectorManager(connectorManager);
+        handler.setResetStrategy(ConnectorContextHandler.ResetStrategy.SNAPSHOT);
+        handler.disposeContext(handler.createContext()); // takes the snapshot
+        for (Connector connector : connectorManager) {
+            willThrow(IllegalStateException.class).given(connector).restore(any());
+        }
+
+        try {
+            handler.createContext(); // the restore and then the reset symbol fail
+            fail("The reset symbol should have failed.");
+        } catch (LearnerException e) {
+            // the context must be available for the next query
+        }
+
+        assertEquals(connectorManager, handler.createContext());
+        verify(resetSymbol, times(3)).execute(any(ConnectorManager.class));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldNotUseTheContextsOfAnUnavailableInstance() {
+        given(resetSymbol.execute(any(ConnectorManager.class))).willReturn(ExecuteResult.OK);
+        ConnectorManager connectorManager1 = createConnectorManager();
+        connectorManager1.setUrl("http://localhost:9000/");
+        handler.addConnectorManager(connectorManager1);
+        ConnectorManager connectorManager2 = createConnectorManager();
+        connectorManager2.setUrl("http://localhost:9001/");
+        handler.addConnectorManager(connectorManager2);
+
+        handler.instanceUnavailable("http://localhost:9000/");
+        ConnectorManager context = handler.createContext();
+        assertEquals(connectorManager2, context);
+        handler.disposeContext(context);
+        assertEquals(connectorManager2, handler.createContext());
+
+        handler.instanceAvailable("http://localhost:9000/");
+        assertEquals(connectorManager1, handler.createContext());
+    }
+
 //    @Test(expected = LearnerException.class)
 //    public void shouldThrowAnExceptionIfTheResetSymbolExecutionCrashed() {
 //        given(resetSymbol.execute(any(ConnectorManager.class))).willThrow(Exception.class);
@@ -86,6 +220,19 @@ public class ConnectorContextHandlerTest {
         assertEquals(handler.getMaxConcurrentQueries(), 2);
     }
 
+    @Test
+    public void shouldStartTheConnectorsOfAllContexts() {
+        ConnectorManager connectorManager1 = createConnectorManager();
+        ConnectorManager connectorManager2 = createConnectorManager();
+        handler.addConnectorManager(connectorManager1);
+        handler.addConnectorManager(connectorManager2);
+
+        handler.start();
+
+        connectorManager1.forEach(connector -> verify(connector).start());
+        connectorManager2.forEach(connector -> verify(connector).start());
+    }
+
     private ConnectorManager createConnectorManager() {
         ConnectorManager connectorManager = new ConnectorManager();
         Connector connector1 = mock(VariableStoreConnector.class);
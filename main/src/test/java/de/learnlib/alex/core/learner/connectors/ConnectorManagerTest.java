@@ -37,4 +37,27 @@ public class ConnectorManagerTest {
         verify(connector1).dispose();
         verify(connector2).dispose();
     }
+
+    @Test
+    public void shouldShutdownAllConnectors() {
+        Connector connector1 = mock(WebSiteConnector.class);
+        Connector connector2 = mock(WebServiceConnector.class);
+
+        ConnectorManager manager = new ConnectorManager();
+        manager.addConnector(connector1);
+        manager.addConnector(connector2);
+
+        manager.shutdown();
+
+        verify(connector1).shutdown();
+        verify(connector2).shutdown();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailToGetAConnectorThatHasNotBeenCreated() {
+        ConnectorManager manager = new ConnectorManager();
+        manager.addConnector(new VariableStoreConnector());
+
+        manager.getConnector(WebSiteConnector.class);
+    }
 }
@@ -18,6 +18,8 @@ package de.learnlib.alex.core.learner.connectors;
 
 import de.learnlib.alex.core.dao.CounterDAOImpl;
 import de.learnlib.alex.core.entities.Counter;
+import de.learnlib.alex.core.entities.Project;
+import de.learnlib.alex.core.entities.User;
 import de.learnlib.alex.exceptions.NotFoundException;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,7 +30,11 @@ import org.mockito.runners.MockitoJUnitRunner;
 import java.util.Collections;
 
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CounterStoreConnectorTest {
@@ -52,6 +58,31 @@ public class CounterStoreConnectorTest {
         // connector = new CounterStoreConnector(counterDAO);
     }
 
+    @Test
+    public void shouldNotAccessTheDatabaseIfNoCounterHasChanged() {
+        connector = new CounterStoreConnector(counterDAO, new User(USER_ID), new Project(PROJECT_ID),
+                                              Collections.singletonList(counter));
+
+        connector.get(COUNTER_NAME);
+        connector.dispose();
+
+        verifyZeroInteractions(counterDAO);
+    }
+
+    @Test
+    public void shouldWriteTheChangedCountersOnlyOnce() throws NotFoundException {
+        given(counterDAO.getAll(USER_ID, PROJECT_ID)).willReturn(Collections.emptyList());
+        connector = new CounterStoreConnector(counterDAO, new User(USER_ID), new Project(PROJECT_ID),
+                                              Collections.emptyList());
+
+        connector.increment(USER_ID, PROJECT_ID, COUNTER_NAME);
+        connector.dispose();
+        connector.dispose();
+
+        verify(counterDAO, times(1)).create(any(Counter.class));
+        verify(counterDAO, never()).update(any(Counter.class));
+    }
+
     @Test
     public void shouldCorrectlyCreateACounter() throws NotFoundException {
 //         given(counterDAO.get(USER_ID, PROJECT_ID, PROJECT_URL, COUNTER_NAME)).willThrow(NotFoundException.class);
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.connectors;
+
+import de.learnlib.alex.core.dao.CounterDAOImpl;
+import de.learnlib.alex.core.entities.Counter;
+import de.learnlib.alex.core.entities.Project;
+import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.exceptions.NotFoundException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CounterStoreTest {
+
+    private static final Long USER_ID = 3L;
+    private static final Long PROJECT_ID = 10L;
+    private static final String COUNTER_NAME = "counter";
+    private static final long ONE_HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Mock
+    private CounterDAOImpl counterDAO;
+
+    @Test
+    public void shouldShareTheCountersBetweenTheConnectors() {
+        CounterStore store = new CounterStore(counterDAO, new User(USER_ID), new Project(PROJECT_ID),
+                                              Collections.emptyList(), ONE_HOUR);
+        CounterStoreConnector connector1 = new CounterStoreConnector(store);
+        CounterStoreConnector connector2 = new CounterStoreConnector(store);
+
+        connector1.increment(USER_ID, PROJECT_ID, COUNTER_NAME);
+        connector2.increment(USER_ID, PROJECT_ID, COUNTER_NAME);
+
+        assertEquals(Integer.valueOf(2), connector1.get(COUNTER_NAME));
+        assertEquals(Integer.valueOf(2), connector2.get(COUNTER_NAME));
+    }
+
+    @Test
+    public void shouldIncrementTheCountersAtomically() throws InterruptedException {
+        CounterStore store = new CounterStore(null, new User(USER_ID), new Project(PROJECT_ID),
+                                              Collections.emptyList(), 0);
+        store.set(COUNTER_NAME, 0);
+
+        int threads = 4;
+        int increments = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < increments; j++) {
+                    store.incrementBy(COUNTER_NAME, 1);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        assertEquals(Integer.valueOf(threads * increments), store.get(COUNTER_NAME));
+    }
+
+    @Test
+    public void shouldNotWriteTheCountersBeforeTheFlushIntervalHasPassed() {
+        CounterStore store = new CounterStore(counterDAO, new User(USER_ID), new Project(PROJECT_ID),
+                                              Collections.emptyList(), ONE_HOUR);
+
+        store.incrementBy(COUNTER_NAME, 1);
+        store.flushIfDue();
+
+        verifyZeroInteractions(counterDAO);
+    }
+
+    @Test
+    public void shouldWriteTheChangedCountersInOneBatch() throws NotFoundException {
+        Counter counter = new Counter();
+        counter.setName(COUNTER_NAME);
+        counter.setValue(1);
+        List<Counter> counters = Collections.singletonList(counter);
+        given(counterDAO.getAll(USER_ID, PROJECT_ID)).willReturn(counters);
+        CounterStore store = new CounterStore(counterDAO, new User(USER_ID), new Project(PROJECT_ID),
+                                              counters, ONE_HOUR);
+
+        store.incrementBy(COUNTER_NAME, 1);
+        store.incrementBy(COUNTER_NAME, 1);
+        store.flush();
+
+        assertEquals(Integer.valueOf(3), counter.getValue());
+        verify(counterDAO).update(counters);
+        verify(counterDAO, never()).update(any(Counter.class));
+        verify(counterDAO, never()).create(any(Counter.class));
+    }
+
+    @Test
+    public void shouldNotLowerTheValueOfACounterInTheDatabase() throws NotFoundException {
+        Counter counter = new Counter();
+        counter.setName(COUNTER_NAME);
+        counter.setValue(10);
+        given(counterDAO.getAll(USER_ID, PROJECT_ID)).willReturn(Collections.singletonList(counter));
+        CounterStore store = new CounterStore(counterDAO, new User(USER_ID), new Project(PROJECT_ID),
+                                              Collections.emptyList(), ONE_HOUR);
+
+        store.set(COUNTER_NAME, 2);
+        store.flush();
+
+        assertEquals(Integer.valueOf(10), counter.getValue());
+        verify(counterDAO).update(anyList());
+    }
+}
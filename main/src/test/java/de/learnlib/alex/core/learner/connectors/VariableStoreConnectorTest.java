@@ -53,6 +53,20 @@ public class VariableStoreConnectorTest {
         assertFalse(connector.contains(VARIABLE_NAME));
     }
 
+    @Test
+    public void shouldRestoreTheVariablesOfASnapshot() {
+        connector.set(VARIABLE_NAME, VARIABLE_VALUE);
+        Object snapshot = connector.snapshot();
+        connector.set(VARIABLE_NAME, "changed");
+        connector.set("other", VARIABLE_VALUE);
+
+        connector.reset();
+        connector.restore(snapshot);
+
+        assertEquals(VARIABLE_VALUE, connector.get(VARIABLE_NAME));
+        assertFalse(connector.contains("other"));
+    }
+
     @Test(expected = IllegalStateException.class)
     public void shouldFailWhenFetchingANotSetVariable() {
         connector.get(VARIABLE_NAME);
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.eqOracles;
+
+import de.learnlib.alex.core.learner.QueryExecutor;
+import de.learnlib.api.MembershipOracle;
+import de.learnlib.api.Query;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.automata.transout.impl.compact.CompactMealy;
+import net.automatalib.words.Alphabet;
+import net.automatalib.words.Word;
+import net.automatalib.words.impl.SimpleAlphabet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class WMethodEQOracleTest {
+
+    private static final int PARALLELISM = 4;
+
+    private Alphabet<String> alphabet;
+
+    private CompactMealy<String, String> hypothesis;
+
+    private QueryExecutor executor;
+
+    private AtomicInteger posedWords;
+
+    private AtomicInteger wordsInFlight;
+
+    private AtomicInteger maxWordsInFlight;
+
+    @Before
+    public void setUp() {
+        alphabet = new SimpleAlphabet<>(Arrays.asList("a", "b"));
+        hypothesis = createMachine(false);
+        executor = new QueryExecutor(PARALLELISM);
+        posedWords = new AtomicInteger();
+        wordsInFlight = new AtomicInteger();
+        maxWordsInFlight = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldFindACounterexampleOnTheExecutor() {
+        CompactMealy<String, String> target = createMachine(true);
+        WMethodEQOracle.MealyWMethodEQOracle<String, String> eqOracle =
+                new WMethodEQOracle.MealyWMethodEQOracle<>(2, createOracle(target), executor, false);
+
+        assertCounterexample(target, eqOracle.findCounterExample(hypothesis, alphabet));
+        assertTrue(maxWordsInFlight.get() <= PARALLELISM);
+    }
+
+    @Test
+    public void shouldFindACounterexampleWithTheWpMethod() {
+        CompactMealy<String, String> target = createMachine(true);
+        WMethodEQOracle.MealyWMethodEQOracle<String, String> eqOracle =
+                new WMethodEQOracle.MealyWMethodEQOracle<>(2, createOracle(target), executor, true);
+
+        assertCounterexample(target, eqOracle.findCounterExample(hypothesis, alphabet));
+    }
+
+    @Test
+    public void shouldFindACounterexampleWithoutAnExecutor() {
+        CompactMealy<String, String> target = createMachine(true);
+        WMethodEQOracle.MealyWMethodEQOracle<String, String> eqOracle =
+                new WMethodEQOracle.MealyWMethodEQOracle<>(2, createOracle(target));
+
+        assertCounterexample(target, eqOracle.findCounterExample(hypothesis, alphabet));
+        assertEquals(1, maxWordsInFlight.get());
+    }
+
+    @Test
+    public void shouldNotFindACounterexampleForAnEquivalentSystem() {
+        WMethodEQOracle.MealyWMethodEQOracle<String, String> eqOracle =
+                new WMethodEQOracle.MealyWMethodEQOracle<>(2, createOracle(createMachine(false)), executor, false);
+
+        assertNull(eqOracle.findCounterExample(hypothesis, alphabet));
+        assertTrue(maxWordsInFlight.get() <= PARALLELISM);
+    }
+
+    @Test
+    public void shouldNotPoseFurtherWordsOnceACounterexampleIsFound() {
+        MembershipOracle<String, Word<String>> alwaysWrong = createOracle(null);
+        WMethodEQOracle.MealyWMethodEQOracle<String, String> eqOracle =
+                new WMethodEQOracle.MealyWMethodEQOracle<>(2, alwaysWrong, executor, false);
+
+        assertNotNull(eqOracle.findCounterExample(hypothesis, alphabet));
+        assertTrue(posedWords.get() <= PARALLELISM);
+    }
+
+    private void assertCounterexample(CompactMealy<String, String> target,
+                                      DefaultQuery<String, Word<String>> counterExample) {
+        assertNotNull(counterExample);
+        assertNotEquals(hypothesis.computeOutput(counterExample.getInput()), counterExample.getOutput());
+        assertEquals(target.computeOutput(counterExample.getInput()), counterExample.getOutput());
+    }
+
+    /**
+     * Oracle that answers the words with the outputs of the target, or with wrong outputs if there is no target.
+     */
+    private MembershipOracle<String, Word<String>> createOracle(CompactMealy<String, String> target) {
+        return new MembershipOracle<String, Word<String>>() {
+            @Override
+            public void processQueries(Collection<? extends Query<String, Word<String>>> queries) {
+                assertEquals(1, queries.size());
+                posedWords.incrementAndGet();
+                maxWordsInFlight.accumulateAndGet(wordsInFlight.incrementAndGet(), Math::max);
+                try {
+                    for (Query<String, Word<String>> query : queries) {
+                        if (target == null) {
+                            query.answer(Word.fromLetter("wrong"));
+                        } else {
+                            query.answer(target.computeSuffixOutput(query.getPrefix(), query.getSuffix()));
+                        }
+                    }
+                } finally {
+                    wordsInFlight.decrementAndGet();
+                }
+            }
+        };
+    }
+
+    /**
+     * Two state machine that toggles its state on 'a'.
+     * If faulty, 'b' answers wrong in the second state.
+     */
+    private CompactMealy<String, String> createMachine(boolean faulty) {
+        CompactMealy<String, String> machine = new CompactMealy<>(alphabet);
+        int s0 = machine.addInitialState();
+        int s1 = machine.addState();
+        machine.addTransition(s0, "a", s1, "1");
+        machine.addTransition(s0, "b", s0, "0");
+        machine.addTransition(s1, "a", s0, "0");
+        machine.addTransition(s1, "b", s1, faulty ? "0" : "1");
+        return machine;
+    }
+}
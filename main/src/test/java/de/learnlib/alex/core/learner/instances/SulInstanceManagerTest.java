@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.instances;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class SulInstanceManagerTest {
+
+    private static final String COMMAND = "java -jar app.jar --server.port={port}";
+
+    private static final String URL = "http://localhost:{port}/app/";
+
+    @Test
+    public void shouldParsePortsAndPortRanges() {
+        assertEquals(Arrays.asList(9000), SulInstanceManager.parsePorts("9000"));
+        assertEquals(Arrays.asList(9000, 9001, 9002, 9010), SulInstanceManager.parsePorts(" 9000-9002 , 9010"));
+        assertEquals(Arrays.asList(9000, 9001), SulInstanceManager.parsePorts("9000-9001,9001,"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailToParseAnEmptyPortList() {
+        SulInstanceManager.parsePorts(" ");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailToParseAnInvalidPortRange() {
+        SulInstanceManager.parsePorts("9002-9000");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailToParseSomethingThatIsNoPort() {
+        SulInstanceManager.parsePorts("port");
+    }
+
+    @Test
+    public void shouldCreateOneInstancePerPort() {
+        SulInstanceManager manager = new SulInstanceManager(COMMAND, "9000-9001", URL, "/health", null, 0, 1000);
+
+        assertEquals(Arrays.asList("http://localhost:9000/app/", "http://localhost:9001/app/"), manager.getUrls());
+
+        SulInstance instance = manager.getInstances().get(1);
+        assertEquals(Arrays.asList("java", "-jar", "app.jar", "--server.port=9001"), instance.getCommand());
+        assertEquals("http://localhost:9001/app/health", instance.getHealthCheckUrl());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailToCreateInstancesWithoutACommand() {
+        new SulInstanceManager(" ", "9000", URL, "/", null, 0, 1000);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.learner.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConnectionStatisticsTest {
+
+    @Test
+    public void shouldCountTheLeasesThatReusedAConnection() {
+        ConnectionStatistics statistics = new ConnectionStatistics();
+        statistics.recordLease();
+        statistics.recordOpen();
+        statistics.recordLease();
+        statistics.recordLease();
+
+        assertEquals(3, statistics.getLeased());
+        assertEquals(1, statistics.getOpened());
+        assertEquals(2, statistics.getReused());
+    }
+
+    @Test
+    public void shouldNotReportNegativeReuses() {
+        ConnectionStatistics statistics = new ConnectionStatistics();
+        statistics.recordOpen();
+
+        assertEquals(0, statistics.getReused());
+    }
+}
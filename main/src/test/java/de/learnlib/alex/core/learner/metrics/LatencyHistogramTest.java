@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.metrics;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class LatencyHistogramTest {
+
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void shouldCountTheLatenciesInCumulativeBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(500));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.MINUTES.toNanos(2));
+
+        Map<String, Long> buckets = histogram.getBuckets();
+        assertEquals(Long.valueOf(1), buckets.get("1"));
+        assertEquals(Long.valueOf(1), buckets.get("2"));
+        assertEquals(Long.valueOf(3), buckets.get("5"));
+        assertEquals(Long.valueOf(3), buckets.get("60000"));
+        assertEquals(Long.valueOf(4), buckets.get("+Inf"));
+        assertEquals(4, histogram.getCount());
+    }
+
+    @Test
+    public void shouldCalculateTheSumMeanAndMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(30));
+
+        assertEquals(40.0, histogram.getSum(), DELTA);
+        assertEquals(20.0, histogram.getMean(), DELTA);
+        assertEquals(30.0, histogram.getMax(), DELTA);
+    }
+
+    @Test
+    public void shouldHaveAMeanOfZeroWithoutLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getMean(), DELTA);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.metrics;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PrometheusWriterTest {
+
+    @Test
+    public void shouldWriteTheMetricsOfAllLearnProcesses() {
+        LearnerMetrics metrics1 = new LearnerMetrics();
+        metrics1.recordReset(TimeUnit.MILLISECONDS.toNanos(20));
+        metrics1.recordQueryStarted();
+        metrics1.recordSymbol("login", TimeUnit.MILLISECONDS.toNanos(3));
+        metrics1.recordAction("CallAction", TimeUnit.MILLISECONDS.toNanos(3));
+
+        ConnectionStatistics connections = new ConnectionStatistics();
+        connections.recordLease();
+        connections.recordOpen();
+        connections.recordLease();
+
+        LearnerMetrics metrics2 = new LearnerMetrics();
+        metrics2.recordQueryStarted();
+        metrics2.recordQueryFinished();
+        metrics2.setHttpConnections(connections);
+
+        PrometheusWriter writer = new PrometheusWriter();
+        writer.add(labels("1"), metrics1);
+        writer.add(labels("2"), metrics2);
+        String text = writer.write();
+
+        assertTrue(text.contains("# TYPE alex_learner_queries_total counter\n"
+                                         + "alex_learner_queries_total{project=\"1\"} 0\n"
+                                         + "alex_learner_queries_total{project=\"2\"} 1\n"));
+        assertTrue(text.contains("alex_learner_queries_in_flight{project=\"1\"} 1\n"));
+        assertTrue(text.contains("# TYPE alex_learner_http_connections_leased_total counter\n"
+                                         + "alex_learner_http_connections_leased_total{project=\"2\"} 2\n"));
+        assertTrue(text.contains("alex_learner_http_connections_opened_total{project=\"2\"} 1\n"));
+        assertTrue(text.contains("alex_learner_reset_latency_seconds_bucket{project=\"1\",le=\"0.025\"} 1\n"));
+        assertTrue(text.contains("alex_learner_reset_latency_seconds_sum{project=\"1\"} 0.02\n"));
+        assertTrue(text.contains(
+                "alex_learner_symbol_latency_seconds_bucket{project=\"1\",symbol=\"login\",le=\"0.002\"} 0\n"));
+        assertTrue(text.contains(
+                "alex_learner_symbol_latency_seconds_bucket{project=\"1\",symbol=\"login\",le=\"0.005\"} 1\n"));
+        assertTrue(text.contains(
+                "alex_learner_action_latency_seconds_count{project=\"1\",action=\"CallAction\"} 1\n"));
+    }
+
+    @Test
+    public void shouldEscapeTheLabelValues() {
+        LearnerMetrics metrics = new LearnerMetrics();
+        metrics.recordSymbol("say \"hi\"\\", 1);
+
+        PrometheusWriter writer = new PrometheusWriter();
+        writer.add(labels("1"), metrics);
+
+        assertTrue(writer.write().contains(
+                "alex_learner_symbol_latency_seconds_count{project=\"1\",symbol=\"say \\\"hi\\\"\\\\\"} 1\n"));
+    }
+
+    @Test
+    public void shouldOnlyWriteTheHeadersWithoutLearnProcesses() {
+        String text = new PrometheusWriter().write();
+
+        assertEquals(18, text.split("\n").length); // 9 metrics with HELP and TYPE
+    }
+
+    private Map<String, String> labels(String project) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        labels.put("project", project);
+        return labels;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.core.learner.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class RateMeterTest {
+
+    private static final double DELTA = 0.0001;
+
+    private long now;
+
+    private RateMeter meter;
+
+    @Before
+    public void setUp() {
+        now = 0;
+        meter = new RateMeter(() -> now);
+    }
+
+    @Test
+    public void shouldCalculateTheRateSinceTheStart() {
+        mark(10);
+        advance(5);
+        mark(10);
+
+        assertEquals(20, meter.getCount());
+        assertEquals(4.0, meter.getRate(), DELTA);
+    }
+
+    @Test
+    public void shouldOnlyConsiderTheEventsOfTheLastMinute() {
+        mark(600);
+        advance(RateMeter.WINDOW);
+        mark(60);
+        advance(1);
+
+        assertEquals(660, meter.getCount());
+        assertEquals(1.0, meter.getRate(), DELTA);
+    }
+
+    private void mark(int times) {
+        for (int i = 0; i < times; i++) {
+            meter.mark();
+        }
+    }
+
+    private void advance(long seconds) {
+        now += TimeUnit.SECONDS.toNanos(seconds);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.core.services;
+
+import de.learnlib.alex.core.entities.HttpClientConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.client.Client;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class HttpClientServiceTest {
+
+    private HttpClientService httpClientService;
+
+    @Before
+    public void setUp() {
+        httpClientService = new HttpClientService();
+    }
+
+    @After
+    public void tearDown() {
+        httpClientService.destroy();
+    }
+
+    @Test
+    public void shouldShareTheClientOfEqualConfigurations() {
+        Client client = httpClientService.getClient(new HttpClientConfig());
+
+        assertSame(client, httpClientService.getClient(new HttpClientConfig()));
+        assertSame(httpClientService.getStatistics(new HttpClientConfig()),
+                   httpClientService.getStatistics(new HttpClientConfig()));
+    }
+
+    @Test
+    public void shouldCreateOneClientPerConfiguration() {
+        HttpClientConfig config = new HttpClientConfig();
+        config.setReadTimeout(1000);
+
+        assertNotSame(httpClientService.getClient(new HttpClientConfig()), httpClientService.getClient(config));
+    }
+
+    @Test
+    public void shouldNotChangeTheClientIfTheConfigurationIsChangedLater() {
+        HttpClientConfig config = new HttpClientConfig();
+        Client client = httpClientService.getClient(config);
+
+        config.setMaxConnectionsPerHost(1);
+
+        assertSame(client, httpClientService.getClient(new HttpClientConfig()));
+    }
+
+    @Test
+    public void shouldKeepTheClientWhileItIsUsed() {
+        Client client = httpClientService.getClient(new HttpClientConfig());
+        httpClientService.getClient(new HttpClientConfig());
+
+        httpClientService.releaseClient(new HttpClientConfig());
+
+        assertSame(client, httpClientService.getClient(new HttpClientConfig()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldCloseTheClientIfItIsNotUsedAnymore() {
+        Client client = httpClientService.getClient(new HttpClientConfig());
+
+        httpClientService.releaseClient(new HttpClientConfig());
+
+        assertNotSame(client, httpClientService.getClient(new HttpClientConfig()));
+        client.target("http://localhost"); // should fail
+    }
+}
@@ -100,6 +100,20 @@ public class ProjectRepositoryIT extends AbstractRepositoryIT {
         projectRepository.save(project); // should fail
     }
 
+    @Test(expected = ConstraintViolationException.class)
+    public void shouldFailToSaveAProjectWithTooManySlotsPerURL() {
+        User user = createUser("alex@test.example");
+        userRepository.save(user);
+        //
+        Project project = new Project();
+        project.setUser(user);
+        project.setName("Test Project");
+        project.setBaseUrl("http://localhost");
+        project.setSlotsPerUrl(Project.MAX_SLOTS_PER_URL + 1);
+
+        projectRepository.save(project); // should fail
+    }
+
     @Test(expected = DataIntegrityViolationException.class)
     public void shouldFailToSaveAProjectsWithADuplicateNamesForOneUser() {
         User user = createUser("alex@test.example");
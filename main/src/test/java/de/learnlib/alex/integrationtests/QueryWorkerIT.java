@@ -0,0 +1,273 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.learnlib.alex.integrationtests;
+
+import de.learnlib.alex.actions.StoreSymbolActions.AssertVariableAction;
+import de.learnlib.alex.actions.StoreSymbolActions.SetVariableAction;
+import de.learnlib.alex.core.entities.BrowserConfig;
+import de.learnlib.alex.core.entities.ExecuteResult;
+import de.learnlib.alex.core.entities.HttpClientConfig;
+import de.learnlib.alex.core.entities.Symbol;
+import de.learnlib.alex.core.entities.SymbolAction;
+import de.learnlib.alex.core.learner.QueryExecutor;
+import de.learnlib.alex.core.learner.workers.QueryWorker;
+import de.learnlib.alex.core.learner.workers.RemoteWorkerOracle;
+import de.learnlib.alex.core.learner.workers.WorkerSetup;
+import de.learnlib.alex.exceptions.LearnerException;
+import de.learnlib.oracles.DefaultQuery;
+import net.automatalib.words.Word;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the query workers in their own JVMs on this machine and lets them execute queries.
+ */
+public class QueryWorkerIT {
+
+    private static final int WORKERS = 2;
+
+    private static final int URLS = 4;
+
+    private static final int MAX_QUERY_LENGTH = 4;
+
+    private static final long START_TIMEOUT = 60000;
+
+    private static final long POLL_INTERVAL = 100;
+
+    private static final String TOKEN = "secret";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<Process> workers;
+
+    private List<String> addresses;
+
+    private QueryExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        workers = new ArrayList<>();
+        addresses = new ArrayList<>();
+        for (int i = 0; i < WORKERS; i++) {
+            int port = getFreePort();
+            workers.add(startWorker(port));
+            addresses.add("localhost:" + port);
+        }
+        for (int i = 0; i < WORKERS; i++) {
+            awaitWorker(getPort(addresses.get(i)));
+        }
+
+        executor = new QueryExecutor(URLS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdown();
+        for (Process worker : workers) {
+            worker.destroy();
+            worker.waitFor();
+        }
+    }
+
+    @Test
+    public void shouldAnswerTheQueriesOnAllWorkers() {
+        RemoteWorkerOracle oracle = new RemoteWorkerOracle(addresses, createSetup(), executor);
+        List<DefaultQuery<String, Word<String>>> queries = createQueries();
+
+        oracle.processQueries(queries);
+        oracle.close();
+
+        queries.forEach(query -> assertEquals(getExpectedOutput(query.getInput()), query.getOutput()));
+        assertEquals(queries.size(), oracle.getResetCount());
+    }
+
+    @Test
+    public void shouldPassTheQueriesOfAFailedWorkerToTheOtherWorkers() throws Exception {
+        RemoteWorkerOracle oracle = new RemoteWorkerOracle(addresses, createSetup(), executor);
+        oracle.processQueries(createQueries());
+
+        workers.get(0).destroyForcibly().waitFor();
+        List<DefaultQuery<String, Word<String>>> queries = createQueries();
+        oracle.processQueries(queries);
+        oracle.close();
+
+        queries.forEach(query -> assertEquals(getExpectedOutput(query.getInput()), query.getOutput()));
+    }
+
+    @Test(expected = LearnerException.class)
+    public void shouldNotUseAWorkerWithAnotherToken() {
+        WorkerSetup setup = createSetup();
+        setup.setToken("wrong");
+        RemoteWorkerOracle oracle = new RemoteWorkerOracle(addresses, setup, executor);
+
+        oracle.processQueries(createQueries()); // none of the workers can be set up
+    }
+
+    @Test
+    public void shouldKeepTheWorkersIfTheQueriesCouldNotBeExecuted() {
+        WorkerSetup setup = createSetup();
+        setup.setResetSymbol(createSymbol("reset", assertVariable())); // the reset symbol always fails
+        RemoteWorkerOracle oracle = new RemoteWorkerOracle(addresses, setup, executor);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                oracle.processQueries(createQueries());
+                fail("The reset symbol should have failed.");
+            } catch (LearnerException e) {
+                assertFalse(e.getMessage().contains("All query workers have failed"));
+            }
+        }
+        oracle.close();
+    }
+
+    @Test(expected = LearnerException.class)
+    public void shouldFailIfNoWorkerCanBeReached() throws Exception {
+        List<String> unusedAddresses = Collections.singletonList("localhost:" + getFreePort());
+        RemoteWorkerOracle oracle = new RemoteWorkerOracle(unusedAddresses, createSetup(), executor);
+
+        oracle.processQueries(createQueries());
+    }
+
+    private WorkerSetup createSetup() {
+        WorkerSetup setup = new WorkerSetup();
+        setup.setUserId(1L);
+        setup.setProjectId(2L);
+        for (int i = 0; i < URLS; i++) {
+            setup.getUrls().add("http://localhost:" + (8080 + i));
+        }
+        setup.setBrowser(new BrowserConfig());
+        setup.setHttpClient(new HttpClientConfig());
+        setup.setResetSymbol(createSymbol("reset", setVariable("0")));
+        setup.setSymbols(Arrays.asList(createSymbol("set", setVariable("1")), createSymbol("check", assertVariable())));
+        setup.setToken(TOKEN);
+        return setup;
+    }
+
+    private Symbol createSymbol(String abbreviation, SymbolAction action) {
+        Symbol symbol = new Symbol();
+        symbol.setName(abbreviation);
+        symbol.setAbbreviation(abbreviation);
+        symbol.addAction(action);
+        return symbol;
+    }
+
+    private SetVariableAction setVariable(String value) {
+        SetVariableAction action = new SetVariableAction();
+        action.setName("x");
+        action.setValue(value);
+        return action;
+    }
+
+    private AssertVariableAction assertVariable() {
+        AssertVariableAction action = new AssertVariableAction();
+        action.setName("x");
+        action.setValue("1");
+        return action;
+    }
+
+    /**
+     * All words up to {@link #MAX_QUERY_LENGTH}, the first symbol is always the prefix.
+     */
+    private List<DefaultQuery<String, Word<String>>> createQueries() {
+        List<Word<String>> words = new ArrayList<>();
+        words.add(Word.epsilon());
+        for (int length = 1; length <= MAX_QUERY_LENGTH; length++) {
+            List<Word<String>> longerWords = new ArrayList<>();
+            for (Word<String> word : words) {
+                if (word.length() == length - 1) {
+                    longerWords.add(word.append("set"));
+                    longerWords.add(word.append("check"));
+                }
+            }
+            words.addAll(longerWords);
+        }
+
+        List<DefaultQuery<String, Word<String>>> queries = new ArrayList<>();
+        for (Word<String> word : words.subList(1, words.size())) {
+            queries.add(new DefaultQuery<>(word.prefix(1), word.subWord(1)));
+        }
+        return queries;
+    }
+
+    /**
+     * 'check' only succeeds after a 'set', 'set' always succeeds.
+     */
+    private Word<String> getExpectedOutput(Word<String> input) {
+        List<String> outputs = new ArrayList<>();
+        boolean set = false;
+        for (String symbol : input) {
+            if (symbol.equals("set")) {
+                set = true;
+                outputs.add(ExecuteResult.OK.toString());
+            } else {
+                outputs.add(set ? ExecuteResult.OK.toString() : ExecuteResult.failed(0).toString());
+            }
+        }
+        return Word.fromList(outputs).subWord(1);
+    }
+
+    private Process startWorker(int port) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                                                    QueryWorker.class.getName(), String.valueOf(port),
+                                                    folder.getRoot().getAbsolutePath());
+        builder.environment().put("ALEX_WORKER_TOKEN", TOKEN);
+        return builder.inheritIO().start();
+    }
+
+    private void awaitWorker(int port) throws Exception {
+        long end = System.currentTimeMillis() + START_TIMEOUT;
+        while (true) {
+            try (Socket socket = new Socket("localhost", port)) {
+                return;
+            } catch (IOException e) {
+                if (System.currentTimeMillis() > end) {
+                    throw e;
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+        }
+    }
+
+    private int getPort(String address) {
+        return Integer.parseInt(address.substring(address.indexOf(':') + 1));
+    }
+
+    private int getFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
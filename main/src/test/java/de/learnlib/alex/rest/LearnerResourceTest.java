@@ -128,9 +128,12 @@ public class LearnerResourceTest extends JerseyTest {
 
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         String expectedJSON = "{\"active\":true,\"currentQueries\":[],\"learnerPhase\":\"LEARNING\","
-                + "\"project\":" + PROJECT_TEST_ID + ",\"statistics\":{\"duration\":{\"learner\":0,"
-                + "\"eqOracle\":0,\"total\":0},\"eqsUsed\":0,\"mqsUsed\":{\"learner\":0,\"eqOracle\":0,"
-                + "\"total\":0},\"startDate\":\"1970-01-01T00:00:00.000+00:00\",\"symbolsUsed\":{\"learner\":0,"
+                + "\"project\":" + PROJECT_TEST_ID + ",\"statistics\":{\"counterexampleMqsUsed\":0,"
+                + "\"duration\":{\"learner\":0,"
+                + "\"eqOracle\":0,\"total\":0},\"eqsUsed\":0,\"mqsSaved\":{\"learner\":0,\"eqOracle\":0,\"total\":0},"
+                + "\"mqsUsed\":{\"learner\":0,\"eqOracle\":0,"
+                + "\"total\":0},\"startDate\":\"1970-01-01T00:00:00.000+00:00\","
+                + "\"symbolsSaved\":{\"learner\":0,\"eqOracle\":0,\"total\":0},\"symbolsUsed\":{\"learner\":0,"
                 + "\"eqOracle\":0,\"total\":0}},\"stepNo\":0,\"testNo\":" + TEST_NO + "}";
         assertEquals(expectedJSON, response.readEntity(String.class));
         verify(learner).start(eq(admin), eq(project), any(LearnerConfiguration.class));
@@ -216,13 +219,17 @@ public class LearnerResourceTest extends JerseyTest {
 
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         String expectedJSON = "{\"active\":true,\"currentQueries\":[],\"learnerPhase\":\"LEARNING\","
-                + "\"project\":" + PROJECT_TEST_ID + ",\"statistics\":{\"duration\":{\"learner\":0,"
-                + "\"eqOracle\":0,\"total\":0},\"eqsUsed\":0,\"mqsUsed\":{\"learner\":0,\"eqOracle\":0,"
-                + "\"total\":0},\"startDate\":\"1970-01-01T00:00:00.000+00:00\",\"symbolsUsed\":{\"learner\":0,"
+                + "\"project\":" + PROJECT_TEST_ID + ",\"statistics\":{\"counterexampleMqsUsed\":0,"
+                + "\"duration\":{\"learner\":0,"
+                + "\"eqOracle\":0,\"total\":0},\"eqsUsed\":0,\"mqsSaved\":{\"learner\":0,\"eqOracle\":0,\"total\":0},"
+                + "\"mqsUsed\":{\"learner\":0,\"eqOracle\":0,"
+                + "\"total\":0},\"startDate\":\"1970-01-01T00:00:00.000+00:00\","
+                + "\"symbolsSaved\":{\"learner\":0,\"eqOracle\":0,\"total\":0},\"symbolsUsed\":{\"learner\":0,"
                 + "\"eqOracle\":0,\"total\":0}},\"stepNo\":0,\"testNo\":" + TEST_NO + "}";
 
         assertEquals(expectedJSON, response.readEntity(String.class));
-        verify(learner).resume(any(User.class), any(Project.class), any(LearnerResult.class), any(LearnerResumeConfiguration.class));
+        verify(learner).resume(any(User.class), any(Project.class), any(LearnerResult.class),
+                               any(LearnerResumeConfiguration.class));
     }
 
     @Test
@@ -233,7 +240,8 @@ public class LearnerResourceTest extends JerseyTest {
                                 .header("Authorization", adminToken).post(Entity.json(RESUME_JSON));
 
         assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
-        verify(learner, never()).resume(any(User.class), any(Project.class), any(LearnerResult.class), any(LearnerConfiguration.class));
+        verify(learner, never()).resume(any(User.class), any(Project.class), any(LearnerResult.class),
+                                        any(LearnerConfiguration.class));
     }
 
     @Test
@@ -242,7 +250,8 @@ public class LearnerResourceTest extends JerseyTest {
                                 .header("Authorization", adminToken).post(Entity.json(RESUME_JSON));
 
         assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
-        verify(learner, never()).resume(any(User.class), any(Project.class), any(LearnerResult.class), any(LearnerConfiguration.class));
+        verify(learner, never()).resume(any(User.class), any(Project.class), any(LearnerResult.class),
+                                        any(LearnerConfiguration.class));
     }
 
     @Test
@@ -251,12 +260,15 @@ public class LearnerResourceTest extends JerseyTest {
                                 .header("Authorization", adminToken).post(Entity.json(RESUME_JSON));
 
         assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
-        verify(learner, never()).resume(any(User.class), any(Project.class), any(LearnerResult.class), any(LearnerConfiguration.class));
+        verify(learner, never()).resume(any(User.class), any(Project.class), any(LearnerResult.class),
+                                        any(LearnerConfiguration.class));
     }
 
     @Test
     public void shouldReturn302IfTheUserHasAnActiveLearnProcess() throws NotFoundException {
-        willThrow(IllegalStateException.class).given(learner).resume(eq(admin), any(Project.class), any(LearnerResult.class), any(LearnerResumeConfiguration.class));
+        willThrow(IllegalStateException.class).given(learner).resume(eq(admin), any(Project.class),
+                                                                     any(LearnerResult.class),
+                                                                     any(LearnerResumeConfiguration.class));
 
         Response response = target("/learner/resume/" + PROJECT_TEST_ID + "/"  + TEST_NO).request()
                                 .header("Authorization", adminToken).post(Entity.json(RESUME_JSON));
@@ -266,7 +278,9 @@ public class LearnerResourceTest extends JerseyTest {
 
     @Test
     public void shouldReturn404IfTheSymbolsOfTheLearnerAreGone() throws NotFoundException {
-        willThrow(NotFoundException.class).given(learner).resume(eq(admin), any(Project.class), any(LearnerResult.class), any(LearnerResumeConfiguration.class));
+        willThrow(NotFoundException.class).given(learner).resume(eq(admin), any(Project.class),
+                                                                 any(LearnerResult.class),
+                                                                 any(LearnerResumeConfiguration.class));
 
         Response response = target("/learner/resume/" + PROJECT_TEST_ID + "/"  + TEST_NO).request()
                 .header("Authorization", adminToken).post(Entity.json(RESUME_JSON));
@@ -277,7 +291,8 @@ public class LearnerResourceTest extends JerseyTest {
     @Test
     public void shouldReturn404IfTheResumeConfigurationWasInvalid() throws NotFoundException {
         willThrow(IllegalArgumentException.class)
-                .given(learner).resume(eq(admin), any(Project.class), any(LearnerResult.class), any(LearnerResumeConfiguration.class));
+                .given(learner).resume(eq(admin), any(Project.class), any(LearnerResult.class),
+                                       any(LearnerResumeConfiguration.class));
 
         Response response = target("/learner/resume/" + PROJECT_TEST_ID + "/"  + TEST_NO).request()
                 .header("Authorization", adminToken).post(Entity.json(RESUME_JSON));
@@ -291,9 +306,12 @@ public class LearnerResourceTest extends JerseyTest {
 
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         String expectedJSON = "{\"active\":true,\"currentQueries\":[],\"learnerPhase\":\"LEARNING\","
-                + "\"project\":" + PROJECT_TEST_ID + ",\"statistics\":{\"duration\":{\"learner\":0,"
-                + "\"eqOracle\":0,\"total\":0},\"eqsUsed\":0,\"mqsUsed\":{\"learner\":0,\"eqOracle\":0,"
-                + "\"total\":0},\"startDate\":\"1970-01-01T00:00:00.000+00:00\",\"symbolsUsed\":{\"learner\":0,"
+                + "\"project\":" + PROJECT_TEST_ID + ",\"statistics\":{\"counterexampleMqsUsed\":0,"
+                + "\"duration\":{\"learner\":0,"
+                + "\"eqOracle\":0,\"total\":0},\"eqsUsed\":0,\"mqsSaved\":{\"learner\":0,\"eqOracle\":0,\"total\":0},"
+                + "\"mqsUsed\":{\"learner\":0,\"eqOracle\":0,"
+                + "\"total\":0},\"startDate\":\"1970-01-01T00:00:00.000+00:00\","
+                + "\"symbolsSaved\":{\"learner\":0,\"eqOracle\":0,\"total\":0},\"symbolsUsed\":{\"learner\":0,"
                 + "\"eqOracle\":0,\"total\":0}},\"stepNo\":0,\"testNo\":" + TEST_NO + "}";
         assertEquals(expectedJSON, response.readEntity(String.class));
         verify(learner).stop(admin);
@@ -320,9 +338,12 @@ public class LearnerResourceTest extends JerseyTest {
 
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         String expectedJSON = "{\"active\":true,\"currentQueries\":[],\"learnerPhase\":\"LEARNING\","
-                + "\"project\":" + PROJECT_TEST_ID + ",\"statistics\":{\"duration\":{\"learner\":0,"
-                + "\"eqOracle\":0,\"total\":0},\"eqsUsed\":0,\"mqsUsed\":{\"learner\":0,\"eqOracle\":0,"
-                + "\"total\":0},\"startDate\":\"1970-01-01T00:00:00.000+00:00\",\"symbolsUsed\":{\"learner\":0,"
+                + "\"project\":" + PROJECT_TEST_ID + ",\"statistics\":{\"counterexampleMqsUsed\":0,"
+                + "\"duration\":{\"learner\":0,"
+                + "\"eqOracle\":0,\"total\":0},\"eqsUsed\":0,\"mqsSaved\":{\"learner\":0,\"eqOracle\":0,\"total\":0},"
+                + "\"mqsUsed\":{\"learner\":0,\"eqOracle\":0,"
+                + "\"total\":0},\"startDate\":\"1970-01-01T00:00:00.000+00:00\","
+                + "\"symbolsSaved\":{\"learner\":0,\"eqOracle\":0,\"total\":0},\"symbolsUsed\":{\"learner\":0,"
                 + "\"eqOracle\":0,\"total\":0}},\"stepNo\":0,\"testNo\":" + TEST_NO + "}";
         assertEquals(expectedJSON, response.readEntity(String.class));
     }
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.learnlib.alex.ALEXTestApplication;
 import de.learnlib.alex.core.dao.LearnerResultDAO;
 import de.learnlib.alex.core.entities.LearnerResult;
+import de.learnlib.alex.core.entities.LearnerResultStep;
 import de.learnlib.alex.core.entities.LearnerStatus;
 import de.learnlib.alex.core.entities.Project;
 import de.learnlib.alex.core.entities.User;
@@ -45,8 +46,10 @@ import java.util.List;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class LearnerResultResourceTest extends JerseyTest {
@@ -114,13 +117,52 @@ public class LearnerResultResourceTest extends JerseyTest {
     @Test
     public void ensureThatGettingAllResultsOfOneProjectHandlesAValidEmbedParameter() throws NotFoundException {
         List<LearnerResult> results = createTestLearnResults();
-        given(learnerResultDAO.getAll(USER_TEST_ID, PROJECT_ID, true)).willReturn(results);
+        given(learnerResultDAO.getAll(USER_TEST_ID, PROJECT_ID, false)).willReturn(results);
 
         Response response = target("/projects/" + PROJECT_ID + "/results").queryParam("embed", "STEPS").request()
                                 .header("Authorization", adminToken).get();
 
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         assertEquals(String.valueOf(TEST_RESULT_AMOUNT), response.getHeaderString("X-Total-Count"));
+        response.readEntity(String.class);
+        verify(learnerResultDAO, times(TEST_RESULT_AMOUNT)).getSteps(any(LearnerResult.class), eq(0), eq(10),
+                                                                     eq(true), eq(true));
+    }
+
+    @Test
+    public void shouldReturnOnePageOfResults() throws NotFoundException, JsonProcessingException {
+        List<LearnerResult> results = createTestLearnResults().subList(0, 2);
+        given(learnerResultDAO.getAll(USER_TEST_ID, PROJECT_ID, 1, 2)).willReturn(results);
+        given(learnerResultDAO.count(USER_TEST_ID, PROJECT_ID)).willReturn((long) TEST_RESULT_AMOUNT);
+
+        Response response = target("/projects/" + PROJECT_ID + "/results").queryParam("page", 1)
+                                .queryParam("size", 2).request().header("Authorization", adminToken).get();
+
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(String.valueOf(TEST_RESULT_AMOUNT), response.getHeaderString("X-Total-Count"));
+        assertEquals(new ObjectMapper().writeValueAsString(results), response.readEntity(String.class));
+    }
+
+    @Test
+    public void ensureThatAnInvalidPageSizeIsHandledProperly() throws NotFoundException {
+        Response response = target("/projects/" + PROJECT_ID + "/results").queryParam("page", 0)
+                                .queryParam("size", 0).request().header("Authorization", adminToken).get();
+
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+    }
+
+    @Test
+    public void shouldOnlyReturnTheRequestedFieldsOfTheResults() throws NotFoundException {
+        List<LearnerResult> results = createTestLearnResults();
+        given(learnerResultDAO.getAll(USER_TEST_ID, PROJECT_ID, false)).willReturn(results);
+
+        Response response = target("/projects/" + PROJECT_ID + "/results").queryParam("fields", "testNo")
+                                .request().header("Authorization", adminToken).get();
+
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals("[{\"testNo\":0},{\"testNo\":1},{\"testNo\":2},{\"testNo\":3},{\"testNo\":4},"
+                     + "{\"testNo\":5},{\"testNo\":6},{\"testNo\":7},{\"testNo\":8},{\"testNo\":9}]",
+                     response.readEntity(String.class));
     }
 
     @Test
@@ -203,7 +245,7 @@ public class LearnerResultResourceTest extends JerseyTest {
     @Test
     public void ensureThatGettingSpecificResultsOfOneProjectHandlesAValidEmbedParameter() throws NotFoundException {
         List<LearnerResult> results = createTestLearnResults();
-        given(learnerResultDAO.getAll(USER_TEST_ID, PROJECT_ID, TEST_NOS, true)).willReturn(results);
+        given(learnerResultDAO.getAll(USER_TEST_ID, PROJECT_ID, TEST_NOS, false)).willReturn(results);
 
         Response response = target("/projects/" + PROJECT_ID + "/results/1,2,42").queryParam("embed", "STEPS").request()
                                 .header("Authorization", adminToken).get();
@@ -224,6 +266,50 @@ public class LearnerResultResourceTest extends JerseyTest {
         assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
     }
 
+    @Test
+    public void shouldGetTheStepsOfOneResultWithoutTheirHypotheses() throws NotFoundException, JsonProcessingException {
+        LearnerResult result = createTestLearnResults().get(0);
+        List<LearnerResultStep> steps = createTestSteps();
+        given(learnerResultDAO.get(USER_TEST_ID, PROJECT_ID, RESULT_ID, false)).willReturn(result);
+        given(learnerResultDAO.countSteps(result)).willReturn((long) steps.size());
+        given(learnerResultDAO.getSteps(result, 0, 10, false, false)).willReturn(steps);
+
+        Response response = target("/projects/" + PROJECT_ID + "/results/" + RESULT_ID + "/steps").request()
+                                .header("Authorization", adminToken).get();
+
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(String.valueOf(steps.size()), response.getHeaderString("X-Total-Count"));
+        assertEquals(new ObjectMapper().writeValueAsString(steps), response.readEntity(String.class));
+    }
+
+    @Test
+    public void shouldOnlyLoadTheHypothesesOfTheStepsIfTheyAreRequested() throws NotFoundException {
+        LearnerResult result = createTestLearnResults().get(0);
+        List<LearnerResultStep> steps = createTestSteps();
+        given(learnerResultDAO.get(USER_TEST_ID, PROJECT_ID, RESULT_ID, false)).willReturn(result);
+        given(learnerResultDAO.countSteps(result)).willReturn(5L);
+        given(learnerResultDAO.getSteps(result, 1, 3, true, false)).willReturn(steps);
+
+        Response response = target("/projects/" + PROJECT_ID + "/results/" + RESULT_ID + "/steps")
+                                .queryParam("page", 1).queryParam("size", 3).queryParam("fields", "stepNo,hypothesis")
+                                .request().header("Authorization", adminToken).get();
+
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals("5", response.getHeaderString("X-Total-Count"));
+        assertEquals("[{\"stepNo\":1},{\"stepNo\":2}]", response.readEntity(String.class));
+        verify(learnerResultDAO).getSteps(result, 1, 3, true, false);
+    }
+
+    @Test
+    public void shouldReturn404IfTheResultOfTheStepsDoesNotExist() throws NotFoundException {
+        given(learnerResultDAO.get(USER_TEST_ID, PROJECT_ID, RESULT_ID, false)).willThrow(NotFoundException.class);
+
+        Response response = target("/projects/" + PROJECT_ID + "/results/" + RESULT_ID + "/steps").request()
+                                .header("Authorization", adminToken).get();
+
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
+    }
+
     @Test
     public void shouldDeleteAOneTestRun() throws NotFoundException {
         Response response = target("/projects/" + PROJECT_ID + "/results/" + RESULT_ID).request()
@@ -310,4 +396,15 @@ public class LearnerResultResourceTest extends JerseyTest {
         } return results;
     }
 
+    private List<LearnerResultStep> createTestSteps() {
+        List<LearnerResultStep> steps = new LinkedList<>();
+        for (long i = 1; i <= 2; i++) {
+            LearnerResultStep step = new LearnerResultStep();
+            step.setStepNo(i);
+            step.setStepsToLearn(1);
+            steps.add(step);
+        }
+        return steps;
+    }
+
 }
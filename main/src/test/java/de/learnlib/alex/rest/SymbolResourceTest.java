@@ -27,6 +27,7 @@ import de.learnlib.alex.core.entities.Symbol;
 import de.learnlib.alex.core.entities.SymbolGroup;
 import de.learnlib.alex.core.entities.SymbolVisibilityLevel;
 import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.core.services.HttpClientService;
 import de.learnlib.alex.exceptions.NotFoundException;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 import org.glassfish.jersey.test.JerseyTest;
@@ -67,6 +68,9 @@ public class SymbolResourceTest extends JerseyTest {
     @Mock
     private SymbolDAO symbolDAO;
 
+    @Mock
+    private HttpClientService httpClientService;
+
     private User admin;
     private String adminToken;
 
@@ -90,6 +94,7 @@ public class SymbolResourceTest extends JerseyTest {
             protected void configure() {
                 bind(projectDAO).to(ProjectDAO.class);
                 bind(symbolDAO).to(SymbolDAO.class);
+                bind(httpClientService).to(HttpClientService.class);
             }
         });
         return testApplication;
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.security;
+
+import de.learnlib.alex.core.dao.UserDAO;
+import de.learnlib.alex.core.entities.User;
+import de.learnlib.alex.core.entities.UserRole;
+import de.learnlib.alex.exceptions.NotFoundException;
+import org.jose4j.jwt.consumer.InvalidJwtException;
+import org.jose4j.lang.JoseException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TokenCacheTest {
+
+    private static final long USER_ID = 21L;
+
+    private static final long TIME_TO_LIVE = 60;
+
+    @Mock
+    private UserDAO userDAO;
+
+    private User user;
+
+    private String jwt;
+
+    private TokenCache tokenCache;
+
+    @Before
+    public void setUp() throws NotFoundException, JoseException {
+        user = new User();
+        user.setId(USER_ID);
+        user.setEmail("user@alex.example");
+        user.setRole(UserRole.REGISTERED);
+        given(userDAO.getById(USER_ID)).willReturn(user);
+
+        jwt = JWTHelper.generateJWT(user);
+
+        tokenCache = new TokenCache(userDAO, TIME_TO_LIVE);
+    }
+
+    @Test
+    public void shouldVerifyATokenAndLoadTheUserOnlyOnce() throws InvalidJwtException, NotFoundException {
+        assertSame(user, tokenCache.getUser(jwt));
+        assertSame(user, tokenCache.getUser(jwt));
+
+        verify(userDAO, times(1)).getById(USER_ID);
+        assertEquals(1, tokenCache.getStatistics().hitCount());
+        assertEquals(1, tokenCache.getStatistics().missCount());
+    }
+
+    @Test
+    public void shouldLoadTheUserAgainAfterItHasBeenInvalidated() throws InvalidJwtException, NotFoundException {
+        tokenCache.getUser(jwt);
+
+        tokenCache.invalidate(USER_ID);
+        tokenCache.getUser(jwt);
+
+        verify(userDAO, times(2)).getById(USER_ID);
+    }
+
+    @Test
+    public void shouldKeepTheTokensOfOtherUsersOnInvalidation() throws InvalidJwtException, NotFoundException {
+        tokenCache.getUser(jwt);
+
+        tokenCache.invalidate(USER_ID + 1);
+        tokenCache.getUser(jwt);
+
+        verify(userDAO, times(1)).getById(USER_ID);
+    }
+
+    @Test
+    public void shouldNotCacheTheTokensIfTheTimeToLiveIsZero() throws InvalidJwtException, NotFoundException {
+        tokenCache = new TokenCache(userDAO, 0);
+
+        tokenCache.getUser(jwt);
+        tokenCache.getUser(jwt);
+
+        verify(userDAO, times(2)).getById(USER_ID);
+    }
+
+    @Test
+    public void shouldReturnNullIfTheUserDoesNotExist() throws InvalidJwtException, NotFoundException {
+        given(userDAO.getById(USER_ID)).willThrow(NotFoundException.class);
+
+        assertNull(tokenCache.getUser(jwt));
+    }
+
+    @Test(expected = InvalidJwtException.class)
+    public void shouldRejectAModifiedToken() throws InvalidJwtException {
+        String[] parts = jwt.split("\\.");
+        String modifiedJwt = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+
+        tokenCache.getUser(modifiedJwt);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.utils;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.PathNotFoundException;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class JsonDocumentTest {
+
+    private static final String JSON = "{\"user\": {\"name\": \"Alex\", \"roles\": [{\"id\": 1}, {\"id\": 2}],"
+            + " \"active\": true, \"score\": 0.5, \"big\": 12345678901, \"none\": null}}";
+
+    @Test
+    public void shouldReadAttributesOfASmallDocument() {
+        JsonDocument document = new JsonDocument(JSON);
+
+        assertEquals("Alex", document.read("user.name"));
+        assertEquals(2, document.read("user.roles[1].id"));
+        assertEquals(true, document.read("user.active"));
+        assertNull(document.read("user.none"));
+    }
+
+    @Test
+    public void shouldReadTheSameValuesFromALargeDocumentWithTheStreamingParser() {
+        String[] attributes = {"user.name", "user.roles[1].id", "user.active", "user.score", "user.big", "user.none"};
+        JsonDocument smallDocument = new JsonDocument(JSON);
+
+        for (String attribute : attributes) {
+            JsonDocument largeDocument = new JsonDocument(pad(JSON));
+            assertEquals(attribute, smallDocument.read(attribute), largeDocument.read(attribute));
+        }
+    }
+
+    @Test
+    public void shouldReadFurtherAttributesOfALargeDocumentFromTheParsedDocument() {
+        JsonDocument document = new JsonDocument(pad(JSON));
+
+        assertEquals("Alex", document.read("user.name"));
+        assertEquals(1, document.read("user.roles[0].id"));
+        assertEquals("Alex", document.read("user.name"));
+    }
+
+    @Test(expected = PathNotFoundException.class)
+    public void shouldFailIfAnAttributeOfALargeDocumentDoesNotExist() {
+        new JsonDocument(pad(JSON)).read("user.email");
+    }
+
+    @Test
+    public void shouldReadTheLastValueOfADuplicatedNameFromALargeDocument() {
+        String json = "{\"user\": {\"name\": \"Alex\", \"id\": 1}, \"user\": {\"id\": 2, \"id\": 3}}";
+        JsonDocument smallDocument = new JsonDocument(json);
+
+        assertEquals(3, smallDocument.read("user.id"));
+        assertEquals(smallDocument.read("user.id"), new JsonDocument(pad(json)).read("user.id"));
+    }
+
+    @Test(expected = PathNotFoundException.class)
+    public void shouldNotReadAnAttributeOfAReplacedObjectFromALargeDocument() {
+        String json = "{\"user\": {\"name\": \"Alex\", \"id\": 1}, \"user\": {\"id\": 2}}";
+
+        new JsonDocument(pad(json)).read("user.name");
+    }
+
+    @Test(expected = InvalidJsonException.class)
+    public void shouldFailIfALargeDocumentIsTruncated() {
+        String json = pad(JSON);
+
+        new JsonDocument(json.substring(0, json.length() - 2)).read("user.name");
+    }
+
+    @Test
+    public void shouldReadArraysAsRoot() {
+        assertEquals(6, new JsonDocument("[{\"id\": 0}, {\"id\": 6}]").read("[1].id"));
+    }
+
+    @Test
+    public void shouldRememberTheParseError() {
+        JsonDocument document = new JsonDocument("{\"user\": ");
+
+        InvalidJsonException firstError = readInvalid(document);
+
+        assertSame(firstError, readInvalid(document));
+    }
+
+    @Test(expected = InvalidJsonException.class)
+    public void shouldFailIfTheTextIsNoJson() {
+        new JsonDocument("").read("user");
+    }
+
+    @Test
+    public void shouldSplitSimplePaths() {
+        assertEquals(Arrays.asList("user", "roles", 0, "name"), JsonDocument.parseSimplePath("user.roles[0].name"));
+        assertEquals(Arrays.asList(1, "id"), JsonDocument.parseSimplePath("[1].id"));
+        assertEquals(Arrays.asList("first-name"), JsonDocument.parseSimplePath("first-name"));
+    }
+
+    @Test
+    public void shouldNotSplitComplexPaths() {
+        assertNull(JsonDocument.parseSimplePath("roles[*].id"));
+        assertNull(JsonDocument.parseSimplePath("roles[?(@.id > 1)]"));
+        assertNull(JsonDocument.parseSimplePath("user..name"));
+        assertNull(JsonDocument.parseSimplePath("roles[]"));
+        assertNull(JsonDocument.parseSimplePath(""));
+    }
+
+    private static InvalidJsonException readInvalid(JsonDocument document) {
+        try {
+            document.read("user");
+            fail("The document should not be parsed.");
+            return null;
+        } catch (InvalidJsonException e) {
+            return e;
+        }
+    }
+
+    private static String pad(String json) {
+        StringBuilder builder = new StringBuilder(json.substring(0, json.length() - 1));
+        builder.append(", \"padding\": [");
+        while (builder.length() < JsonDocument.STREAMING_THRESHOLD) {
+            builder.append("\"Lorem ipsum dolor sit amet\", ");
+        }
+        builder.append("\"end\"]}");
+        return builder.toString();
+    }
+}
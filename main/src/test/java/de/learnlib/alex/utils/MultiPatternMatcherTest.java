@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MultiPatternMatcherTest {
+
+    @Test
+    public void shouldFindAllContainedValues() {
+        MultiPatternMatcher matcher = MultiPatternMatcher.of(Arrays.asList("he", "she", "his", "hers", "xyz", ""));
+
+        assertArrayEquals(new boolean[] {true, true, false, true, false, true}, matcher.search("ushers"));
+    }
+
+    @Test
+    public void shouldFindValuesWithNonAsciiCharacters() {
+        MultiPatternMatcher matcher = MultiPatternMatcher.of(Arrays.asList("Grüße", "€ 42", "Gruesse"));
+
+        assertArrayEquals(new boolean[] {true, true, false}, matcher.search("Viele Grüße, € 42"));
+    }
+
+    @Test
+    public void shouldFindTheSameValuesAsContains() {
+        Random random = new Random(42);
+        String alphabet = "abcä";
+        for (int run = 0; run < 1000; run++) {
+            List<String> values = new ArrayList<>();
+            for (int i = random.nextInt(5); i >= 0; i--) {
+                values.add(randomString(random, alphabet, 4));
+            }
+            String text = randomString(random, alphabet + "xy", 30);
+
+            boolean[] found = MultiPatternMatcher.of(values).search(text);
+
+            assertEquals(values.size(), found.length);
+            for (int i = 0; i < values.size(); i++) {
+                assertEquals(values + " in " + text, text.contains(values.get(i)), found[i]);
+            }
+        }
+    }
+
+    @Test
+    public void shouldCacheTheMatchers() {
+        assertSame(MultiPatternMatcher.of(Arrays.asList("a", "b")), MultiPatternMatcher.of(Arrays.asList("a", "b")));
+    }
+
+    private String randomString(Random random, String alphabet, int maxLength) {
+        StringBuilder result = new StringBuilder();
+        for (int i = random.nextInt(maxLength + 1); i > 0; i--) {
+            result.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.utils;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class PatternCacheTest {
+
+    @Test
+    public void shouldReuseTheCompiledPatterns() {
+        Pattern pattern = PatternCache.compile("F[oO]+");
+
+        assertSame(pattern, PatternCache.compile(new String("F[oO]+")));
+    }
+
+    @Test
+    public void shouldDistinguishTheFlags() {
+        Pattern pattern = PatternCache.compile("a.b", Pattern.DOTALL);
+
+        assertNotSame(PatternCache.compile("a.b"), pattern);
+        assertEquals(Pattern.DOTALL, pattern.flags());
+    }
+}
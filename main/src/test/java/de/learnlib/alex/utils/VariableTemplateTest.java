@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 TU Dortmund
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.learnlib.alex.utils;
+
+import de.learnlib.alex.core.learner.connectors.ConnectorManager;
+import de.learnlib.alex.core.learner.connectors.CounterStoreConnector;
+import de.learnlib.alex.core.learner.connectors.FileStoreConnector;
+import de.learnlib.alex.core.learner.connectors.VariableStoreConnector;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class VariableTemplateTest {
+
+    private static final Long USER_ID = 10L;
+    private static final Long PROJECT_ID = 10L;
+    private static final int COUNTER_VALUE = 42;
+
+    private ConnectorManager connector;
+
+    @Before
+    public void setUp() {
+        VariableStoreConnector variables = mock(VariableStoreConnector.class);
+        given(variables.get("name")).willReturn("Jon Doe");
+        given(variables.get("id")).willReturn("7");
+        CounterStoreConnector counters = mock(CounterStoreConnector.class);
+        given(counters.get("counter")).willReturn(COUNTER_VALUE);
+        FileStoreConnector files = mock(FileStoreConnector.class);
+        given(files.getAbsoluteFileLocation(USER_ID, PROJECT_ID, "file.txt")).willReturn("/files/file.txt");
+
+        connector = mock(ConnectorManager.class);
+        given(connector.getConnector(VariableStoreConnector.class)).willReturn(variables);
+        given(connector.getConnector(CounterStoreConnector.class)).willReturn(counters);
+        given(connector.getConnector(FileStoreConnector.class)).willReturn(files);
+    }
+
+    @Test
+    public void shouldInsertCountersVariablesAndFileNames() {
+        VariableTemplate template = VariableTemplate.compile("{{$name}} uploads {{/file.txt}} as no. {{#counter}}");
+
+        assertTrue(template.hasPlaceholders());
+        assertEquals("Jon Doe uploads /files/file.txt as no. " + COUNTER_VALUE,
+                     template.render(connector, USER_ID, PROJECT_ID));
+    }
+
+    @Test
+    public void shouldLookUpEveryStoreOnlyOncePerRendering() {
+        VariableTemplate template = VariableTemplate.compile("/users/{{$id}}/friends/{{$id}}?name={{$name}}");
+
+        assertEquals("/users/7/friends/7?name=Jon Doe", template.render(connector, USER_ID, PROJECT_ID));
+        verify(connector, times(1)).getConnector(VariableStoreConnector.class);
+    }
+
+    @Test
+    public void shouldReturnTheTextItselfIfItContainsNoPlaceholders() {
+        String text = "Hello {{world}}, {{$unclosed";
+        VariableTemplate template = VariableTemplate.compile(text);
+
+        assertFalse(template.hasPlaceholders());
+        assertSame(text, template.render(connector, USER_ID, PROJECT_ID));
+        verify(connector, never()).getConnector(any(Class.class));
+    }
+
+    @Test
+    public void shouldKeepEmptyBrackets() {
+        VariableTemplate template = VariableTemplate.compile("{{}}x{{$id}}");
+
+        assertEquals("{{}}x7", template.render(connector, USER_ID, PROJECT_ID));
+    }
+
+    @Test
+    public void shouldCacheTheCompiledTemplates() {
+        String text = "{{$name}}";
+
+        assertSame(VariableTemplate.of(text), VariableTemplate.of(new String(text)));
+    }
+}